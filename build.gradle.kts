@@ -2,6 +2,7 @@ plugins {
     java
     alias(libs.plugins.spring.boot)
     alias(libs.plugins.spring.dependency.management)
+    alias(libs.plugins.jmh)
     id("jacoco")
 }
 
@@ -23,6 +24,9 @@ dependencyManagement {
 
 dependencies {
     implementation(libs.spring.boot.starter.web)
+    implementation(libs.reactor.core)
+    implementation(libs.spring.boot.starter.actuator)
+    runtimeOnly(libs.micrometer.registry.prometheus)
     compileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
@@ -30,8 +34,15 @@ dependencies {
 }
 
 // about source and compilation
+// -Pjava21 : Java 21 toolchain 으로 빌드/실행 (가상 스레드 모드용, 예: ./gradlew bootRun -Pjava21 --args='--spring.profiles.active=virtual')
 java {
-    sourceCompatibility = JavaVersion.VERSION_17
+    if (project.hasProperty("java21")) {
+        toolchain {
+            languageVersion.set(JavaLanguageVersion.of(21))
+        }
+    } else {
+        sourceCompatibility = JavaVersion.VERSION_17
+    }
 }
 
 with(extensions.getByType(JacocoPluginExtension::class.java)) {
@@ -48,5 +59,43 @@ tasks.getByName("jar") {
 // test tasks
 tasks.test {
     ignoreFailures = true
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("benchmark")
+    }
+}
+// benchmark tasks (@Tag("benchmark") 테스트만 실행)
+tasks.register<Test>("benchmark") {
+    group = "verification"
+    description = "Runs @Tag(\"benchmark\") tests"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+    maxHeapSize = findProperty("benchmarkHeap")?.toString() ?: "4g"
+    testLogging {
+        showStandardStreams = true
+    }
+}
+// JMH benchmark tasks (src/jmh)
+// ./gradlew jmh [-PjmhThreads=16] : 지정한 스레드 수로 1회 실행
+// ./gradlew jmhMatrix [-PjmhLatency=NONE,SCALED,TABLE] : 스레드 수 1, 4, 16, 64 로 차례로 실행
+// -PjmhIncludes=UserPointCacheBenchmark : 실행할 벤치마크 (기본 PointServiceBenchmark)
+// -PjmhProfilers=gc : 프로파일러 (gc 면 요청당 할당 바이트 gc.alloc.rate.norm 을 함께 측정)
+jmh {
+    jmhVersion.set(libs.versions.jmh.get())
+    includeTests.set(true) // src/test 의 PointServiceFixture 를 함께 사용
+    includes.add(findProperty("jmhIncludes")?.toString() ?: "PointServiceBenchmark")
+    findProperty("jmhProfilers")?.toString()?.split(",")?.forEach { profilers.add(it) }
+    threads.set(findProperty("jmhThreads")?.toString()?.toInt() ?: 4)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/point-service.json"))
+}
+tasks.register<JavaExec>("jmhMatrix") {
+    group = "benchmark"
+    description = "Runs PointServiceBenchmark with 1, 4, 16 and 64 threads"
+    dependsOn("jmhClasses")
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("io.hhplus.tdd.point.PointBenchmarkRunner")
+    args(layout.buildDirectory.dir("reports/jmh").get().asFile.path, findProperty("jmhLatency")?.toString() ?: "")
 }
@@ -0,0 +1,37 @@
+package io.hhplus.tdd.point;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * 스레드 수 1, 4, 16, 64 로 PointServiceBenchmark 를 차례로 실행하고 스레드 수별 JSON 결과를 남깁니다.
+ * - 실행 : ./gradlew jmhMatrix [-PjmhLatency=NONE,SCALED,TABLE]
+ * - 결과 : build/reports/jmh/point-service-t{스레드 수}.json
+ */
+public class PointBenchmarkRunner {
+
+    private static final int[] THREAD_COUNTS = {1, 4, 16, 64};
+
+    public static void main(String[] args) throws RunnerException {
+        String resultDir = args.length > 0 ? args[0] : "build/reports/jmh";
+        String latency = args.length > 1 ? args[1] : "";
+        new File(resultDir).mkdirs();
+
+        for (int threads : THREAD_COUNTS) {
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .include(PointServiceBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(resultDir + "/point-service-t" + threads + ".json");
+            if (!latency.isBlank()) {
+                options.param("latency", latency.split(","));
+            }
+            new Runner(options.build()).run();
+        }
+    }
+}
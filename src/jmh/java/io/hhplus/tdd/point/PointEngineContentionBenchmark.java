@@ -0,0 +1,95 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrent.AsyncThreadFactory;
+import io.hhplus.tdd.exception.HanghaeException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 충전/사용 경합 벤치마크 : lock 방식과 cas 방식이 각각 앞서는 구간을 비교합니다.
+ * - 실행 : ./gradlew jmh -PjmhIncludes=PointEngineContentionBenchmark -PjmhThreads=16
+ * - 경합 정도 hotUsers : 1(모든 스레드가 한 유저, hot user) / 4(스레드가 유저 4명에 몰림, 높은 경합) / 1024(경합 거의 없음)
+ * - 요청은 충전 2 : 사용 1, 사용의 절반은 잔액보다 큰 금액이라 잔액 부족으로 실패합니다.
+ * - 테이블 지연 latency : NONE(서비스 자체 비용) / SCALED(저장 최대 300µs, 기록 비용이 지배적인 구간)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class PointEngineContentionBenchmark {
+
+    private static final long SEEDED_POINT = 10_000L;
+    private static final long AMOUNT = 100L;
+
+    @State(Scope.Benchmark)
+    public static class ServiceState {
+
+        @Param({"lock", "cas"})
+        public String engine;
+
+        @Param({"1", "4", "1024"})
+        public int hotUsers;
+
+        @Param({"NONE", "SCALED"})
+        public TableLatency latency;
+
+        PointService pointService;
+        PointHistoryOutbox pointHistoryOutbox;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            UserPointCache userPointCache = new UserPointCache(hotUsers + 128);
+            PointHistoryIndex pointHistoryIndex = new PointHistoryIndex();
+            PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+            pointHistoryOutbox = new PointHistoryOutbox(latency.newPointHistoryTable(), new AsyncThreadFactory(false), pointMetrics);
+            pointService = PointServiceFixture.builder()
+                    .userPointTable(latency.newUserPointTable())
+                    .userPointCache(userPointCache)
+                    .pointHistoryIndex(pointHistoryIndex)
+                    .pointHistoryOutbox(pointHistoryOutbox)
+                    .pointMetrics(pointMetrics)
+                    .engine(engine)
+                    .build();
+
+            long now = System.currentTimeMillis();
+            for (long userId = 1; userId <= hotUsers; userId++) {
+                userPointCache.put(new UserPoint(userId, SEEDED_POINT, now));
+                pointHistoryIndex.load(userId, List.of());
+            }
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() {
+            pointHistoryOutbox.shutdown();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        int sequence;
+    }
+
+    @Benchmark
+    public Object chargeAndUse(ServiceState service, ThreadState thread) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long userId = 1 + random.nextInt(service.hotUsers);
+        int step = thread.sequence++ % 6;
+        try {
+            if (step == 2) {
+                return service.pointService.usePoint(userId, AMOUNT);
+            }
+            if (step == 5) {
+                return service.pointService.usePoint(userId, SEEDED_POINT * 1_000);
+            }
+            return service.pointService.chargePoint(userId, AMOUNT);
+        } catch (HanghaeException e) {
+            return e; // 잔액 부족은 정상 결과로 셈
+        }
+    }
+}
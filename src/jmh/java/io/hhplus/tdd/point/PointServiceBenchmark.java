@@ -0,0 +1,122 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrent.AsyncThreadFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PointService 주요 경로 JMH 벤치마크
+ * - 실행 : ./gradlew jmh (스레드 수 -PjmhThreads, 기본 4) / ./gradlew jmhMatrix (1, 4, 16, 64 스레드)
+ * - 결과 : build/reports/jmh/*.json
+ * - 충전/사용 방식 engine : lock(유저 락 + 대기열 일괄 처리) / cas(락 없는 CAS + 순서대로 일괄 기록) / sharded(유저별 shard 스레드가 단독 처리)
+ * - 잔액/내역은 iteration 마다 서비스를 새로 만들고 캐시/인덱스에 직접 채워 테이블 지연 없이 준비합니다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class PointServiceBenchmark {
+
+    private static final int SEEDED_HISTORIES = 20;
+    private static final long SEEDED_POINT = 1_000_000_000_000L;
+
+    @State(Scope.Benchmark)
+    public static class ServiceState {
+
+        @Param({"NONE", "SCALED"})
+        public TableLatency latency;
+
+        @Param({"UNCONTENDED", "HOT", "ZIPF"})
+        public UserDistribution distribution;
+
+        @Param({"10000"})
+        public int userCount;
+
+        @Param({"lock", "cas", "sharded"})
+        public String engine;
+
+        PointService pointService;
+        PointHistoryOutbox pointHistoryOutbox;
+        double[] zipfCdf;
+
+        @Setup(Level.Trial)
+        public void setUpTrial() {
+            zipfCdf = UserDistribution.zipfCdf(userCount);
+        }
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            UserPointCache userPointCache = new UserPointCache(userCount + 128);
+            PointHistoryIndex pointHistoryIndex = new PointHistoryIndex();
+            PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry()); // 계측 비용도 측정에 포함
+            pointHistoryOutbox = new PointHistoryOutbox(latency.newPointHistoryTable(), new AsyncThreadFactory(false), pointMetrics);
+            pointService = PointServiceFixture.builder()
+                    .userPointTable(latency.newUserPointTable())
+                    .userPointCache(userPointCache)
+                    .pointHistoryIndex(pointHistoryIndex)
+                    .pointHistoryOutbox(pointHistoryOutbox)
+                    .pointMetrics(pointMetrics)
+                    .engine(engine)
+                    .build();
+
+            long now = System.currentTimeMillis();
+            long historyId = 1;
+            for (long userId = 1; userId <= userCount + 64; userId++) {
+                userPointCache.put(new UserPoint(userId, SEEDED_POINT, now));
+                List<PointHistory> histories = new ArrayList<>(SEEDED_HISTORIES);
+                for (int i = 0; i < SEEDED_HISTORIES; i++) {
+                    histories.add(new PointHistory(historyId++, userId, 100L, TransactionType.CHARGE, now));
+                }
+                pointHistoryIndex.load(userId, histories);
+            }
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() {
+            pointHistoryOutbox.shutdown();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        private static final AtomicLong THREAD_USER_IDS = new AtomicLong(1);
+
+        long threadUserId;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            threadUserId = THREAD_USER_IDS.getAndIncrement();
+        }
+    }
+
+    @Benchmark
+    public UserPoint chargePoint(ServiceState service, ThreadState thread) {
+        long userId = service.distribution.nextUserId(thread.threadUserId, service.zipfCdf);
+        return service.pointService.chargePoint(userId, 100L);
+    }
+
+    @Benchmark
+    public UserPoint usePoint(ServiceState service, ThreadState thread) {
+        long userId = service.distribution.nextUserId(thread.threadUserId, service.zipfCdf);
+        return service.pointService.usePoint(userId, 100L);
+    }
+
+    @Benchmark
+    public UserPoint getUserPoint(ServiceState service, ThreadState thread) {
+        long userId = service.distribution.nextUserId(thread.threadUserId, service.zipfCdf);
+        return service.pointService.getUserPoint(userId);
+    }
+
+    @Benchmark
+    public List<PointHistory> getPointHistories(ServiceState service, ThreadState thread) {
+        long userId = service.distribution.nextUserId(thread.threadUserId, service.zipfCdf);
+        return service.pointService.getPointHistories(userId);
+    }
+}
@@ -0,0 +1,46 @@
+package io.hhplus.tdd.point;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 벤치마크 요청의 userId 분포
+ * - UNCONTENDED : 스레드마다 자기 유저만 사용 (락 경합 없음)
+ * - HOT : 모든 스레드가 한 유저만 사용
+ * - ZIPF : 소수 유저에 요청이 몰리는 Zipf 분포 (s = 1.0)
+ */
+public enum UserDistribution {
+
+    UNCONTENDED,
+    HOT,
+    ZIPF;
+
+    static final long HOT_USER_ID = 1L;
+
+    /**
+     * Zipf 분포 누적 확률표. 한 번 만들어 두고 이진 탐색으로 샘플링합니다.
+     */
+    static double[] zipfCdf(int userCount) {
+        double[] cdf = new double[userCount];
+        double sum = 0;
+        for (int rank = 1; rank <= userCount; rank++) {
+            sum += 1.0 / rank;
+            cdf[rank - 1] = sum;
+        }
+        for (int i = 0; i < userCount; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+
+    long nextUserId(long threadUserId, double[] zipfCdf) {
+        return switch (this) {
+            case UNCONTENDED -> threadUserId;
+            case HOT -> HOT_USER_ID;
+            case ZIPF -> {
+                int index = Arrays.binarySearch(zipfCdf, ThreadLocalRandom.current().nextDouble());
+                yield 1 + (index >= 0 ? index : -index - 1);
+            }
+        };
+    }
+}
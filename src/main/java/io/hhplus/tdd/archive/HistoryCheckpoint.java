@@ -0,0 +1,21 @@
+package io.hhplus.tdd.archive;
+
+/**
+ * 유저 한 명의 보관된 내역 누적값
+ * - lastArchivedId : 보관된 마지막 내역 id (이 id 이하의 내역은 보관소에서 읽음)
+ * - count : 보관된 내역 수
+ * - charged / used : 보관된 충전/사용 합 (charged - used 가 보관 시점까지의 잔액)
+ * - lastMillis : 보관된 마지막 내역의 단조 증가로 맞춘 시각 (이후 내역 시각을 맞추는 시작값)
+ * - archivedUntilMillis : 유저의 내역을 마지막으로 보관한 실행의 기준 시각 (이 시각 전의 내역은 모두 보관소에 있음)
+ */
+public record HistoryCheckpoint(
+        long lastArchivedId,
+        long count,
+        long charged,
+        long used,
+        long lastMillis,
+        long archivedUntilMillis
+) {
+
+    public static final HistoryCheckpoint EMPTY = new HistoryCheckpoint(0L, 0L, 0L, 0L, Long.MIN_VALUE, Long.MIN_VALUE);
+}
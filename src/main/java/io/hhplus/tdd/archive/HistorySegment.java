@@ -0,0 +1,389 @@
+package io.hhplus.tdd.archive;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 보관 내역 세그먼트 파일 (압축 실행 1회 = 파일 1개, 쓴 뒤에는 읽기 전용)
+ * - 파일 이름의 숫자는 이 실행의 기준 시각(cutoff)이며, 들어 있는 내역은 모두 이 시각 전의 내역입니다.
+ * - 형식 : [magic 4][cutoffMillis 8] + 유저별 블록 * n + 목차(Entry 96 bytes, userId 오름차순) * n + [목차 위치 8][n 4][목차 CRC32 4]
+ * - 블록 : 유저 한 명의 내역을 id 순으로 (id 차이, 금액, 종류, 시각 차이) 가변 길이 정수로 적은 뒤 deflate 로 압축
+ * - 목차는 메모리에 올리지 않고, 찾을 때마다 파일에서 이진 탐색합니다.
+ * - 임시 파일에 쓰고 force 한 뒤 이름을 바꾸므로, 쓰는 도중 중단되어도 반쯤 쓴 세그먼트가 남지 않습니다.
+ */
+final class HistorySegment implements Closeable {
+
+    static final int ENTRY_SIZE = 96;
+
+    private static final int MAGIC = 0x50485347;
+    private static final int HEADER_SIZE = 4 + 8;
+    private static final int TRAILER_SIZE = 8 + 4 + 4;
+    private static final String PREFIX = "history-";
+    private static final String SUFFIX = ".seg";
+
+    private final Path path;
+    private final long cutoffMillis;
+    private final FileChannel channel;
+    private final long footerOffset;
+    private final int count;
+
+    private HistorySegment(Path path, long cutoffMillis, FileChannel channel, long footerOffset, int count) {
+        this.path = path;
+        this.cutoffMillis = cutoffMillis;
+        this.channel = channel;
+        this.footerOffset = footerOffset;
+        this.count = count;
+    }
+
+    /**
+     * 보관할 유저 한 명의 내역과 그 이전까지의 누적값
+     * - baseMillis : 직전까지 보관된 마지막 내역의 시각 (시각을 단조 증가로 맞출 때의 시작값)
+     */
+    record Block(long userId, List<PointHistory> histories, long chargedBefore, long usedBefore, long baseMillis) {
+    }
+
+    /**
+     * 목차 한 항목
+     * - chargedBefore / usedBefore : 이 블록 전까지 보관된 충전/사용 누적 합
+     * - charged / used : 이 블록의 충전/사용 합
+     * - baseMillis / lastMillis : 블록 직전 / 블록 마지막 내역의 단조 증가로 맞춘 시각
+     */
+    record Entry(long userId, long offset, int length, int crc, int count, long firstId, long lastId,
+                 long chargedBefore, long usedBefore, long charged, long used, long baseMillis, long lastMillis) {
+    }
+
+    /**
+     * 세그먼트를 읽기용으로 엽니다. 목차가 손상되었으면 IOException 을 던집니다.
+     */
+    static HistorySegment open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            ByteBuffer header = readFully(channel, 0, HEADER_SIZE);
+            if (size < HEADER_SIZE + TRAILER_SIZE || header.getInt() != MAGIC) {
+                throw new IOException("보관 내역 세그먼트 형식이 아닙니다: " + path);
+            }
+            long cutoffMillis = header.getLong();
+            ByteBuffer trailer = readFully(channel, size - TRAILER_SIZE, TRAILER_SIZE);
+            long footerOffset = trailer.getLong();
+            int count = trailer.getInt();
+            int footerCrc = trailer.getInt();
+            if (footerOffset + (long) count * ENTRY_SIZE + TRAILER_SIZE != size) {
+                throw new IOException("보관 내역 세그먼트 목차가 손상되었습니다: " + path);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(readFully(channel, footerOffset, count * ENTRY_SIZE));
+            if ((int) crc.getValue() != footerCrc) {
+                throw new IOException("보관 내역 세그먼트 목차가 손상되었습니다: " + path);
+            }
+            return new HistorySegment(path, cutoffMillis, channel, footerOffset, count);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 디렉터리의 세그먼트 파일을 기준 시각 순으로 반환합니다. (쓰다 만 임시 파일 제외)
+     */
+    static List<Path> list(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = new ArrayList<>(files
+                    .filter(file -> file.getFileName().toString().startsWith(PREFIX) && file.getFileName().toString().endsWith(SUFFIX))
+                    .toList());
+            segments.sort((a, b) -> Long.compare(parseCutoff(a), parseCutoff(b)));
+            return segments;
+        }
+    }
+
+    static long parseCutoff(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    Path path() {
+        return path;
+    }
+
+    long cutoffMillis() {
+        return cutoffMillis;
+    }
+
+    int count() {
+        return count;
+    }
+
+    /**
+     * 유저의 목차 항목을 찾습니다. 이 세그먼트에 유저의 내역이 없으면 null 을 반환합니다.
+     */
+    Entry find(long userId) throws IOException {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midUserId = readFully(channel, footerOffset + (long) mid * ENTRY_SIZE, 8).getLong();
+            if (midUserId < userId) {
+                low = mid + 1;
+            } else if (midUserId > userId) {
+                high = mid - 1;
+            } else {
+                return entryAt(mid);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 목차를 처음부터 순서대로 읽어 consumer 에 넘깁니다. (시작 시 유저별 누적값 복구용)
+     */
+    void forEachEntry(Consumer<Entry> consumer) throws IOException {
+        ByteBuffer footer = readFully(channel, footerOffset, count * ENTRY_SIZE);
+        for (int i = 0; i < count; i++) {
+            consumer.accept(getEntry(footer));
+        }
+    }
+
+    /**
+     * 블록의 내역을 id 순으로 visitor 에 넘깁니다. visitor 가 false 를 반환하면 멈추고 false 를 반환합니다.
+     */
+    boolean read(Entry entry, Predicate<PointHistory> visitor) throws IOException {
+        ByteBuffer compressed = readFully(channel, entry.offset(), entry.length());
+        CRC32 crc = new CRC32();
+        crc.update(compressed.duplicate());
+        if ((int) crc.getValue() != entry.crc()) {
+            throw new IOException("보관 내역 블록이 손상되었습니다: " + path + ", userId: " + entry.userId());
+        }
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(
+                new ByteArrayInputStream(compressed.array(), compressed.arrayOffset(), compressed.remaining())))) {
+            long id = 0;
+            long millis = 0;
+            for (int i = 0; i < entry.count(); i++) {
+                id += readVarLong(in);
+                long amount = readVarLong(in);
+                TransactionType type = TransactionType.fromCode(in.readByte());
+                millis += zigZagDecode(readVarLong(in));
+                if (!visitor.test(new PointHistory(id, entry.userId(), amount, type, millis))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private Entry entryAt(int index) throws IOException {
+        return getEntry(readFully(channel, footerOffset + (long) index * ENTRY_SIZE, ENTRY_SIZE));
+    }
+
+    private static Entry getEntry(ByteBuffer buffer) {
+        long userId = buffer.getLong();
+        long offset = buffer.getLong();
+        int length = buffer.getInt();
+        int crc = buffer.getInt();
+        int count = buffer.getInt();
+        buffer.getInt(); // padding
+        return new Entry(userId, offset, length, crc, count,
+                buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong(),
+                buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+    }
+
+    private static void putEntry(ByteBuffer footer, Block block, long offset, byte[] compressed) {
+        List<PointHistory> histories = block.histories();
+        long charged = 0;
+        long used = 0;
+        long lastMillis = block.baseMillis();
+        for (PointHistory history : histories) {
+            if (history.type().isCredit()) {
+                charged += history.amount();
+            } else {
+                used += history.amount();
+            }
+            lastMillis = Math.max(lastMillis, history.updateMillis());
+        }
+        CRC32 crc = new CRC32();
+        crc.update(compressed);
+        footer.putLong(block.userId())
+                .putLong(offset)
+                .putInt(compressed.length)
+                .putInt((int) crc.getValue())
+                .putInt(histories.size())
+                .putInt(0)
+                .putLong(histories.get(0).id())
+                .putLong(histories.get(histories.size() - 1).id())
+                .putLong(block.chargedBefore())
+                .putLong(block.usedBefore())
+                .putLong(charged)
+                .putLong(used)
+                .putLong(block.baseMillis())
+                .putLong(lastMillis);
+    }
+
+    private static byte[] encode(List<PointHistory> histories, Deflater deflater) throws IOException {
+        deflater.reset();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(histories.size() * 8);
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+            long id = 0;
+            long millis = 0;
+            for (PointHistory history : histories) {
+                writeVarLong(out, history.id() - id);
+                writeVarLong(out, history.amount());
+                out.writeByte(history.type().code());
+                writeVarLong(out, zigZagEncode(history.updateMillis() - millis));
+                id = history.id();
+                millis = history.updateMillis();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("가변 길이 정수가 너무 깁니다.");
+    }
+
+    private static long zigZagEncode(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long zigZagDecode(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * 세그먼트를 유저 블록 단위로 이어 쓰는 writer
+     * - 블록은 받는 즉시 압축해 임시 파일에 쓰고 목차 항목(96 bytes)만 메모리에 남기므로, 한 번에 올라가는 내역은 유저 한 명분입니다.
+     * - 목차를 이진 탐색하므로 블록은 userId 오름차순으로 받습니다.
+     * - finish 전에 닫으면(실패) 임시 파일을 지우므로, 반쯤 쓴 세그먼트가 남지 않습니다.
+     */
+    static final class Writer implements Closeable {
+
+        private final Path path;
+        private final Path temp;
+        private final long cutoffMillis;
+        private final FileChannel out;
+        private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        private final ByteArrayOutputStream footer = new ByteArrayOutputStream();
+        private long position = HEADER_SIZE;
+        private int count;
+        private long lastUserId;
+        private boolean finished;
+
+        private Writer(Path directory, long cutoffMillis) throws IOException {
+            this.path = directory.resolve(String.format("%s%020d%s", PREFIX, cutoffMillis, SUFFIX));
+            this.temp = directory.resolve(path.getFileName() + ".tmp");
+            this.cutoffMillis = cutoffMillis;
+            this.out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            writeFully(out, ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putLong(cutoffMillis).flip());
+        }
+
+        static Writer create(Path directory, long cutoffMillis) throws IOException {
+            return new Writer(directory, cutoffMillis);
+        }
+
+        void append(Block block) throws IOException {
+            if (count > 0 && block.userId() <= lastUserId) {
+                throw new IllegalArgumentException("blocks must be in ascending userId order: " + lastUserId + " -> " + block.userId());
+            }
+            byte[] compressed = encode(block.histories(), deflater);
+            writeFully(out, ByteBuffer.wrap(compressed));
+            ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE);
+            putEntry(entry, block, position, compressed);
+            footer.write(entry.array());
+            position += compressed.length;
+            lastUserId = block.userId();
+            count++;
+        }
+
+        int count() {
+            return count;
+        }
+
+        /**
+         * 목차와 끝 정보를 쓰고 force 한 뒤 이름을 바꿔 세그먼트를 완성하고, 읽기용으로 엽니다.
+         */
+        HistorySegment finish() throws IOException {
+            ByteBuffer entries = ByteBuffer.wrap(footer.toByteArray());
+            CRC32 crc = new CRC32();
+            crc.update(entries.duplicate());
+            writeFully(out, entries);
+            writeFully(out, ByteBuffer.allocate(TRAILER_SIZE).putLong(position).putInt(count).putInt((int) crc.getValue()).flip());
+            out.force(true);
+            out.close();
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            finished = true;
+            return open(path);
+        }
+
+        @Override
+        public void close() throws IOException {
+            deflater.end();
+            out.close();
+            if (!finished) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package io.hhplus.tdd.archive;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointSums;
+import io.hhplus.tdd.point.RollupUnit;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+
+/**
+ * 오래된 포인트 내역 보관소 (point.history.retention)
+ * - 보관 기간이 지난 내역을 압축 세그먼트 파일(HistorySegment)로 옮기고, 유저별로 보관된 내역의 누적값(HistoryCheckpoint)만 메모리에 둡니다.
+ *   세그먼트의 목차와 블록은 필요할 때 파일에서 읽으므로, 메모리는 보관된 내역 수가 아니라 유저 수에 비례합니다.
+ * - 세그먼트는 기준 시각 순으로 쌓이고 쓴 뒤에는 바뀌지 않으므로, 조회는 락 없이 세그먼트 목록을 순서대로 읽습니다.
+ * - 시작 시 세그먼트 목차를 읽어 유저별 누적값을 다시 만듭니다.
+ * - 내역 id 는 저널로만 재시작 후에도 이어지므로, 보관을 켜려면 저널도 켜야 합니다. (point.journal.enabled=true, 아니면 시작 실패)
+ * - 끄면(enabled=false) 아무것도 보관하지 않고, 모든 조회가 빈 결과를 반환합니다.
+ */
+@Slf4j
+@Component
+public class PointHistoryArchive {
+
+    private final boolean enabled;
+    private final Path directory;
+    private final CopyOnWriteArrayList<HistorySegment> segments = new CopyOnWriteArrayList<>();
+    private final ConcurrentHashMap<Long, HistoryCheckpoint> checkpoints = new ConcurrentHashMap<>();
+    private volatile long archivedUntilMillis = Long.MIN_VALUE;
+
+    @Autowired
+    public PointHistoryArchive(
+            @Value("${point.history.retention.enabled:false}") boolean enabled,
+            @Value("${point.history.retention.directory:./data/history-archive}") String directory,
+            @Value("${point.journal.enabled:false}") boolean journalEnabled
+    ) throws IOException {
+        if (enabled && !journalEnabled) {
+            throw new IllegalStateException("point.history.retention.enabled requires point.journal.enabled");
+        }
+        this.enabled = enabled;
+        this.directory = enabled ? Files.createDirectories(Path.of(directory)) : null;
+        if (enabled) {
+            recover();
+        }
+    }
+
+    /**
+     * 보관하지 않는 보관소 (보관 기간을 쓰지 않는 구성과 테스트용)
+     */
+    public static PointHistoryArchive disabled() {
+        try {
+            return new PointHistoryArchive(false, null, false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 마지막 보관 실행의 기준 시각 (보관한 적이 없으면 Long.MIN_VALUE)
+     */
+    public long archivedUntilMillis() {
+        return archivedUntilMillis;
+    }
+
+    /**
+     * 유저의 보관된 내역 누적값을 반환합니다. 보관된 내역이 없으면 null 을 반환합니다.
+     */
+    public HistoryCheckpoint checkpointOf(long userId) {
+        return checkpoints.get(userId);
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    public long archivedCount() {
+        return checkpoints.values().stream().mapToLong(HistoryCheckpoint::count).sum();
+    }
+
+    /**
+     * cutoffMillis 전의 유저별 내역(id 순)을 세그먼트 하나로 쓰고 누적값을 갱신한 뒤, 보관한 내역 수를 반환합니다. (보관 스레드 하나만 호출)
+     * userIds(오름차순)의 내역을 한 명씩 histories 로 읽어 바로 압축해 쓰므로, 보관할 내역이 많아도 메모리에는 유저 한 명분만 올라갑니다.
+     * 파일이 완성된 뒤에 누적값을 바꾸므로, 누적값에 반영된 내역은 항상 파일에서 읽을 수 있습니다.
+     */
+    public long archive(long cutoffMillis, long[] userIds, LongFunction<List<PointHistory>> histories) {
+        if (!enabled || cutoffMillis <= archivedUntilMillis) {
+            throw new IllegalStateException("cannot archive before " + archivedUntilMillis + ": " + cutoffMillis);
+        }
+        long archived = 0;
+        try (HistorySegment.Writer writer = HistorySegment.Writer.create(directory, cutoffMillis)) {
+            for (long userId : userIds) {
+                List<PointHistory> list = histories.apply(userId);
+                if (!list.isEmpty()) {
+                    HistoryCheckpoint checkpoint = checkpoints.getOrDefault(userId, HistoryCheckpoint.EMPTY);
+                    writer.append(new HistorySegment.Block(userId, list, checkpoint.charged(), checkpoint.used(), checkpoint.lastMillis()));
+                    archived += list.size();
+                }
+            }
+            if (writer.count() > 0) {
+                HistorySegment segment = writer.finish();
+                segments.add(segment);
+                segment.forEachEntry(entry -> advance(segment.cutoffMillis(), entry));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        archivedUntilMillis = cutoffMillis;
+        return archived;
+    }
+
+    /**
+     * cursor(내역 id) 보다 크고 throughId 이하인 보관된 내역을 id 순으로 visitor 에 넘깁니다.
+     * visitor 가 false 를 반환하면 멈추고 false 를 반환합니다.
+     */
+    public boolean scan(long userId, long cursor, long throughId, Predicate<PointHistory> visitor) {
+        if (cursor >= throughId) {
+            return true;
+        }
+        try {
+            for (HistorySegment segment : segments) {
+                HistorySegment.Entry entry = segment.find(userId);
+                if (entry == null || entry.lastId() <= cursor) {
+                    continue;
+                }
+                if (entry.firstId() > throughId) {
+                    return true;
+                }
+                boolean[] stopped = {false};
+                segment.read(entry, history -> {
+                    if (history.id() <= cursor) {
+                        return true;
+                    }
+                    if (history.id() > throughId) {
+                        return false;
+                    }
+                    stopped[0] = !visitor.test(history);
+                    return !stopped[0];
+                });
+                if (stopped[0]) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * atMillis 까지(포함) 보관된 내역으로 계산한 잔액을 반환합니다.
+     * 블록 전체가 atMillis 이전이면 목차의 누적값만 쓰고, 걸치는 블록 하나만 풀어서 더합니다.
+     */
+    public long balanceAt(long userId, long atMillis) {
+        long balance = 0;
+        try {
+            for (HistorySegment segment : segments) {
+                HistorySegment.Entry entry = segment.find(userId);
+                if (entry == null) {
+                    continue;
+                }
+                long before = entry.chargedBefore() - entry.usedBefore();
+                if (entry.lastMillis() <= atMillis) {
+                    balance = before + entry.charged() - entry.used();
+                    continue;
+                }
+                long[] state = {before, entry.baseMillis()}; // 잔액, 단조 증가로 맞춘 시각
+                segment.read(entry, history -> {
+                    state[1] = Math.max(state[1], history.updateMillis());
+                    if (state[1] > atMillis) {
+                        return false;
+                    }
+                    state[0] += history.type().isCredit() ? history.amount() : -history.amount();
+                    return true;
+                });
+                return state[0];
+            }
+            return balance;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * fromMillis 가 속한 구간부터 toMillis 전에 시작하는 구간까지, 단조 증가로 맞춘 시각이 untilMillis 전인 보관된 내역을
+     * unit 구간별로 합산합니다. (구간 시작 순, 내역이 있는 구간만)
+     */
+    public List<PointSums.Bucket> buckets(long userId, RollupUnit unit, long offsetMillis, long fromMillis, long toMillis, long untilMillis) {
+        long from = unit.startOf(fromMillis, offsetMillis);
+        List<PointSums.Bucket> buckets = new ArrayList<>();
+        try {
+            for (HistorySegment segment : segments) {
+                HistorySegment.Entry entry = segment.find(userId);
+                if (entry == null || entry.lastMillis() < from) {
+                    continue;
+                }
+                if (entry.baseMillis() >= untilMillis) {
+                    break;
+                }
+                long[] state = {entry.baseMillis(), Long.MIN_VALUE, 0L, 0L}; // 시각, 구간 시작, 충전, 사용
+                segment.read(entry, history -> {
+                    state[0] = Math.max(state[0], history.updateMillis());
+                    long start = unit.startOf(state[0], offsetMillis);
+                    if (state[0] >= untilMillis || start >= toMillis) {
+                        return false;
+                    }
+                    if (start >= from) {
+                        if (start != state[1]) {
+                            flush(buckets, state);
+                            state[1] = start;
+                        }
+                        state[history.type().isCredit() ? 2 : 3] += history.amount();
+                    }
+                    return true;
+                });
+                flush(buckets, state);
+            }
+            return buckets;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 보관된 내역이 모두 maxHistoryId 이하인지 확인합니다. (시작 시, 내역 id 를 이어서 부여하기 전에 호출)
+     * 복구한 마지막 내역 id 보다 큰 id 가 보관되어 있으면 새 내역과 id 가 겹치므로, 보관소를 지우지 않고 시작을 멈춥니다.
+     */
+    public void verifyRecoveredThrough(long maxHistoryId) {
+        long lastArchivedId = checkpoints.values().stream().mapToLong(HistoryCheckpoint::lastArchivedId).max().orElse(0L);
+        if (lastArchivedId > maxHistoryId) {
+            throw new IllegalStateException("archived history id " + lastArchivedId
+                    + " is after the recovered history id " + maxHistoryId + ": " + directory);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        for (HistorySegment segment : segments) {
+            segment.close();
+        }
+    }
+
+    private void recover() throws IOException {
+        for (Path path : HistorySegment.list(directory)) {
+            HistorySegment segment = HistorySegment.open(path);
+            segment.forEachEntry(entry -> advance(segment.cutoffMillis(), entry));
+            segments.add(segment);
+            archivedUntilMillis = segment.cutoffMillis();
+        }
+        if (!segments.isEmpty()) {
+            log.info("보관 내역 복구 - 세그먼트 수: {}, 유저 수: {}, 기준 시각: {}", segments.size(), checkpoints.size(), archivedUntilMillis);
+        }
+    }
+
+    private void advance(long cutoffMillis, HistorySegment.Entry entry) {
+        HistoryCheckpoint previous = checkpoints.getOrDefault(entry.userId(), HistoryCheckpoint.EMPTY);
+        checkpoints.put(entry.userId(), new HistoryCheckpoint(
+                entry.lastId(),
+                previous.count() + entry.count(),
+                entry.chargedBefore() + entry.charged(),
+                entry.usedBefore() + entry.used(),
+                entry.lastMillis(),
+                cutoffMillis));
+    }
+
+    private static void flush(List<PointSums.Bucket> buckets, long[] state) {
+        if (state[1] == Long.MIN_VALUE) {
+            return;
+        }
+        int last = buckets.size() - 1;
+        if (last >= 0 && buckets.get(last).startMillis() == state[1]) {
+            PointSums.Bucket merged = buckets.remove(last);
+            buckets.add(new PointSums.Bucket(state[1], merged.charged() + state[2], merged.used() + state[3]));
+        } else {
+            buckets.add(new PointSums.Bucket(state[1], state[2], state[3]));
+        }
+        state[1] = Long.MIN_VALUE;
+        state[2] = 0L;
+        state[3] = 0L;
+    }
+}
@@ -0,0 +1,29 @@
+package io.hhplus.tdd.cluster;
+
+import java.net.URI;
+
+/**
+ * 클러스터 노드 (point.cluster.nodes 의 "id=url" 한 항목)
+ */
+public record ClusterNode(
+        String id,
+        URI baseUri
+) {
+
+    /**
+     * "node1=http://localhost:8081" 형식을 읽습니다.
+     */
+    public static ClusterNode parse(String value) {
+        int separator = value.indexOf('=');
+        if (separator <= 0 || separator == value.length() - 1) {
+            throw new IllegalArgumentException("cluster node must be 'id=url': " + value);
+        }
+        String id = value.substring(0, separator).trim();
+        String url = value.substring(separator + 1).trim();
+        return new ClusterNode(id, URI.create(url.endsWith("/") ? url.substring(0, url.length() - 1) : url));
+    }
+
+    public URI resolve(String pathAndQuery) {
+        return URI.create(baseUri + pathAndQuery);
+    }
+}
@@ -0,0 +1,104 @@
+package io.hhplus.tdd.cluster;
+
+import io.hhplus.tdd.exception.ErrorCode;
+import io.hhplus.tdd.exception.HanghaeException;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.PointTransfer;
+import io.hhplus.tdd.point.UserPoint;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * 여러 유저에 걸친 요청을 유저를 맡은 노드별로 나눠 처리합니다. (클러스터를 쓰지 않으면 PointService 를 그대로 호출)
+ * - 충전 : 이 노드의 유저면 PointService, 아니면 주인 노드에 충전을 보냄 (일괄 충전 항목마다 사용)
+ * - 이체 : 보내는 유저와 받는 유저의 노드가 다르면, 이 노드(보내는 유저의 주인)에서 먼저 차감한 뒤 받는 유저의 노드에 충전을 보냅니다.
+ *   충전은 이체마다 만든 Idempotency-Key 로 보내므로, 연결 실패로 재시도해도 한 번만 충전됩니다.
+ *   받는 노드가 충전을 거절하면(처리율 제한 등) 차감한 금액을 되돌리고(REFUND 내역, 처리율/락 대기 제한 없음) 그 예외를 던집니다.
+ *   재시도 후에도 연결하지 못하면 충전 여부를 알 수 없으므로 되돌리지 않고, 키를 로그로 남긴 뒤 CLUSTER_NODE_UNAVAILABLE 예외가 발생합니다.
+ */
+@Slf4j
+@Service
+public class ClusterPointService {
+
+    private static final int CREDIT_ATTEMPTS = 3;
+
+    private final PointService pointService;
+    private final PointCluster pointCluster;
+    private final PointClusterClient pointClusterClient;
+
+    public ClusterPointService(PointService pointService) {
+        this(pointService, PointCluster.standalone(), null);
+    }
+
+    @Autowired
+    public ClusterPointService(PointService pointService, PointCluster pointCluster, PointClusterClient pointClusterClient) {
+        this.pointService = pointService;
+        this.pointCluster = pointCluster;
+        this.pointClusterClient = pointClusterClient;
+    }
+
+    public UserPoint chargePoint(long userId, long amount) {
+        if (pointCluster.isLocal(userId)) {
+            return pointService.chargePoint(userId, amount);
+        }
+        return pointClusterClient.charge(pointCluster.ownerOf(userId), userId, amount, null);
+    }
+
+    /**
+     * 이 노드가 맡은 유저(fromUserId)의 포인트를 다른 노드의 유저에게 이체합니다.
+     * 두 유저가 모두 이 노드의 몫이면 PointService.transferPoint 와 같습니다.
+     */
+    public PointTransfer transferPoint(long fromUserId, long toUserId, long amount) {
+        if (pointCluster.isLocal(toUserId)) {
+            return pointService.transferPoint(fromUserId, toUserId, amount);
+        }
+        if (amount < 100) {
+            throw new HanghaeException(ErrorCode.INVALID_TRANSFER_AMOUNT);
+        }
+
+        UserPoint from = pointService.usePoint(fromUserId, amount);
+        ClusterNode owner = pointCluster.ownerOf(toUserId);
+        String idempotencyKey = "transfer-" + pointCluster.self().id() + "-" + UUID.randomUUID();
+        try {
+            UserPoint to = credit(owner, toUserId, amount, idempotencyKey);
+            log.debug("노드 간 이체 완료 - from: {}, to: {} ({}), amount: {}", fromUserId, toUserId, owner.id(), amount);
+            return new PointTransfer(from, to);
+        } catch (HanghaeException e) {
+            if (e.getErrorCode() == ErrorCode.CLUSTER_NODE_UNAVAILABLE) {
+                log.error("노드 간 이체 충전 미확인 - from: {}, to: {} ({}), amount: {}, idempotencyKey: {}", fromUserId, toUserId, owner.id(), amount, idempotencyKey);
+                throw e;
+            }
+            refund(fromUserId, toUserId, owner, amount, e);
+            log.warn("노드 간 이체 충전 거절, 차감 취소 - from: {}, to: {} ({}), amount: {}, code: {}", fromUserId, toUserId, owner.id(), amount, e.getErrorCodeValue());
+            throw e;
+        }
+    }
+
+    /**
+     * 거절된 이체의 차감을 되돌립니다. 되돌림도 실패하면 차감이 남으므로 에러 로그로 남기고, 원래 예외에 덧붙입니다.
+     */
+    private void refund(long fromUserId, long toUserId, ClusterNode owner, long amount, HanghaeException rejected) {
+        try {
+            pointService.refundPoint(fromUserId, amount);
+        } catch (RuntimeException e) {
+            log.error("노드 간 이체 차감 취소 실패 - from: {}, to: {} ({}), amount: {}", fromUserId, toUserId, owner.id(), amount, e);
+            rejected.addSuppressed(e);
+            throw rejected;
+        }
+    }
+
+    private UserPoint credit(ClusterNode owner, long userId, long amount, String idempotencyKey) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return pointClusterClient.charge(owner, userId, amount, idempotencyKey);
+            } catch (HanghaeException e) {
+                if (e.getErrorCode() != ErrorCode.CLUSTER_NODE_UNAVAILABLE || attempt == CREDIT_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+}
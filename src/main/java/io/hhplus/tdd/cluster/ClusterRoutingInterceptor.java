@@ -0,0 +1,68 @@
+package io.hhplus.tdd.cluster;
+
+import io.hhplus.tdd.exception.ErrorCode;
+import io.hhplus.tdd.exception.HanghaeException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 유저 한 명의 요청(/point/{id}/...)을 그 유저를 맡은 노드로 넘기는 인터셉터
+ * - 이 노드가 맡은 유저면 그대로 컨트롤러가 처리하고, 아니면 컨트롤러를 거치지 않고 주인 노드의 응답을 그대로 돌려줍니다.
+ *   처리율 제한, Idempotency-Key, 스냅샷 버전은 모두 주인 노드에서 한 번만 적용됩니다.
+ * - 다른 노드가 넘긴 요청인데 이 노드의 몫이 아니면(노드 목록이 서로 다름) 다시 넘기지 않고 CLUSTER_MISROUTED(409) 예외가 발생합니다.
+ * - 이체(두 유저)와 일괄 충전(여러 유저)은 ClusterPointService 에서 유저별로 나눠 보냅니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClusterRoutingInterceptor implements HandlerInterceptor, WebMvcConfigurer {
+
+    private final PointCluster pointCluster;
+    private final PointClusterClient pointClusterClient;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this).addPathPatterns("/point/**", "/reactive/point/**");
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!pointCluster.isEnabled()) {
+            return true;
+        }
+        Long userId = userIdOf(request);
+        if (userId == null || pointCluster.isLocal(userId)) {
+            return true;
+        }
+        if (request.getHeader(PointCluster.FORWARDED_HEADER) != null) {
+            throw new HanghaeException(ErrorCode.CLUSTER_MISROUTED);
+        }
+        pointClusterClient.forward(pointCluster.ownerOf(userId), request, response);
+        return false;
+    }
+
+    /**
+     * 경로의 {id} 를 읽습니다. 없거나 숫자가 아니면 null (컨트롤러가 그대로 처리)
+     */
+    @SuppressWarnings("unchecked")
+    private static Long userIdOf(HttpServletRequest request) {
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String id = variables != null ? variables.get("id") : null;
+        if (id == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
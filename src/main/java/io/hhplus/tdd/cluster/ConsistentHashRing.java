@@ -0,0 +1,75 @@
+package io.hhplus.tdd.cluster;
+
+import io.hhplus.tdd.concurrent.LongHash;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 유저 id → 노드 일관 해시 링
+ * - 노드마다 가상 노드(virtualNodes)개의 토큰을 링에 두고, 유저 id 해시 이상인 첫 토큰의 노드가 그 유저를 맡습니다.
+ *   가상 노드가 많을수록 노드별 유저 수가 고르게 나뉩니다.
+ * - 노드를 하나 더하거나 빼면 그 노드의 토큰 구간에 있던 유저(약 1/N)만 주인이 바뀝니다.
+ * - 토큰은 노드 id 로만 정해지므로, 같은 노드 목록을 가진 노드끼리는 설정 순서와 관계없이 같은 주인을 계산합니다.
+ * - 토큰과 주인은 정렬된 long[] / int[] 로 두고 이진 탐색하므로 조회에 할당이 없습니다.
+ */
+public class ConsistentHashRing {
+
+    private final List<ClusterNode> nodes;
+    private final long[] tokens;
+    private final int[] owners;
+
+    public ConsistentHashRing(List<ClusterNode> nodes, int virtualNodes) {
+        if (nodes.isEmpty() || virtualNodes <= 0) {
+            throw new IllegalArgumentException("nodes must not be empty and virtualNodes must be positive: " + nodes.size() + ", " + virtualNodes);
+        }
+        Set<String> ids = new HashSet<>();
+        for (ClusterNode node : nodes) {
+            if (!ids.add(node.id())) {
+                throw new IllegalArgumentException("duplicated cluster node id: " + node.id());
+            }
+        }
+        this.nodes = List.copyOf(nodes);
+
+        List<long[]> entries = new ArrayList<>(nodes.size() * virtualNodes); // [토큰, 노드 번호]
+        for (int n = 0; n < nodes.size(); n++) {
+            for (int v = 0; v < virtualNodes; v++) {
+                entries.add(new long[]{tokenOf(nodes.get(n).id(), v), n});
+            }
+        }
+        entries.sort(Comparator.<long[]>comparingLong(entry -> entry[0]).thenComparing(entry -> this.nodes.get((int) entry[1]).id()));
+        this.tokens = new long[entries.size()];
+        this.owners = new int[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            tokens[i] = entries.get(i)[0];
+            owners[i] = (int) entries.get(i)[1];
+        }
+    }
+
+    public ClusterNode ownerOf(long userId) {
+        long hash = LongHash.mix(userId);
+        int index = Arrays.binarySearch(tokens, hash);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return nodes.get(owners[index == tokens.length ? 0 : index]); // 마지막 토큰 뒤는 링의 처음으로 돌아감
+    }
+
+    public List<ClusterNode> nodes() {
+        return nodes;
+    }
+
+    private static long tokenOf(String nodeId, int virtualNode) {
+        long h = 0xcbf29ce484222325L; // FNV-1a 64
+        for (byte b : (nodeId + "#" + virtualNode).getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        return LongHash.mix(h);
+    }
+}
@@ -0,0 +1,90 @@
+package io.hhplus.tdd.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 클러스터 구성 (point.cluster)
+ * - 노드 목록은 설정으로 고정하며(정적 구성), 모든 노드가 같은 목록을 가져야 같은 유저를 같은 노드로 보냅니다.
+ * - 유저 id 는 일관 해시 링으로 노드에 나누고, 각 노드는 자기 몫의 유저만 자기 PointService(잔액/내역 테이블)에 둡니다.
+ * - 클러스터를 쓰지 않으면(enabled=false) 모든 유저가 이 노드의 몫입니다.
+ */
+@Slf4j
+@Component
+public class PointCluster {
+
+    /** 다른 노드가 넘긴 요청에 붙이는 헤더 (값 : 넘긴 노드 id), 이 헤더가 있는 요청은 다시 넘기지 않음 */
+    public static final String FORWARDED_HEADER = "Point-Forwarded-By";
+
+    private final boolean enabled;
+    private final ClusterNode self;
+    private final ConsistentHashRing ring;
+
+    @Autowired
+    public PointCluster(
+            @Value("${point.cluster.enabled:false}") boolean enabled,
+            @Value("${point.cluster.self:}") String selfId,
+            @Value("${point.cluster.nodes:}") String nodes,
+            @Value("${point.cluster.virtual-nodes:160}") int virtualNodes
+    ) {
+        this(enabled, selfId, enabled ? parse(nodes) : List.of(), virtualNodes);
+    }
+
+    public PointCluster(boolean enabled, String selfId, List<ClusterNode> nodes, int virtualNodes) {
+        this.enabled = enabled;
+        if (!enabled) {
+            this.self = null;
+            this.ring = null;
+            return;
+        }
+        this.ring = new ConsistentHashRing(nodes, virtualNodes);
+        this.self = nodes.stream()
+                .filter(node -> node.id().equals(selfId))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("point.cluster.self must be one of point.cluster.nodes: " + selfId));
+        log.info("클러스터 구성 - self: {}, nodes: {}, virtualNodes: {}", self.id(), nodes.size(), virtualNodes);
+    }
+
+    /**
+     * 클러스터를 쓰지 않는 단일 노드 구성
+     */
+    public static PointCluster standalone() {
+        return new PointCluster(false, null, List.of(), 1);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isLocal(long userId) {
+        return !enabled || ring.ownerOf(userId) == self;
+    }
+
+    /**
+     * 유저를 맡은 노드를 반환합니다. 클러스터를 쓰지 않으면 null 을 반환합니다.
+     */
+    public ClusterNode ownerOf(long userId) {
+        return enabled ? ring.ownerOf(userId) : null;
+    }
+
+    public ClusterNode self() {
+        return self;
+    }
+
+    public List<ClusterNode> nodes() {
+        return enabled ? ring.nodes() : List.of();
+    }
+
+    private static List<ClusterNode> parse(String nodes) {
+        return Arrays.stream(nodes.split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .map(ClusterNode::parse)
+                .toList();
+    }
+}
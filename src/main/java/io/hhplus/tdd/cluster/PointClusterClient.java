@@ -0,0 +1,176 @@
+package io.hhplus.tdd.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.exception.ErrorCode;
+import io.hhplus.tdd.exception.HanghaeException;
+import io.hhplus.tdd.point.IdempotencyCache;
+import io.hhplus.tdd.point.PointSnapshots;
+import io.hhplus.tdd.point.PointTransfer;
+import io.hhplus.tdd.point.PointTransferRequest;
+import io.hhplus.tdd.point.UserPoint;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 다른 노드로 요청을 넘기는 내부 HTTP 클라이언트
+ * - 노드끼리도 외부와 같은 /point API 를 호출하고, 넘긴 요청에는 Point-Forwarded-By 헤더를 붙여 다시 넘겨지지 않게 합니다.
+ * - 연결은 JDK HttpClient 가 노드별로 유지(keep-alive)하므로 요청마다 새로 맺지 않습니다.
+ * - 노드에 연결하지 못하거나 제한 시간 안에 응답이 없으면 CLUSTER_NODE_UNAVAILABLE(502) 예외가 발생합니다.
+ */
+@Slf4j
+@Component
+public class PointClusterClient {
+
+    private static final List<String> FORWARDED_REQUEST_HEADERS = List.of(
+            "Content-Type", "Accept", IdempotencyCache.HEADER, PointSnapshots.MIN_VERSION_HEADER);
+    private static final String JSON = "application/json";
+
+    private final PointCluster pointCluster;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final Duration timeout;
+
+    private final LongAdder forwardedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+
+    public PointClusterClient(
+            PointCluster pointCluster,
+            ObjectMapper objectMapper,
+            @Value("${point.cluster.timeout-millis:10000}") long timeoutMillis
+    ) {
+        if (timeoutMillis <= 0) {
+            throw new IllegalArgumentException("timeoutMillis must be positive: " + timeoutMillis);
+        }
+        this.pointCluster = pointCluster;
+        this.objectMapper = objectMapper;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    /**
+     * 받은 요청을 그대로 node 에 넘기고, 응답(상태, 본문, Point-Version 헤더)을 그대로 돌려줍니다.
+     * 응답 본문은 받는 대로 복사하므로 NDJSON 스트리밍 응답도 모아두지 않습니다.
+     */
+    public void forward(ClusterNode node, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String query = request.getQueryString();
+        byte[] body = request.getInputStream().readAllBytes();
+        HttpRequest.Builder builder = newRequest(node, request.getRequestURI() + (query != null ? "?" + query : ""))
+                .method(request.getMethod(), body.length == 0 ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(body));
+        for (String name : FORWARDED_REQUEST_HEADERS) {
+            String value = request.getHeader(name);
+            if (value != null) {
+                builder.header(name, value);
+            }
+        }
+
+        HttpResponse<InputStream> forwarded = send(node, builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+        response.setStatus(forwarded.statusCode());
+        forwarded.headers().firstValue("Content-Type").ifPresent(response::setContentType);
+        forwarded.headers().firstValue(PointSnapshots.VERSION_HEADER).ifPresent(version -> response.setHeader(PointSnapshots.VERSION_HEADER, version));
+        try (InputStream in = forwarded.body()) {
+            in.transferTo(response.getOutputStream());
+        }
+    }
+
+    /**
+     * node 가 맡은 유저의 포인트를 충전합니다. 실패 응답은 같은 에러 코드의 HanghaeException 으로 바꿔 던집니다.
+     * idempotencyKey 가 있으면 재시도해도 한 번만 충전됩니다.
+     */
+    public UserPoint charge(ClusterNode node, long userId, long amount, String idempotencyKey) {
+        HttpRequest.Builder builder = newRequest(node, "/point/" + userId + "/charge")
+                .header("Content-Type", JSON)
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(String.valueOf(amount)));
+        if (idempotencyKey != null) {
+            builder.header(IdempotencyCache.HEADER, idempotencyKey);
+        }
+        return read(send(node, builder.build(), HttpResponse.BodyHandlers.ofByteArray()), UserPoint.class);
+    }
+
+    /**
+     * 보내는 유저를 맡은 node 에 이체를 넘기고, 응답의 Point-Version 헤더를 response 에 옮깁니다.
+     */
+    public PointTransfer transfer(ClusterNode node, PointTransferRequest transferRequest, HttpServletResponse response) {
+        HttpRequest request = newRequest(node, "/point/transfer")
+                .header("Content-Type", JSON)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(write(transferRequest)))
+                .build();
+        HttpResponse<byte[]> forwarded = send(node, request, HttpResponse.BodyHandlers.ofByteArray());
+        forwarded.headers().firstValue(PointSnapshots.VERSION_HEADER).ifPresent(version -> response.setHeader(PointSnapshots.VERSION_HEADER, version));
+        return read(forwarded, PointTransfer.class);
+    }
+
+    public long forwardedCount() {
+        return forwardedCount.sum();
+    }
+
+    public long failedCount() {
+        return failedCount.sum();
+    }
+
+    private HttpRequest.Builder newRequest(ClusterNode node, String pathAndQuery) {
+        return HttpRequest.newBuilder(node.resolve(pathAndQuery))
+                .timeout(timeout)
+                .header(PointCluster.FORWARDED_HEADER, pointCluster.self().id());
+    }
+
+    private <T> HttpResponse<T> send(ClusterNode node, HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) {
+        forwardedCount.increment();
+        try {
+            return httpClient.send(request, bodyHandler);
+        } catch (IOException e) {
+            failedCount.increment();
+            log.warn("노드 요청 실패 - node: {}, uri: {}, cause: {}", node.id(), request.uri(), e.toString());
+            throw new HanghaeException(ErrorCode.CLUSTER_NODE_UNAVAILABLE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failedCount.increment();
+            throw new HanghaeException(ErrorCode.CLUSTER_NODE_UNAVAILABLE);
+        }
+    }
+
+    private <T> T read(HttpResponse<byte[]> response, Class<T> type) {
+        try {
+            if (response.statusCode() / 100 == 2) {
+                return objectMapper.readValue(response.body(), type);
+            }
+            ErrorResponse error = objectMapper.readValue(response.body(), ErrorResponse.class);
+            throw new HanghaeException(errorCodeOf(error.code()));
+        } catch (IOException e) {
+            log.warn("노드 응답 해석 실패 - status: {}, uri: {}", response.statusCode(), response.uri());
+            throw new HanghaeException(ErrorCode.SERVER_ERROR);
+        }
+    }
+
+    private byte[] write(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ErrorCode errorCodeOf(String code) {
+        return Arrays.stream(ErrorCode.values())
+                .filter(errorCode -> errorCode.getCode().equals(code))
+                .findFirst()
+                .orElse(ErrorCode.SERVER_ERROR);
+    }
+}
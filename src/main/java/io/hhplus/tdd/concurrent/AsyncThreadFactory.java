@@ -0,0 +1,46 @@
+package io.hhplus.tdd.concurrent;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 내부 비동기 작업(outbox writer 등)에 쓸 스레드를 만듭니다.
+ * - spring.threads.virtual.enabled=true (Java 21 이상) 이면 요청 처리와 같은 가상 스레드를 사용합니다.
+ * - 그 외에는 daemon 플랫폼 스레드를 사용합니다.
+ */
+@Component
+public class AsyncThreadFactory {
+
+    private final boolean virtual;
+
+    public AsyncThreadFactory(@Value("${spring.threads.virtual.enabled:false}") boolean virtual) {
+        this.virtual = virtual;
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * 이름을 붙인 스레드를 만듭니다. (시작은 호출한 쪽에서)
+     */
+    public Thread newThread(String name, Runnable task) {
+        Thread thread = threadFactory(name).newThread(task);
+        thread.setName(name);
+        return thread;
+    }
+
+    private ThreadFactory threadFactory(String name) {
+        if (virtual) {
+            return new VirtualThreadTaskExecutor(name).getVirtualThreadFactory();
+        }
+        return task -> {
+            Thread thread = new Thread(task, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package io.hhplus.tdd.concurrent;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * 키별 빈도를 추정하는 Count-Min sketch (주기적 감쇠)
+ * - depth 개 행마다 width 개 카운터를 두고, 키마다 행별로 다른 열의 카운터를 하나씩 올립니다.
+ *   추정값은 행별 카운터의 최솟값이라 실제 횟수보다 작게 나오지 않고, 같은 열을 쓰는 다른 키만큼만 크게 나옵니다.
+ * - 카운터는 AtomicLongArray 하나에 담아 증가에 락이 없고, 메모리는 키 수와 관계없이 depth × width 로 고정됩니다.
+ * - decayMillis 마다 모든 카운터를 절반으로 줄이므로 오래된 요청의 비중이 줄어듭니다.
+ *   주기마다 r 번씩 꾸준히 들어오는 키의 추정값은 약 2r 로 수렴합니다.
+ */
+public class CountMinSketch {
+
+    private final AtomicLongArray counters;
+    private final int depth;
+    private final int width;
+    private final int mask;
+    private final long decayNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicBoolean decaying = new AtomicBoolean();
+    private volatile long nextDecayNanos;
+
+    /**
+     * @param depth       행 수 (해시 함수 수, 많을수록 과대 추정 확률↓)
+     * @param width       행별 카운터 수 (2의 거듭제곱으로 올림, 많을수록 과대 추정 폭↓)
+     * @param decayMillis 카운터를 절반으로 줄이는 주기
+     */
+    public CountMinSketch(int depth, int width, long decayMillis) {
+        this(depth, width, decayMillis, System::nanoTime);
+    }
+
+    public CountMinSketch(int depth, int width, long decayMillis, LongSupplier nanoClock) {
+        if (depth <= 0 || width <= 0 || decayMillis <= 0) {
+            throw new IllegalArgumentException("depth, width and decayMillis must be positive: " + depth + ", " + width + ", " + decayMillis);
+        }
+        this.depth = depth;
+        this.width = width == 1 ? 1 : Integer.highestOneBit(width - 1) << 1;
+        this.mask = this.width - 1;
+        this.counters = new AtomicLongArray(depth * this.width);
+        this.decayNanos = TimeUnit.MILLISECONDS.toNanos(decayMillis);
+        this.nanoClock = nanoClock;
+        this.nextDecayNanos = nanoClock.getAsLong() + decayNanos;
+    }
+
+    /**
+     * 키의 횟수를 하나 올리고, 올린 뒤의 추정 횟수를 반환합니다.
+     */
+    public long add(long key) {
+        decayIfDue();
+        long hash = LongHash.mix(key);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(hash, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * 키의 추정 횟수를 반환합니다. (올리지 않음)
+     */
+    public long estimate(long key) {
+        long hash = LongHash.mix(key);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(hash, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * 주기가 지났으면 한 스레드만 모든 카운터를 절반으로 줄입니다. 줄이는 동안 들어온 증가도 잃지 않습니다.
+     */
+    private void decayIfDue() {
+        long now = nanoClock.getAsLong();
+        if (now - nextDecayNanos < 0 || !decaying.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (now - nextDecayNanos >= 0) {
+                for (int i = 0; i < counters.length(); i++) {
+                    counters.getAndUpdate(i, count -> count >>> 1);
+                }
+                nextDecayNanos = now + decayNanos;
+            }
+        } finally {
+            decaying.set(false);
+        }
+    }
+
+    /**
+     * 행마다 다른 열 : 해시 상위/하위 32비트로 만든 두 해시의 조합 (h1 + row * h2)
+     */
+    private int index(long hash, int row) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return row * width + ((h1 + row * h2) & mask);
+    }
+}
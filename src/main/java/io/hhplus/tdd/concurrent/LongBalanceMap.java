@@ -0,0 +1,337 @@
+package io.hhplus.tdd.concurrent;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * long 키 → (잔액, 갱신 시각) open addressing 해시 맵
+ * - 키와 값을 long[] 에 그대로 담아 Long 박싱과 엔트리 객체 할당이 없습니다. 값 객체는 get 에서 호출한 쪽이 만들 때만 생깁니다.
+ * - 키 공간을 stripe 로 나누고 stripe 마다 StampedLock 으로 보호합니다.
+ *   읽기는 낙관적 읽기로 락 없이 끝나고, 쓰기와 겹친 경우에만 읽기 락을 잡고 다시 읽습니다.
+ * - 최대 크기를 넘으면 stripe 안에서 CLOCK(second chance) 방식으로 최근 읽히지 않은 키부터 제거합니다.
+ *   새로 들어온 키는 참조 비트 없이 시작하므로, 한 번도 다시 쓰이지 않은 키가 자주 쓰이는 키보다 먼저 제거됩니다.
+ * - 키는 0 이상이어야 합니다. (음수는 빈 슬롯 표시로 사용)
+ */
+public class LongBalanceMap {
+
+    private static final long EMPTY = -1L;
+    private static final int MAX_STRIPES = 64;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Stripe[] stripes;
+
+    /**
+     * @param maxSize 최대 키 수, Integer.MAX_VALUE 면 제거하지 않음
+     */
+    public LongBalanceMap(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        int stripeCount = Math.min(MAX_STRIPES, Integer.highestOneBit(maxSize));
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(maxSize / stripeCount);
+        }
+    }
+
+    public interface EntryMapper<T> {
+        T map(long key, long point, long updateMillis);
+    }
+
+    public interface EntryConsumer {
+        void accept(long key, long point, long updateMillis);
+    }
+
+    /**
+     * 키의 값을 mapper 로 변환해 반환합니다. 없으면 null 을 반환합니다.
+     */
+    public <T> T get(long key, EntryMapper<T> mapper) {
+        if (key < 0) {
+            return null;
+        }
+        long hash = LongHash.mix(key);
+        return stripe(hash).get(key, hash, mapper);
+    }
+
+    /**
+     * 키의 잔액만 반환합니다. 없으면 missing 을 반환합니다. (객체를 만들지 않음)
+     */
+    public long getPoint(long key, long missing) {
+        if (key < 0) {
+            return missing;
+        }
+        long hash = LongHash.mix(key);
+        return stripe(hash).getPoint(key, hash, missing);
+    }
+
+    /**
+     * 값을 넣거나 갱신합니다. 최대 크기를 넘어 다른 키를 제거했으면 true 를 반환합니다.
+     */
+    public boolean put(long key, long point, long updateMillis) {
+        if (key < 0) {
+            throw new IllegalArgumentException("key must not be negative: " + key);
+        }
+        long hash = LongHash.mix(key);
+        return stripe(hash).put(key, hash, point, updateMillis);
+    }
+
+    /**
+     * 모든 키와 값을 넘깁니다. stripe 단위로 복사한 뒤 락 없이 넘기므로, 순회 중의 변경은 일부만 보일 수 있습니다.
+     */
+    public void forEach(EntryConsumer consumer) {
+        for (Stripe stripe : stripes) {
+            stripe.copy().forEach(consumer);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    private Stripe stripe(long hash) {
+        return stripes[(int) (hash >>> 40) & (stripes.length - 1)];
+    }
+
+    private static final class Stripe {
+
+        private final StampedLock lock = new StampedLock();
+        private final int maxSize;
+        private Table table = new Table(INITIAL_CAPACITY);
+        private int size;
+        private int hand; // CLOCK 제거 위치
+
+        private Stripe(int maxSize) {
+            this.maxSize = Math.max(1, maxSize);
+        }
+
+        private <T> T get(long key, long hash, EntryMapper<T> mapper) {
+            long stamp = lock.tryOptimisticRead();
+            Table current = table;
+            int slot = current.find(key, hash);
+            long point = slot >= 0 ? current.values[slot * 2] : 0;
+            long updateMillis = slot >= 0 ? current.values[slot * 2 + 1] : 0;
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    current = table;
+                    slot = current.find(key, hash);
+                    point = slot >= 0 ? current.values[slot * 2] : 0;
+                    updateMillis = slot >= 0 ? current.values[slot * 2 + 1] : 0;
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            if (slot < 0) {
+                return null;
+            }
+            current.referenced[slot] = 1; // 제거 순서 힌트일 뿐이라 경합으로 유실되어도 무방
+            return mapper.map(key, point, updateMillis);
+        }
+
+        private long getPoint(long key, long hash, long missing) {
+            long stamp = lock.tryOptimisticRead();
+            Table current = table;
+            int slot = current.find(key, hash);
+            long point = slot >= 0 ? current.values[slot * 2] : missing;
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    current = table;
+                    slot = current.find(key, hash);
+                    point = slot >= 0 ? current.values[slot * 2] : missing;
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            if (slot >= 0) {
+                current.referenced[slot] = 1;
+            }
+            return point;
+        }
+
+        private boolean put(long key, long hash, long point, long updateMillis) {
+            long stamp = lock.writeLock();
+            try {
+                int slot = table.find(key, hash);
+                if (slot >= 0) {
+                    table.set(slot, key, point, updateMillis);
+                    table.referenced[slot] = 1;
+                    return false;
+                }
+
+                boolean evicted = false;
+                if (size >= maxSize) {
+                    evictOne();
+                    evicted = true;
+                }
+                if ((size + 1) * 4L > table.keys.length * 3L) {
+                    table = table.resize(table.keys.length * 2);
+                    hand = 0;
+                }
+                table.set(table.emptySlot(hash), key, point, updateMillis);
+                size++;
+                return evicted;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * 참조 비트가 꺼진 첫 키를 제거합니다. 지나가는 키의 참조 비트는 끕니다.
+         */
+        private void evictOne() {
+            int mask = table.keys.length - 1;
+            while (true) {
+                int slot = hand;
+                hand = (hand + 1) & mask;
+                if (table.keys[slot] == EMPTY) {
+                    continue;
+                }
+                if (table.referenced[slot] != 0) {
+                    table.referenced[slot] = 0;
+                    continue;
+                }
+                table.removeAt(slot);
+                size--;
+                return;
+            }
+        }
+
+        private Table copy() {
+            long stamp = lock.readLock();
+            try {
+                return table.resize(table.keys.length);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private int size() {
+            long stamp = lock.readLock();
+            try {
+                return size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private void clear() {
+            long stamp = lock.writeLock();
+            try {
+                table = new Table(INITIAL_CAPACITY);
+                size = 0;
+                hand = 0;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    /**
+     * 선형 탐사 테이블. 크기를 바꿀 때는 새 Table 로 교체하므로 낙관적 읽기는 항상 한 세대의 배열만 봅니다.
+     */
+    private static final class Table {
+
+        private final long[] keys;
+        private final long[] values; // 슬롯마다 [잔액, 갱신 시각]
+        private final byte[] referenced;
+
+        private Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new long[capacity * 2];
+            this.referenced = new byte[capacity];
+            Arrays.fill(keys, EMPTY);
+        }
+
+        /**
+         * 키의 슬롯, 없으면 -1. 낙관적 읽기 중에도 끝나도록 탐사 횟수를 용량으로 제한합니다.
+         */
+        private int find(long key, long hash) {
+            int mask = keys.length - 1;
+            int slot = (int) hash & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                long current = keys[slot];
+                if (current == key) {
+                    return slot;
+                }
+                if (current == EMPTY) {
+                    return -1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private int emptySlot(long hash) {
+            int mask = keys.length - 1;
+            int slot = (int) hash & mask;
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void set(int slot, long key, long point, long updateMillis) {
+            keys[slot] = key;
+            values[slot * 2] = point;
+            values[slot * 2 + 1] = updateMillis;
+        }
+
+        /**
+         * 슬롯을 비우고, 뒤따르는 키 중 원래 위치가 빈 슬롯 이전인 키를 당겨 탐사 사슬이 끊기지 않게 합니다. (backward shift)
+         */
+        private void removeAt(int slot) {
+            int mask = keys.length - 1;
+            int hole = slot;
+            int next = slot;
+            while (true) {
+                next = (next + 1) & mask;
+                long key = keys[next];
+                if (key == EMPTY) {
+                    break;
+                }
+                int home = (int) LongHash.mix(key) & mask;
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    keys[hole] = key;
+                    values[hole * 2] = values[next * 2];
+                    values[hole * 2 + 1] = values[next * 2 + 1];
+                    referenced[hole] = referenced[next];
+                    hole = next;
+                }
+            }
+            keys[hole] = EMPTY;
+            referenced[hole] = 0;
+        }
+
+        private Table resize(int capacity) {
+            Table resized = new Table(capacity);
+            for (int slot = 0; slot < keys.length; slot++) {
+                long key = keys[slot];
+                if (key != EMPTY) {
+                    int target = resized.emptySlot(LongHash.mix(key));
+                    resized.set(target, key, values[slot * 2], values[slot * 2 + 1]);
+                    resized.referenced[target] = referenced[slot];
+                }
+            }
+            return resized;
+        }
+
+        private void forEach(EntryConsumer consumer) {
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] != EMPTY) {
+                    consumer.accept(keys[slot], values[slot * 2], values[slot * 2 + 1]);
+                }
+            }
+        }
+    }
+}
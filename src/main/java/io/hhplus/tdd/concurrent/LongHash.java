@@ -0,0 +1,21 @@
+package io.hhplus.tdd.concurrent;
+
+/**
+ * 유저 id 를 해시 테이블 슬롯, shard, 해시 링, sketch 열로 나눌 때 쓰는 섞기 함수
+ * - murmur3 fmix64 : 연속된 유저 id 도 상위/하위 비트 모두에 고르게 퍼지므로, 나머지 연산과 비트 마스크 어느 쪽으로 나눠도 됩니다.
+ */
+public final class LongHash {
+
+    private LongHash() {
+    }
+
+    public static long mix(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
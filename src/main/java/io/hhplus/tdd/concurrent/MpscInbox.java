@@ -0,0 +1,89 @@
+package io.hhplus.tdd.concurrent;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 여러 스레드가 넣고 한 스레드만 꺼내는 락 없는 대기열 (MPSC, Vyukov 방식 연결 리스트)
+ * - 넣기는 tail 을 getAndSet 으로 바꾼 뒤 이전 노드에 연결하는 두 단계이므로, 넣는 스레드끼리 CAS 재시도가 없습니다.
+ * - 꺼내기는 소비 스레드 혼자 head 를 옮기므로 원자 연산이 없습니다.
+ * - 비어 있으면 소비 스레드는 park 로 잠들고, 넣는 스레드는 잠든 경우에만 unpark 합니다.
+ *   (잠들기 전 parked 를 쓰고 다시 확인, 넣은 뒤 parked 를 읽으므로 깨우기가 유실되지 않음)
+ */
+public final class MpscInbox<T> {
+
+    private final AtomicReference<Node<T>> tail;
+    private Node<T> head; // 소비 스레드만 접근 (값이 없는 stub 노드)
+    private volatile Thread consumer;
+    private volatile boolean parked;
+
+    public MpscInbox() {
+        Node<T> stub = new Node<>(null);
+        this.head = stub;
+        this.tail = new AtomicReference<>(stub);
+    }
+
+    /**
+     * 값을 넣습니다. 어느 스레드에서나 호출할 수 있습니다.
+     */
+    public void offer(T value) {
+        Node<T> node = new Node<>(value);
+        Node<T> previous = tail.getAndSet(node);
+        previous.next = node;
+        if (parked) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    /**
+     * 값을 하나 꺼냅니다. 비어 있으면 null 을 반환합니다. (소비 스레드만 호출)
+     * 넣는 스레드가 tail 을 바꾼 뒤 아직 연결하지 못한 순간이면, 연결될 때까지 잠깐 기다립니다.
+     */
+    public T poll() {
+        Node<T> next = head.next;
+        if (next == null) {
+            if (tail.get() == head) {
+                return null;
+            }
+            while ((next = head.next) == null) {
+                Thread.onSpinWait();
+            }
+        }
+        T value = next.value;
+        next.value = null;
+        head = next;
+        return value;
+    }
+
+    /**
+     * 비어 있는지 확인합니다. (소비 스레드만 호출)
+     */
+    public boolean isEmpty() {
+        return tail.get() == head;
+    }
+
+    /**
+     * 값이 들어오거나 timeoutNanos 가 지날 때까지 소비 스레드를 재웁니다. (소비 스레드만 호출)
+     */
+    public void await(long timeoutNanos) {
+        consumer = Thread.currentThread();
+        parked = true;
+        try {
+            if (isEmpty()) {
+                LockSupport.parkNanos(this, timeoutNanos);
+            }
+        } finally {
+            parked = false;
+        }
+    }
+
+    private static final class Node<T> {
+
+        private T value;
+        private volatile Node<T> next;
+
+        private Node(T value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package io.hhplus.tdd.concurrent;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * 키(유저 id)를 해시로 나눈 shard 마다 스레드 하나가 작업을 실행하는 실행기 (point.shards)
+ * - 같은 키의 작업은 항상 같은 shard 스레드에서 넣은 순서대로 실행되므로, 그 키의 상태는 락 없이 한 스레드만 바꿉니다. (single writer)
+ * - 작업은 shard 별 MpscInbox 로 넘기므로 넣는 쪽도 락이 없습니다.
+ * - shard 스레드는 처음 작업이 들어올 때 시작하므로, 사용하지 않는 방식(point.engine)에서는 스레드가 생기지 않습니다.
+ * - shard 수 0 은 사용 가능한 CPU 수입니다.
+ * - 종료 후에 넣은 작업은 실행하지 않고 RejectedExecutionException 을 던지며, 종료와 겹쳐 넣은 작업은 실행되거나 거절되거나 둘 중 하나입니다.
+ *   (shard 스레드가 끝나기 전 남은 작업과, 끝난 뒤 넣는 쪽이 같은 작업을 한 번만 가져가도록 ShardTask 로 경합)
+ */
+@Slf4j
+@Component
+public class ShardedExecutor {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final Shard[] shards;
+    private final AsyncThreadFactory asyncThreadFactory;
+    private volatile boolean running = true;
+
+    public ShardedExecutor(int shardCount) {
+        this(shardCount, new AsyncThreadFactory(false));
+    }
+
+    @Autowired
+    public ShardedExecutor(@Value("${point.shards:0}") int shardCount, AsyncThreadFactory asyncThreadFactory) {
+        if (shardCount < 0) {
+            throw new IllegalArgumentException("shardCount must not be negative: " + shardCount);
+        }
+        int count = shardCount == 0 ? Runtime.getRuntime().availableProcessors() : shardCount;
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard(i);
+        }
+        this.asyncThreadFactory = asyncThreadFactory;
+    }
+
+    /**
+     * 키의 shard 스레드에서 작업을 실행합니다. 예외는 로그만 남기므로, 결과가 필요하면 submit 을 사용합니다.
+     */
+    public void execute(long key, Runnable task) {
+        if (!running) {
+            throw new RejectedExecutionException("sharded executor is shut down");
+        }
+        shards[shardOf(key)].offer(new ShardTask(task));
+    }
+
+    /**
+     * 키의 shard 스레드에서 작업을 실행하고, shard 스레드가 결과(또는 예외)를 채우는 future 를 반환합니다.
+     */
+    public <T> CompletableFuture<T> submit(long key, Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        execute(key, () -> {
+            try {
+                future.complete(task.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    public int shardOf(long key) {
+        return (int) Long.remainderUnsigned(LongHash.mix(key), shards.length);
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    /**
+     * 새 작업을 받지 않고, shard 마다 이미 받은 작업을 마저 실행한 뒤 스레드를 끝냅니다.
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        for (Shard shard : shards) {
+            shard.stop();
+        }
+    }
+
+    /**
+     * shard 스레드와 (종료 후) 넣은 쪽 중 먼저 가져간 쪽만 실행하거나 거절하도록 한 번만 가져갈 수 있는 작업
+     */
+    private static final class ShardTask extends AtomicBoolean {
+
+        private final Runnable task;
+
+        private ShardTask(Runnable task) {
+            this.task = task;
+        }
+
+        private boolean claim() {
+            return compareAndSet(false, true);
+        }
+    }
+
+    private final class Shard {
+
+        private final int index;
+        private final MpscInbox<ShardTask> inbox = new MpscInbox<>();
+        private final AtomicBoolean started = new AtomicBoolean();
+        private volatile Thread thread;
+        private volatile boolean closed; // shard 스레드가 더 이상 작업을 받지 않음 (남은 작업만 처리 중이거나 종료됨)
+
+        private Shard(int index) {
+            this.index = index;
+        }
+
+        /**
+         * 작업을 넣습니다. shard 스레드가 이미 남은 작업까지 처리하고 끝났으면, 가져간 쪽이 없는 작업은 거절합니다.
+         * (closed 는 스레드가 마지막으로 비었음을 확인하기 전에 쓰므로, 그 뒤에 넣은 작업은 여기서 반드시 closed 를 봄)
+         */
+        private void offer(ShardTask task) {
+            if (!started.get() && started.compareAndSet(false, true)) {
+                Thread worker = asyncThreadFactory.newThread("point-shard-" + index, this::run);
+                thread = worker;
+                worker.start();
+            }
+            inbox.offer(task);
+            if (closed && task.claim()) {
+                throw new RejectedExecutionException("sharded executor is shut down");
+            }
+        }
+
+        private void stop() {
+            Thread current = thread;
+            if (current != null) {
+                LockSupport.unpark(current);
+            }
+        }
+
+        private void run() {
+            while (true) {
+                ShardTask task = inbox.poll();
+                if (task == null) {
+                    if (!running) {
+                        break;
+                    }
+                    inbox.await(IDLE_PARK_NANOS);
+                    continue;
+                }
+                runClaimed(task);
+            }
+
+            closed = true;
+            ShardTask task;
+            while ((task = inbox.poll()) != null) { // 종료와 겹쳐 들어온 작업은 넣은 쪽보다 먼저 가져가면 실행
+                runClaimed(task);
+            }
+        }
+
+        private void runClaimed(ShardTask task) {
+            if (!task.claim()) {
+                return;
+            }
+            try {
+                task.task.run();
+            } catch (Throwable e) {
+                log.error("shard 작업 실패 - shard: {}", index, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package io.hhplus.tdd.concurrent;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * 고정 개수 슬롯의 토큰 버킷 (GCRA)
+ * - 슬롯마다 "버킷이 다시 가득 차는 시각"에서 토큰 하나만큼 뺀 시각(TAT) long 하나만 두고 compareAndSet 으로 갱신하므로 락이 없습니다.
+ *   토큰 수와 마지막 충전 시각을 따로 두는 토큰 버킷과 같은 결과를 long 하나로 표현합니다.
+ * - 키는 해시로 슬롯에 나눠 담으므로 메모리는 슬롯 수로 고정되고, 같은 슬롯을 쓰는 키는 한도를 나눠 씁니다. (슬롯을 늘리면 줄어듦)
+ */
+public class TokenBuckets {
+
+    private final AtomicLongArray arrivals;
+    private final int mask;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final LongSupplier nanoClock;
+
+    /**
+     * @param slots            버킷 수 (2의 거듭제곱으로 올림)
+     * @param permitsPerSecond 초당 채워지는 토큰 수
+     * @param burst            버킷 크기 (한 번에 허용하는 최대 요청 수)
+     */
+    public TokenBuckets(int slots, long permitsPerSecond, int burst) {
+        this(slots, permitsPerSecond, burst, System::nanoTime);
+    }
+
+    public TokenBuckets(int slots, long permitsPerSecond, int burst, LongSupplier nanoClock) {
+        if (slots <= 0 || permitsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("slots, permitsPerSecond and burst must be positive: " + slots + ", " + permitsPerSecond + ", " + burst);
+        }
+        int size = slots == 1 ? 1 : Integer.highestOneBit(slots - 1) << 1;
+        this.arrivals = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.intervalNanos = Math.max(1, TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        this.nanoClock = nanoClock;
+
+        long now = nanoClock.getAsLong();
+        for (int i = 0; i < size; i++) {
+            arrivals.set(i, now); // 처음에는 모든 버킷이 가득 찬 상태
+        }
+    }
+
+    /**
+     * 키의 버킷에서 토큰 하나를 꺼냅니다. 남은 토큰이 없으면 기다리지 않고 false 를 반환합니다.
+     */
+    public boolean tryAcquire(long key) {
+        int slot = (int) LongHash.mix(key) & mask;
+        long now = nanoClock.getAsLong();
+        while (true) {
+            long arrival = arrivals.get(slot);
+            long base = arrival - now < 0 ? now : arrival; // 버킷이 가득 찬 뒤로는 쌓이지 않음
+            if (base - now > toleranceNanos) {
+                return false;
+            }
+            if (arrivals.compareAndSet(slot, arrival, base + intervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * tryAcquire 로 꺼낸 토큰 하나를 되돌립니다. (여러 버킷에서 차례로 꺼내다 뒤의 버킷에서 거절되었을 때)
+     * 그 사이 버킷이 가득 찼으면 더 채우지 않습니다.
+     */
+    public void release(long key) {
+        int slot = (int) LongHash.mix(key) & mask;
+        long now = nanoClock.getAsLong();
+        while (true) {
+            long arrival = arrivals.get(slot);
+            if (arrival - now <= 0) {
+                return;
+            }
+            long restored = arrival - intervalNanos;
+            if (arrivals.compareAndSet(slot, arrival, restored - now < 0 ? now : restored)) {
+                return;
+            }
+        }
+    }
+
+    public int slotCount() {
+        return arrivals.length();
+    }
+}
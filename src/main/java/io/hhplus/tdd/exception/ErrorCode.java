@@ -1,16 +1,32 @@
 package io.hhplus.tdd.exception;
 
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 
 @Getter
-@RequiredArgsConstructor
 public enum ErrorCode {
 
     // 포인트 관련 에러
     INVALID_CHARGE_AMOUNT("H0001", "충전 금액은 100 이상이어야 합니다."),
     INVALID_USE_AMOUNT("H0002", "사용 금액은 100 이상이어야 합니다."),
     INSUFFICIENT_POINT("H0003", "포인트 잔액이 부족합니다."),
+    INVALID_BULK_CHARGE_ITEM("H0004", "일괄 충전 항목 형식이 올바르지 않습니다."),
+    INVALID_PAGE_SIZE("H0005", "조회 크기는 1 이상 1000 이하여야 합니다."),
+    INVALID_TIME_RANGE("H0006", "조회 시작 시각은 종료 시각보다 앞서야 합니다."),
+    INVALID_IDEMPOTENCY_KEY("H0007", "Idempotency-Key 는 1자 이상 255자 이하여야 합니다."),
+    IDEMPOTENCY_KEY_REUSED("H0008", "같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다."),
+    INVALID_TRANSFER_AMOUNT("H0009", "이체 금액은 100 이상이어야 합니다."),
+    SELF_TRANSFER("H0010", "자기 자신에게 이체할 수 없습니다."),
+    TOO_MANY_REQUESTS("H0011", "요청이 너무 많습니다. 잠시 후 다시 시도해 주세요.", HttpStatus.TOO_MANY_REQUESTS),
+    USER_LOCK_BUSY("H0012", "같은 유저의 요청이 너무 많이 대기 중입니다. 잠시 후 다시 시도해 주세요.", HttpStatus.TOO_MANY_REQUESTS),
+    LOCK_TIMEOUT("H0013", "요청이 몰려 제한 시간 안에 처리하지 못했습니다. 잠시 후 다시 시도해 주세요.", HttpStatus.SERVICE_UNAVAILABLE),
+    UNKNOWN_POINT_VERSION("H0014", "아직 발행되지 않은 포인트 버전입니다."),
+    CLUSTER_NODE_UNAVAILABLE("H0015", "유저를 맡은 노드에 연결할 수 없습니다. 잠시 후 다시 시도해 주세요.", HttpStatus.BAD_GATEWAY),
+    CLUSTER_MISROUTED("H0016", "이 노드가 맡은 유저가 아닙니다. 노드 구성을 확인해 주세요.", HttpStatus.CONFLICT),
+    INVALID_ROLLUP_RANGE("H0017", "집계 구간 수는 1440 이하여야 합니다."),
+    JOURNAL_UNAVAILABLE("H0018", "요청은 반영되었지만 저장을 확인하지 못했습니다. 다시 요청하지 말고 잔액을 조회해 확인해 주세요.", HttpStatus.SERVICE_UNAVAILABLE),
+    JOURNAL_NOT_WRITABLE("H0019", "포인트 저널을 쓸 수 없어 요청을 처리하지 않았습니다. 잠시 후 다시 시도해 주세요.", HttpStatus.SERVICE_UNAVAILABLE),
+    BULK_CHARGE_BUSY("H0020", "진행 중인 일괄 충전이 너무 많습니다. 잠시 후 다시 시도해 주세요.", HttpStatus.TOO_MANY_REQUESTS),
 
     // 도메인 검증 에러
     NEGATIVE_ID("H1001", "id는 음수일 수 없습니다."),
@@ -19,8 +35,19 @@ public enum ErrorCode {
     NEGATIVE_AMOUNT("H1004", "amount는 음수일 수 없습니다."),
 
     // 서버 에러
-    SERVER_ERROR("H9999", "서버 에러가 발생했습니다.");
+    SERVER_ERROR("H9999", "서버 에러가 발생했습니다.", HttpStatus.INTERNAL_SERVER_ERROR);
 
     private final String code;
     private final String message;
+    private final HttpStatus status;
+
+    ErrorCode(String code, String message) {
+        this(code, message, HttpStatus.BAD_REQUEST);
+    }
+
+    ErrorCode(String code, String message, HttpStatus status) {
+        this.code = code;
+        this.message = message;
+        this.status = status;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,142 @@
+package io.hhplus.tdd.journal;
+
+import io.hhplus.tdd.concurrent.LongBalanceMap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * 잔액 스냅샷 파일
+ * - 형식 : [magic 4][coveredSequence 8][maxHistoryId 8] + (userId, point, updateMillis 각 8) * n + [n 8][CRC32 4]
+ * - coveredSequence 까지의 저널 기록이 모두 반영된 잔액이며, 복구 시 그 이후 기록만 재생합니다.
+ * - 임시 파일에 쓴 뒤 이름을 바꿔 교체하므로, 쓰는 도중 중단되어도 이전 스냅샷이 남습니다.
+ * - 한 번에 매핑해 읽으므로 파일 크기는 2GB(약 8,900만 유저) 이하여야 합니다.
+ */
+final class BalanceSnapshot {
+
+    static final String FILE_NAME = "balances.snapshot";
+
+    private static final int MAGIC = 0x50534E50;
+    private static final int HEADER_SIZE = 4 + 8 + 8;
+    private static final int ENTRY_SIZE = 8 * 3;
+    private static final int TRAILER_SIZE = 8 + 4;
+    private static final int CHUNK_SIZE = 1 << 20;
+
+    private BalanceSnapshot() {
+    }
+
+    record Header(long coveredSequence, long maxHistoryId, long count) {
+    }
+
+    interface EntryConsumer {
+        void accept(long userId, long point, long updateMillis);
+    }
+
+    /**
+     * 잔액을 임시 파일에 쓰고 그 경로를 반환합니다. publish 를 호출해야 스냅샷으로 쓰입니다.
+     */
+    static Path write(Path directory, long coveredSequence, long maxHistoryId, LongBalanceMap balances) throws IOException {
+        Path temp = directory.resolve(FILE_NAME + ".tmp");
+        CRC32 crc = new CRC32();
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer chunk = ByteBuffer.allocate(CHUNK_SIZE);
+            chunk.putInt(MAGIC).putLong(coveredSequence).putLong(maxHistoryId);
+
+            long[] count = {0};
+            try {
+                balances.forEach((userId, point, updateMillis) -> {
+                    if (chunk.remaining() < ENTRY_SIZE) {
+                        flushUnchecked(channel, chunk, crc);
+                    }
+                    chunk.putLong(userId).putLong(point).putLong(updateMillis);
+                    count[0]++;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            if (chunk.remaining() < TRAILER_SIZE) {
+                flush(channel, chunk, crc);
+            }
+            chunk.putLong(count[0]);
+            flush(channel, chunk, crc);
+            chunk.putInt((int) crc.getValue());
+            chunk.flip();
+            while (chunk.hasRemaining()) {
+                channel.write(chunk);
+            }
+            channel.force(true);
+        }
+        return temp;
+    }
+
+    /**
+     * 임시 파일을 스냅샷으로 교체합니다.
+     */
+    static void publish(Path temp) throws IOException {
+        Files.move(temp, temp.resolveSibling(FILE_NAME), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * 스냅샷을 읽어 잔액을 consumer 에 넘깁니다.
+     * 스냅샷이 없거나 손상되었으면 null 을 반환합니다. (손상된 경우 이미 넘긴 잔액은 호출한 쪽에서 버려야 함)
+     */
+    static Header load(Path directory, EntryConsumer consumer) throws IOException {
+        Path path = directory.resolve(FILE_NAME);
+        if (!Files.exists(path)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE + TRAILER_SIZE || (size - HEADER_SIZE - TRAILER_SIZE) % ENTRY_SIZE != 0) {
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt() != MAGIC) {
+                return null;
+            }
+            long coveredSequence = buffer.getLong();
+            long maxHistoryId = buffer.getLong();
+            long count = (size - HEADER_SIZE - TRAILER_SIZE) / ENTRY_SIZE;
+            for (long i = 0; i < count; i++) {
+                consumer.accept(buffer.getLong(), buffer.getLong(), buffer.getLong());
+            }
+            if (buffer.getLong() != count) {
+                return null;
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(0, (int) (size - 4)));
+            if (buffer.getInt((int) (size - 4)) != (int) crc.getValue()) {
+                return null;
+            }
+            return new Header(coveredSequence, maxHistoryId, count);
+        }
+    }
+
+    private static void flushUnchecked(FileChannel channel, ByteBuffer chunk, CRC32 crc) {
+        try {
+            flush(channel, chunk, crc);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer chunk, CRC32 crc) throws IOException {
+        chunk.flip();
+        crc.update(chunk.duplicate());
+        while (chunk.hasRemaining()) {
+            channel.write(chunk);
+        }
+        chunk.clear();
+    }
+}
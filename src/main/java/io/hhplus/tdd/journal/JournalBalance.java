@@ -0,0 +1,10 @@
+package io.hhplus.tdd.journal;
+
+/**
+ * 저널/스냅샷에서 복구한 유저 잔액
+ */
+public record JournalBalance(
+        long point,
+        long updateMillis
+) {
+}
@@ -0,0 +1,17 @@
+package io.hhplus.tdd.journal;
+
+/**
+ * 저널 기록 하나 (충전/사용 1건)
+ * - historyId : 포인트 내역 id
+ * - type : 거래 타입 코드 (TransactionType.code)
+ * - balance : 반영 후 잔액 (재생 시 마지막 기록의 잔액이 곧 현재 잔액이므로 몇 번을 재생해도 결과가 같음)
+ */
+public record JournalRecord(
+        long historyId,
+        long userId,
+        byte type,
+        long amount,
+        long balance,
+        long updateMillis
+) {
+}
@@ -0,0 +1,150 @@
+package io.hhplus.tdd.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 저널 세그먼트 파일 (메모리 매핑, 고정 길이 기록)
+ * - 파일 이름의 숫자는 첫 기록의 순번이며, 이후 기록의 순번은 파일 내 위치로 계산합니다.
+ * - 기록 형식 (48 bytes) : historyId, userId, amount, balance, updateMillis (각 8), type (1), padding (3), CRC32 (4)
+ * - 파일은 미리 0으로 채워진 크기로 만들어지므로, CRC 가 맞지 않는 첫 기록(쓰다 만 기록 포함)을 끝으로 봅니다.
+ */
+final class JournalSegment implements Closeable {
+
+    static final int RECORD_SIZE = 48;
+
+    private static final int CHECKED_SIZE = 44; // CRC 계산 범위
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".log";
+
+    private final Path path;
+    private final long firstSequence;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final CRC32 crc = new CRC32();
+
+    private JournalSegment(Path path, long firstSequence, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.firstSequence = firstSequence;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * 기록용 세그먼트를 만듭니다. 같은 이름의 파일(유효한 기록 없이 남은 파일)이 있으면 비우고 다시 만듭니다.
+     */
+    static JournalSegment create(Path directory, long firstSequence, int capacity) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", PREFIX, firstSequence, SUFFIX));
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * RECORD_SIZE);
+        return new JournalSegment(path, firstSequence, channel, buffer);
+    }
+
+    /**
+     * 읽기용으로 세그먼트를 엽니다.
+     */
+    static JournalSegment open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        return new JournalSegment(path, parseFirstSequence(path), channel, buffer);
+    }
+
+    /**
+     * 디렉터리의 세그먼트 파일을 첫 순번 순으로 반환합니다.
+     */
+    static List<Path> list(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = new ArrayList<>(files
+                    .filter(file -> file.getFileName().toString().startsWith(PREFIX) && file.getFileName().toString().endsWith(SUFFIX))
+                    .toList());
+            segments.sort((a, b) -> Long.compare(parseFirstSequence(a), parseFirstSequence(b)));
+            return segments;
+        }
+    }
+
+    static long parseFirstSequence(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    long firstSequence() {
+        return firstSequence;
+    }
+
+    /**
+     * 다음 기록의 순번
+     */
+    long nextSequence() {
+        return firstSequence + buffer.position() / RECORD_SIZE;
+    }
+
+    boolean hasRemaining() {
+        return buffer.remaining() >= RECORD_SIZE;
+    }
+
+    void write(JournalRecord record) {
+        int start = buffer.position();
+        buffer.putLong(record.historyId())
+                .putLong(record.userId())
+                .putLong(record.amount())
+                .putLong(record.balance())
+                .putLong(record.updateMillis())
+                .put(record.type())
+                .put((byte) 0).put((byte) 0).put((byte) 0)
+                .putInt(checksum(start));
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * 처음부터 유효한 기록을 순서대로 읽어 consumer 에 넘기고, 읽은 기록 수를 반환합니다.
+     */
+    int read(Consumer<JournalRecord> consumer) {
+        int count = 0;
+        for (int start = 0; start + RECORD_SIZE <= buffer.limit(); start += RECORD_SIZE) {
+            if (buffer.getInt(start + CHECKED_SIZE) != checksum(start)) {
+                break;
+            }
+            consumer.accept(new JournalRecord(
+                    buffer.getLong(start),
+                    buffer.getLong(start + 8),
+                    buffer.get(start + 40),
+                    buffer.getLong(start + 16),
+                    buffer.getLong(start + 24),
+                    buffer.getLong(start + 32)));
+            count++;
+        }
+        return count;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    /**
+     * 채널을 닫습니다. (매핑은 GC 시 해제)
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int checksum(int start) {
+        crc.reset();
+        crc.update(buffer.slice(start, CHECKED_SIZE));
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,385 @@
+package io.hhplus.tdd.journal;
+
+import io.hhplus.tdd.concurrent.AsyncThreadFactory;
+import io.hhplus.tdd.concurrent.LongBalanceMap;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 메모리 매핑 파일 기반 append-only 저널
+ * - 충전/사용 1건을 48바이트 기록으로 세그먼트 파일에 덧붙입니다.
+ * - writer 스레드 하나가 그동안 쌓인 기록을 한 번에 쓰고 force 하므로(group commit), 요청마다 fsync 하지 않습니다.
+ * - 유저별 최신 잔액을 메모리에 유지하고 주기적으로 스냅샷으로 남깁니다.
+ *   재시작 시 스냅샷을 읽은 뒤 그 이후 기록만 재생해 잔액을 복구합니다.
+ * - 스냅샷에 모두 반영된 세그먼트는 스냅샷을 남긴 뒤 앞에서부터 지웁니다. 단, 세그먼트는 내역 복구에도 쓰이므로
+ *   기록이 모두 releaseWhen 으로 정한 조건(다른 곳에 보관된 내역)을 만족해야 지웁니다. 조건을 정하기 전에는 지우지 않습니다.
+ *   따라서 재시작 시 재생하는 기록은 마지막 스냅샷 이후 + 아직 놓을 수 없는 세그먼트로 제한됩니다.
+ * - 디스크 기록에 실패하면 어디까지 기록되었는지 보장할 수 없으므로 다시 쓰지 않고, 재시작 전까지 새 기록을 받지 않습니다.
+ *   (isWritable=false, health 는 DOWN → PointJournalHealthIndicator) 재시작하면 세그먼트에 온전히 남은 기록까지 복구합니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "point.journal.enabled", havingValue = "true")
+public class MappedPointJournal implements PointJournal {
+
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final boolean fsync;
+    private final long snapshotIntervalMillis;
+
+    private final LongBalanceMap balances = new LongBalanceMap(Integer.MAX_VALUE);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition durable = lock.newCondition();
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+
+    // lock 보유 상태에서만 접근
+    private List<JournalRecord> pending = new ArrayList<>();
+    private long lastSequence;
+    private long durableSequence;
+    private long maxHistoryId;
+    private RuntimeException failure;
+    private boolean running = true;
+
+    private long snapshotSequence; // snapshotLock 보유 상태에서만 접근
+    private volatile Predicate<JournalRecord> released = record -> false;
+    private JournalSegment segment; // writer 스레드만 접근
+    private final Thread writer;
+    private final Thread snapshotter;
+
+    public MappedPointJournal(
+            AsyncThreadFactory asyncThreadFactory,
+            @Value("${point.journal.directory:./data/journal}") String directory,
+            @Value("${point.journal.segment-size:67108864}") long segmentSize,
+            @Value("${point.journal.fsync:true}") boolean fsync,
+            @Value("${point.journal.snapshot-interval-seconds:60}") long snapshotIntervalSeconds
+    ) throws IOException {
+        if (segmentSize < JournalSegment.RECORD_SIZE || segmentSize / JournalSegment.RECORD_SIZE > Integer.MAX_VALUE / JournalSegment.RECORD_SIZE) {
+            throw new IllegalArgumentException("segmentSize out of range: " + segmentSize);
+        }
+        this.directory = Files.createDirectories(Path.of(directory));
+        this.recordsPerSegment = (int) (segmentSize / JournalSegment.RECORD_SIZE);
+        this.fsync = fsync;
+        this.snapshotIntervalMillis = TimeUnit.SECONDS.toMillis(snapshotIntervalSeconds);
+
+        recover();
+        this.segment = JournalSegment.create(this.directory, lastSequence + 1, recordsPerSegment);
+        this.writer = asyncThreadFactory.newThread("point-journal-writer", this::run);
+        this.snapshotter = asyncThreadFactory.newThread("point-journal-snapshot", this::runSnapshots);
+        this.writer.start();
+        if (snapshotIntervalMillis > 0) {
+            this.snapshotter.start();
+        }
+    }
+
+    @Override
+    public long append(JournalRecord record) {
+        lock.lock();
+        try {
+            apply(record);
+            if (failure != null) {
+                return ++lastSequence; // writer 가 멈춰 기록되지 않는 순번 → awaitDurable 에서 실패
+            }
+            pending.add(record);
+            notEmpty.signal();
+            return ++lastSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isWritable() {
+        lock.lock();
+        try {
+            return failure == null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void awaitDurable(long sequence) {
+        lock.lock();
+        try {
+            while (durableSequence < sequence) {
+                if (failure != null) {
+                    throw new IllegalStateException("포인트 저널을 쓸 수 없습니다.", failure);
+                }
+                durable.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("포인트 저널 기록 대기 중 중단되었습니다.", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public JournalBalance balanceOf(long userId) {
+        return balances.get(userId, (key, point, updateMillis) -> new JournalBalance(point, updateMillis));
+    }
+
+    @Override
+    public long maxHistoryId() {
+        lock.lock();
+        try {
+            return maxHistoryId;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void replay(Consumer<JournalRecord> consumer) {
+        snapshotLock.lock(); // 재생 중인 세그먼트를 지우지 않도록
+        try {
+            for (Path path : JournalSegment.list(directory)) {
+                try (JournalSegment readable = JournalSegment.open(path)) {
+                    readable.read(consumer);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    @Override
+    public void releaseWhen(Predicate<JournalRecord> released) {
+        this.released = released;
+    }
+
+    /**
+     * 현재 잔액을 스냅샷으로 남깁니다.
+     * 스냅샷에 담긴 잔액이 모두 디스크에 기록된 뒤에 교체하므로, 기록되지 않은 잔액이 스냅샷으로 살아남지 않습니다.
+     */
+    void snapshot() throws IOException {
+        snapshotLock.lock();
+        try {
+            long coveredSequence;
+            long coveredHistoryId;
+            lock.lock();
+            try {
+                coveredSequence = lastSequence;
+                coveredHistoryId = maxHistoryId;
+            } finally {
+                lock.unlock();
+            }
+            if (coveredSequence == snapshotSequence) {
+                return;
+            }
+
+            long start = System.nanoTime();
+            Path temp = BalanceSnapshot.write(directory, coveredSequence, coveredHistoryId, balances);
+            long writtenSequence;
+            lock.lock();
+            try {
+                writtenSequence = lastSequence; // 순회 중 반영된 기록까지 기록될 때까지 대기
+            } finally {
+                lock.unlock();
+            }
+            awaitDurable(writtenSequence);
+            BalanceSnapshot.publish(temp);
+            snapshotSequence = coveredSequence;
+            int deleted = compact(coveredSequence);
+            log.info("포인트 잔액 스냅샷 - 순번: {}, 유저 수: {}, 지운 세그먼트: {}, {}ms",
+                    coveredSequence, balances.size(), deleted, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    /**
+     * 스냅샷(coveredSequence)에 모두 반영되었고 기록이 모두 released 인 세그먼트를 앞에서부터 지우고, 지운 수를 반환합니다.
+     * 남은 세그먼트가 항상 이어진 순번이 되도록, 지울 수 없는 세그먼트를 만나면 멈춥니다. 기록 중인 마지막 세그먼트는 지우지 않습니다.
+     * (snapshotLock 보유 상태에서 호출)
+     */
+    private int compact(long coveredSequence) throws IOException {
+        Predicate<JournalRecord> condition = released;
+        List<Path> segments = JournalSegment.list(directory);
+        int deleted = 0;
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            if (JournalSegment.parseFirstSequence(segments.get(i + 1)) - 1 > coveredSequence) {
+                break;
+            }
+            boolean[] releasable = {true};
+            try (JournalSegment readable = JournalSegment.open(segments.get(i))) {
+                readable.read(record -> releasable[0] &= condition.test(record));
+            }
+            if (!releasable[0]) {
+                break;
+            }
+            Files.delete(segments.get(i));
+            deleted++;
+        }
+        return deleted;
+    }
+
+    /**
+     * 기록 중인 내용을 모두 기록하고 마지막 스냅샷을 남긴 뒤 종료합니다.
+     */
+    @PreDestroy
+    public void shutdown() {
+        snapshotter.interrupt();
+        lock.lock();
+        try {
+            running = false;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            snapshotter.join(TimeUnit.SECONDS.toMillis(30));
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+            if (failure == null) {
+                snapshot();
+            }
+            segment.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.error("포인트 저널 종료 실패", e);
+        }
+    }
+
+    /**
+     * 스냅샷을 읽고, 스냅샷 이후의 기록을 재생해 잔액을 복구합니다.
+     */
+    private void recover() throws IOException {
+        long start = System.nanoTime();
+        BalanceSnapshot.Header header = BalanceSnapshot.load(directory,
+                balances::put);
+        if (header == null) {
+            balances.clear(); // 손상된 스냅샷에서 읽은 잔액은 버리고 처음부터 재생
+        }
+        long coveredSequence = header != null ? header.coveredSequence() : 0;
+        maxHistoryId = header != null ? header.maxHistoryId() : 0;
+        lastSequence = coveredSequence;
+        snapshotSequence = coveredSequence;
+
+        long replayed = 0;
+        List<Path> segments = JournalSegment.list(directory);
+        if (!segments.isEmpty() && JournalSegment.parseFirstSequence(segments.get(0)) - 1 > coveredSequence) {
+            // 앞 세그먼트는 스냅샷을 믿고 지웠으므로, 스냅샷 없이 재생하면 잔액이 틀림
+            throw new IllegalStateException("journal segments before " + JournalSegment.parseFirstSequence(segments.get(0))
+                    + " were compacted but the snapshot covers only " + coveredSequence + ": " + directory);
+        }
+        for (int i = 0; i < segments.size(); i++) {
+            long first = JournalSegment.parseFirstSequence(segments.get(i));
+            if (i + 1 < segments.size() && JournalSegment.parseFirstSequence(segments.get(i + 1)) - 1 <= coveredSequence) {
+                continue; // 스냅샷에 모두 반영된 세그먼트
+            }
+            long[] sequence = {first - 1};
+            try (JournalSegment readable = JournalSegment.open(segments.get(i))) {
+                readable.read(record -> {
+                    if (++sequence[0] > coveredSequence) {
+                        apply(record);
+                    }
+                });
+            }
+            replayed += Math.max(0, sequence[0] - Math.max(coveredSequence, first - 1));
+            lastSequence = Math.max(lastSequence, sequence[0]);
+        }
+        durableSequence = lastSequence;
+
+        log.info("포인트 저널 복구 - 스냅샷 유저 수: {}, 재생한 기록: {}, 마지막 순번: {}, {}ms",
+                header != null ? header.count() : 0, replayed, lastSequence, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void apply(JournalRecord record) {
+        balances.put(record.userId(), record.balance(), record.updateMillis());
+        maxHistoryId = Math.max(maxHistoryId, record.historyId());
+    }
+
+    private void run() {
+        while (true) {
+            List<JournalRecord> batch;
+            long batchSequence;
+            lock.lock();
+            try {
+                while (pending.isEmpty()) {
+                    if (!running) {
+                        return;
+                    }
+                    notEmpty.await();
+                }
+                batch = pending;
+                pending = new ArrayList<>();
+                batchSequence = lastSequence;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                writeBatch(batch);
+            } catch (IOException | RuntimeException e) {
+                log.error("포인트 저널 기록 실패 - 순번: {}", batchSequence, e);
+                lock.lock();
+                try {
+                    failure = e instanceof IOException io ? new UncheckedIOException(io) : (RuntimeException) e;
+                    durable.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                return;
+            }
+
+            lock.lock();
+            try {
+                durableSequence = batchSequence;
+                durable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void writeBatch(List<JournalRecord> batch) throws IOException {
+        for (JournalRecord record : batch) {
+            if (!segment.hasRemaining()) {
+                segment.force();
+                segment.close();
+                segment = JournalSegment.create(directory, segment.nextSequence(), recordsPerSegment);
+            }
+            segment.write(record);
+        }
+        if (fsync) {
+            segment.force();
+        }
+    }
+
+    private void runSnapshots() {
+        while (true) {
+            try {
+                Thread.sleep(snapshotIntervalMillis);
+                snapshot();
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException | RuntimeException e) {
+                log.error("포인트 잔액 스냅샷 실패", e);
+            }
+        }
+    }
+}
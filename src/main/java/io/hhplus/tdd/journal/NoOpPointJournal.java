@@ -0,0 +1,47 @@
+package io.hhplus.tdd.journal;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 저널을 쓰지 않을 때의 기본 구현 (아무것도 기록하지 않음)
+ */
+@Component
+@ConditionalOnProperty(name = "point.journal.enabled", havingValue = "false", matchIfMissing = true)
+public class NoOpPointJournal implements PointJournal {
+
+    @Override
+    public long append(JournalRecord record) {
+        return 0;
+    }
+
+    @Override
+    public boolean isWritable() {
+        return true;
+    }
+
+    @Override
+    public void awaitDurable(long sequence) {
+    }
+
+    @Override
+    public JournalBalance balanceOf(long userId) {
+        return null;
+    }
+
+    @Override
+    public long maxHistoryId() {
+        return 0;
+    }
+
+    @Override
+    public void replay(Consumer<JournalRecord> consumer) {
+    }
+
+    @Override
+    public void releaseWhen(Predicate<JournalRecord> released) {
+    }
+}
@@ -0,0 +1,51 @@
+package io.hhplus.tdd.journal;
+
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 포인트 충전/사용 저널
+ * - point.journal.enabled=true : 메모리 매핑 파일에 기록하고 재시작 시 복구 (MappedPointJournal)
+ * - 그 외 : 기록하지 않음 (NoOpPointJournal)
+ */
+public interface PointJournal {
+
+    /**
+     * 기록을 추가하고 순번을 반환합니다. 반환 시점에는 아직 디스크에 기록되지 않았을 수 있습니다.
+     * 호출 전에 이미 잔액이 반영되어 있으므로 예외를 던지지 않고, 저널을 쓸 수 없으면 awaitDurable 에서 실패합니다.
+     */
+    long append(JournalRecord record);
+
+    /**
+     * 새 기록을 받을 수 있는지 반환합니다. 디스크 기록에 한 번 실패하면 재시작 전까지 false 입니다.
+     * (잔액을 반영하기 전에 확인해, 저장을 보장할 수 없는 요청을 미리 거절하는 용도)
+     */
+    boolean isWritable();
+
+    /**
+     * 해당 순번까지 디스크에 기록될 때까지 기다립니다. (group commit)
+     */
+    void awaitDurable(long sequence);
+
+    /**
+     * 유저의 최신 잔액을 조회합니다. 기록이 없으면 null 을 반환합니다.
+     */
+    JournalBalance balanceOf(long userId);
+
+    /**
+     * 기록된 내역 id 중 가장 큰 값을 반환합니다.
+     */
+    long maxHistoryId();
+
+    /**
+     * 저널에 남아 있는 모든 기록을 순번 순으로 재생합니다. (시작 시 내역 복구용)
+     * 스냅샷 뒤에 지운 세그먼트의 기록은 재생하지 않습니다.
+     */
+    void replay(Consumer<JournalRecord> consumer);
+
+    /**
+     * 스냅샷에 반영된 세그먼트를 지워도 되는 기록의 조건을 정합니다. (내역 복구에 더는 필요 없는 기록)
+     * 정하기 전에는 세그먼트를 지우지 않습니다.
+     */
+    void releaseWhen(Predicate<JournalRecord> released);
+}
@@ -0,0 +1,25 @@
+package io.hhplus.tdd.journal;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * 저널 상태 health (/actuator/health)
+ * - 디스크 기록에 실패한 저널은 재시작 전까지 새 충전/사용을 거절(H0019)하므로 DOWN 으로 알려, 재시작하도록 합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PointJournalHealthIndicator implements HealthIndicator {
+
+    private final PointJournal pointJournal;
+
+    @Override
+    public Health health() {
+        if (pointJournal.isWritable()) {
+            return Health.up().build();
+        }
+        return Health.down().withDetail("reason", "journal write failed, restart required").build();
+    }
+}
@@ -0,0 +1,84 @@
+package io.hhplus.tdd.lock;
+
+import io.hhplus.tdd.exception.ErrorCode;
+import io.hhplus.tdd.exception.HanghaeException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 락 획득 시 경합 여부와 대기 시간을 집계합니다.
+ */
+final class LockContention {
+
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder contendedAcquisitions = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicInteger waitingThreads = new AtomicInteger();
+    private final LongAdder rejectedAcquisitions = new LongAdder();
+    private final LongAdder timedOutAcquisitions = new LongAdder();
+
+    /**
+     * 락을 획득합니다. timeoutNanos 가 음수면 얻을 때까지 기다리고, 아니면 그 시간 안에 얻지 못할 때 LOCK_TIMEOUT 예외가 발생합니다.
+     */
+    void acquire(ReentrantLock lock, long timeoutNanos) {
+        acquisitions.increment();
+        if (tryAcquireNow(lock)) {
+            return;
+        }
+
+        contendedAcquisitions.increment();
+        waitingThreads.incrementAndGet();
+        long start = System.nanoTime();
+        boolean acquired = false;
+        try {
+            if (timeoutNanos < 0) {
+                lock.lock();
+                acquired = true;
+            } else {
+                acquired = timeoutNanos > 0 && lock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            totalWaitNanos.add(System.nanoTime() - start);
+            waitingThreads.decrementAndGet();
+        }
+        if (!acquired) {
+            timedOutAcquisitions.increment();
+            throw new HanghaeException(ErrorCode.LOCK_TIMEOUT);
+        }
+    }
+
+    /**
+     * 대기 스레드 수 제한으로 락을 주지 않고 거절합니다.
+     */
+    HanghaeException reject() {
+        rejectedAcquisitions.increment();
+        return new HanghaeException(ErrorCode.USER_LOCK_BUSY);
+    }
+
+    LockStats stats(int liveLocks) {
+        return new LockStats(acquisitions.sum(), contendedAcquisitions.sum(), totalWaitNanos.sum(), liveLocks, waitingThreads.get(),
+                rejectedAcquisitions.sum(), timedOutAcquisitions.sum());
+    }
+
+    /**
+     * 기다리지 않고 락을 얻어 봅니다.
+     * 비공정 락은 대기 중인 스레드가 있어도 비어 있으면 바로 가져가고(처리량 우선),
+     * 공정 락은 대기 중인 스레드가 없을 때만 가져갑니다. (tryLock() 은 공정 락에서도 앞지르므로 사용하지 않음)
+     */
+    private static boolean tryAcquireNow(ReentrantLock lock) {
+        if (!lock.isFair()) {
+            return lock.tryLock();
+        }
+        try {
+            return lock.tryLock(0, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
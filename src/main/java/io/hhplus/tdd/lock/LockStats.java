@@ -0,0 +1,22 @@
+package io.hhplus.tdd.lock;
+
+/**
+ * 락 사용 통계
+ * - acquisitions : 락 획득 횟수
+ * - contendedAcquisitions : 바로 얻지 못하고 대기한 횟수
+ * - totalWaitNanos : 대기한 시간의 합
+ * - liveLocks : 현재 메모리에 있는 락 객체 수
+ * - waitingThreads : 지금 락을 기다리고 있는 스레드 수 (락 대기열 길이)
+ * - rejectedAcquisitions : 대기 스레드 수 제한(point.lock.max-waiters)으로 거절한 횟수
+ * - timedOutAcquisitions : 대기 시간 안에 얻지 못한 횟수
+ */
+public record LockStats(
+        long acquisitions,
+        long contendedAcquisitions,
+        long totalWaitNanos,
+        int liveLocks,
+        int waitingThreads,
+        long rejectedAcquisitions,
+        long timedOutAcquisitions
+) {
+}
@@ -0,0 +1,110 @@
+package io.hhplus.tdd.lock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 참조 카운트 기반 유저별 락 제공자 (기본값)
+ * - 락을 요청한 스레드 수(보유 + 대기)를 세고, 0이 되면 맵에서 제거합니다.
+ * - 맵에는 지금 락을 쓰고 있는 유저만 남으므로, 하루 동안 접근한 유저 수만큼 락이 쌓이지 않습니다.
+ * - 한 유저의 락을 기다리는 스레드가 maxWaiters 만큼 있으면, 더 기다리지 않고 USER_LOCK_BUSY 예외가 발생합니다. (0 이면 제한 없음)
+ * - fair 가 true 면 먼저 기다린 스레드부터 락을 받습니다. (대기 시간 편차가 줄지만 처리량은 낮아짐)
+ */
+@Component
+@ConditionalOnProperty(name = "point.lock.provider", havingValue = "ref-counted", matchIfMissing = true)
+public class RefCountedUserLockProvider implements UserLockProvider {
+
+    private final ConcurrentHashMap<Long, RefCountedLock> locks = new ConcurrentHashMap<>();
+    private final LockContention contention = new LockContention();
+    private final int maxWaiters;
+    private final boolean fair;
+
+    public RefCountedUserLockProvider() {
+        this(0);
+    }
+
+    public RefCountedUserLockProvider(int maxWaiters) {
+        this(maxWaiters, false);
+    }
+
+    @Autowired
+    public RefCountedUserLockProvider(
+            @Value("${point.lock.max-waiters:0}") int maxWaiters,
+            @Value("${point.lock.fair:false}") boolean fair
+    ) {
+        if (maxWaiters < 0) {
+            throw new IllegalArgumentException("maxWaiters must not be negative: " + maxWaiters);
+        }
+        this.maxWaiters = maxWaiters;
+        this.fair = fair;
+    }
+
+    @Override
+    public UserLock lock(long userId, long timeoutNanos) {
+        return lock(userId, timeoutNanos, true);
+    }
+
+    @Override
+    public UserLock lockUncapped(long userId) {
+        return lock(userId, WAIT_FOREVER, false);
+    }
+
+    private UserLock lock(long userId, long timeoutNanos, boolean capped) {
+        boolean[] rejected = new boolean[1];
+        RefCountedLock lock = locks.compute(userId, (id, current) -> {
+            if (capped && current != null && maxWaiters > 0 && current.refCount > maxWaiters) { // 보유 1 + 대기 maxWaiters
+                rejected[0] = true;
+                return current;
+            }
+            RefCountedLock retained = current != null ? current : new RefCountedLock(fair);
+            retained.refCount++;
+            return retained;
+        });
+        if (rejected[0]) {
+            throw contention.reject();
+        }
+        try {
+            contention.acquire(lock.lock, timeoutNanos);
+        } catch (RuntimeException | Error e) {
+            release(userId);
+            throw e;
+        }
+
+        return () -> {
+            lock.lock.unlock();
+            release(userId);
+        };
+    }
+
+    @Override
+    public int queueLength(long userId) {
+        RefCountedLock lock = locks.get(userId);
+        return lock != null ? lock.lock.getQueueLength() : 0;
+    }
+
+    @Override
+    public LockStats stats() {
+        return contention.stats(locks.size());
+    }
+
+    private void release(long userId) {
+        locks.computeIfPresent(userId, (id, current) -> --current.refCount == 0 ? null : current);
+    }
+
+    /**
+     * refCount 는 ConcurrentHashMap.compute 안에서만 변경됩니다. (같은 key 에 대한 compute 는 원자적으로 실행)
+     */
+    private static final class RefCountedLock {
+        private final ReentrantLock lock;
+        private int refCount;
+
+        private RefCountedLock(boolean fair) {
+            this.lock = new ReentrantLock(fair);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package io.hhplus.tdd.lock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 고정 크기 락 배열(stripe) 기반 락 제공자
+ * - userId 를 해시해 stripe 하나를 고르므로, 유저 수와 관계없이 락 객체 수가 stripe 수로 고정됩니다.
+ * - 서로 다른 유저가 같은 stripe 를 공유하면 함께 직렬화됩니다. (stripe 수를 늘리면 충돌이 줄어듦)
+ * - stripe 하나를 기다리는 스레드가 maxWaiters 만큼 있으면, 더 기다리지 않고 USER_LOCK_BUSY 예외가 발생합니다. (0 이면 제한 없음)
+ * - fair 가 true 면 먼저 기다린 스레드부터 락을 받습니다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.lock.provider", havingValue = "striped")
+public class StripedUserLockProvider implements UserLockProvider {
+
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private final ReentrantLock[] stripes;
+    private final int shift;
+    private final LockContention contention = new LockContention();
+    private final AtomicIntegerArray demands; // stripe 별 보유 + 대기 스레드 수
+    private final int maxWaiters;
+
+    public StripedUserLockProvider(int stripeCount) {
+        this(stripeCount, 0);
+    }
+
+    public StripedUserLockProvider(int stripeCount, int maxWaiters) {
+        this(stripeCount, maxWaiters, false);
+    }
+
+    @Autowired
+    public StripedUserLockProvider(
+            @Value("${point.lock.stripes:1024}") int stripeCount,
+            @Value("${point.lock.max-waiters:0}") int maxWaiters,
+            @Value("${point.lock.fair:false}") boolean fair
+    ) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("stripeCount must be positive: " + stripeCount);
+        }
+        if (maxWaiters < 0) {
+            throw new IllegalArgumentException("maxWaiters must not be negative: " + maxWaiters);
+        }
+        int size = stripeCount == 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1; // 2의 거듭제곱으로 올림
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock(fair);
+        }
+        this.shift = 64 - Integer.numberOfTrailingZeros(size);
+        this.demands = new AtomicIntegerArray(size);
+        this.maxWaiters = maxWaiters;
+    }
+
+    @Override
+    public UserLock lock(long userId, long timeoutNanos) {
+        return lockStripe(stripeOf(userId), timeoutNanos);
+    }
+
+    @Override
+    public UserLock lockUncapped(long userId) {
+        return lockStripe(stripeOf(userId), WAIT_FOREVER, false);
+    }
+
+    /**
+     * stripe 번호 오름차순으로 잡습니다. 두 유저가 같은 stripe 를 쓰면 한 번만 잡습니다.
+     * (userId 순서로 잡으면 stripe 순서와 어긋나, 다른 유저 쌍끼리 같은 stripe 를 반대로 잡을 수 있음)
+     */
+    @Override
+    public UserLock lockBoth(long userId, long otherUserId, long timeoutNanos) {
+        int stripe = stripeOf(userId);
+        int otherStripe = stripeOf(otherUserId);
+        if (stripe == otherStripe) {
+            return lockStripe(stripe, timeoutNanos);
+        }
+        long start = System.nanoTime();
+        return UserLock.ordered(
+                () -> lockStripe(Math.min(stripe, otherStripe), timeoutNanos),
+                () -> lockStripe(Math.max(stripe, otherStripe), UserLockProvider.remainingNanos(timeoutNanos, start)));
+    }
+
+    @Override
+    public int queueLength(long userId) {
+        return stripes[stripeOf(userId)].getQueueLength();
+    }
+
+    @Override
+    public LockStats stats() {
+        return contention.stats(stripes.length);
+    }
+
+    public int stripeCount() {
+        return stripes.length;
+    }
+
+    private UserLock lockStripe(int index, long timeoutNanos) {
+        return lockStripe(index, timeoutNanos, true);
+    }
+
+    private UserLock lockStripe(int index, long timeoutNanos, boolean capped) {
+        int demand = demands.incrementAndGet(index);
+        if (capped && maxWaiters > 0 && demand > maxWaiters + 1) { // 보유 1 + 대기 maxWaiters
+            demands.decrementAndGet(index);
+            throw contention.reject();
+        }
+        ReentrantLock lock = stripes[index];
+        try {
+            contention.acquire(lock, timeoutNanos);
+        } catch (RuntimeException | Error e) {
+            demands.decrementAndGet(index);
+            throw e;
+        }
+        return () -> {
+            lock.unlock();
+            demands.decrementAndGet(index);
+        };
+    }
+
+    int stripeOf(long userId) {
+        return shift == 64 ? 0 : (int) ((userId * GOLDEN_RATIO) >>> shift);
+    }
+}
@@ -0,0 +1,33 @@
+package io.hhplus.tdd.lock;
+
+import java.util.function.Supplier;
+
+/**
+ * 획득한 유저 락. try-with-resources 로 해제합니다.
+ */
+public interface UserLock extends AutoCloseable {
+
+    @Override
+    void close();
+
+    /**
+     * first → second 순서로 락을 잡습니다. second 획득에 실패하면 first 를 해제합니다.
+     */
+    static UserLock ordered(Supplier<UserLock> first, Supplier<UserLock> second) {
+        UserLock firstLock = first.get();
+        UserLock secondLock;
+        try {
+            secondLock = second.get();
+        } catch (RuntimeException | Error e) {
+            firstLock.close();
+            throw e;
+        }
+        return () -> {
+            try {
+                secondLock.close();
+            } finally {
+                firstLock.close();
+            }
+        };
+    }
+}
@@ -0,0 +1,68 @@
+package io.hhplus.tdd.lock;
+
+/**
+ * userId 단위 락 제공자
+ * - StripedUserLockProvider : 고정 크기 락 배열에 userId 를 해시해 나눠 씀 (메모리 고정, 다른 유저와 락을 공유할 수 있음)
+ * - RefCountedUserLockProvider : 유저별 락을 만들고, 보유/대기 스레드가 없어지면 제거 (유저별 독립, 메모리는 동시 접근 유저 수만큼)
+ */
+public interface UserLockProvider {
+
+    /**
+     * 락 대기 시간 : 얻을 때까지 기다림
+     */
+    long WAIT_FOREVER = -1L;
+
+    /**
+     * userId 의 락을 획득합니다. 반환된 UserLock 을 close 하면 해제됩니다.
+     */
+    default UserLock lock(long userId) {
+        return lock(userId, WAIT_FOREVER);
+    }
+
+    /**
+     * userId 의 락을 timeoutNanos 까지만 기다려 획득합니다. 얻지 못하면 LOCK_TIMEOUT 예외가 발생합니다.
+     * (WAIT_FOREVER : 무제한 대기, 0 : 바로 얻지 못하면 실패)
+     */
+    UserLock lock(long userId, long timeoutNanos);
+
+    /**
+     * 대기 스레드 수 제한(maxWaiters) 없이 userId 의 락을 얻을 때까지 기다립니다.
+     * 거절하면 안 되는 내부 요청(노드 간 이체가 거절되어 차감을 되돌리는 요청)에만 씁니다.
+     */
+    UserLock lockUncapped(long userId);
+
+    /**
+     * 두 유저의 락을 모두 획득합니다. 반환된 UserLock 을 close 하면 획득의 역순으로 해제됩니다.
+     * 모든 호출이 userId 오름차순으로 잡으므로, 서로 반대 방향으로 잡는 요청끼리도 교착 상태가 생기지 않습니다.
+     */
+    default UserLock lockBoth(long userId, long otherUserId) {
+        return lockBoth(userId, otherUserId, WAIT_FOREVER);
+    }
+
+    /**
+     * 두 유저의 락을 합쳐 timeoutNanos 까지만 기다려 획득합니다.
+     */
+    default UserLock lockBoth(long userId, long otherUserId, long timeoutNanos) {
+        if (userId == otherUserId) {
+            return lock(userId, timeoutNanos);
+        }
+        long start = System.nanoTime();
+        return UserLock.ordered(
+                () -> lock(Math.min(userId, otherUserId), timeoutNanos),
+                () -> lock(Math.max(userId, otherUserId), remainingNanos(timeoutNanos, start)));
+    }
+
+    /**
+     * start 이후 timeoutNanos 중 남은 시간입니다. 무제한이면 그대로, 다 썼으면 0 (바로 얻지 못하면 실패) 을 반환합니다.
+     */
+    static long remainingNanos(long timeoutNanos, long startNanos) {
+        return timeoutNanos < 0 ? timeoutNanos : Math.max(0, timeoutNanos - (System.nanoTime() - startNanos));
+    }
+
+    /**
+     * userId 의 락을 기다리는 스레드 수 (모니터링용 추정값, striped 는 같은 stripe 를 쓰는 다른 유저의 대기도 포함)
+     */
+    int queueLength(long userId);
+
+    LockStats stats();
+}
@@ -0,0 +1,10 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 일괄 충전 요청 항목
+ */
+public record BulkChargeItem(
+        long userId,
+        long amount
+) {
+}
@@ -0,0 +1,28 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 일괄 충전 항목별 결과
+ * - index : 요청 내 항목 순서 (0부터)
+ * - 성공 시 point 에 충전 후 잔액, 실패 시 code/message 에 에러 코드
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkChargeResult(
+        long index,
+        long userId,
+        long amount,
+        boolean success,
+        Long point,
+        String code,
+        String message
+) {
+
+    static BulkChargeResult success(long index, BulkChargeItem item, UserPoint userPoint) {
+        return new BulkChargeResult(index, item.userId(), item.amount(), true, userPoint.point(), null, null);
+    }
+
+    static BulkChargeResult failure(long index, long userId, long amount, String code, String message) {
+        return new BulkChargeResult(index, userId, amount, false, null, code, message);
+    }
+}
@@ -0,0 +1,257 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.cluster.ClusterPointService;
+import io.hhplus.tdd.concurrent.AsyncThreadFactory;
+import io.hhplus.tdd.concurrent.LongHash;
+import io.hhplus.tdd.exception.ErrorCode;
+import io.hhplus.tdd.exception.HanghaeException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 포인트 일괄 충전
+ * - 항목을 userId 해시로 파티션에 나눠 담고, 파티션마다 worker 스레드 하나가 도착 순서대로 충전합니다.
+ *   같은 유저의 항목은 항상 같은 파티션으로 가므로 유저별 순서가 보장되고, 서로 다른 유저는 파티션 수만큼 병렬로 처리됩니다.
+ * - 파티션 대기열은 크기가 제한되어 있어, 입력을 끝까지 읽어 메모리에 쌓지 않고 처리 속도에 맞춰 읽습니다.
+ * - worker 스레드는 요청마다 파티션 수만큼 만들므로, 동시에 실행하는 일괄 충전 수를 제한하고(point.bulk.max-concurrent-runs)
+ *   넘으면 기다리지 않고 BULK_CHARGE_BUSY(429) 예외가 발생합니다.
+ * - 금액 검증과 잔액 반영은 PointService.chargePoint 를 그대로 사용하며, 실패한 항목만 실패 결과로 내보냅니다.
+ *   클러스터에서는 다른 노드가 맡은 유저의 항목을 그 노드에 보냅니다. (ClusterPointService)
+ */
+@Slf4j
+@Service
+public class BulkChargeService {
+
+    private static final long POLL_MILLIS = 10;
+
+    private final ClusterPointService clusterPointService;
+    private final AsyncThreadFactory asyncThreadFactory;
+    private final int parallelism;
+    private final int queueCapacity;
+    private final Semaphore runs;
+
+    public BulkChargeService(PointService pointService, AsyncThreadFactory asyncThreadFactory, int parallelism, int queueCapacity, int maxConcurrentRuns) {
+        this(new ClusterPointService(pointService), asyncThreadFactory, parallelism, queueCapacity, maxConcurrentRuns);
+    }
+
+    @Autowired
+    public BulkChargeService(
+            ClusterPointService clusterPointService,
+            AsyncThreadFactory asyncThreadFactory,
+            @Value("${point.bulk.parallelism:0}") int parallelism,
+            @Value("${point.bulk.queue-capacity:1024}") int queueCapacity,
+            @Value("${point.bulk.max-concurrent-runs:2}") int maxConcurrentRuns
+    ) {
+        if (queueCapacity <= 0 || maxConcurrentRuns <= 0) {
+            throw new IllegalArgumentException("queueCapacity and maxConcurrentRuns must be positive: " + queueCapacity + ", " + maxConcurrentRuns);
+        }
+        this.clusterPointService = clusterPointService;
+        this.asyncThreadFactory = asyncThreadFactory;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(); // 0 이하면 코어 수
+        this.queueCapacity = queueCapacity;
+        this.runs = new Semaphore(maxConcurrentRuns);
+    }
+
+    public int parallelism() {
+        return parallelism;
+    }
+
+    /**
+     * 항목을 읽는 대로 충전하고, 항목별 결과를 처리되는 대로 resultConsumer 로 전달합니다.
+     * - resultConsumer 는 여러 worker 스레드에서 호출되지만 한 번에 하나씩만 호출됩니다.
+     * - 항목을 읽다 실패하면(형식 오류) 실패 결과를 하나 남기고 읽기를 멈추며, 이미 읽은 항목은 끝까지 처리합니다.
+     * - resultConsumer 가 실패하면(연결 끊김 등) 남은 항목은 충전하지 않고 그 예외를 던집니다.
+     * - 이미 최대 수만큼 실행 중이면 항목을 읽기 전에 BULK_CHARGE_BUSY 예외가 발생합니다.
+     */
+    public BulkChargeSummary chargeAll(Iterator<BulkChargeItem> items, Consumer<BulkChargeResult> resultConsumer) {
+        if (!runs.tryAcquire()) {
+            throw new HanghaeException(ErrorCode.BULK_CHARGE_BUSY);
+        }
+        try {
+            return run(items, resultConsumer);
+        } finally {
+            runs.release();
+        }
+    }
+
+    private BulkChargeSummary run(Iterator<BulkChargeItem> items, Consumer<BulkChargeResult> resultConsumer) {
+        long start = System.nanoTime();
+        BulkChargeRun run = new BulkChargeRun(resultConsumer);
+        List<Partition> partitions = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            partitions.add(new Partition(run, i));
+        }
+
+        long index = 0;
+        try {
+            while (!run.isAborted()) {
+                BulkChargeItem item;
+                try {
+                    if (!items.hasNext()) {
+                        break;
+                    }
+                    item = items.next();
+                } catch (RuntimeException e) {
+                    log.warn("일괄 충전 항목 읽기 실패 - index: {}", index, e);
+                    ErrorCode errorCode = ErrorCode.INVALID_BULK_CHARGE_ITEM;
+                    run.emit(BulkChargeResult.failure(index++, 0, 0, errorCode.getCode(), errorCode.getMessage()));
+                    break;
+                }
+                partitions.get(partitionOf(item.userId())).put(new Entry(index++, item));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.abort(new IllegalStateException("일괄 충전이 중단되었습니다.", e));
+        } finally {
+            partitions.forEach(Partition::close);
+            partitions.forEach(Partition::join);
+        }
+
+        run.rethrowIfAborted();
+        BulkChargeSummary summary = new BulkChargeSummary(
+                index, run.succeeded.sum(), run.failed.sum(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("포인트 일괄 충전 완료 - 전체: {}, 성공: {}, 실패: {}, {}ms",
+                summary.total(), summary.succeeded(), summary.failed(), summary.elapsedMillis());
+        return summary;
+    }
+
+    int partitionOf(long userId) {
+        return (int) Long.remainderUnsigned(LongHash.mix(userId), parallelism);
+    }
+
+    private record Entry(long index, BulkChargeItem item) {
+    }
+
+    /**
+     * 요청 하나의 결과 전달과 집계
+     */
+    private static final class BulkChargeRun {
+
+        private final Consumer<BulkChargeResult> resultConsumer;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private volatile RuntimeException failure;
+
+        private BulkChargeRun(Consumer<BulkChargeResult> resultConsumer) {
+            this.resultConsumer = resultConsumer;
+        }
+
+        private void emit(BulkChargeResult result) {
+            (result.success() ? succeeded : failed).increment();
+            lock.lock();
+            try {
+                if (failure == null) {
+                    resultConsumer.accept(result);
+                }
+            } catch (RuntimeException e) {
+                abort(e);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean isAborted() {
+            return failure != null;
+        }
+
+        private void abort(RuntimeException e) {
+            lock.lock();
+            try {
+                if (failure == null) {
+                    failure = e;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void rethrowIfAborted() {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * 파티션 하나의 대기열과 worker 스레드
+     */
+    private final class Partition {
+
+        private final BulkChargeRun run;
+        private final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final Thread worker;
+        private volatile boolean closed;
+
+        private Partition(BulkChargeRun run, int number) {
+            this.run = run;
+            this.worker = asyncThreadFactory.newThread("point-bulk-charge-" + number, this::work);
+            this.worker.start();
+        }
+
+        private void put(Entry entry) throws InterruptedException {
+            queue.put(entry);
+        }
+
+        /**
+         * 더 넣을 항목이 없음을 알립니다. worker 는 남은 항목을 처리한 뒤 종료합니다.
+         */
+        private void close() {
+            closed = true;
+        }
+
+        private void join() {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void work() {
+            try {
+                while (true) {
+                    Entry entry = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (entry == null) {
+                        if (closed && queue.isEmpty()) {
+                            return;
+                        }
+                        continue;
+                    }
+                    if (!run.isAborted()) { // 결과를 전달할 수 없으면 남은 항목은 충전하지 않음
+                        run.emit(charge(entry));
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                run.abort(new IllegalStateException("일괄 충전이 중단되었습니다.", e));
+            }
+        }
+
+        private BulkChargeResult charge(Entry entry) {
+            BulkChargeItem item = entry.item();
+            try {
+                return BulkChargeResult.success(entry.index(), item, clusterPointService.chargePoint(item.userId(), item.amount()));
+            } catch (HanghaeException e) {
+                return BulkChargeResult.failure(entry.index(), item.userId(), item.amount(), e.getErrorCodeValue(), e.getMessage());
+            } catch (RuntimeException e) {
+                log.error("일괄 충전 항목 처리 실패 - index: {}, userId: {}", entry.index(), item.userId(), e);
+                ErrorCode errorCode = ErrorCode.SERVER_ERROR;
+                return BulkChargeResult.failure(entry.index(), item.userId(), item.amount(), errorCode.getCode(), errorCode.getMessage());
+            }
+        }
+    }
+}
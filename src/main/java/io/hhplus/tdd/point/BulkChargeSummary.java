@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 일괄 충전 처리 요약
+ */
+public record BulkChargeSummary(
+        long total,
+        long succeeded,
+        long failed,
+        long elapsedMillis
+) {
+}
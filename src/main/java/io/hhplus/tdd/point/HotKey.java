@@ -0,0 +1,15 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 요청이 몰리는 유저
+ * - estimatedRequests : 최근 추정 요청 수 (Count-Min sketch, 감쇠 주기마다 절반)
+ * - lockQueueLength : 유저 락을 기다리는 스레드 수
+ * - pendingCommands : 대기열에서 일괄 처리를 기다리는 요청 수
+ */
+public record HotKey(
+        long userId,
+        long estimatedRequests,
+        int lockQueueLength,
+        int pendingCommands
+) {
+}
@@ -0,0 +1,158 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrent.CountMinSketch;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 요청이 몰리는 유저(hot key) 감지 (point.hot-key)
+ * - 충전/사용 요청마다 유저 id 를 Count-Min sketch 에 더하고, 최근 추정 요청 수가 threshold 이상인 유저를 hot 으로 봅니다.
+ *   대부분의 유저(cold)는 카운터 증가만 하고 끝나므로 유저 수와 관계없이 메모리가 고정되고 락이 없습니다.
+ * - hot 유저 중 추정 요청 수 상위 topK 명을 후보로 유지합니다. 후보가 가득 차면 추정값이 가장 작은 후보를 더 큰 유저로 바꿉니다. (Space-Saving)
+ * - 감지를 끄면(enabled=false) 모든 유저를 hot 으로 봅니다. (모든 요청이 일괄 처리 경로)
+ */
+@Component
+public class HotKeyDetector {
+
+    private static final int SKETCH_DEPTH = 4;
+    private static final long EMPTY = -1L;
+
+    private final boolean enabled;
+    private final long threshold;
+    private final CountMinSketch sketch;
+    private final AtomicLongArray candidates;
+    private final ReentrantLock candidateLock = new ReentrantLock();
+
+    private final LongAdder hotCount = new LongAdder();
+    private final LongAdder coldCount = new LongAdder();
+
+    @Autowired
+    public HotKeyDetector(
+            @Value("${point.hot-key.enabled:true}") boolean enabled,
+            @Value("${point.hot-key.threshold:64}") long threshold,
+            @Value("${point.hot-key.top-k:16}") int topK,
+            @Value("${point.hot-key.decay-millis:1000}") long decayMillis,
+            @Value("${point.hot-key.sketch-width:4096}") int sketchWidth
+    ) {
+        this(enabled, threshold, topK, new CountMinSketch(SKETCH_DEPTH, sketchWidth, decayMillis));
+    }
+
+    public HotKeyDetector(boolean enabled, long threshold, int topK, CountMinSketch sketch) {
+        if (threshold <= 0 || topK <= 0) {
+            throw new IllegalArgumentException("threshold and topK must be positive: " + threshold + ", " + topK);
+        }
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.sketch = sketch;
+        this.candidates = new AtomicLongArray(topK);
+        for (int i = 0; i < topK; i++) {
+            candidates.set(i, EMPTY);
+        }
+    }
+
+    /**
+     * 감지하지 않고 모든 유저를 hot 으로 봅니다.
+     */
+    public static HotKeyDetector disabled() {
+        return new HotKeyDetector(false, 1, 1, null);
+    }
+
+    /**
+     * 유저의 요청 한 건을 기록하고, 유저가 hot 이면 true 를 반환합니다.
+     */
+    public boolean record(long userId) {
+        if (!enabled) {
+            return true;
+        }
+        long estimate = sketch.add(userId);
+        if (estimate < threshold) {
+            coldCount.increment();
+            return false;
+        }
+        hotCount.increment();
+        offer(userId, estimate);
+        return true;
+    }
+
+    /**
+     * 지금 hot 인 후보를 추정 요청 수가 큰 순서로 반환합니다.
+     */
+    public List<Candidate> topK() {
+        List<Candidate> hot = new ArrayList<>();
+        for (int i = 0; i < candidates.length(); i++) {
+            long userId = candidates.get(i);
+            if (userId != EMPTY) {
+                long estimate = sketch.estimate(userId);
+                if (estimate >= threshold) {
+                    hot.add(new Candidate(userId, estimate));
+                }
+            }
+        }
+        hot.sort(Comparator.comparingLong(Candidate::estimatedRequests).reversed());
+        return hot;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long hotCount() {
+        return hotCount.sum();
+    }
+
+    public long coldCount() {
+        return coldCount.sum();
+    }
+
+    /**
+     * hot 유저를 후보에 넣습니다. 이미 후보면 바로 돌아가고, 다른 스레드가 후보를 바꾸는 중이면 다음 요청에 맡깁니다.
+     */
+    private void offer(long userId, long estimate) {
+        for (int i = 0; i < candidates.length(); i++) {
+            if (candidates.get(i) == userId) {
+                return;
+            }
+        }
+        if (!candidateLock.tryLock()) {
+            return;
+        }
+        try {
+            int victim = -1;
+            long victimEstimate = Long.MAX_VALUE;
+            for (int i = 0; i < candidates.length(); i++) {
+                long candidate = candidates.get(i);
+                if (candidate == userId) {
+                    return;
+                }
+                if (candidate == EMPTY) {
+                    candidates.set(i, userId);
+                    return;
+                }
+                long candidateEstimate = sketch.estimate(candidate);
+                if (candidateEstimate < victimEstimate) {
+                    victim = i;
+                    victimEstimate = candidateEstimate;
+                }
+            }
+            if (victimEstimate < estimate) {
+                candidates.set(victim, userId);
+            }
+        } finally {
+            candidateLock.unlock();
+        }
+    }
+
+    public record Candidate(
+            long userId,
+            long estimatedRequests
+    ) {
+    }
+}
@@ -0,0 +1,229 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.exception.ErrorCode;
+import io.hhplus.tdd.exception.HanghaeException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 충전/사용 요청의 Idempotency-Key 중복 제거 캐시
+ * - 같은 키로 다시 들어온 요청은 처음 요청의 결과(UserPoint)를 그대로 반환하며, 테이블 조회나 유저 락 없이 끝납니다.
+ * - 처음 요청이 아직 처리 중이면(타임아웃 후 재시도) 다시 실행하지 않고 그 결과를 함께 기다립니다.
+ * - 실패한 요청은 남기지 않으므로, 같은 키로 재시도하면 다시 실행합니다. (처리 중에 기다리던 재시도는 같은 예외를 받음)
+ *   단, JOURNAL_UNAVAILABLE 은 이미 반영된 요청이므로 남겨 두고, 같은 키의 재시도에 다시 실행하지 않고 같은 예외를 반환합니다.
+ * - 같은 키로 유저/종류/금액이 다른 요청이 오면 IDEMPOTENCY_KEY_REUSED 예외가 발생합니다.
+ * - 키 해시로 나눈 segment 마다 삽입 순서 LinkedHashMap 을 두고, 만료 시간이 모두 같으므로 맨 앞부터 만료된 키를 지웁니다. (O(1))
+ *   최대 크기를 넘으면 가장 오래된 키부터 제거합니다.
+ */
+@Component
+public class IdempotencyCache {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Segment[] segments;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    private final LongAdder replayCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    @Autowired
+    public IdempotencyCache(
+            @Value("${point.idempotency.max-size:100000}") int maxSize,
+            @Value("${point.idempotency.ttl-seconds:3600}") long ttlSeconds
+    ) {
+        this(maxSize, ttlSeconds, System::nanoTime);
+    }
+
+    IdempotencyCache(int maxSize, long ttlSeconds, LongSupplier nanoClock) {
+        if (maxSize <= 0 || ttlSeconds <= 0) {
+            throw new IllegalArgumentException("maxSize and ttlSeconds must be positive: " + maxSize + ", " + ttlSeconds);
+        }
+        int segmentCount = Math.min(MAX_SEGMENTS, Integer.highestOneBit(maxSize));
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(maxSize / segmentCount);
+        }
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 키가 없으면 action 을 그대로 실행하고, 있으면 같은 키의 처음 결과를 반환합니다.
+     */
+    public UserPoint execute(String key, long userId, TransactionType type, long amount, Supplier<UserPoint> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new HanghaeException(ErrorCode.INVALID_IDEMPOTENCY_KEY);
+        }
+
+        Segment segment = segments[spread(key.hashCode()) & (segments.length - 1)];
+        long now = nanoClock.getAsLong();
+        Entry existing = segment.get(key, now);
+        if (existing != null) {
+            return replay(existing, userId, type, amount);
+        }
+        Entry created = new Entry(userId, type, amount, now + ttlNanos);
+        Entry raced = segment.putIfAbsent(key, created, now);
+        if (raced != null) {
+            return replay(raced, userId, type, amount);
+        }
+
+        try {
+            UserPoint result = action.get();
+            created.result.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            if (!(e instanceof HanghaeException hanghae && hanghae.getErrorCode() == ErrorCode.JOURNAL_UNAVAILABLE)) {
+                segment.remove(key, created); // 반영되지 않은 실패만 지워 다시 실행할 수 있게 함
+            }
+            created.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public IdempotencyStats stats() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return new IdempotencyStats(replayCount.sum(), evictionCount.sum(), size);
+    }
+
+    private UserPoint replay(Entry entry, long userId, TransactionType type, long amount) {
+        if (entry.userId != userId || entry.type != type || entry.amount != amount) {
+            throw new HanghaeException(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+        }
+        replayCount.increment();
+        try {
+            return entry.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    public record IdempotencyStats(
+            long replayCount,
+            long evictionCount,
+            int size
+    ) {
+    }
+
+    private static final class Entry {
+
+        private final long userId;
+        private final TransactionType type;
+        private final long amount;
+        private final long expiresAtNanos;
+        private final CompletableFuture<UserPoint> result = new CompletableFuture<>();
+
+        private Entry(long userId, TransactionType type, long amount, long expiresAtNanos) {
+            this.userId = userId;
+            this.type = type;
+            this.amount = amount;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        private boolean isExpired(long nowNanos) {
+            return nowNanos - expiresAtNanos >= 0;
+        }
+    }
+
+    private final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Entry> entries;
+
+        private Segment(int maxSize) {
+            int limit = Math.max(1, maxSize);
+            this.entries = new LinkedHashMap<>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    if (size() > limit) {
+                        evictionCount.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        private Entry get(String key, long nowNanos) {
+            lock.lock();
+            try {
+                Entry entry = entries.get(key);
+                return entry != null && !entry.isExpired(nowNanos) ? entry : null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private Entry putIfAbsent(String key, Entry created, long nowNanos) {
+            lock.lock();
+            try {
+                purgeExpired(nowNanos);
+                Entry existing = entries.get(key);
+                if (existing != null && !existing.isExpired(nowNanos)) {
+                    return existing;
+                }
+                entries.remove(key); // 만료된 키는 삽입 순서 맨 뒤로 다시 넣음
+                entries.put(key, created);
+                return null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void remove(String key, Entry entry) {
+            lock.lock();
+            try {
+                entries.remove(key, entry);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int size() {
+            lock.lock();
+            try {
+                return entries.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 삽입 순서가 곧 만료 순서이므로 맨 앞에서부터 만료되지 않은 키를 만날 때까지만 지웁니다.
+         */
+        private void purgeExpired(long nowNanos) {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext() && iterator.next().isExpired(nowNanos)) {
+                iterator.remove();
+            }
+        }
+    }
+}
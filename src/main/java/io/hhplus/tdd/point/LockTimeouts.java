@@ -0,0 +1,64 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.lock.UserLockProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 연산별 유저 락 대기 시간 (point.lock.timeout-millis.{operation})
+ * - 연산 이름은 point.operation 지표의 operation 태그와 같습니다. (chargePoint, usePoint, transferPoint, getUserPoint ...)
+ * - 설정이 없는 연산은 point.lock.timeout-millis.default 를 씁니다.
+ * - -1 : 얻을 때까지 대기 (기본값) / 0 : 바로 얻지 못하면 실패 (fail-fast) / 양수 : 그 시간까지만 대기
+ */
+@Component
+public class LockTimeouts {
+
+    private static final String PREFIX = "point.lock.timeout-millis.";
+
+    private final long defaultMillis;
+    private final Function<String, Long> millisByOperation;
+    private final ConcurrentHashMap<String, Long> nanosByOperation = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LockTimeouts(Environment environment) {
+        this(environment.getProperty(PREFIX + "default", Long.class, UserLockProvider.WAIT_FOREVER),
+                operation -> environment.getProperty(PREFIX + operation, Long.class));
+    }
+
+    public LockTimeouts(long defaultMillis, Map<String, Long> millisByOperation) {
+        this(defaultMillis, millisByOperation::get);
+    }
+
+    private LockTimeouts(long defaultMillis, Function<String, Long> millisByOperation) {
+        this.defaultMillis = defaultMillis;
+        this.millisByOperation = millisByOperation;
+    }
+
+    /**
+     * 모든 연산이 락을 얻을 때까지 기다립니다.
+     */
+    public static LockTimeouts waitForever() {
+        return new LockTimeouts(UserLockProvider.WAIT_FOREVER, Map.of());
+    }
+
+    /**
+     * 연산의 락 대기 시간(ns)을 반환합니다. 무제한이면 UserLockProvider.WAIT_FOREVER 를 반환합니다.
+     */
+    public long nanosOf(String operation) {
+        Long nanos = nanosByOperation.get(operation);
+        if (nanos != null) {
+            return nanos;
+        }
+        return nanosByOperation.computeIfAbsent(operation, op -> {
+            Long millis = millisByOperation.apply(op);
+            long resolved = millis != null ? millis : defaultMillis;
+            return resolved < 0 ? UserLockProvider.WAIT_FOREVER : TimeUnit.MILLISECONDS.toNanos(resolved);
+        });
+    }
+}
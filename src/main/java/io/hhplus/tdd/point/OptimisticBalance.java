@@ -0,0 +1,94 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 낙관적(CAS) 방식에서 쓰는 유저 한 명의 잔액 (point.engine=cas)
+ * - 잔액은 변경마다 새로 만드는 노드(노드 자체가 버전, ABA 없음)이고, 요청은 현재 노드를 읽어 새 잔액을 계산한 뒤 compareAndSet 으로 교체합니다.
+ *   다른 요청이 먼저 교체했으면 새 노드를 다시 읽어 재시도하며, 잔액 부족 검사도 매 시도마다 다시 합니다.
+ * - 노드는 직전 노드를 가리키므로 CAS 에 성공한 순서가 그대로 남고, 테이블/내역은 이 순서대로 기록합니다.
+ * - 기록은 락 없이 draining 플래그를 먼저 잡은 요청 스레드 하나가 그동안 쌓인 노드를 한 번에 처리합니다.
+ */
+final class OptimisticBalance {
+
+    private final AtomicReference<Node> head;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private Node persisted; // draining 플래그를 잡은 스레드만 접근
+    private volatile RuntimeException failure;
+
+    OptimisticBalance(long point) {
+        Node initial = new Node(point, null, null);
+        this.head = new AtomicReference<>(initial);
+        this.persisted = initial;
+    }
+
+    /**
+     * 요청을 잔액에 반영합니다. 반영에 실패한(경합) 횟수를 반환하며, 잔액이 부족하면 INSUFFICIENT_POINT 예외가 발생합니다.
+     */
+    int apply(PointCommand command) {
+        int conflicts = 0;
+        while (true) {
+            Node current = head.get();
+            long next = command.applyTo(current.point);
+            if (head.compareAndSet(current, new Node(next, command, current))) {
+                return conflicts;
+            }
+            conflicts++;
+        }
+    }
+
+    RuntimeException failure() {
+        return failure;
+    }
+
+    boolean tryStartDrain() {
+        return draining.compareAndSet(false, true);
+    }
+
+    void endDrain() {
+        draining.set(false);
+    }
+
+    boolean hasPending() {
+        return head.get() != persisted;
+    }
+
+    /**
+     * 아직 기록되지 않은 요청을 CAS 순서대로 꺼내고, 기록 완료로 표시합니다. (draining 플래그 보유 상태에서 호출)
+     */
+    List<PointCommand> takePending() {
+        Node last = head.get();
+        List<PointCommand> commands = new ArrayList<>();
+        for (Node node = last; node != persisted; node = node.previous) {
+            commands.add(node.command);
+        }
+        last.previous = null; // 기록된 노드는 더 이상 따라가지 않으므로 연결을 끊어 GC 대상이 되게 함
+        persisted = last;
+        Collections.reverse(commands);
+        return commands;
+    }
+
+    /**
+     * 기록에 실패하면 이후 요청도 실패시킵니다. 테이블과 어긋난 잔액 위에 더 쌓이지 않도록, 호출한 쪽에서 이 상태를 버려야 합니다.
+     */
+    void fail(RuntimeException e) {
+        failure = e;
+    }
+
+    private static final class Node {
+
+        private final long point;
+        private final PointCommand command;
+        private Node previous;
+
+        private Node(long point, PointCommand command, Node previous) {
+            this.point = point;
+            this.command = command;
+            this.previous = previous;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package io.hhplus.tdd.point;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin/point")
+@RequiredArgsConstructor
+public class PointAdminController {
+
+    private final PointService pointService;
+
+    /**
+     * 지금 요청이 몰리는 유저(hot key) 상위 목록을 조회하는 기능
+     * - 추정 요청 수가 큰 순서, 유저마다 락 대기 스레드 수와 일괄 처리 대기 요청 수를 함께 반환
+     * - 노드별 집계 (클러스터에서는 노드마다 조회)
+     */
+    @GetMapping("hot-keys")
+    public List<HotKey> hotKeys() {
+        return pointService.getHotKeys();
+    }
+}
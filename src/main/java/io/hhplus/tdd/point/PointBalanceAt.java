@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 특정 시각의 포인트 잔액
+ * - point : atMillis 까지(포함) 기록된 내역의 충전 합 - 사용 합
+ */
+public record PointBalanceAt(
+        long userId,
+        long atMillis,
+        long point
+) {
+}
@@ -0,0 +1,112 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.exception.ErrorCode;
+import io.hhplus.tdd.exception.HanghaeException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 유저별 대기열에 쌓이는 포인트 충전/사용 요청
+ * - 대기열을 비우는 스레드(배치 처리자)가 결과를 채워 넣고, 요청 스레드는 자신의 결과만 받아갑니다.
+ */
+final class PointCommand {
+
+    private final TransactionType type;
+    private final long amount;
+    private final boolean required;
+    private final CompletableFuture<UserPoint> result = new CompletableFuture<>();
+
+    private long balanceAfter;
+    private long journalSequence;
+
+    private PointCommand(TransactionType type, long amount, boolean required) {
+        this.type = type;
+        this.amount = amount;
+        this.required = required;
+    }
+
+    static PointCommand charge(long amount) {
+        return new PointCommand(TransactionType.CHARGE, amount, false);
+    }
+
+    static PointCommand use(long amount) {
+        return new PointCommand(TransactionType.USE, amount, false);
+    }
+
+    static PointCommand refund(long amount) {
+        return new PointCommand(TransactionType.REFUND, amount, true);
+    }
+
+    /**
+     * 이체의 받는 쪽 충전 (보내는 쪽 차감이 이미 반영된 뒤라 거절하면 안 됨)
+     */
+    static PointCommand transferCharge(long amount) {
+        return new PointCommand(TransactionType.CHARGE, amount, true);
+    }
+
+    TransactionType type() {
+        return type;
+    }
+
+    long amount() {
+        return amount;
+    }
+
+    /**
+     * 앞서 반영된 변경에 이어지는 요청(되돌림, 이체의 받는 쪽)이라 저널을 쓸 수 없어도 거절하지 않고 반영하는지 여부
+     */
+    boolean required() {
+        return required;
+    }
+
+    long balanceAfter() {
+        return balanceAfter;
+    }
+
+    long journalSequence() {
+        return journalSequence;
+    }
+
+    /**
+     * 현재 잔액에 요청을 반영한 잔액을 계산합니다.
+     * 사용 요청이 잔액을 음수로 만들면 INSUFFICIENT_POINT 예외가 발생합니다.
+     */
+    long applyTo(long balance) {
+        if (type == TransactionType.USE && balance < amount) {
+            throw new HanghaeException(ErrorCode.INSUFFICIENT_POINT);
+        }
+        balanceAfter = type.isCredit() ? balance + amount : balance - amount;
+        return balanceAfter;
+    }
+
+    boolean isDone() {
+        return result.isDone();
+    }
+
+    /**
+     * 처리 결과와 저널 순번을 채웁니다. (순번은 결과보다 먼저 기록되므로 await 이후에 읽을 수 있음)
+     */
+    void complete(UserPoint userPoint, long journalSequence) {
+        this.journalSequence = journalSequence;
+        result.complete(userPoint);
+    }
+
+    void fail(RuntimeException e) {
+        result.completeExceptionally(e);
+    }
+
+    /**
+     * 처리 결과를 돌려줍니다. 실패한 요청은 원래 예외를 그대로 던집니다.
+     */
+    UserPoint await() {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -1,10 +1,21 @@
 package io.hhplus.tdd.point;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.hhplus.tdd.cluster.ClusterPointService;
+import io.hhplus.tdd.cluster.PointCluster;
+import io.hhplus.tdd.cluster.PointClusterClient;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -13,16 +24,32 @@ import java.util.List;
 public class PointController {
 
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
+    private static final String NDJSON = "application/x-ndjson";
+
     private final PointService pointService;
+    private final BulkChargeService bulkChargeService;
+    private final IdempotencyCache idempotencyCache;
+    private final PointRateLimiter pointRateLimiter;
+    private final PointSnapshots pointSnapshots;
+    private final PointCluster pointCluster;
+    private final PointClusterClient pointClusterClient;
+    private final ClusterPointService clusterPointService;
+    private final ObjectMapper objectMapper;
 
     /**
      * 특정 유저의 포인트를 조회하는 기능
+     * - 응답 헤더 Point-Version : 조회된 잔액 스냅샷의 버전
+     * - Point-Min-Version 헤더가 있으면 그 버전 이상의 잔액을 반환 (충전/사용/이체 응답의 Point-Version 을 넣으면 그 결과가 반영된 잔액)
      */
     @GetMapping("{id}")
     public UserPoint point(
-            @PathVariable long id
+            @PathVariable long id,
+            @RequestHeader(value = PointSnapshots.MIN_VERSION_HEADER, defaultValue = "0") long minVersion,
+            HttpServletResponse response
     ) {
-        return pointService.getUserPoint(id);
+        PointSnapshot snapshot = pointService.getPointSnapshot(id, minVersion);
+        response.setHeader(PointSnapshots.VERSION_HEADER, String.valueOf(snapshot.version()));
+        return snapshot.userPoint();
     }
 
     /**
@@ -35,25 +62,154 @@ public class PointController {
         return pointService.getPointHistories(id);
     }
 
+    /**
+     * 특정 유저의 포인트 충전/이용 내역을 cursor 기반으로 나눠 조회하는 기능
+     * - cursor : 이전 페이지의 nextCursor (내역 id), size : 1 ~ 1000
+     * - from / to : updateMillis 범위 [from, to), type : CHARGE / USE
+     */
+    @GetMapping("{id}/histories/page")
+    public PointHistoryPage historyPage(
+            @PathVariable long id,
+            @RequestParam(defaultValue = "0") long cursor,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) TransactionType type
+    ) {
+        return pointService.getPointHistoryPage(id, new PointHistoryQuery(cursor, from, to, type), size);
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역을 NDJSON 으로 한 줄씩 내보내는 기능
+     * - 전체 목록을 만들지 않고 읽는 대로 출력하므로, 내역 수와 관계없이 응답 메모리가 일정합니다.
+     */
+    @GetMapping("{id}/histories/stream")
+    public void historyStream(
+            @PathVariable long id,
+            @RequestParam(defaultValue = "0") long cursor,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) TransactionType type,
+            HttpServletResponse response
+    ) throws IOException {
+        PointHistoryQuery query = new PointHistoryQuery(cursor, from, to, type);
+        response.setContentType(NDJSON);
+        try (SequenceWriter writer = ndjsonWriter(response)) {
+            pointService.streamPointHistories(id, query, history -> write(writer, history));
+        }
+    }
+
+    /**
+     * 특정 유저의 특정 시각(at, epoch millis) 잔액을 조회하는 기능
+     */
+    @GetMapping("{id}/balance")
+    public PointBalanceAt balanceAt(
+            @PathVariable long id,
+            @RequestParam long at
+    ) {
+        return pointService.getBalanceAt(id, at);
+    }
+
+    /**
+     * 특정 유저의 기간별(unit : MINUTE / HOUR / DAY) 충전/사용 합계를 조회하는 기능
+     */
+    @GetMapping("{id}/sums")
+    public PointSums sums(
+            @PathVariable long id,
+            @RequestParam RollupUnit unit,
+            @RequestParam long from,
+            @RequestParam long to
+    ) {
+        return pointService.getPointSums(id, unit, from, to);
+    }
+
     /**
      * 특정 유저의 포인트를 충전하는 기능
+     * - Idempotency-Key 헤더가 있으면 같은 키의 재요청은 다시 충전하지 않고 처음 결과를 반환
      */
     @PatchMapping("{id}/charge")
     public UserPoint charge(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = IdempotencyCache.HEADER, required = false) String idempotencyKey,
+            HttpServletResponse response
     ) {
-        return pointService.chargePoint(id, amount);
+        pointRateLimiter.acquire(id);
+        UserPoint userPoint = idempotencyCache.execute(idempotencyKey, id, TransactionType.CHARGE, amount, () -> pointService.chargePoint(id, amount));
+        response.setHeader(PointSnapshots.VERSION_HEADER, String.valueOf(pointSnapshots.versionOf(id)));
+        return userPoint;
     }
 
     /**
      * 특정 유저의 포인트를 사용하는 기능
+     * - Idempotency-Key 헤더가 있으면 같은 키의 재요청은 다시 사용하지 않고 처음 결과를 반환
      */
     @PatchMapping("{id}/use")
     public UserPoint use(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = IdempotencyCache.HEADER, required = false) String idempotencyKey,
+            HttpServletResponse response
     ) {
-        return pointService.usePoint(id, amount);
+        pointRateLimiter.acquire(id);
+        UserPoint userPoint = idempotencyCache.execute(idempotencyKey, id, TransactionType.USE, amount, () -> pointService.usePoint(id, amount));
+        response.setHeader(PointSnapshots.VERSION_HEADER, String.valueOf(pointSnapshots.versionOf(id)));
+        return userPoint;
+    }
+
+    /**
+     * 한 유저의 포인트를 다른 유저에게 이체하는 기능
+     * - 요청 : {"from", "to", "amount"}, 보내는 유저의 사용 내역과 받는 유저의 충전 내역이 함께 남음
+     * - 클러스터 : 보내는 유저를 맡은 노드가 처리하며, 받는 유저가 다른 노드의 몫이면 그 노드에 충전을 보냄 (이때 Point-Version 헤더 없음, 버전은 노드마다 따로 매김)
+     */
+    @PostMapping("transfer")
+    public PointTransfer transfer(
+            @RequestBody PointTransferRequest request,
+            HttpServletResponse response
+    ) {
+        if (!pointCluster.isLocal(request.from())) {
+            return pointClusterClient.transfer(pointCluster.ownerOf(request.from()), request, response);
+        }
+        pointRateLimiter.acquire(request.from());
+        if (!pointCluster.isLocal(request.to())) {
+            return clusterPointService.transferPoint(request.from(), request.to(), request.amount());
+        }
+        PointTransfer transfer = pointService.transferPoint(request.from(), request.to(), request.amount());
+        long version = Math.max(pointSnapshots.versionOf(request.from()), pointSnapshots.versionOf(request.to())); // 버전은 전체 공통이라 큰 쪽이 두 유저를 모두 포함
+        response.setHeader(PointSnapshots.VERSION_HEADER, String.valueOf(version));
+        return transfer;
+    }
+
+    /**
+     * 여러 유저의 포인트를 한 번에 충전하는 기능
+     * - 요청 : {"userId", "amount"} 의 JSON 배열 또는 NDJSON, 전체를 메모리에 올리지 않고 읽는 대로 처리
+     * - 응답 : 항목별 결과를 처리되는 대로 NDJSON 으로 출력 (index 는 요청 내 순서, 같은 유저의 결과는 요청 순서대로)
+     * - 클러스터 : 다른 노드가 맡은 유저의 항목은 항목마다 그 노드에 충전을 보냄
+     */
+    @PostMapping("charge/bulk")
+    public void chargeBulk(
+            InputStream body,
+            HttpServletResponse response
+    ) throws IOException {
+        response.setContentType(NDJSON);
+        try (MappingIterator<BulkChargeItem> items = objectMapper.readerFor(BulkChargeItem.class).readValues(body);
+             SequenceWriter writer = ndjsonWriter(response)) {
+            bulkChargeService.chargeAll(items, result -> write(writer, result));
+        }
+    }
+
+    private SequenceWriter ndjsonWriter(HttpServletResponse response) throws IOException {
+        return objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE) // 항목마다 flush 하지 않고 버퍼 단위로 전송
+                .withRootValueSeparator("\n")
+                .writeValues(response.getOutputStream());
+    }
+
+    private static void write(SequenceWriter writer, Object value) {
+        try {
+            writer.write(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
@@ -0,0 +1,414 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.archive.HistoryCheckpoint;
+import io.hhplus.tdd.archive.PointHistoryArchive;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntToLongFunction;
+import java.util.function.Predicate;
+
+/**
+ * 유저별 포인트 내역 인덱스
+ * - PointHistoryTable.selectAllByUserId 는 전체 내역을 훑기 때문에 O(전체 내역) 비용이 듭니다.
+ * - PointService 가 내역을 기록할 때 유저별 목록에 덧붙여, 조회를 O(해당 유저 내역)으로 줄입니다.
+ * - 한 번도 적재되지 않은 유저(cold start)만 테이블에서 읽어 옵니다.
+ * - 저장 방식 (point.history.store)
+ *   - object : PointHistory 객체 배열 (기본값)
+ *   - columnar : id / 금액 / 시각은 long[], 종류는 byte[] 컬럼으로 보관하고 조회 시에만 PointHistory 를 만듭니다.
+ *     객체 헤더와 참조가 없어 내역 1건당 메모리가 약 1/3 줄고, GC 가 추적할 객체 수가 유저 수 수준으로 줄어듭니다.
+ * - 유저별 분/시/일 합계(PointHistoryRollup)를 내역과 함께 갱신해, 특정 시각의 잔액과 기간 합계를 내역을 훑지 않고 구합니다.
+ * - 보관 기간이 지난 내역은 PointHistoryRetention 이 보관소(PointHistoryArchive)로 옮기고 인덱스에서 잘라 냅니다.
+ *   조회가 보관된 범위에 걸치면 보관소에서 읽은 내역/합계를 앞에 이어 붙입니다.
+ */
+@Component
+public class PointHistoryIndex {
+
+    private static final String OBJECT = "object";
+    private static final String COLUMNAR = "columnar";
+    private static final int INITIAL_CAPACITY = 8;
+
+    private static final String DEFAULT_ROLLUP_OFFSET = "+09:00";
+
+    private final ConcurrentHashMap<Long, UserHistories> index = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, PointHistoryRollup> rollups = new ConcurrentHashMap<>();
+    private final boolean columnar;
+    private final long rollupOffsetMillis;
+    private final PointHistoryArchive archive;
+
+    public PointHistoryIndex() {
+        this(OBJECT);
+    }
+
+    public PointHistoryIndex(String store) {
+        this(store, DEFAULT_ROLLUP_OFFSET);
+    }
+
+    public PointHistoryIndex(String store, String rollupOffset) {
+        this(store, rollupOffset, PointHistoryArchive.disabled());
+    }
+
+    @Autowired
+    public PointHistoryIndex(
+            @Value("${point.history.store:object}") String store,
+            @Value("${point.history.rollup-offset:+09:00}") String rollupOffset,
+            PointHistoryArchive archive
+    ) {
+        if (!OBJECT.equals(store) && !COLUMNAR.equals(store)) {
+            throw new IllegalArgumentException("unknown history store: " + store);
+        }
+        this.columnar = COLUMNAR.equals(store);
+        this.rollupOffsetMillis = TimeUnit.SECONDS.toMillis(ZoneOffset.of(rollupOffset).getTotalSeconds());
+        this.archive = archive;
+    }
+
+    /**
+     * 유저의 내역을 조회합니다. 아직 적재되지 않은 유저면 null 을 반환합니다.
+     */
+    public List<PointHistory> get(long userId) {
+        UserHistories histories = index.get(userId);
+        if (histories == null) {
+            return null;
+        }
+        long archivedThroughId = rollups.get(userId).archivedThroughId();
+        if (archivedThroughId == 0) {
+            return histories.snapshot();
+        }
+        List<PointHistory> merged = new ArrayList<>();
+        archive.scan(userId, 0L, archivedThroughId, merged::add);
+        histories.scan(archivedThroughId, merged::add);
+        return Collections.unmodifiableList(merged);
+    }
+
+    /**
+     * cursor(내역 id) 보다 큰 내역을 id 순으로 하나씩 visitor 에 넘깁니다. visitor 가 false 를 반환하면 멈춥니다.
+     * 목록을 복사하지 않으므로 내역 수와 관계없이 추가 메모리를 쓰지 않습니다. 아직 적재되지 않은 유저면 false 를 반환합니다.
+     */
+    public boolean scan(long userId, long cursor, Predicate<PointHistory> visitor) {
+        UserHistories histories = index.get(userId);
+        if (histories == null) {
+            return false;
+        }
+        long archivedThroughId = rollups.get(userId).archivedThroughId();
+        if (cursor < archivedThroughId && !archive.scan(userId, cursor, archivedThroughId, visitor)) {
+            return true;
+        }
+        histories.scan(Math.max(cursor, archivedThroughId), visitor);
+        return true;
+    }
+
+    /**
+     * atMillis 까지(포함) 기록된 내역으로 계산한 잔액을 반환합니다. 아직 적재되지 않은 유저면 null 을 반환합니다.
+     * 분 단위 누적 합계로 구하고, atMillis 가 분의 중간이면 그 분의 내역만 읽어 더합니다.
+     */
+    public Long balanceAt(long userId, long atMillis) {
+        UserHistories histories = index.get(userId);
+        if (histories == null) {
+            return null;
+        }
+        PointHistoryRollup.Cut cut = rollups.get(userId).cut(atMillis);
+        if (cut.archived()) {
+            return archive.balanceAt(userId, atMillis);
+        }
+        if (!cut.partial()) {
+            return cut.point();
+        }
+        long[] state = {cut.point(), Long.MIN_VALUE}; // 잔액, 단조 증가로 맞춘 시각 (집계와 같은 기준)
+        histories.scan(cut.cursor(), history -> {
+            state[1] = Math.max(state[1], history.updateMillis());
+            if (state[1] > atMillis) {
+                return false;
+            }
+            state[0] += history.type().isCredit() ? history.amount() : -history.amount();
+            return true;
+        });
+        return state[0];
+    }
+
+    /**
+     * unit 단위의 기간 합계를 반환합니다. 아직 적재되지 않은 유저면 null 을 반환합니다.
+     */
+    public PointSums sums(long userId, RollupUnit unit, long fromMillis, long toMillis) {
+        if (!index.containsKey(userId)) {
+            return null;
+        }
+        PointHistoryRollup.Sums sums = rollups.get(userId).sums(userId, unit, fromMillis, toMillis);
+        PointSums hot = sums.hot();
+        if (unit.startOf(fromMillis, rollupOffsetMillis) >= sums.archivedUntilMillis()) {
+            return hot;
+        }
+        List<PointSums.Bucket> buckets = archive.buckets(userId, unit, rollupOffsetMillis, fromMillis, toMillis, sums.archivedUntilMillis());
+        long charged = hot.charged();
+        long used = hot.used();
+        for (PointSums.Bucket bucket : buckets) {
+            charged += bucket.charged();
+            used += bucket.used();
+        }
+        buckets.addAll(hot.buckets());
+        return new PointSums(userId, unit, fromMillis, toMillis, charged, used, buckets);
+    }
+
+    public long rollupOffsetMillis() {
+        return rollupOffsetMillis;
+    }
+
+    public boolean isLoaded(long userId) {
+        return index.containsKey(userId);
+    }
+
+    /**
+     * 테이블에서 읽은 내역으로 유저를 적재합니다. 이미 적재된 유저는 무시합니다. (유저 락 보유 상태에서 호출)
+     */
+    public void load(long userId, List<PointHistory> histories) {
+        index.computeIfAbsent(userId, k -> newUserHistories(userId, histories));
+    }
+
+    /**
+     * 새로 기록된 내역을 덧붙입니다. (유저 락 보유 상태에서 호출)
+     * 보관 스레드가 합계를 자르고 내역 목록을 바꾸는 동안 덧붙이지 않도록, 목록과 합계를 유저의 writerLock 안에서 함께 갱신합니다.
+     */
+    public void append(PointHistory history) {
+        long userId = history.userId();
+        index.computeIfAbsent(userId, k -> newUserHistories(k, List.of()));
+        PointHistoryRollup rollup = rollups.get(userId);
+        ReentrantLock writerLock = rollup.writerLock();
+        writerLock.lock();
+        try {
+            index.get(userId).append(history);
+            rollup.add(history);
+        } finally {
+            writerLock.unlock();
+        }
+    }
+
+    /**
+     * 적재된 유저 id (보관 대상을 고를 때 사용)
+     */
+    Set<Long> userIds() {
+        return index.keySet();
+    }
+
+    /**
+     * 아직 보관되지 않은 내역 중 cutoffMillis 전의 분 구간에 속한 내역을 id 순으로 반환합니다. (보관 스레드에서 호출)
+     */
+    List<PointHistory> archivable(long userId, long cutoffMillis) {
+        UserHistories histories = index.get(userId);
+        PointHistoryRollup rollup = rollups.get(userId);
+        List<PointHistory> archivable = new ArrayList<>();
+        if (histories == null) {
+            return archivable;
+        }
+        long throughId = rollup.lastIdBefore(cutoffMillis);
+        histories.scan(rollup.archivedThroughId(), history -> history.id() <= throughId && archivable.add(history));
+        return archivable;
+    }
+
+    /**
+     * 보관소에 쓴 내역(throughId 이하)을 합계와 내역 목록에서 잘라 냅니다. (보관 스레드에서 호출)
+     * 합계를 먼저 자르므로, 조회는 인덱스의 목록을 먼저 읽고 합계의 archivedThroughId 를 읽으면 빠지는 내역이 없습니다.
+     */
+    void compact(long userId, long cutoffMillis, long throughId) {
+        PointHistoryRollup rollup = rollups.get(userId);
+        ReentrantLock writerLock = rollup.writerLock();
+        writerLock.lock();
+        try {
+            rollup.trim(cutoffMillis, throughId);
+            List<PointHistory> retained = new ArrayList<>();
+            index.get(userId).scan(throughId, retained::add);
+            index.put(userId, newHistories(userId, retained));
+        } finally {
+            writerLock.unlock();
+        }
+    }
+
+    /**
+     * 합계를 먼저 만들어 두므로, 인덱스에 보이는 유저는 항상 합계가 있습니다.
+     * 보관된 내역이 있는 유저는 보관된 내역을 빼고 그 누적값에서 합계를 시작합니다.
+     */
+    private UserHistories newUserHistories(long userId, List<PointHistory> histories) {
+        HistoryCheckpoint checkpoint = archive.checkpointOf(userId);
+        if (checkpoint == null) {
+            checkpoint = HistoryCheckpoint.EMPTY;
+        } else {
+            long lastArchivedId = checkpoint.lastArchivedId();
+            histories = histories.stream().filter(history -> history.id() > lastArchivedId).toList();
+        }
+        rollups.put(userId, new PointHistoryRollup(rollupOffsetMillis, checkpoint, histories));
+        return newHistories(userId, histories);
+    }
+
+    private UserHistories newHistories(long userId, List<PointHistory> histories) {
+        return columnar ? new ColumnarUserHistories(userId, histories) : new ObjectUserHistories(histories);
+    }
+
+    /**
+     * 유저 한 명의 내역 (append-only)
+     * - 쓰기는 유저 락을 잡은 스레드 하나만 수행하고, 읽기는 락 없이 size 까지의 원소만 봅니다.
+     * - 원소를 먼저 쓰고 volatile size 를 갱신하므로 읽기 스레드는 항상 완성된 원소만 봅니다.
+     */
+    private sealed interface UserHistories permits ObjectUserHistories, ColumnarUserHistories {
+
+        void append(PointHistory history);
+
+        void scan(long cursor, Predicate<PointHistory> visitor);
+
+        List<PointHistory> snapshot();
+
+        /**
+         * id 가 cursor 보다 큰 첫 원소의 위치 (내역은 id 오름차순으로 쌓임)
+         */
+        static int firstAfter(IntToLongFunction idAt, int n, long cursor) {
+            int low = 0;
+            int high = n;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (idAt.applyAsLong(mid) <= cursor) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    private static final class ObjectUserHistories implements UserHistories {
+
+        private volatile PointHistory[] items;
+        private volatile int size;
+
+        private ObjectUserHistories(List<PointHistory> histories) {
+            this.items = histories.toArray(new PointHistory[Math.max(histories.size(), INITIAL_CAPACITY)]);
+            this.size = histories.size();
+        }
+
+        @Override
+        public void append(PointHistory history) {
+            PointHistory[] current = items;
+            int n = size;
+            if (n == current.length) {
+                current = Arrays.copyOf(current, n * 2);
+                items = current;
+            }
+            current[n] = history;
+            size = n + 1;
+        }
+
+        @Override
+        public void scan(long cursor, Predicate<PointHistory> visitor) {
+            int n = size;
+            PointHistory[] current = items;
+            for (int i = UserHistories.firstAfter(index -> current[index].id(), n, cursor); i < n; i++) {
+                if (!visitor.test(current[i])) {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public List<PointHistory> snapshot() {
+            int n = size;
+            return Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(items, n)));
+        }
+    }
+
+    /**
+     * 컬럼 배열에 보관하는 유저 내역 (내역 1건당 데이터 25바이트, userId 는 키로 대신함)
+     * - 배열을 늘릴 때는 네 컬럼을 함께 복사한 Columns 를 한 번에 교체하므로, 읽기 스레드는 항상 같은 세대의 컬럼을 봅니다.
+     */
+    private static final class ColumnarUserHistories implements UserHistories {
+
+        private final long userId;
+        private volatile Columns columns;
+        private volatile int size;
+
+        private ColumnarUserHistories(long userId, List<PointHistory> histories) {
+            this.userId = userId;
+            Columns initial = new Columns(Math.max(histories.size(), INITIAL_CAPACITY));
+            for (int i = 0; i < histories.size(); i++) {
+                initial.set(i, histories.get(i));
+            }
+            this.columns = initial;
+            this.size = histories.size();
+        }
+
+        @Override
+        public void append(PointHistory history) {
+            Columns current = columns;
+            int n = size;
+            if (n == current.ids.length) {
+                current = current.grow(n * 2);
+                columns = current;
+            }
+            current.set(n, history);
+            size = n + 1;
+        }
+
+        @Override
+        public void scan(long cursor, Predicate<PointHistory> visitor) {
+            int n = size;
+            Columns current = columns;
+            for (int i = UserHistories.firstAfter(index -> current.ids[index], n, cursor); i < n; i++) {
+                if (!visitor.test(current.materialize(userId, i))) {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public List<PointHistory> snapshot() {
+            int n = size;
+            Columns current = columns;
+            PointHistory[] histories = new PointHistory[n];
+            for (int i = 0; i < n; i++) {
+                histories[i] = current.materialize(userId, i);
+            }
+            return Collections.unmodifiableList(Arrays.asList(histories));
+        }
+
+        private static final class Columns {
+
+            private final long[] ids;
+            private final long[] amounts;
+            private final long[] updateMillis;
+            private final byte[] types;
+
+            private Columns(int capacity) {
+                this(new long[capacity], new long[capacity], new long[capacity], new byte[capacity]);
+            }
+
+            private Columns(long[] ids, long[] amounts, long[] updateMillis, byte[] types) {
+                this.ids = ids;
+                this.amounts = amounts;
+                this.updateMillis = updateMillis;
+                this.types = types;
+            }
+
+            private Columns grow(int capacity) {
+                return new Columns(Arrays.copyOf(ids, capacity), Arrays.copyOf(amounts, capacity),
+                        Arrays.copyOf(updateMillis, capacity), Arrays.copyOf(types, capacity));
+            }
+
+            private void set(int index, PointHistory history) {
+                ids[index] = history.id();
+                amounts[index] = history.amount();
+                updateMillis[index] = history.updateMillis();
+                types[index] = history.type().code();
+            }
+
+            private PointHistory materialize(long userId, int index) {
+                return new PointHistory(ids[index], userId, amounts[index], TransactionType.fromCode(types[index]), updateMillis[index]);
+            }
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrent.AsyncThreadFactory;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointMetrics.TableCall;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 포인트 내역 outbox
+ * - 충전/사용 시 PointHistoryTable.insert(최대 300ms)를 유저 락 밖으로 빼기 위해, 내역을 대기열에 넣고 즉시 반환합니다.
+ * - 백그라운드 writer 스레드 하나가 대기열에 쌓인 내역을 한 번에 꺼내 도착 순서대로 테이블에 기록합니다.
+ * - 테이블의 내역 id 는 insert 순서대로 1씩 증가하므로, 대기열에 넣는 순서대로 같은 id 를 미리 부여합니다.
+ *   (PointService 가 유일한 writer 라는 전제. 실제 id 와 다르면 그 내역부터 테이블 id 와의 차이를 다시 맞춥니다.)
+ * - 저널에서 복구한 내역은 테이블에 다시 기록하지 않으므로, 그 뒤의 내역 id 는 테이블 id + idOffset 입니다.
+ * - 기록에 실패한 내역은 버리지 않고 대기열 맨 앞에 둔 채 간격을 늘려 가며 다시 시도합니다. (뒤의 내역이 앞질러 id 가 밀리지 않음)
+ */
+@Slf4j
+@Component
+public class PointHistoryOutbox {
+
+    private final PointHistoryTable pointHistoryTable;
+    private final PointMetrics pointMetrics;
+
+    private final ConcurrentLinkedQueue<PointHistory> queue = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition drained = lock.newCondition();
+    private final Condition stopping = lock.newCondition(); // 재시도 대기 중인 writer 를 종료 시 깨움
+    private final ReentrantLock tableLock = new ReentrantLock(); // PointHistoryTable 은 thread-safe 하지 않음
+    private final Thread writer;
+
+    private static final long MIN_RETRY_BACKOFF_MILLIS = 10L;
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 1_000L;
+
+    private long lastId = 0;
+    private volatile long idOffset = 0; // 테이블에 다시 기록하지 않은 (저널에서 복구한) 내역 수
+    private final TreeMap<Long, Long> resyncedOffsets = new TreeMap<>(); // 테이블 id → 그 id 부터의 idOffset (tableLock 보유 상태에서만 접근)
+    private volatile boolean running = true;
+
+    public PointHistoryOutbox(PointHistoryTable pointHistoryTable, AsyncThreadFactory asyncThreadFactory, PointMetrics pointMetrics) {
+        this.pointHistoryTable = pointHistoryTable;
+        this.pointMetrics = pointMetrics;
+        this.writer = asyncThreadFactory.newThread("point-history-writer", this::run);
+        this.writer.start();
+    }
+
+    /**
+     * 내역을 대기열에 넣고, 테이블에 기록될 id 를 부여한 내역을 반환합니다.
+     */
+    public PointHistory enqueue(long userId, long amount, TransactionType type, long updateMillis) {
+        lock.lock();
+        try {
+            PointHistory history = new PointHistory(++lastId, userId, amount, type, updateMillis);
+            queue.add(history);
+            notEmpty.signal();
+            return history;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 테이블에 기록된 내역과 아직 기록되지 않은 내역을 합쳐 id 순으로 조회합니다. (cold start 용)
+     */
+    public List<PointHistory> selectAllByUserId(long userId) {
+        List<PointHistory> pending = pending(userId); // 테이블보다 먼저 읽어야 기록 중인 내역이 빠지지 않음
+
+        Map<Long, PointHistory> merged = new LinkedHashMap<>();
+        tableLock.lock();
+        try {
+            pointMetrics.recordTableCall(TableCall.POINT_HISTORY_SELECT_ALL_BY_USER_ID, () -> pointHistoryTable.selectAllByUserId(userId))
+                    .forEach(history -> {
+                        PointHistory shifted = shift(history);
+                        merged.put(shifted.id(), shifted);
+                    });
+        } finally {
+            tableLock.unlock();
+        }
+        pending.forEach(history -> merged.putIfAbsent(history.id(), history));
+        observe(merged.keySet().stream().mapToLong(Long::longValue).max().orElse(0));
+
+        List<PointHistory> histories = new ArrayList<>(merged.values());
+        histories.sort(Comparator.comparingLong(PointHistory::id));
+        return histories;
+    }
+
+    /**
+     * 저널에서 복구한 내역(id 가 historyId 이하)의 뒤에서부터 id 를 이어서 부여합니다.
+     * 복구한 내역은 테이블에 다시 기록하지 않으므로, 이후 테이블 id 와의 차이를 idOffset 으로 기억합니다. (시작 시 기록 전에 호출)
+     */
+    public void resumeAfter(long historyId) {
+        lock.lock();
+        try {
+            if (historyId > lastId) {
+                idOffset += historyId - lastId;
+                lastId = historyId;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 아직 테이블에 기록되지 않은 유저의 내역을 조회합니다.
+     */
+    public List<PointHistory> pending(long userId) {
+        return queue.stream().filter(history -> history.userId() == userId).toList();
+    }
+
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    /**
+     * 대기열이 빌 때까지 기다립니다.
+     */
+    public boolean awaitDrained(long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (!queue.isEmpty()) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = drained.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 남은 내역을 모두 기록한 뒤 writer 를 종료합니다.
+     */
+    @PreDestroy
+    public void shutdown() {
+        lock.lock();
+        try {
+            running = false;
+            notEmpty.signal();
+            stopping.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("기록되지 않은 포인트 내역 - {}건", queue.size());
+        }
+    }
+
+    /**
+     * 테이블에서 읽은 내역 id 보다 작은 id 를 부여하지 않도록 맞춥니다.
+     */
+    private void observe(long persistedId) {
+        lock.lock();
+        try {
+            lastId = Math.max(lastId, persistedId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void run() {
+        while (true) {
+            lock.lock();
+            try {
+                while (queue.isEmpty()) {
+                    drained.signalAll();
+                    if (!running) {
+                        return;
+                    }
+                    notEmpty.await();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            if (!writeBatch()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 대기열의 내역을 순서대로 기록합니다.
+     * 기록이 끝난 뒤에 대기열에서 빼므로, 기록 중인 내역도 pending 조회에 포함됩니다.
+     * 종료 중에 기록하지 못한 내역이 남으면 false 를 반환합니다.
+     */
+    private boolean writeBatch() {
+        int written = 0;
+        PointHistory history;
+        while ((history = queue.peek()) != null) {
+            if (!write(history)) {
+                return false;
+            }
+            queue.poll();
+            written++;
+        }
+        log.debug("포인트 내역 일괄 기록 - {}건", written);
+        return true;
+    }
+
+    /**
+     * 내역 하나를 기록될 때까지 다시 시도합니다. 종료 중에 실패하면 포기하고 false 를 반환합니다. (남은 내역은 shutdown 이 경고로 남김)
+     */
+    private boolean write(PointHistory history) {
+        long backoffMillis = MIN_RETRY_BACKOFF_MILLIS;
+        for (int attempt = 1; ; attempt++) {
+            tableLock.lock();
+            try {
+                PointHistory persisted = insert(history);
+                if (persisted.id() + offsetOf(persisted.id()) != history.id()) {
+                    resync(history, persisted);
+                }
+                return true;
+            } catch (RuntimeException e) {
+                log.error("포인트 내역 기록 실패 - id: {}, userId: {}, 시도: {}", history.id(), history.userId(), attempt, e);
+            } finally {
+                tableLock.unlock();
+            }
+
+            lock.lock();
+            try {
+                if (!running) {
+                    return false;
+                }
+                stopping.awaitNanos(TimeUnit.MILLISECONDS.toNanos(backoffMillis));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                lock.unlock();
+            }
+            backoffMillis = Math.min(backoffMillis * 2, MAX_RETRY_BACKOFF_MILLIS);
+        }
+    }
+
+    /**
+     * 테이블이 예상과 다른 id 를 부여했으면(다른 writer 의 insert 등), 이 내역부터 테이블 id 와 부여한 id 의 차이를 다시 맞춥니다.
+     * 이미 부여한 id 는 인덱스와 저널에 쓰였으므로 바꾸지 않고, 테이블에서 읽을 때의 변환(shift)만 테이블 id 구간별로 맞춥니다.
+     * (tableLock 보유 상태에서 호출)
+     */
+    private void resync(PointHistory history, PointHistory persisted) {
+        long offset = history.id() - persisted.id();
+        resyncedOffsets.put(persisted.id(), offset);
+        log.warn("포인트 내역 id 불일치, 이후 id 차이를 다시 맞춤 - 예상: {}, 실제: {}, idOffset: {}", history.id(), persisted.id(), offset);
+    }
+
+    /**
+     * 테이블 id 에 더해 부여한 id 로 바꿀 차이 (tableLock 보유 상태에서 호출)
+     */
+    private long offsetOf(long tableId) {
+        Map.Entry<Long, Long> resynced = resyncedOffsets.floorEntry(tableId);
+        return resynced != null ? resynced.getValue() : idOffset;
+    }
+
+    private PointHistory shift(PointHistory history) {
+        long offset = offsetOf(history.id());
+        return offset == 0 ? history : new PointHistory(history.id() + offset, history.userId(), history.amount(), history.type(), history.updateMillis());
+    }
+
+    private PointHistory insert(PointHistory history) {
+        return pointMetrics.recordTableCall(TableCall.POINT_HISTORY_INSERT,
+                () -> pointHistoryTable.insert(history.userId(), history.amount(), history.type(), history.updateMillis()));
+    }
+}
@@ -0,0 +1,37 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.exception.ErrorCode;
+import io.hhplus.tdd.exception.HanghaeException;
+
+/**
+ * 포인트 내역 조회 조건
+ * - cursor : 이 id 보다 큰 내역부터 조회 (0 이면 처음부터)
+ * - fromMillis / toMillis : updateMillis 범위 [from, to), null 이면 제한 없음
+ * - type : 거래 타입, null 이면 전체
+ */
+public record PointHistoryQuery(
+        long cursor,
+        Long fromMillis,
+        Long toMillis,
+        TransactionType type
+) {
+
+    public PointHistoryQuery {
+        if (cursor < 0) {
+            throw new HanghaeException(ErrorCode.NEGATIVE_ID);
+        }
+        if (fromMillis != null && toMillis != null && fromMillis >= toMillis) {
+            throw new HanghaeException(ErrorCode.INVALID_TIME_RANGE);
+        }
+    }
+
+    public static PointHistoryQuery all() {
+        return new PointHistoryQuery(0, null, null, null);
+    }
+
+    public boolean matches(PointHistory history) {
+        return (fromMillis == null || history.updateMillis() >= fromMillis)
+                && (toMillis == null || history.updateMillis() < toMillis)
+                && (type == null || history.type() == type);
+    }
+}
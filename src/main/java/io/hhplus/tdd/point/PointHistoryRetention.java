@@ -0,0 +1,104 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.archive.HistoryCheckpoint;
+import io.hhplus.tdd.archive.PointHistoryArchive;
+import io.hhplus.tdd.concurrent.AsyncThreadFactory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 내역 보관 기간 관리 (point.history.retention)
+ * - check-interval-seconds 마다 retention-days 보다 오래된 내역을 보관소(PointHistoryArchive)로 옮기고 인덱스에서 잘라 냅니다.
+ *   인덱스에는 최근 내역과 유저별 누적값만 남으므로, 오래 실행해도 힙 사용량이 보관 기간 안의 내역 수에서 멈춥니다.
+ * - 기준 시각은 rollup-offset 시간대의 자정으로 내려 맞춥니다. 분/시/일 합계 구간이 보관소와 인덱스에 나뉘지 않고,
+ *   하루에 세그먼트 파일이 하나씩 생깁니다.
+ * - 순서 : 보관소에 쓰기(force 후 이름 변경) → 합계 자르기 → 내역 목록 교체. 쓰기가 실패하면 아무것도 자르지 않습니다.
+ *   보관할 내역은 유저 한 명씩 읽어 바로 세그먼트에 쓰므로, 오래 멈춰 있다 실행해도 밀린 내역 전체를 힙에 모으지 않습니다.
+ * - 시작 시 복구(PointJournalRecovery)가 끝난 뒤 첫 보관을 실행합니다.
+ * - PointHistoryTable 은 지울 수 없으므로, 테이블에서 다시 적재하는 유저도 보관된 내역은 빼고 적재합니다.
+ */
+@Slf4j
+@Component
+public class PointHistoryRetention {
+
+    private final PointHistoryIndex pointHistoryIndex;
+    private final PointHistoryArchive pointHistoryArchive;
+    private final long retentionMillis;
+    private final long checkIntervalMillis;
+    private final Thread compactor;
+
+    public PointHistoryRetention(
+            AsyncThreadFactory asyncThreadFactory,
+            PointHistoryIndex pointHistoryIndex,
+            PointHistoryArchive pointHistoryArchive,
+            PointJournalRecovery pointJournalRecovery, // 복구가 끝난 뒤에 생성되도록 의존만 둠
+            @Value("${point.history.retention.retention-days:7}") long retentionDays,
+            @Value("${point.history.retention.check-interval-seconds:3600}") long checkIntervalSeconds
+    ) {
+        if (retentionDays <= 0) {
+            throw new IllegalArgumentException("retentionDays must be positive: " + retentionDays);
+        }
+        this.pointHistoryIndex = pointHistoryIndex;
+        this.pointHistoryArchive = pointHistoryArchive;
+        this.retentionMillis = TimeUnit.DAYS.toMillis(retentionDays);
+        this.checkIntervalMillis = TimeUnit.SECONDS.toMillis(checkIntervalSeconds);
+        this.compactor = asyncThreadFactory.newThread("point-history-compactor", this::run);
+        if (pointHistoryArchive.isEnabled() && checkIntervalMillis > 0) {
+            this.compactor.start();
+        }
+    }
+
+    /**
+     * nowMillis 기준으로 보관 기간이 지난 내역을 보관소로 옮기고, 옮긴 내역 수를 반환합니다. (보관 스레드 하나만 호출)
+     */
+    public long compact(long nowMillis) {
+        long cutoffMillis = RollupUnit.DAY.startOf(nowMillis - retentionMillis, pointHistoryIndex.rollupOffsetMillis());
+        if (!pointHistoryArchive.isEnabled() || cutoffMillis <= pointHistoryArchive.archivedUntilMillis()) {
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        long[] userIds = pointHistoryIndex.userIds().stream().mapToLong(Long::longValue).sorted().toArray();
+        long count = pointHistoryArchive.archive(cutoffMillis, userIds, userId -> pointHistoryIndex.archivable(userId, cutoffMillis));
+
+        int archivedUsers = 0;
+        for (long userId : userIds) {
+            HistoryCheckpoint checkpoint = pointHistoryArchive.checkpointOf(userId);
+            if (checkpoint != null && checkpoint.archivedUntilMillis() == cutoffMillis) { // 이번 실행에서 보관된 유저
+                pointHistoryIndex.compact(userId, cutoffMillis, checkpoint.lastArchivedId());
+                archivedUsers++;
+            }
+        }
+
+        log.info("포인트 내역 보관 - 기준 시각: {}, 유저 수: {}, 내역 수: {}, {}ms",
+                cutoffMillis, archivedUsers, count, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return count;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        compactor.interrupt();
+        if (compactor.isAlive()) {
+            compactor.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    private void run() {
+        while (true) {
+            try {
+                compact(System.currentTimeMillis());
+            } catch (RuntimeException e) {
+                log.error("포인트 내역 보관 실패", e);
+            }
+            try {
+                Thread.sleep(checkIntervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+}
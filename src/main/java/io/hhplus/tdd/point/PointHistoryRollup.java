@@ -0,0 +1,300 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.archive.HistoryCheckpoint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 유저 한 명의 분/시/일 단위 충전·사용 합계 (PointHistoryIndex 가 내역을 덧붙일 때 함께 갱신)
+ * - 단위마다 내역이 있는 구간만 시작 시각 순으로 두고, 합계는 첫 구간부터의 누적값으로 보관합니다.
+ *   → 기간 합계는 양 끝 구간을 이진 탐색해 누적값의 차로 구하므로 O(log 구간 수)
+ * - 내역 시각은 유저별로 단조 증가하도록 맞춥니다. (시계가 뒤로 가면 직전 내역의 시각으로 집계)
+ *   구간이 항상 끝에만 추가되므로 갱신은 마지막 구간의 누적값을 올리는 O(1) 입니다.
+ * - 쓰기는 유저의 writer 하나만 수행하고, 조회와는 StampedLock 으로 나눕니다.
+ * - 보관소로 옮긴 구간은 잘라 내고(trim) 그때까지의 누적값만 시작값으로 남깁니다.
+ *   archivedUntilMillis 전의 시각과 archivedThroughId 이하의 내역은 보관소(PointHistoryArchive)에서 구합니다.
+ */
+final class PointHistoryRollup {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final long offsetMillis;
+    private final Buckets[] levels;
+    private final StampedLock lock = new StampedLock();
+    private final ReentrantLock writerLock = new ReentrantLock();
+    private long lastMillis;
+    private long lastId;
+    private long archivedUntilMillis;
+    private volatile long archivedThroughId;
+
+    PointHistoryRollup(long offsetMillis, List<PointHistory> histories) {
+        this(offsetMillis, HistoryCheckpoint.EMPTY, histories);
+    }
+
+    /**
+     * 보관된 내역의 누적값(checkpoint)에서 시작해 보관되지 않은 내역을 더합니다.
+     */
+    PointHistoryRollup(long offsetMillis, HistoryCheckpoint checkpoint, List<PointHistory> histories) {
+        this.offsetMillis = offsetMillis;
+        RollupUnit[] units = RollupUnit.values();
+        this.levels = new Buckets[units.length];
+        for (RollupUnit unit : units) {
+            levels[unit.ordinal()] = new Buckets(unit, checkpoint.charged(), checkpoint.used());
+        }
+        this.lastMillis = checkpoint.lastMillis();
+        this.lastId = checkpoint.lastArchivedId();
+        this.archivedUntilMillis = checkpoint.archivedUntilMillis();
+        this.archivedThroughId = checkpoint.lastArchivedId();
+        histories.forEach(this::add);
+    }
+
+    /**
+     * 내역 한 건을 모든 단위의 구간에 더합니다. (유저의 writer 에서 호출)
+     */
+    void add(PointHistory history) {
+        long stamp = lock.writeLock();
+        try {
+            lastMillis = Math.max(lastMillis, history.updateMillis());
+            lastId = history.id();
+            for (Buckets buckets : levels) {
+                buckets.add(lastMillis, history);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * atMillis 까지의 잔액을 분 단위 누적값으로 구합니다.
+     * atMillis 가 어떤 분의 중간이면 그 분 직전까지의 잔액과, 그 분의 첫 내역부터 읽을 cursor 를 반환합니다.
+     * atMillis 가 보관된 시각이면 Cut.ARCHIVED 를 반환합니다.
+     */
+    Cut cut(long atMillis) {
+        long stamp = lock.readLock();
+        try {
+            Buckets minutes = levels[RollupUnit.MINUTE.ordinal()];
+            if (atMillis < archivedUntilMillis) {
+                return Cut.ARCHIVED;
+            }
+            if (atMillis >= lastMillis) {
+                return Cut.complete(minutes.balanceThrough(minutes.size - 1));
+            }
+            int i = minutes.upperBound(atMillis) - 1;
+            if (i < 0) {
+                return Cut.complete(minutes.balanceThrough(-1));
+            }
+            if (atMillis >= minutes.starts[i] + RollupUnit.MINUTE.millis() - 1) {
+                return Cut.complete(minutes.balanceThrough(i));
+            }
+            return new Cut(minutes.balanceThrough(i - 1), minutes.firstIds[i] - 1, true, false);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * fromMillis 가 속한 구간부터 toMillis 전에 시작하는 구간까지의 합계와 구간별 합계를 반환합니다.
+     * 보관된 구간은 빠지므로, 결과와 함께 그 경계인 archivedUntilMillis 를 반환합니다.
+     */
+    Sums sums(long userId, RollupUnit unit, long fromMillis, long toMillis) {
+        long stamp = lock.readLock();
+        try {
+            Buckets buckets = levels[unit.ordinal()];
+            int from = buckets.lowerBound(unit.startOf(fromMillis, offsetMillis));
+            int to = buckets.lowerBound(toMillis);
+            List<PointSums.Bucket> list = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                list.add(new PointSums.Bucket(buckets.starts[i],
+                        buckets.chargedThrough(i) - buckets.chargedThrough(i - 1),
+                        buckets.usedThrough(i) - buckets.usedThrough(i - 1)));
+            }
+            return new Sums(new PointSums(userId, unit, fromMillis, toMillis,
+                    buckets.chargedThrough(to - 1) - buckets.chargedThrough(from - 1),
+                    buckets.usedThrough(to - 1) - buckets.usedThrough(from - 1),
+                    list), archivedUntilMillis);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * cutoffMillis 전의 분 구간에 속한 마지막 내역 id 를 반환합니다. (보관할 내역의 끝, 새로 보관할 내역이 없으면 archivedThroughId)
+     */
+    long lastIdBefore(long cutoffMillis) {
+        long stamp = lock.readLock();
+        try {
+            Buckets minutes = levels[RollupUnit.MINUTE.ordinal()];
+            int b = minutes.lowerBound(cutoffMillis);
+            if (b == 0) {
+                return archivedThroughId;
+            }
+            return b == minutes.size ? lastId : minutes.firstIds[b] - 1;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * cutoffMillis 전의 구간을 잘라 내고, 잘라 낸 누적값을 시작값으로 남깁니다. (보관소에 쓴 뒤 호출)
+     * cutoffMillis 는 일 구간의 경계이므로 모든 단위에서 같은 내역이 잘립니다.
+     */
+    void trim(long cutoffMillis, long throughId) {
+        long stamp = lock.writeLock();
+        try {
+            for (Buckets buckets : levels) {
+                buckets.trim(buckets.lowerBound(cutoffMillis));
+            }
+            archivedUntilMillis = cutoffMillis;
+            archivedThroughId = throughId;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 유저의 내역 목록과 합계를 함께 바꾸는 쪽(덧붙이기, 보관 후 자르기)이 잡는 락 (PointHistoryIndex 에서 사용)
+     * 가상 스레드의 carrier 를 고정하지 않도록 synchronized 대신 ReentrantLock 을 씁니다.
+     */
+    ReentrantLock writerLock() {
+        return writerLock;
+    }
+
+    /**
+     * 보관소에 있는 마지막 내역 id (이 id 이하의 내역은 인덱스에 없음)
+     */
+    long archivedThroughId() {
+        return archivedThroughId;
+    }
+
+    /**
+     * 보관되지 않은 구간의 합계와 보관 경계
+     */
+    record Sums(
+            PointSums hot,
+            long archivedUntilMillis
+    ) {
+    }
+
+    /**
+     * 잔액 계산 결과
+     * - partial 이면 point 는 atMillis 가 속한 분 직전까지의 잔액이고, cursor 이후 내역 중 atMillis 까지를 더해야 합니다.
+     * - archived 면 atMillis 가 보관된 시각이므로 보관소에서 구해야 합니다.
+     */
+    record Cut(
+            long point,
+            long cursor,
+            boolean partial,
+            boolean archived
+    ) {
+
+        static final Cut ARCHIVED = new Cut(0L, 0L, false, true);
+
+        static Cut complete(long point) {
+            return new Cut(point, 0L, false, false);
+        }
+    }
+
+    /**
+     * 한 단위의 구간 목록 (내역이 있는 구간만, 시작 시각 오름차순)
+     * - charged / used : 첫 구간부터 해당 구간까지의 누적 합
+     * - firstIds : 구간의 첫 내역 id
+     * - baseCharged / baseUsed : 잘라 낸 구간까지의 누적 합 (첫 구간 직전의 누적값)
+     */
+    private final class Buckets {
+
+        private final RollupUnit unit;
+        private long[] starts = new long[INITIAL_CAPACITY];
+        private long[] charged = new long[INITIAL_CAPACITY];
+        private long[] used = new long[INITIAL_CAPACITY];
+        private long[] firstIds = new long[INITIAL_CAPACITY];
+        private int size;
+        private long baseCharged;
+        private long baseUsed;
+
+        private Buckets(RollupUnit unit, long baseCharged, long baseUsed) {
+            this.unit = unit;
+            this.baseCharged = baseCharged;
+            this.baseUsed = baseUsed;
+        }
+
+        private void add(long millis, PointHistory history) {
+            long start = unit.startOf(millis, offsetMillis);
+            if (size == 0 || starts[size - 1] != start) {
+                if (size == starts.length) {
+                    int capacity = size * 2;
+                    starts = Arrays.copyOf(starts, capacity);
+                    charged = Arrays.copyOf(charged, capacity);
+                    used = Arrays.copyOf(used, capacity);
+                    firstIds = Arrays.copyOf(firstIds, capacity);
+                }
+                starts[size] = start;
+                charged[size] = chargedThrough(size - 1);
+                used[size] = usedThrough(size - 1);
+                firstIds[size] = history.id();
+                size++;
+            }
+            if (history.type().isCredit()) {
+                charged[size - 1] += history.amount();
+            } else {
+                used[size - 1] += history.amount();
+            }
+        }
+
+        /**
+         * 앞의 count 개 구간을 잘라 냅니다. 배열은 남은 구간 수에 맞춰 새로 만듭니다.
+         */
+        private void trim(int count) {
+            if (count == 0) {
+                return;
+            }
+            baseCharged = charged[count - 1];
+            baseUsed = used[count - 1];
+            int capacity = Math.max(size - count, INITIAL_CAPACITY);
+            starts = Arrays.copyOfRange(starts, count, count + capacity);
+            charged = Arrays.copyOfRange(charged, count, count + capacity);
+            used = Arrays.copyOfRange(used, count, count + capacity);
+            firstIds = Arrays.copyOfRange(firstIds, count, count + capacity);
+            size -= count;
+        }
+
+        private long chargedThrough(int index) {
+            return index < 0 ? baseCharged : charged[index];
+        }
+
+        private long usedThrough(int index) {
+            return index < 0 ? baseUsed : used[index];
+        }
+
+        private long balanceThrough(int index) {
+            return chargedThrough(index) - usedThrough(index);
+        }
+
+        /**
+         * 시작 시각이 millis 이상인 첫 구간의 위치
+         */
+        private int lowerBound(long millis) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] < millis) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * 시작 시각이 millis 보다 큰 첫 구간의 위치
+         */
+        private int upperBound(long millis) {
+            return millis == Long.MAX_VALUE ? size : lowerBound(millis + 1);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.archive.HistoryCheckpoint;
+import io.hhplus.tdd.archive.PointHistoryArchive;
+import io.hhplus.tdd.journal.JournalRecord;
+import io.hhplus.tdd.journal.PointJournal;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 시작 시 저널에서 복구한 상태를 서비스 쪽에 반영합니다. (요청을 받기 전에 실행)
+ * - 잔액 : 저널이 직접 들고 있으므로 PointService 가 캐시 miss 시 저널에서 읽음
+ * - 내역 : point.journal.restore-histories=true 면 저널에 남아 있는 기록을 재생해 유저별 인덱스에 적재
+ * - 저널은 스냅샷 뒤에 앞 세그먼트를 지우므로 재생 범위는 마지막 스냅샷 이후로 제한됨
+ *   보관을 켜면 보관소로 옮긴 내역만 지워도 되는 것으로 정해, 재시작 후에도 내역이 보관소 + 저널로 이어짐
+ *   보관을 끄면 스냅샷에 반영된 세그먼트를 모두 지우므로, 그 이전 내역은 재시작 후 조회되지 않음
+ * - 테이블은 재시작 시 비어 있고 대량 적재 API 가 없으므로 복구한 내역을 다시 기록하지 않고, 이후 내역 id 만 이어서 부여
+ * - 보관소에 복구한 마지막 내역 id 이후의 내역이 있으면 내역 id 가 겹치므로 시작을 멈춤 (보관소는 지우지 않음)
+ */
+@Slf4j
+@Component
+public class PointJournalRecovery {
+
+    private final PointJournal pointJournal;
+    private final PointHistoryIndex pointHistoryIndex;
+    private final PointHistoryOutbox pointHistoryOutbox;
+    private final PointHistoryArchive pointHistoryArchive;
+    private final boolean restoreHistories;
+
+    public PointJournalRecovery(
+            PointJournal pointJournal,
+            PointHistoryIndex pointHistoryIndex,
+            PointHistoryOutbox pointHistoryOutbox,
+            PointHistoryArchive pointHistoryArchive,
+            @Value("${point.journal.restore-histories:true}") boolean restoreHistories
+    ) {
+        this.pointJournal = pointJournal;
+        this.pointHistoryIndex = pointHistoryIndex;
+        this.pointHistoryOutbox = pointHistoryOutbox;
+        this.pointHistoryArchive = pointHistoryArchive;
+        this.restoreHistories = restoreHistories;
+    }
+
+    @PostConstruct
+    public void recover() {
+        pointJournal.releaseWhen(pointHistoryArchive.isEnabled() ? this::isArchived : record -> true);
+        long maxHistoryId = pointJournal.maxHistoryId();
+        pointHistoryArchive.verifyRecoveredThrough(maxHistoryId);
+        if (maxHistoryId == 0) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        int users = 0;
+        if (restoreHistories) {
+            Map<Long, List<PointHistory>> histories = new HashMap<>();
+            pointJournal.replay(record -> histories.computeIfAbsent(record.userId(), k -> new ArrayList<>())
+                    .add(new PointHistory(record.historyId(), record.userId(), record.amount(),
+                            TransactionType.fromCode(record.type()), record.updateMillis())));
+            for (Map.Entry<Long, List<PointHistory>> entry : histories.entrySet()) {
+                entry.getValue().sort(Comparator.comparingLong(PointHistory::id));
+                pointHistoryIndex.load(entry.getKey(), entry.getValue());
+            }
+            users = histories.size();
+        }
+        pointHistoryOutbox.resumeAfter(maxHistoryId);
+
+        log.info("포인트 내역 복구 - 유저 수: {}, 마지막 내역 id: {}, {}ms",
+                users, maxHistoryId, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private boolean isArchived(JournalRecord record) {
+        HistoryCheckpoint checkpoint = pointHistoryArchive.checkpointOf(record.userId());
+        return checkpoint != null && record.historyId() <= checkpoint.lastArchivedId();
+    }
+}
@@ -0,0 +1,110 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.archive.PointHistoryArchive;
+import io.hhplus.tdd.cluster.PointClusterClient;
+import io.hhplus.tdd.lock.UserLockProvider;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 락/캐시/outbox 의 누적 통계를 Micrometer 지표로 노출합니다.
+ * - point.lock.waiting : 지금 락을 기다리는 스레드 수 (락 대기열 길이, 경보 기준)
+ * - point.lock.* / point.cache.* / point.history.outbox.pending / point.history.archive.* / point.idempotency.* / point.rate.limited / point.cluster.* / point.hotkey.requests
+ */
+@Component
+@RequiredArgsConstructor
+public class PointMeterBinder implements MeterBinder {
+
+    private final UserLockProvider userLockProvider;
+    private final UserPointCache userPointCache;
+    private final PointHistoryOutbox pointHistoryOutbox;
+    private final IdempotencyCache idempotencyCache;
+    private final PointRateLimiter pointRateLimiter;
+    private final PointSnapshots pointSnapshots;
+    private final PointClusterClient pointClusterClient;
+    private final HotKeyDetector hotKeyDetector;
+    private final PointHistoryArchive pointHistoryArchive;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("point.lock.acquisitions", userLockProvider, provider -> provider.stats().acquisitions())
+                .description("유저 락 획득 횟수")
+                .register(registry);
+        FunctionCounter.builder("point.lock.contended", userLockProvider, provider -> provider.stats().contendedAcquisitions())
+                .description("바로 얻지 못하고 대기한 유저 락 획득 횟수")
+                .register(registry);
+        Gauge.builder("point.lock.waiting", userLockProvider, provider -> provider.stats().waitingThreads())
+                .description("유저 락을 기다리고 있는 스레드 수")
+                .register(registry);
+        Gauge.builder("point.lock.live", userLockProvider, provider -> provider.stats().liveLocks())
+                .description("메모리에 있는 락 객체 수")
+                .register(registry);
+        FunctionCounter.builder("point.lock.rejected", userLockProvider, provider -> provider.stats().rejectedAcquisitions())
+                .description("대기 스레드 수 제한으로 거절한 유저 락 요청 수")
+                .register(registry);
+
+        FunctionCounter.builder("point.cache.requests", userPointCache, cache -> cache.stats().hitCount())
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("point.cache.requests", userPointCache, cache -> cache.stats().missCount())
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("point.cache.evictions", userPointCache, cache -> cache.stats().evictionCount())
+                .register(registry);
+        Gauge.builder("point.cache.size", userPointCache, cache -> cache.stats().size())
+                .register(registry);
+
+        Gauge.builder("point.snapshot.size", pointSnapshots, PointSnapshots::size)
+                .description("메모리에 있는 잔액 스냅샷 수")
+                .register(registry);
+        FunctionCounter.builder("point.snapshot.evictions", pointSnapshots, PointSnapshots::evictionCount)
+                .register(registry);
+
+        Gauge.builder("point.history.outbox.pending", pointHistoryOutbox, PointHistoryOutbox::pendingCount)
+                .description("테이블에 아직 기록되지 않은 포인트 내역 수")
+                .register(registry);
+        Gauge.builder("point.history.archive.histories", pointHistoryArchive, PointHistoryArchive::archivedCount)
+                .description("보관소로 옮긴 포인트 내역 수")
+                .register(registry);
+        Gauge.builder("point.history.archive.segments", pointHistoryArchive, PointHistoryArchive::segmentCount)
+                .description("보관 세그먼트 파일 수")
+                .register(registry);
+
+        FunctionCounter.builder("point.idempotency.replays", idempotencyCache, cache -> cache.stats().replayCount())
+                .description("Idempotency-Key 가 같아 처음 결과를 돌려준 요청 수")
+                .register(registry);
+        FunctionCounter.builder("point.idempotency.evictions", idempotencyCache, cache -> cache.stats().evictionCount())
+                .register(registry);
+        Gauge.builder("point.idempotency.size", idempotencyCache, cache -> cache.stats().size())
+                .register(registry);
+
+        FunctionCounter.builder("point.rate.limited", pointRateLimiter, PointRateLimiter::userRejectedCount)
+                .description("처리율 제한으로 거절한 요청 수")
+                .tag("scope", "user")
+                .register(registry);
+        FunctionCounter.builder("point.rate.limited", pointRateLimiter, PointRateLimiter::globalRejectedCount)
+                .description("처리율 제한으로 거절한 요청 수")
+                .tag("scope", "global")
+                .register(registry);
+
+        FunctionCounter.builder("point.hotkey.requests", hotKeyDetector, HotKeyDetector::hotCount)
+                .description("hot key 감지 결과별 충전/사용 요청 수 (hot : 일괄 처리, cold : 바로 처리)")
+                .tag("path", "hot")
+                .register(registry);
+        FunctionCounter.builder("point.hotkey.requests", hotKeyDetector, HotKeyDetector::coldCount)
+                .description("hot key 감지 결과별 충전/사용 요청 수 (hot : 일괄 처리, cold : 바로 처리)")
+                .tag("path", "cold")
+                .register(registry);
+
+        FunctionCounter.builder("point.cluster.forwarded", pointClusterClient, PointClusterClient::forwardedCount)
+                .description("다른 노드로 넘긴 요청 수")
+                .register(registry);
+        FunctionCounter.builder("point.cluster.forward.failures", pointClusterClient, PointClusterClient::failedCount)
+                .description("노드에 연결하지 못한 요청 수")
+                .register(registry);
+    }
+}
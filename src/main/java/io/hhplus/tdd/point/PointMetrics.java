@@ -0,0 +1,185 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.exception.ErrorCode;
+import io.hhplus.tdd.exception.HanghaeException;
+import io.hhplus.tdd.lock.UserLock;
+import io.hhplus.tdd.lock.UserLockProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 포인트 연산 계측 (Micrometer)
+ * - point.operation : 서비스 연산별 처리 시간 (operation, outcome)
+ * - point.table.call : 테이블 호출별 처리 시간 (table, method)
+ * - point.lock.wait / point.lock.hold : 연산별 유저 락 대기/보유 시간 (operation)
+ * - point.lock.timeouts : 연산별 락 대기 시간 초과 횟수 (operation)
+ * - point.cas.conflicts : CAS 방식에서 경합으로 다시 시도한 횟수 (operation)
+ * - point.errors : 응답한 에러 코드별 횟수 (code)
+ * 모든 Timer 는 percentile histogram 을 내보내므로 Prometheus 에서 p50/p99/p999 를 계산할 수 있습니다.
+ * 연산(PointOperation), 테이블 호출(TableCall), 에러 코드(ErrorCode)가 정해져 있으므로 지표는 생성 시 모두 등록해 두고,
+ * 호출마다 태그 배열이나 조회 키를 만들지 않고 EnumMap 에서 꺼내 씁니다.
+ */
+@Component
+public class PointMetrics {
+
+    private final EnumMap<PointOperation, OperationMeters> operationMeters = new EnumMap<>(PointOperation.class);
+    private final EnumMap<TableCall, Timer> tableCallTimers = new EnumMap<>(TableCall.class);
+    private final EnumMap<ErrorCode, Counter> errorCounters = new EnumMap<>(ErrorCode.class);
+
+    public PointMetrics(MeterRegistry meterRegistry) {
+        for (PointOperation operation : PointOperation.values()) {
+            operationMeters.put(operation, new OperationMeters(
+                    timer(meterRegistry, "point.operation", "operation", operation.tag(), "outcome", "success"),
+                    timer(meterRegistry, "point.operation", "operation", operation.tag(), "outcome", "error"),
+                    timer(meterRegistry, "point.lock.wait", "operation", operation.tag()),
+                    timer(meterRegistry, "point.lock.hold", "operation", operation.tag()),
+                    meterRegistry.counter("point.lock.timeouts", "operation", operation.tag()),
+                    meterRegistry.counter("point.cas.conflicts", "operation", operation.tag())));
+        }
+        for (TableCall call : TableCall.values()) {
+            tableCallTimers.put(call, timer(meterRegistry, "point.table.call", "table", call.table, "method", call.method));
+        }
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            errorCounters.put(errorCode, meterRegistry.counter("point.errors", "code", errorCode.getCode()));
+        }
+    }
+
+    /**
+     * 서비스 연산을 실행하고 결과(success/error)별 처리 시간을 기록합니다.
+     */
+    public <T> T recordOperation(PointOperation operation, Supplier<T> body) {
+        OperationMeters meters = operationMeters.get(operation);
+        long start = System.nanoTime();
+        Timer outcome = meters.error;
+        try {
+            T result = body.get();
+            outcome = meters.success;
+            return result;
+        } finally {
+            outcome.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 응답한 에러 코드의 횟수를 하나 늘립니다.
+     */
+    public void recordError(ErrorCode errorCode) {
+        errorCounters.get(errorCode).increment();
+    }
+
+    /**
+     * 테이블 호출을 실행하고 처리 시간을 기록합니다.
+     */
+    public <T> T recordTableCall(TableCall tableCall, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            tableCallTimers.get(tableCall).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 유저 락을 획득하며 대기 시간을 기록하고, 해제할 때 보유 시간을 기록하는 락을 반환합니다.
+     */
+    public UserLock lock(UserLockProvider userLockProvider, long userId, PointOperation operation) {
+        return lock(userLockProvider, userId, operation, UserLockProvider.WAIT_FOREVER);
+    }
+
+    /**
+     * timeoutNanos 까지만 기다려 유저 락을 획득합니다. 시간 안에 얻지 못하면 초과 횟수를 기록하고 LOCK_TIMEOUT 예외를 그대로 던집니다.
+     */
+    public UserLock lock(UserLockProvider userLockProvider, long userId, PointOperation operation, long timeoutNanos) {
+        long start = System.nanoTime();
+        return timed(() -> userLockProvider.lock(userId, timeoutNanos), start, operation);
+    }
+
+    /**
+     * 대기 스레드 수 제한 없이 유저 락을 얻을 때까지 기다리며, 대기/보유 시간을 기록합니다. (거절하면 안 되는 내부 요청용)
+     */
+    public UserLock lockUncapped(UserLockProvider userLockProvider, long userId, PointOperation operation) {
+        long start = System.nanoTime();
+        return timed(() -> userLockProvider.lockUncapped(userId), start, operation);
+    }
+
+    /**
+     * 두 유저의 락을 정해진 순서로 획득하며, 대기/보유 시간을 한 건으로 기록합니다.
+     */
+    public UserLock lockBoth(UserLockProvider userLockProvider, long userId, long otherUserId, PointOperation operation, long timeoutNanos) {
+        long start = System.nanoTime();
+        return timed(() -> userLockProvider.lockBoth(userId, otherUserId, timeoutNanos), start, operation);
+    }
+
+    private UserLock timed(Supplier<UserLock> locker, long start, PointOperation operation) {
+        OperationMeters meters = operationMeters.get(operation);
+        UserLock lock;
+        try {
+            lock = locker.get();
+        } catch (HanghaeException e) {
+            if (e.getErrorCode() == ErrorCode.LOCK_TIMEOUT) {
+                meters.lockTimeouts.increment();
+            }
+            throw e;
+        }
+        long acquired = System.nanoTime();
+        meters.lockWait.record(acquired - start, TimeUnit.NANOSECONDS);
+
+        return () -> {
+            meters.lockHold.record(System.nanoTime() - acquired, TimeUnit.NANOSECONDS);
+            lock.close();
+        };
+    }
+
+    /**
+     * CAS 방식에서 다른 요청과 겹쳐 다시 시도한 횟수를 기록합니다.
+     */
+    public void recordConflicts(PointOperation operation, int conflicts) {
+        if (conflicts > 0) {
+            operationMeters.get(operation).casConflicts.increment(conflicts);
+        }
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String name, String... tags) {
+        return Timer.builder(name)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * 계측하는 테이블 호출 (point.table.call 의 table, method 태그)
+     */
+    public enum TableCall {
+        USER_POINT_SELECT_BY_ID("user_point", "selectById"),
+        USER_POINT_INSERT_OR_UPDATE("user_point", "insertOrUpdate"),
+        POINT_HISTORY_INSERT("point_history", "insert"),
+        POINT_HISTORY_SELECT_ALL_BY_USER_ID("point_history", "selectAllByUserId");
+
+        private final String table;
+        private final String method;
+
+        TableCall(String table, String method) {
+            this.table = table;
+            this.method = method;
+        }
+    }
+
+    /**
+     * 연산 하나의 지표 (생성 시 등록)
+     */
+    private record OperationMeters(
+            Timer success,
+            Timer error,
+            Timer lockWait,
+            Timer lockHold,
+            Counter lockTimeouts,
+            Counter casConflicts
+    ) {
+    }
+}
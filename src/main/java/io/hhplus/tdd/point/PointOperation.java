@@ -0,0 +1,28 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 계측하는 포인트 서비스 연산
+ * - tag : point.operation 등 지표의 operation 태그이자 락 대기 시간 설정 키 (point.lock.timeout-millis.{tag})
+ */
+public enum PointOperation {
+    GET_USER_POINT("getUserPoint"),
+    GET_POINT_HISTORIES("getPointHistories"),
+    GET_POINT_HISTORY_PAGE("getPointHistoryPage"),
+    STREAM_POINT_HISTORIES("streamPointHistories"),
+    GET_BALANCE_AT("getBalanceAt"),
+    GET_POINT_SUMS("getPointSums"),
+    CHARGE_POINT("chargePoint"),
+    USE_POINT("usePoint"),
+    TRANSFER_POINT("transferPoint"),
+    REFUND_POINT("refundPoint");
+
+    private final String tag;
+
+    PointOperation(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
@@ -0,0 +1,69 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrent.TokenBuckets;
+import io.hhplus.tdd.exception.ErrorCode;
+import io.hhplus.tdd.exception.HanghaeException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 충전/사용/이체 요청의 유저별 · 전체 처리율 제한 (point.rate-limit)
+ * - 유저 락을 잡기 전에 컨트롤러에서 확인하므로, 한 유저에게 몰린 요청이 요청 스레드를 잡고 락을 기다리지 않고 바로 거절됩니다.
+ * - 유저별 버킷은 고정 개수 슬롯(TokenBuckets)에 해시로 나눠 담고, 전체 버킷은 슬롯 하나를 씁니다. (락 없음, 메모리 고정)
+ * - 한도를 넘으면 TOO_MANY_REQUESTS(429) 예외가 발생합니다.
+ */
+@Component
+public class PointRateLimiter {
+
+    private static final long GLOBAL_KEY = 0L;
+
+    private final boolean enabled;
+    private final TokenBuckets userBuckets;
+    private final TokenBuckets globalBucket;
+
+    private final LongAdder userRejectedCount = new LongAdder();
+    private final LongAdder globalRejectedCount = new LongAdder();
+
+    public PointRateLimiter(
+            @Value("${point.rate-limit.enabled:false}") boolean enabled,
+            @Value("${point.rate-limit.user-permits-per-second:50}") long userPermitsPerSecond,
+            @Value("${point.rate-limit.user-burst:100}") int userBurst,
+            @Value("${point.rate-limit.global-permits-per-second:20000}") long globalPermitsPerSecond,
+            @Value("${point.rate-limit.global-burst:20000}") int globalBurst,
+            @Value("${point.rate-limit.slots:65536}") int slots
+    ) {
+        this.enabled = enabled;
+        this.userBuckets = enabled ? new TokenBuckets(slots, userPermitsPerSecond, userBurst) : null;
+        this.globalBucket = enabled ? new TokenBuckets(1, globalPermitsPerSecond, globalBurst) : null;
+    }
+
+    /**
+     * 유저 버킷과 전체 버킷에서 토큰을 하나씩 꺼냅니다. 어느 쪽이든 비어 있으면 기다리지 않고 예외가 발생합니다.
+     * 유저 한도를 넘은 요청이 전체 한도를 쓰지 않도록 유저 버킷을 먼저 확인하고,
+     * 전체 버킷에서 거절되면 유저 버킷에서 꺼낸 토큰을 되돌려 처리되지 않은 요청이 유저 한도를 쓰지 않게 합니다.
+     */
+    public void acquire(long userId) {
+        if (!enabled) {
+            return;
+        }
+        if (!userBuckets.tryAcquire(userId)) {
+            userRejectedCount.increment();
+            throw new HanghaeException(ErrorCode.TOO_MANY_REQUESTS);
+        }
+        if (!globalBucket.tryAcquire(GLOBAL_KEY)) {
+            userBuckets.release(userId);
+            globalRejectedCount.increment();
+            throw new HanghaeException(ErrorCode.TOO_MANY_REQUESTS);
+        }
+    }
+
+    public long userRejectedCount() {
+        return userRejectedCount.sum();
+    }
+
+    public long globalRejectedCount() {
+        return globalRejectedCount.sum();
+    }
+}
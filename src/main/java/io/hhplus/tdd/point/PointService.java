@@ -1,41 +1,259 @@
 package io.hhplus.tdd.point;
 
-import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.concurrent.ShardedExecutor;
 import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.exception.ErrorCode;
 import io.hhplus.tdd.exception.HanghaeException;
-import lombok.RequiredArgsConstructor;
+import io.hhplus.tdd.journal.JournalBalance;
+import io.hhplus.tdd.journal.JournalRecord;
+import io.hhplus.tdd.journal.PointJournal;
+import io.hhplus.tdd.lock.UserLock;
+import io.hhplus.tdd.lock.UserLockProvider;
+import io.hhplus.tdd.point.PointMetrics.TableCall;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
+/**
+ * 포인트 조회/충전/사용
+ * - 충전/사용 방식 (point.engine)
+ *   - lock : 유저 락을 잡은 스레드가 대기열의 요청을 한 번에 반영 (기본값)
+ *     요청이 몰리지 않는 유저(HotKeyDetector 기준 cold)는 대기열 없이 락을 잡고 자신의 요청만 반영
+ *   - cas : 락 없이 잔액을 compareAndSet 으로 교체하고, 기록은 CAS 순서대로 한 스레드가 몰아서 처리 (OptimisticBalance)
+ *   - sharded : 유저 id 로 나눈 shard 의 스레드가 그 유저의 유일한 writer 로서 락 없이 대기열의 요청을 반영 (ShardedExecutor)
+ * - 이체는 두 유저의 락을 정해진 순서로 잡아 교착 상태 없이 처리 (UserLockProvider.lockBoth)
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class PointService {
 
-    private final Map<Long, Object> userLocks = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<Long, ReentrantLock> userLockMap = new ConcurrentHashMap<>();
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int MAX_ROLLUP_BUCKETS = 1440;
 
+    private static final String LOCK = "lock";
+    private static final String CAS = "cas";
+    private static final String SHARDED = "sharded";
+
+    private final ConcurrentHashMap<Long, Queue<PointCommand>> pendingCommandMap = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, OptimisticBalance> optimisticBalanceMap = new ConcurrentHashMap<>();
+
+    private final UserLockProvider userLockProvider;
     private final UserPointTable userPointTable;
-    private final PointHistoryTable pointHistoryTable;
+    private final UserPointCache userPointCache;
+    private final PointHistoryIndex pointHistoryIndex;
+    private final PointHistoryOutbox pointHistoryOutbox;
+    private final PointMetrics pointMetrics;
+    private final PointJournal pointJournal;
+    private final LockTimeouts lockTimeouts;
+    private final PointSnapshots pointSnapshots;
+    private final ShardedExecutor shardedExecutor;
+    private final HotKeyDetector hotKeyDetector;
+    private final boolean optimistic;
+    private final boolean sharded;
+
+    public PointService(
+            UserLockProvider userLockProvider,
+            UserPointTable userPointTable,
+            UserPointCache userPointCache,
+            PointHistoryIndex pointHistoryIndex,
+            PointHistoryOutbox pointHistoryOutbox,
+            PointMetrics pointMetrics,
+            PointJournal pointJournal,
+            LockTimeouts lockTimeouts,
+            PointSnapshots pointSnapshots,
+            ShardedExecutor shardedExecutor,
+            HotKeyDetector hotKeyDetector,
+            @Value("${point.engine:lock}") String engine
+    ) {
+        if (!LOCK.equals(engine) && !CAS.equals(engine) && !SHARDED.equals(engine)) {
+            throw new IllegalArgumentException("unknown point engine: " + engine);
+        }
+        this.userLockProvider = userLockProvider;
+        this.userPointTable = userPointTable;
+        this.userPointCache = userPointCache;
+        this.pointHistoryIndex = pointHistoryIndex;
+        this.pointHistoryOutbox = pointHistoryOutbox;
+        this.pointMetrics = pointMetrics;
+        this.pointJournal = pointJournal;
+        this.lockTimeouts = lockTimeouts;
+        this.pointSnapshots = pointSnapshots;
+        this.shardedExecutor = shardedExecutor;
+        this.hotKeyDetector = hotKeyDetector;
+        this.optimistic = CAS.equals(engine);
+        this.sharded = SHARDED.equals(engine);
+    }
 
     /**
      * 특정 유저의 포인트를 조회합니다.
      */
     public UserPoint getUserPoint(long userId) {
-        return userPointTable.selectById(userId);
+        return getPointSnapshot(userId, 0L).userPoint();
+    }
+
+    /**
+     * 특정 유저의 잔액 스냅샷을 minVersion 이상의 버전으로 조회합니다.
+     * 커밋마다 발행된 스냅샷이 있으면 락/테이블 호출 없이 바로 반환하므로, 같은 유저의 쓰기를 기다리지 않습니다.
+     * 스냅샷이 없거나 minVersion 보다 오래되었으면, 유저의 writer 에서(락, shard 스레드 또는 CAS 기록 플래그) 진행 중인 쓰기가 끝난 뒤 다시 발행합니다.
+     */
+    public PointSnapshot getPointSnapshot(long userId, long minVersion) {
+        return pointMetrics.recordOperation(PointOperation.GET_USER_POINT, () -> {
+            PointSnapshot snapshot = pointSnapshots.get(userId);
+            if (snapshot != null && snapshot.version() >= minVersion) {
+                return snapshot;
+            }
+            if (minVersion > pointSnapshots.currentVersion()) {
+                throw new HanghaeException(ErrorCode.UNKNOWN_POINT_VERSION);
+            }
+
+            if (optimistic) {
+                return confirmOptimistic(userId, minVersion);
+            }
+            return asOwner(userId, PointOperation.GET_USER_POINT, () -> confirmSnapshot(userId, minVersion));
+        });
+    }
+
+    /**
+     * 진행 중인 쓰기가 없는 상태에서 스냅샷을 minVersion 이상으로 확인합니다. (락/shard 스레드 또는 CAS draining 플래그 보유 상태에서 호출)
+     */
+    private PointSnapshot confirmSnapshot(long userId, long minVersion) {
+        PointSnapshot confirmed = pointSnapshots.confirm(userId, minVersion); // 대기 중 다른 스레드가 이미 발행했을 수 있음
+        if (confirmed != null) {
+            return confirmed;
+        }
+        UserPoint cached = userPointCache.get(userId);
+        return pointSnapshots.publishIfAbsent(cached != null ? cached : loadUserPoint(userId));
+    }
+
+    /**
+     * CAS 방식의 스냅샷 확인 : 쓰기가 유저 락을 잡지 않으므로, 기록과 같은 draining 플래그를 잡고 확인합니다.
+     * 플래그를 잡은 뒤에도 CAS 에 성공했지만 기록되지 않은 요청이 남아 있으면 먼저 기록하고 다시 시도하므로,
+     * 확인하는 동안에는 CAS 순서상 앞선 쓰기가 모두 스냅샷에 발행된 상태입니다. 이후의 CAS 는 플래그를 놓은 뒤 더 큰 버전으로 발행됩니다.
+     */
+    private PointSnapshot confirmOptimistic(long userId, long minVersion) {
+        while (true) {
+            OptimisticBalance optimisticBalance = optimisticBalance(userId, PointOperation.GET_USER_POINT);
+            drainOptimistic(userId, optimisticBalance);
+            if (!optimisticBalance.tryStartDrain()) {
+                Thread.onSpinWait(); // 다른 스레드가 기록 중
+                continue;
+            }
+            try {
+                if (optimisticBalance.failure() == null && !optimisticBalance.hasPending()) {
+                    return confirmSnapshot(userId, minVersion);
+                }
+            } finally {
+                optimisticBalance.endDrain();
+            }
+            // 실패한 잔액은 drainOptimistic 에서 제거되므로, 다음 시도는 테이블 기준으로 다시 적재한 잔액에서 확인
+        }
     }
 
     /**
      * 특정 유저의 포인트 충전/이용 내역을 조회합니다.
+     * 인덱스에 없는 유저만 유저의 writer 에서(락 또는 shard 스레드) 테이블을 한 번 읽어 인덱스에 올립니다.
      */
     public List<PointHistory> getPointHistories(long userId) {
-        return pointHistoryTable.selectAllByUserId(userId);
+        return pointMetrics.recordOperation(PointOperation.GET_POINT_HISTORIES, () -> {
+            List<PointHistory> indexed = pointHistoryIndex.get(userId);
+            if (indexed != null) {
+                return indexed;
+            }
+
+            return asOwner(userId, PointOperation.GET_POINT_HISTORIES, () -> {
+                loadPointHistories(userId);
+                return pointHistoryIndex.get(userId);
+            });
+        });
+    }
+
+    /**
+     * 특정 유저의 포인트 내역을 cursor 이후부터 size 건 조회합니다.
+     * 한 건을 더 읽어 다음 페이지가 있는지 확인하고, 있으면 마지막 내역 id 를 nextCursor 로 반환합니다.
+     */
+    public PointHistoryPage getPointHistoryPage(long userId, PointHistoryQuery query, int size) {
+        return pointMetrics.recordOperation(PointOperation.GET_POINT_HISTORY_PAGE, () -> {
+            if (size < 1 || size > MAX_PAGE_SIZE) {
+                throw new HanghaeException(ErrorCode.INVALID_PAGE_SIZE);
+            }
+
+            List<PointHistory> histories = new ArrayList<>(size + 1);
+            scanPointHistories(userId, query, PointOperation.GET_POINT_HISTORY_PAGE, history -> {
+                histories.add(history);
+                return histories.size() <= size;
+            });
+
+            if (histories.size() <= size) {
+                return new PointHistoryPage(histories, null);
+            }
+            histories.remove(size);
+            return new PointHistoryPage(histories, histories.get(size - 1).id());
+        });
+    }
+
+    /**
+     * 특정 유저의 포인트 내역을 조건에 맞는 것만 id 순으로 하나씩 consumer 에 넘깁니다. (전체 목록을 만들지 않음)
+     */
+    public void streamPointHistories(long userId, PointHistoryQuery query, Consumer<PointHistory> consumer) {
+        pointMetrics.recordOperation(PointOperation.STREAM_POINT_HISTORIES, () -> {
+            scanPointHistories(userId, query, PointOperation.STREAM_POINT_HISTORIES, history -> {
+                consumer.accept(history);
+                return true;
+            });
+            return null;
+        });
+    }
+
+    /**
+     * 특정 유저의 atMillis 시점 잔액을 내역의 분 단위 누적 합계로 구합니다. (전체 내역을 훑지 않음)
+     */
+    public PointBalanceAt getBalanceAt(long userId, long atMillis) {
+        return pointMetrics.recordOperation(PointOperation.GET_BALANCE_AT, () -> {
+            Long point = pointHistoryIndex.balanceAt(userId, atMillis);
+            if (point == null) {
+                point = asOwner(userId, PointOperation.GET_BALANCE_AT, () -> {
+                    loadPointHistories(userId);
+                    return pointHistoryIndex.balanceAt(userId, atMillis);
+                });
+            }
+            return new PointBalanceAt(userId, atMillis, point);
+        });
+    }
+
+    /**
+     * 특정 유저의 기간별 충전/사용 합계를 조회합니다.
+     * 조건 : from < to, 범위 안의 구간 수는 1440 이하
+     */
+    public PointSums getPointSums(long userId, RollupUnit unit, long fromMillis, long toMillis) {
+        return pointMetrics.recordOperation(PointOperation.GET_POINT_SUMS, () -> {
+            if (fromMillis >= toMillis) {
+                throw new HanghaeException(ErrorCode.INVALID_TIME_RANGE);
+            }
+            long firstStart = unit.startOf(fromMillis, pointHistoryIndex.rollupOffsetMillis());
+            if ((toMillis - firstStart - 1) / unit.millis() >= MAX_ROLLUP_BUCKETS) {
+                throw new HanghaeException(ErrorCode.INVALID_ROLLUP_RANGE);
+            }
+
+            PointSums sums = pointHistoryIndex.sums(userId, unit, fromMillis, toMillis);
+            if (sums != null) {
+                return sums;
+            }
+            return asOwner(userId, PointOperation.GET_POINT_SUMS, () -> {
+                loadPointHistories(userId);
+                return pointHistoryIndex.sums(userId, unit, fromMillis, toMillis);
+            });
+        });
     }
 
     /**
@@ -43,67 +261,455 @@ public class PointService {
      * 조건 : 충전 금액은 100보다 커야 함
      */
     public UserPoint chargePoint(long userId, long amount) {
-        if (amount < 100) {
-            throw new HanghaeException(ErrorCode.INVALID_CHARGE_AMOUNT);
-        }
+        return pointMetrics.recordOperation(PointOperation.CHARGE_POINT, () -> {
+            if (amount < 100) {
+                throw new HanghaeException(ErrorCode.INVALID_CHARGE_AMOUNT);
+            }
 
-        ReentrantLock lock = userLockMap.computeIfAbsent(userId, k -> new ReentrantLock());
-        lock.lock();
+            return execute(userId, PointCommand.charge(amount), PointOperation.CHARGE_POINT);
+        });
+    }
 
-        try {
-            log.debug("포인트 충전 시작 - userId: {}, amount: {}", userId, amount);
+    /**
+     * 특정 유저의 포인트를 사용합니다.
+     * 조건 : 사용 금액은 100보다 커야 함
+     */
+    public UserPoint usePoint(long userId, long amount) {
+        return pointMetrics.recordOperation(PointOperation.USE_POINT, () -> {
+            if (amount < 100) {
+                throw new HanghaeException(ErrorCode.INVALID_USE_AMOUNT);
+            }
 
-            UserPoint currentPoint = userPointTable.selectById(userId);
-            long newAmount = currentPoint.point() + amount;
+            return execute(userId, PointCommand.use(amount), PointOperation.USE_POINT);
+        });
+    }
 
-            UserPoint updatedPoint = userPointTable.insertOrUpdate(userId, newAmount);
-            pointHistoryTable.insert(userId, amount, TransactionType.CHARGE, updatedPoint.updateMillis());
+    /**
+     * 차감한 포인트를 되돌립니다. (노드 간 이체에서 받는 노드가 충전을 거절했을 때 ClusterPointService 가 호출)
+     * 충전과 같이 잔액에 더하지만 REFUND 내역으로 구분해 기록하고, 처리율 제한을 거치지 않으며
+     * 유저 락의 대기 스레드 수 제한과 대기 시간 제한 없이 락을 얻을 때까지 기다립니다. (되돌림이 거절되면 차감이 그대로 남음)
+     */
+    public UserPoint refundPoint(long userId, long amount) {
+        return pointMetrics.recordOperation(PointOperation.REFUND_POINT, () -> {
+            if (amount <= 0) {
+                throw new IllegalArgumentException("refund amount must be positive: " + amount);
+            }
 
-            log.debug("포인트 충전 완료 - userId: {}, 이전: {}, 이후: {}",
-                    userId, currentPoint.point(), updatedPoint.point());
+            return execute(userId, PointCommand.refund(amount), PointOperation.REFUND_POINT);
+        });
+    }
 
-            return updatedPoint;
-        } finally {
-            lock.unlock();
+    /**
+     * 한 유저의 포인트를 다른 유저에게 이체합니다. (보내는 유저 USE + 받는 유저 CHARGE 내역이 함께 기록됨)
+     * 조건 : 이체 금액은 100보다 커야 하고, 보내는 유저와 받는 유저가 달라야 함
+     * - lock : 두 유저의 락을 정해진 순서로 잡은 뒤 두 잔액을 함께 반영하므로, 잔액이 부족하면 어느 쪽도 바뀌지 않음
+     * - cas : 보내는 유저의 잔액을 CAS 로 먼저 차감하고(잔액 부족이면 여기서 실패) 받는 유저에게 더함 (더하는 쪽은 실패하지 않음)
+     * 결과는 두 기록이 저널에 남은 뒤 반환합니다.
+     */
+    public PointTransfer transferPoint(long fromUserId, long toUserId, long amount) {
+        return pointMetrics.recordOperation(PointOperation.TRANSFER_POINT, () -> {
+            if (amount < 100) {
+                throw new HanghaeException(ErrorCode.INVALID_TRANSFER_AMOUNT);
+            }
+            if (fromUserId == toUserId) {
+                throw new HanghaeException(ErrorCode.SELF_TRANSFER);
+            }
+
+            PointCommand use = PointCommand.use(amount);
+            PointCommand charge = PointCommand.transferCharge(amount);
+            if (optimistic) {
+                transferOptimistic(fromUserId, toUserId, use, charge);
+            } else if (sharded) {
+                transferSharded(fromUserId, toUserId, use, charge);
+            } else {
+                try (UserLock ignored = pointMetrics.lockBoth(userLockProvider, fromUserId, toUserId, PointOperation.TRANSFER_POINT, lockTimeouts.nanosOf(PointOperation.TRANSFER_POINT.tag()))) {
+                    use.applyTo(currentPoint(fromUserId));
+                    charge.applyTo(currentPoint(toUserId));
+                    persist(fromUserId, use.balanceAfter(), List.of(use));
+                    persist(toUserId, charge.balanceAfter(), List.of(charge));
+                }
+                log.debug("이체 완료 - from: {}, to: {}, amount: {}", fromUserId, toUserId, amount);
+            }
+
+            PointTransfer transfer = new PointTransfer(use.await(), charge.await());
+            awaitDurable(Math.max(use.journalSequence(), charge.journalSequence()));
+            return transfer;
+        });
+    }
+
+    /**
+     * 지금 요청이 몰리는 유저 상위 N 명과 각 유저의 락 대기 스레드 수, 일괄 처리를 기다리는 요청 수를 반환합니다.
+     */
+    public List<HotKey> getHotKeys() {
+        return hotKeyDetector.topK().stream()
+                .map(candidate -> {
+                    Queue<PointCommand> queue = pendingCommandMap.get(candidate.userId());
+                    return new HotKey(candidate.userId(), candidate.estimatedRequests(),
+                            userLockProvider.queueLength(candidate.userId()), queue != null ? queue.size() : 0);
+                })
+                .toList();
+    }
+
+    /**
+     * 요청을 유저별 대기열에 넣고 락을 획득합니다.
+     * 락을 얻었을 때 아직 처리되지 않았다면 대기열에 쌓인 요청을 한 번에 처리하고,
+     * 이미 앞선 스레드가 함께 처리했다면 그 결과만 받아갑니다.
+     * hot 이 아닌 유저는 대기열을 거치지 않습니다. (executeLocked)
+     * hot 유저 판별은 대기열을 쓰는 lock 방식에서만 기록하므로, cas/sharded 방식의 요청은 hot-key 통계에 들어가지 않습니다.
+     * 결과는 저널에 기록된 뒤(락 밖에서 대기) 반환합니다.
+     */
+    private UserPoint execute(long userId, PointCommand command, PointOperation operation) {
+        if (optimistic) {
+            return executeOptimistic(userId, command, operation);
+        }
+        if (sharded) {
+            return executeSharded(userId, command);
+        }
+        if (!hotKeyDetector.record(userId)) {
+            return executeLocked(userId, command, operation);
+        }
+
+        Queue<PointCommand> queue = pendingCommandMap.computeIfAbsent(userId, k -> new ConcurrentLinkedQueue<>());
+        queue.add(command);
+
+        UserLock lock = lockOrWithdraw(userId, queue, command, operation);
+        if (lock != null) {
+            try (lock) {
+                if (!command.isDone()) {
+                    drain(userId, queue);
+                }
+                if (queue.isEmpty()) {
+                    pendingCommandMap.remove(userId, queue); // 이후 이 대기열에 들어온 요청은 넣은 스레드가 직접 처리함
+                }
+            }
             log.debug("락 해제 - userId: {}", userId);
         }
 
+        UserPoint result = command.await();
+        awaitDurable(command.journalSequence());
+        return result;
     }
 
     /**
-     * 특정 유저의 포인트를 사용합니다.
-     * 조건 : 사용 금액은 100보다 커야 함
+     * hot 이 아닌 유저의 요청 : 대기열 없이 유저 락을 잡고 자신의 요청만 반영합니다.
+     * 같은 유저의 요청이 거의 겹치지 않아 모아 처리할 요청이 없으므로, 대기열을 만들고 지우는 비용 없이 바로 처리합니다.
+     * hot 에서 cold 로 바뀐 직후에는 앞서 hot 경로로 대기열에 들어온 요청이 남아 있을 수 있으므로,
+     * 락을 얻으면 그 대기열을 먼저 처리한 뒤 자신의 요청을 반영해 유저별 도착 순서를 지킵니다.
      */
-    public UserPoint usePoint(long userId, long amount) {
-        if (amount < 100) {
-            throw new HanghaeException(ErrorCode.INVALID_USE_AMOUNT);
+    private UserPoint executeLocked(long userId, PointCommand command, PointOperation operation) {
+        try (UserLock ignored = lock(userId, operation)) {
+            Queue<PointCommand> queue = pendingCommandMap.get(userId);
+            if (queue != null) {
+                drain(userId, queue);
+                if (queue.isEmpty()) {
+                    pendingCommandMap.remove(userId, queue);
+                }
+            }
+            persist(userId, command.applyTo(currentPoint(userId)), List.of(command)); // 잔액 부족이면 기록 없이 예외
+        }
+        UserPoint result = command.await();
+        awaitDurable(command.journalSequence());
+        return result;
+    }
+
+    /**
+     * 유저 락을 획득합니다. 대기 스레드 수 제한(USER_LOCK_BUSY)이나 대기 시간 제한(LOCK_TIMEOUT)으로 실패하면 대기열에서 요청을 빼고 예외를 던집니다.
+     * 이미 락을 가진 스레드가 요청을 꺼내 처리 중이라 뺄 수 없으면, null 을 반환해 그 결과를 기다리게 합니다.
+     */
+    private UserLock lockOrWithdraw(long userId, Queue<PointCommand> queue, PointCommand command, PointOperation operation) {
+        try {
+            return lock(userId, operation);
+        } catch (RuntimeException e) {
+            if (queue.remove(command)) {
+                throw e;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 유저의 잔액/내역을 적재하는 작업을 그 유저의 writer 에서 실행합니다.
+     * sharded 방식은 유저의 shard 스레드에서, 그 외에는 유저 락을 잡고 실행합니다.
+     */
+    private <T> T asOwner(long userId, PointOperation operation, Supplier<T> action) {
+        if (sharded) {
+            return join(shardedExecutor.submit(userId, action));
+        }
+        try (UserLock ignored = lock(userId, operation)) {
+            return action.get();
+        }
+    }
+
+    /**
+     * 연산별 대기 시간(point.lock.timeout-millis) 안에서 유저 락을 획득합니다.
+     * 되돌림(refundPoint)은 거절되면 안 되므로 대기 스레드 수와 대기 시간 제한 없이 기다립니다.
+     */
+    private UserLock lock(long userId, PointOperation operation) {
+        if (operation == PointOperation.REFUND_POINT) {
+            return pointMetrics.lockUncapped(userLockProvider, userId, operation);
         }
+        return pointMetrics.lock(userLockProvider, userId, operation, lockTimeouts.nanosOf(operation.tag()));
+    }
 
-        ReentrantLock lock = userLockMap.computeIfAbsent(userId, k -> new ReentrantLock());
-        lock.lock();
+    /**
+     * 대기열의 요청을 도착 순서대로 반영합니다. (유저 락 보유 상태 또는 유저의 shard 스레드에서 호출)
+     * - 조회 1회 → 요청별 잔액 계산 → 최종 잔액 저장 1회
+     * - 잔액이 부족한 사용 요청은 해당 요청만 실패 처리
+     * - 내역은 outbox 에 넣고 바로 인덱스에 반영하므로, 테이블 기록(insert)은 락 밖에서 진행됨
+     * - 반영된 요청마다 저널 기록을 남기며, 디스크 기록(group commit)은 요청 스레드가 락 밖에서 기다림
+     */
+    private void drain(long userId, Queue<PointCommand> queue) {
+        List<PointCommand> batch = new ArrayList<>();
+        PointCommand polled;
+        while ((polled = queue.poll()) != null) {
+            batch.add(polled);
+        }
 
+        List<PointCommand> applied = new ArrayList<>(batch.size());
         try {
-            log.debug("포인트 사용 시작 - userId: {}, amount: {}", userId, amount);
+            log.debug("포인트 일괄 처리 시작 - userId: {}, 요청 수: {}", userId, batch.size());
 
-            UserPoint currentPoint = userPointTable.selectById(userId);
+            long currentPoint = currentPoint(userId);
+            long balance = currentPoint;
 
-            if (currentPoint.point() < amount) {
-                throw new HanghaeException(ErrorCode.INSUFFICIENT_POINT);
+            for (PointCommand command : batch) {
+                try {
+                    balance = command.applyTo(balance);
+                    applied.add(command);
+                } catch (HanghaeException e) {
+                    command.fail(e);
+                }
             }
 
-            long newAmount = currentPoint.point() - amount;
+            if (applied.isEmpty()) {
+                return;
+            }
 
-            UserPoint updatedPoint = userPointTable.insertOrUpdate(userId, newAmount);
-            pointHistoryTable.insert(userId, amount, TransactionType.USE, updatedPoint.updateMillis());
+            UserPoint updatedPoint = persist(userId, balance, applied);
+            log.debug("포인트 일괄 처리 완료 - userId: {}, 이전: {}, 이후: {}, 반영: {}/{}",
+                    userId, currentPoint, updatedPoint.point(), applied.size(), batch.size());
+        } catch (RuntimeException e) {
+            batch.stream().filter(command -> !command.isDone()).forEach(command -> command.fail(e));
+            throw e;
+        }
+    }
 
-            log.debug("포인트 사용 완료 - userId: {}, 이전: {}, 이후: {}",
-                    userId, currentPoint.point(), updatedPoint.point());
+    /**
+     * 락 없이 잔액을 CAS 로 반영한 뒤, 기록을 맡은 스레드가 없으면 직접 기록합니다.
+     * 잔액이 부족한 요청은 CAS 루프 안에서 바로 실패하므로 앞선 요청의 테이블 기록을 기다리지 않습니다.
+     * 결과는 자신의 요청이 테이블/내역/저널에 기록된 뒤 반환합니다.
+     */
+    private UserPoint executeOptimistic(long userId, PointCommand command, PointOperation operation) {
+        OptimisticBalance optimisticBalance = optimisticBalance(userId, operation);
+        pointMetrics.recordConflicts(operation, optimisticBalance.apply(command));
+        drainOptimistic(userId, optimisticBalance);
 
-            return updatedPoint;
-        } finally {
-            lock.unlock();
-            log.debug("락 해제 - userId: {}", userId);
+        UserPoint result = command.await();
+        awaitDurable(command.journalSequence());
+        return result;
+    }
+
+    /**
+     * 요청을 유저별 대기열에 넣고 유저의 shard 스레드에 처리를 맡긴 뒤, 결과가 저널에 기록되면 반환합니다.
+     */
+    private UserPoint executeSharded(long userId, PointCommand command) {
+        submitToShard(userId, command);
+
+        UserPoint result = command.await();
+        awaitDurable(command.journalSequence());
+        return result;
+    }
+
+    /**
+     * 요청의 저널 기록이 끝날 때까지 기다립니다.
+     * 기다리는 시점에는 잔액과 내역이 이미 반영되어 조회되므로, 저널을 쓸 수 없으면 되돌리지 않고 JOURNAL_UNAVAILABLE 을 던집니다.
+     * 이 에러는 "반영되었지만 재시작 후에도 남는지 보장할 수 없음" 을 뜻하므로, 클라이언트는 다시 요청하지 않고 잔액을 조회해 확인합니다.
+     */
+    private void awaitDurable(long journalSequence) {
+        try {
+            pointJournal.awaitDurable(journalSequence);
+        } catch (IllegalStateException e) {
+            log.error("포인트 저널 기록 확인 실패, 반영된 요청의 저장을 보장할 수 없음 - 순번: {}", journalSequence, e);
+            throw new HanghaeException(ErrorCode.JOURNAL_UNAVAILABLE);
+        }
+    }
+
+    /**
+     * 요청을 유저별 대기열에 넣고, 유저의 shard 스레드에 대기열 처리를 넘깁니다.
+     * shard 스레드가 그 유저의 유일한 writer 이므로 락 없이 lock 방식과 같은 일괄 처리(drain)를 하며,
+     * 먼저 실행된 작업이 쌓인 요청을 함께 처리하므로 뒤따르는 작업은 할 일이 없으면 바로 끝납니다.
+     */
+    private void submitToShard(long userId, PointCommand command) {
+        Queue<PointCommand> queue = pendingCommandMap.computeIfAbsent(userId, k -> new ConcurrentLinkedQueue<>());
+        queue.add(command);
+        try {
+            shardedExecutor.execute(userId, () -> {
+                try {
+                    if (!command.isDone()) {
+                        drain(userId, queue); // 실패하면 남은 요청을 모두 실패 처리한 뒤 예외를 던짐
+                    }
+                } finally {
+                    if (queue.isEmpty()) {
+                        pendingCommandMap.remove(userId, queue);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            if (queue.remove(command)) {
+                throw e;
+            }
+            // 종료와 겹쳐 앞서 넣은 작업이 이미 꺼내 처리했으면 그 결과를 받음
+        }
+    }
+
+    /**
+     * shard 방식의 이체 : 보내는 유저의 shard 에서 차감이 끝난 뒤에만 받는 유저의 shard 에 충전을 넘기므로,
+     * 잔액 부족이면 받는 유저의 잔액은 바뀌지 않습니다. 두 shard 를 함께 멈추지 않으므로 교착 상태가 없습니다.
+     */
+    private void transferSharded(long fromUserId, long toUserId, PointCommand use, PointCommand charge) {
+        submitToShard(fromUserId, use);
+        use.await();
+        submitToShard(toUserId, charge);
+    }
+
+    /**
+     * CAS 방식의 이체 : 차감이 성공한 뒤에만 더하므로, 잔액 부족이면 받는 유저의 잔액은 바뀌지 않습니다.
+     * 각 유저의 기록은 평소처럼 유저별 CAS 순서대로 처리됩니다.
+     */
+    private void transferOptimistic(long fromUserId, long toUserId, PointCommand use, PointCommand charge) {
+        OptimisticBalance fromBalance = optimisticBalance(fromUserId, PointOperation.TRANSFER_POINT);
+        OptimisticBalance toBalance = optimisticBalance(toUserId, PointOperation.TRANSFER_POINT);
+        pointMetrics.recordConflicts(PointOperation.TRANSFER_POINT, fromBalance.apply(use));
+        pointMetrics.recordConflicts(PointOperation.TRANSFER_POINT, toBalance.apply(charge));
+        drainOptimistic(fromUserId, fromBalance);
+        drainOptimistic(toUserId, toBalance);
+    }
+
+    /**
+     * CAS 순서대로 쌓인 요청을 기록합니다. 다른 스레드가 기록 중이면 그 스레드가 이어서 처리하므로 바로 돌아갑니다.
+     * 플래그를 놓은 뒤 남은 요청을 다시 확인하므로, 기록 중에 들어온 요청도 누락되지 않습니다.
+     */
+    private void drainOptimistic(long userId, OptimisticBalance optimisticBalance) {
+        while (optimisticBalance.hasPending() && optimisticBalance.tryStartDrain()) {
+            List<PointCommand> pending = List.of();
+            try {
+                pending = optimisticBalance.takePending();
+                if (optimisticBalance.failure() != null) {
+                    throw optimisticBalance.failure();
+                }
+                if (!pending.isEmpty()) {
+                    persist(userId, pending.get(pending.size() - 1).balanceAfter(), pending);
+                }
+            } catch (RuntimeException e) {
+                optimisticBalance.fail(e);
+                optimisticBalanceMap.remove(userId, optimisticBalance); // 다음 요청은 테이블 기준 잔액으로 다시 시작
+                pending.stream().filter(command -> !command.isDone()).forEach(command -> command.fail(e));
+            } finally {
+                optimisticBalance.endDrain();
+            }
+        }
+    }
+
+    /**
+     * CAS 방식의 유저 잔액을 가져옵니다. 처음 쓰는 유저만 락을 잡고 잔액과 내역 인덱스를 한 번 적재합니다.
+     * (인덱스를 먼저 적재해 두어야 이후 락 없이 내역을 덧붙여도 적재와 겹치지 않음)
+     */
+    private OptimisticBalance optimisticBalance(long userId, PointOperation operation) {
+        OptimisticBalance optimisticBalance = optimisticBalanceMap.get(userId);
+        if (optimisticBalance != null) {
+            return optimisticBalance;
+        }
+
+        try (UserLock ignored = lock(userId, operation)) {
+            optimisticBalance = optimisticBalanceMap.get(userId);
+            if (optimisticBalance == null) {
+                optimisticBalance = new OptimisticBalance(currentPoint(userId));
+                loadPointHistories(userId);
+                optimisticBalanceMap.put(userId, optimisticBalance);
+            }
+            return optimisticBalance;
         }
+    }
 
+    /**
+     * 반영된 요청의 최종 잔액을 테이블에 한 번 저장하고 스냅샷을 발행한 뒤, 요청 순서대로 내역/저널을 기록하고 결과를 채웁니다.
+     * (lock 방식은 유저 락, cas 방식은 draining 플래그를 보유한 상태, sharded 방식은 shard 스레드에서 호출)
+     * 저널을 쓸 수 없으면 테이블에 저장하기 전에 JOURNAL_NOT_WRITABLE 로 거절하므로, 거절된 요청은 반영되지 않아 다시 요청해도 됩니다.
+     * 단, 거절하면 안 되는 요청(되돌림, 이체의 받는 쪽)이 섞여 있으면 모두 반영하고, 각 요청은 저널 대기에서 JOURNAL_UNAVAILABLE 을 받습니다.
+     */
+    private UserPoint persist(long userId, long finalBalance, List<PointCommand> applied) {
+        if (!pointJournal.isWritable() && applied.stream().noneMatch(PointCommand::required)) {
+            throw new HanghaeException(ErrorCode.JOURNAL_NOT_WRITABLE);
+        }
+        UserPoint updatedPoint = pointMetrics.recordTableCall(TableCall.USER_POINT_INSERT_OR_UPDATE, () -> userPointTable.insertOrUpdate(userId, finalBalance));
+        userPointCache.put(updatedPoint);
+        pointSnapshots.publish(updatedPoint);
+        loadPointHistories(userId);
+        for (PointCommand command : applied) {
+            PointHistory history = pointHistoryOutbox.enqueue(userId, command.amount(), command.type(), updatedPoint.updateMillis());
+            pointHistoryIndex.append(history);
+            long sequence = pointJournal.append(new JournalRecord(
+                    history.id(), userId, command.type().code(), command.amount(), command.balanceAfter(), updatedPoint.updateMillis()));
+            command.complete(new UserPoint(userId, command.balanceAfter(), updatedPoint.updateMillis()), sequence);
+        }
+        return updatedPoint;
+    }
+
+    /**
+     * 조건에 맞는 내역을 visitor 에 넘깁니다. 인덱스에 없는 유저만 유저의 writer 에서 먼저 적재합니다.
+     * 순회는 락 없이 진행되므로, 느린 consumer(네트워크 출력 등)가 충전/사용을 막지 않습니다.
+     */
+    private void scanPointHistories(long userId, PointHistoryQuery query, PointOperation operation, Predicate<PointHistory> visitor) {
+        Predicate<PointHistory> filtered = history -> !query.matches(history) || visitor.test(history);
+        if (pointHistoryIndex.scan(userId, query.cursor(), filtered)) {
+            return;
+        }
+
+        asOwner(userId, operation, () -> {
+            loadPointHistories(userId);
+            return null;
+        });
+        pointHistoryIndex.scan(userId, query.cursor(), filtered);
+    }
+
+    /**
+     * 캐시의 잔액을, 캐시에 없으면 읽어 올린 잔액을 반환합니다. (유저의 writer 에서 호출)
+     */
+    private long currentPoint(long userId) {
+        long cachedPoint = userPointCache.pointOf(userId);
+        return cachedPoint >= 0 ? cachedPoint : loadUserPoint(userId).point();
+    }
+
+    /**
+     * 잔액을 읽어 캐시에 올립니다. (유저의 writer 에서 호출)
+     * 저널에 기록이 있으면 저널의 잔액을(재시작 후 복구분 포함), 없으면 테이블의 잔액을 사용합니다.
+     */
+    private UserPoint loadUserPoint(long userId) {
+        JournalBalance journaled = pointJournal.balanceOf(userId);
+        UserPoint loaded = journaled != null
+                ? new UserPoint(userId, journaled.point(), journaled.updateMillis())
+                : pointMetrics.recordTableCall(TableCall.USER_POINT_SELECT_BY_ID, () -> userPointTable.selectById(userId));
+        userPointCache.put(loaded);
+        return loaded;
+    }
+
+    /**
+     * 인덱스에 없는 유저(cold start)의 내역을 테이블과 outbox 에서 읽어 인덱스에 올립니다. (유저의 writer 에서 호출)
+     */
+    private void loadPointHistories(long userId) {
+        if (!pointHistoryIndex.isLoaded(userId)) {
+            pointHistoryIndex.load(userId, pointHistoryOutbox.selectAllByUserId(userId));
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 }
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 유저 잔액의 불변 스냅샷
+ * - version 은 전체 유저가 함께 쓰는 단조 증가 번호이며, 같은 유저의 스냅샷은 발행될 때마다 더 큰 버전을 가집니다.
+ */
+public record PointSnapshot(
+        UserPoint userPoint,
+        long version
+) {
+}
@@ -0,0 +1,115 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 유저별 잔액 스냅샷 (읽기 전용 뷰)
+ * - 쓰기가 테이블에 커밋될 때마다 PointService 가 새 불변 스냅샷을 발행하고, 조회는 맵에서 꺼내기만 하므로 락/테이블 호출이 없습니다.
+ *   (ConcurrentHashMap.get 은 같은 키의 발행과 겹쳐도 기다리지 않고 직전 스냅샷을 반환)
+ * - 버전은 전체 유저가 함께 쓰는 AtomicLong 에서 발행 시 받으므로, 스냅샷이 제거된 뒤 다시 올라와도 이전보다 작은 버전을 받지 않습니다.
+ *   쓰기 응답의 버전(Point-Version)으로 "이 버전 이상" 을 요청하면 자신의 쓰기가 반영된 잔액을 받습니다. (read-after-write)
+ * - 최대 크기를 넘으면 임의의 다른 유저 스냅샷을 제거합니다. 제거된 유저는 다음 조회 시 락을 잡고 다시 발행합니다.
+ */
+@Component
+public class PointSnapshots {
+
+    public static final String VERSION_HEADER = "Point-Version";
+    public static final String MIN_VERSION_HEADER = "Point-Min-Version";
+
+    private static final int DEFAULT_MAX_SIZE = 100_000;
+
+    private final ConcurrentHashMap<Long, PointSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final int maxSize;
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    public PointSnapshots() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    @Autowired
+    public PointSnapshots(@Value("${point.snapshot.max-size:100000}") int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 유저의 최신 스냅샷을 반환합니다. 없으면 null 을 반환합니다. (락 없음)
+     */
+    public PointSnapshot get(long userId) {
+        return snapshots.get(userId);
+    }
+
+    /**
+     * 커밋된 잔액을 새 버전으로 발행합니다. (유저 락 또는 draining 플래그 보유 상태에서 호출)
+     */
+    public PointSnapshot publish(UserPoint userPoint) {
+        PointSnapshot published = snapshots.compute(userPoint.id(), (id, current) -> new PointSnapshot(userPoint, sequence.incrementAndGet()));
+        evictIfFull(userPoint.id());
+        return published;
+    }
+
+    /**
+     * 테이블/캐시에서 읽어 온 잔액을, 그사이 커밋으로 발행된 스냅샷이 없을 때만 발행합니다.
+     */
+    public PointSnapshot publishIfAbsent(UserPoint userPoint) {
+        PointSnapshot published = snapshots.computeIfAbsent(userPoint.id(), id -> new PointSnapshot(userPoint, sequence.incrementAndGet()));
+        evictIfFull(userPoint.id());
+        return published;
+    }
+
+    /**
+     * 진행 중인 쓰기가 없음을 확인한 상태(유저 락, shard 스레드 또는 cas 의 draining 플래그 보유)에서, minVersion 보다 오래된 스냅샷을 같은 잔액의 새 버전으로 다시 발행합니다.
+     * 그 사이 이 유저의 쓰기가 없었다는 뜻이므로 잔액은 그대로 최신입니다. 스냅샷이 없으면 null 을 반환합니다.
+     */
+    public PointSnapshot confirm(long userId, long minVersion) {
+        return snapshots.computeIfPresent(userId, (id, current) ->
+                current.version() >= minVersion ? current : new PointSnapshot(current.userPoint(), sequence.incrementAndGet()));
+    }
+
+    /**
+     * 유저의 최신 스냅샷 버전을 반환합니다. 스냅샷이 없으면(제거됨) 현재까지 발행된 가장 큰 버전을 반환합니다.
+     */
+    public long versionOf(long userId) {
+        PointSnapshot snapshot = snapshots.get(userId);
+        return snapshot != null ? snapshot.version() : sequence.get();
+    }
+
+    /**
+     * 지금까지 발행된 가장 큰 버전
+     */
+    public long currentVersion() {
+        return sequence.get();
+    }
+
+    public int size() {
+        return snapshots.size();
+    }
+
+    public long evictionCount() {
+        return evictionCount.sum();
+    }
+
+    private void evictIfFull(long publishedUserId) {
+        if (snapshots.size() <= maxSize) {
+            return;
+        }
+        Iterator<Long> iterator = snapshots.keySet().iterator();
+        while (iterator.hasNext() && snapshots.size() > maxSize) {
+            if (iterator.next() != publishedUserId) {
+                iterator.remove();
+                evictionCount.increment();
+            }
+        }
+    }
+}
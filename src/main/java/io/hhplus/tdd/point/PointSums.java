@@ -0,0 +1,27 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+/**
+ * 기간별 충전/사용 합계
+ * - fromMillis 가 속한 구간부터 toMillis 전에 시작하는 구간까지 합산
+ * - buckets : 내역이 있는 구간만 시작 시각 순으로 (내역이 없는 구간은 생략)
+ * - charged 는 잔액에 더한 금액 합계로, 되돌림(REFUND)도 포함
+ */
+public record PointSums(
+        long userId,
+        RollupUnit unit,
+        long fromMillis,
+        long toMillis,
+        long charged,
+        long used,
+        List<Bucket> buckets
+) {
+
+    public record Bucket(
+            long startMillis,
+            long charged,
+            long used
+    ) {
+    }
+}
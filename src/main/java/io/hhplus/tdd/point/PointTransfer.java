@@ -0,0 +1,10 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 이체 결과 (이체 직후 보내는 유저 / 받는 유저의 잔액)
+ */
+public record PointTransfer(
+        UserPoint from,
+        UserPoint to
+) {
+}
@@ -0,0 +1,68 @@
+package io.hhplus.tdd.point;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * PointController 와 같은 API 를 논블로킹(Mono/Flux)으로 제공합니다.
+ * 요청 스레드는 처리 결과를 기다리지 않고 반환되며, 결과는 비동기로 응답됩니다.
+ * 충전/사용의 처리율 제한은 PointController 와 같이 파이프라인에 넣기 전에 확인합니다.
+ */
+@RestController
+@RequestMapping("/reactive/point")
+@RequiredArgsConstructor
+public class ReactivePointController {
+
+    private final ReactivePointService reactivePointService;
+    private final PointRateLimiter pointRateLimiter;
+
+    /**
+     * 특정 유저의 포인트를 조회하는 기능
+     */
+    @GetMapping("{id}")
+    public Mono<UserPoint> point(
+            @PathVariable long id
+    ) {
+        return reactivePointService.getUserPoint(id);
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역을 조회하는 기능
+     */
+    @GetMapping("{id}/histories")
+    public Flux<PointHistory> history(
+            @PathVariable long id
+    ) {
+        return reactivePointService.getPointHistories(id);
+    }
+
+    /**
+     * 특정 유저의 포인트를 충전하는 기능
+     * - Idempotency-Key 헤더가 있으면 같은 키의 재요청은 다시 충전하지 않고 처음 결과를 반환
+     */
+    @PatchMapping("{id}/charge")
+    public Mono<UserPoint> charge(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(value = IdempotencyCache.HEADER, required = false) String idempotencyKey
+    ) {
+        pointRateLimiter.acquire(id);
+        return reactivePointService.chargePoint(id, amount, idempotencyKey);
+    }
+
+    /**
+     * 특정 유저의 포인트를 사용하는 기능
+     * - Idempotency-Key 헤더가 있으면 같은 키의 재요청은 다시 사용하지 않고 처음 결과를 반환
+     */
+    @PatchMapping("{id}/use")
+    public Mono<UserPoint> use(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(value = IdempotencyCache.HEADER, required = false) String idempotencyKey
+    ) {
+        pointRateLimiter.acquire(id);
+        return reactivePointService.usePoint(id, amount, idempotencyKey);
+    }
+}
@@ -0,0 +1,88 @@
+package io.hhplus.tdd.point;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 논블로킹 포인트 서비스
+ * - 테이블 호출은 블로킹이므로 크기가 고정된 전용 scheduler 에서 실행하고, 요청 스레드는 바로 반환합니다.
+ * - 충전/사용은 유저별 직렬 파이프라인으로 순서를 보장해 scheduler 스레드가 유저 락을 기다리며 묶이지 않게 합니다.
+ * - Idempotency-Key 확인도 파이프라인 안에서 하므로, 같은 유저의 재요청은 처음 요청이 끝난 뒤 실행되어 결과를 기다리며 묶이지 않습니다.
+ */
+@Service
+public class ReactivePointService {
+
+    private final PointService pointService;
+    private final IdempotencyCache idempotencyCache;
+    private final Scheduler scheduler;
+    private final UserSerialPipeline pipeline;
+
+    public ReactivePointService(
+            PointService pointService,
+            IdempotencyCache idempotencyCache,
+            @Value("${point.reactive.thread-cap:16}") int threadCap,
+            @Value("${point.reactive.queued-task-cap:100000}") int queuedTaskCap
+    ) {
+        this.pointService = pointService;
+        this.idempotencyCache = idempotencyCache;
+        this.scheduler = Schedulers.newBoundedElastic(threadCap, queuedTaskCap, "point-reactive");
+        this.pipeline = new UserSerialPipeline(scheduler);
+    }
+
+    /**
+     * 특정 유저의 포인트를 조회합니다.
+     */
+    public Mono<UserPoint> getUserPoint(long userId) {
+        return Mono.fromCallable(() -> pointService.getUserPoint(userId))
+                .subscribeOn(scheduler);
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역을 조회합니다.
+     */
+    public Flux<PointHistory> getPointHistories(long userId) {
+        return Mono.fromCallable(() -> pointService.getPointHistories(userId))
+                .subscribeOn(scheduler)
+                .flatMapIterable(histories -> histories);
+    }
+
+    /**
+     * 특정 유저의 포인트를 충전합니다.
+     */
+    public Mono<UserPoint> chargePoint(long userId, long amount) {
+        return chargePoint(userId, amount, null);
+    }
+
+    /**
+     * 특정 유저의 포인트를 충전합니다. idempotencyKey 가 있으면 같은 키의 재요청은 다시 충전하지 않고 처음 결과를 반환합니다.
+     */
+    public Mono<UserPoint> chargePoint(long userId, long amount, String idempotencyKey) {
+        return pipeline.submit(userId, () -> idempotencyCache.execute(idempotencyKey, userId, TransactionType.CHARGE, amount,
+                () -> pointService.chargePoint(userId, amount)));
+    }
+
+    /**
+     * 특정 유저의 포인트를 사용합니다.
+     */
+    public Mono<UserPoint> usePoint(long userId, long amount) {
+        return usePoint(userId, amount, null);
+    }
+
+    /**
+     * 특정 유저의 포인트를 사용합니다. idempotencyKey 가 있으면 같은 키의 재요청은 다시 사용하지 않고 처음 결과를 반환합니다.
+     */
+    public Mono<UserPoint> usePoint(long userId, long amount, String idempotencyKey) {
+        return pipeline.submit(userId, () -> idempotencyCache.execute(idempotencyKey, userId, TransactionType.USE, amount,
+                () -> pointService.usePoint(userId, amount)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.dispose();
+    }
+}
@@ -0,0 +1,30 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 내역 집계 구간 단위
+ * - 구간 시작은 point.history.rollup-offset 시간대의 정각/자정 기준 (기본 +09:00)
+ */
+public enum RollupUnit {
+    MINUTE(TimeUnit.MINUTES.toMillis(1)),
+    HOUR(TimeUnit.HOURS.toMillis(1)),
+    DAY(TimeUnit.DAYS.toMillis(1));
+
+    private final long millis;
+
+    RollupUnit(long millis) {
+        this.millis = millis;
+    }
+
+    public long millis() {
+        return millis;
+    }
+
+    /**
+     * 시각이 속한 구간의 시작 시각을 반환합니다.
+     */
+    public long startOf(long epochMillis, long offsetMillis) {
+        return Math.floorDiv(epochMillis + offsetMillis, millis) * millis - offsetMillis;
+    }
+}
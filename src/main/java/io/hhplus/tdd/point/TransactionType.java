@@ -5,7 +5,35 @@ package io.hhplus.tdd.point;
  * 포인트 트랜잭션 종류
  * - CHARGE : 충전
  * - USE : 사용
+ * - REFUND : 되돌림 (노드 간 이체가 거절되어 차감을 취소한 금액, 충전처럼 잔액에 더하지만 충전 요청과 구분해 기록)
+ * - code : 저널 등 바이너리 기록에 쓰는 1바이트 값
  */
 public enum TransactionType {
-    CHARGE, USE
-}
\ No newline at end of file
+    CHARGE((byte) 1), USE((byte) 2), REFUND((byte) 3);
+
+    private final byte code;
+
+    TransactionType(byte code) {
+        this.code = code;
+    }
+
+    public byte code() {
+        return code;
+    }
+
+    /**
+     * 잔액에 더하는 종류인지 여부 (CHARGE, REFUND)
+     */
+    public boolean isCredit() {
+        return this != USE;
+    }
+
+    public static TransactionType fromCode(byte code) {
+        return switch (code) {
+            case 1 -> CHARGE;
+            case 2 -> USE;
+            case 3 -> REFUND;
+            default -> throw new IllegalArgumentException("unknown transaction type code: " + code);
+        };
+    }
+}
@@ -0,0 +1,152 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrent.LongBalanceMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 유저 포인트 잔액 캐시 (write-through)
+ * - PointService 가 유일한 writer 이므로, insertOrUpdate 성공 시마다 캐시를 갱신해 테이블 조회 없이 잔액을 제공합니다.
+ * - 최대 크기를 넘으면 가장 오래 사용되지 않은 유저부터 제거합니다. 제거된 유저는 다음 접근 시 테이블에서 다시 읽습니다.
+ * - 저장 방식 (point.cache.type)
+ *   - lru : LinkedHashMap 기반 정확한 LRU, 전역 락 하나로 보호 (기본값)
+ *   - primitive : LongBalanceMap 기반, 잔액과 시각을 long[] 에 담아 박싱/엔트리 할당이 없고 읽기는 락 없이 수행
+ *     (제거 순서는 CLOCK 근사, UserPoint 는 조회 결과를 반환할 때만 생성)
+ */
+@Component
+public class UserPointCache {
+
+    private static final String LRU = "lru";
+    private static final String PRIMITIVE = "primitive";
+
+    private final int maxSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Long, UserPoint> cache;
+    private final LongBalanceMap balances; // primitive 일 때만 사용
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public UserPointCache(int maxSize) {
+        this(maxSize, LRU);
+    }
+
+    @Autowired
+    public UserPointCache(
+            @Value("${point.cache.max-size:100000}") int maxSize,
+            @Value("${point.cache.type:lru}") String type
+    ) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        if (!LRU.equals(type) && !PRIMITIVE.equals(type)) {
+            throw new IllegalArgumentException("unknown cache type: " + type);
+        }
+        this.maxSize = maxSize;
+        this.balances = PRIMITIVE.equals(type) ? new LongBalanceMap(maxSize) : null;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserPoint> eldest) {
+                if (size() > UserPointCache.this.maxSize) {
+                    evictionCount.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 캐시된 잔액을 조회합니다. 없으면 null 을 반환하며 hit/miss 를 집계합니다.
+     */
+    public UserPoint get(long userId) {
+        UserPoint userPoint = peek(userId);
+        if (userPoint != null) {
+            hitCount.increment();
+        } else {
+            missCount.increment();
+        }
+        return userPoint;
+    }
+
+    /**
+     * 캐시된 잔액 값만 조회합니다. 없으면 -1 을 반환하며 hit/miss 를 집계합니다.
+     * primitive 방식에서는 UserPoint 를 만들지 않습니다.
+     */
+    public long pointOf(long userId) {
+        long point;
+        if (balances != null) {
+            point = balances.getPoint(userId, -1L);
+        } else {
+            UserPoint userPoint = peek(userId);
+            point = userPoint != null ? userPoint.point() : -1L;
+        }
+        if (point >= 0) {
+            hitCount.increment();
+        } else {
+            missCount.increment();
+        }
+        return point;
+    }
+
+    /**
+     * hit/miss 집계 없이 캐시된 잔액을 조회합니다.
+     */
+    public UserPoint peek(long userId) {
+        if (balances != null) {
+            return balances.get(userId, UserPoint::new);
+        }
+        lock.lock();
+        try {
+            return cache.get(userId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 잔액을 캐시에 반영합니다. (유저 락 보유 상태에서 호출)
+     */
+    public void put(UserPoint userPoint) {
+        if (balances != null) {
+            if (balances.put(userPoint.id(), userPoint.point(), userPoint.updateMillis())) {
+                evictionCount.increment();
+            }
+            return;
+        }
+        lock.lock();
+        try {
+            cache.put(userPoint.id(), userPoint);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public CacheStats stats() {
+        if (balances != null) {
+            return new CacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(), balances.size(), maxSize);
+        }
+        lock.lock();
+        try {
+            return new CacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(), cache.size(), maxSize);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public record CacheStats(
+            long hitCount,
+            long missCount,
+            long evictionCount,
+            int size,
+            int maxSize
+    ) {
+    }
+}
@@ -0,0 +1,111 @@
+package io.hhplus.tdd.point;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 유저별 직렬 실행 파이프라인
+ * - 같은 유저의 작업은 도착 순서대로 한 번에 하나씩, 다른 유저의 작업은 scheduler 스레드에서 병렬로 실행합니다.
+ * - 같은 유저의 작업이 스레드를 차지한 채 락을 기다리지 않으므로, 적은 수의 스레드로도 많은 요청을 대기시킬 수 있습니다.
+ * - 유저별 mailbox 의 추가/제거/스케줄 상태 변경은 모두 ConcurrentHashMap.compute 안에서 원자적으로 일어납니다.
+ */
+final class UserSerialPipeline {
+
+    private static final int MAX_TASKS_PER_DRAIN = 16; // 한 유저가 스레드를 오래 붙잡지 않도록 나눠서 실행
+
+    private final Scheduler scheduler;
+    private final ConcurrentHashMap<Long, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    UserSerialPipeline(Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    <T> Mono<T> submit(long userId, Callable<T> callable) {
+        return Mono.create(sink -> {
+            Task<T> task = new Task<>(callable, sink);
+            Mailbox[] toSchedule = new Mailbox[1];
+            mailboxes.compute(userId, (id, current) -> {
+                Mailbox mailbox = current != null ? current : new Mailbox(id);
+                mailbox.tasks.add(task);
+                if (!mailbox.scheduled) {
+                    mailbox.scheduled = true;
+                    toSchedule[0] = mailbox;
+                }
+                return mailbox;
+            });
+            if (toSchedule[0] != null) {
+                toSchedule[0].schedule();
+            }
+        });
+    }
+
+    int activeUserCount() {
+        return mailboxes.size();
+    }
+
+    private final class Mailbox {
+
+        private final long userId;
+        private final ConcurrentLinkedQueue<Task<?>> tasks = new ConcurrentLinkedQueue<>();
+        private boolean scheduled; // compute 안에서만 변경
+
+        private Mailbox(long userId) {
+            this.userId = userId;
+        }
+
+        private void schedule() {
+            try {
+                scheduler.schedule(this::drain);
+            } catch (RejectedExecutionException e) {
+                failAll(e);
+            }
+        }
+
+        private void drain() {
+            for (int i = 0; i < MAX_TASKS_PER_DRAIN; i++) {
+                Task<?> task = tasks.poll();
+                if (task == null) {
+                    break;
+                }
+                task.run();
+            }
+
+            // 비어 있으면 제거, 남아 있으면 이어서 실행 (scheduled 상태 유지)
+            Mailbox next = mailboxes.compute(userId, (id, current) -> tasks.isEmpty() ? null : current);
+            if (next != null) {
+                schedule();
+            }
+        }
+
+        /**
+         * scheduler 가 작업을 더 받지 못하면(queued-task-cap 초과) 대기 중인 작업을 모두 실패 처리합니다.
+         */
+        private void failAll(Throwable e) {
+            Mailbox remaining;
+            do {
+                Task<?> task;
+                while ((task = tasks.poll()) != null) {
+                    task.sink.error(e);
+                }
+                remaining = mailboxes.compute(userId, (id, current) -> tasks.isEmpty() ? null : current);
+            } while (remaining != null);
+        }
+    }
+
+    private record Task<T>(Callable<T> callable, MonoSink<T> sink) {
+
+        private void run() {
+            try {
+                sink.success(callable.call());
+            } catch (Throwable e) {
+                sink.error(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package io.hhplus.tdd.cluster;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ConsistentHashRing 단위 테스트")
+class ConsistentHashRingUnitTest {
+
+    private static final int USER_COUNT = 100_000;
+
+    @Test
+    @DisplayName("연속된 유저 id 도 노드마다 고르게 나뉜다")
+    void ownerOf_DistributesEvenly() {
+        // given
+        ConsistentHashRing ring = new ConsistentHashRing(nodes(4), 160);
+
+        // when
+        Map<String, Integer> counts = new HashMap<>();
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            counts.merge(ring.ownerOf(userId).id(), 1, Integer::sum);
+        }
+
+        // then - 노드별 25% ± 5%p
+        assertThat(counts).hasSize(4);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(USER_COUNT / 5, USER_COUNT * 3 / 10));
+    }
+
+    @Test
+    @DisplayName("노드를 하나 더하면 새 노드로 옮겨가는 유저만 주인이 바뀐다")
+    void ownerOf_MovesOnlyToAddedNode() {
+        // given
+        ConsistentHashRing before = new ConsistentHashRing(nodes(4), 160);
+        ConsistentHashRing after = new ConsistentHashRing(nodes(5), 160);
+
+        // when
+        int moved = 0;
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            String previous = before.ownerOf(userId).id();
+            String current = after.ownerOf(userId).id();
+            if (!previous.equals(current)) {
+                assertThat(current).isEqualTo("node5");
+                moved++;
+            }
+        }
+
+        // then - 이상적으로 1/5
+        assertThat(moved).isBetween(USER_COUNT / 7, USER_COUNT / 4);
+    }
+
+    @Test
+    @DisplayName("노드 목록의 순서가 달라도 같은 주인을 계산한다")
+    void ownerOf_IndependentOfNodeOrder() {
+        // given
+        List<ClusterNode> nodes = nodes(3);
+        List<ClusterNode> reversed = new ArrayList<>(nodes);
+        Collections.reverse(reversed);
+        ConsistentHashRing ring = new ConsistentHashRing(nodes, 16);
+        ConsistentHashRing reversedRing = new ConsistentHashRing(reversed, 16);
+
+        // when & then
+        for (long userId = 1; userId <= 10_000; userId++) {
+            assertThat(reversedRing.ownerOf(userId).id()).isEqualTo(ring.ownerOf(userId).id());
+        }
+    }
+
+    @Test
+    @DisplayName("노드 id 가 겹치면 예외가 발생한다")
+    void constructor_RejectsDuplicatedNodeId() {
+        // given
+        List<ClusterNode> nodes = List.of(ClusterNode.parse("node1=http://localhost:8081"), ClusterNode.parse("node1=http://localhost:8082"));
+
+        // when & then
+        assertThatThrownBy(() -> new ConsistentHashRing(nodes, 16))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("노드 설정은 id=url 형식이고, self 는 노드 목록에 있어야 한다")
+    void pointCluster_ParsesStaticMembership() {
+        // given
+        String nodes = "node1=http://localhost:8081/, node2=http://localhost:8082";
+
+        // when
+        PointCluster cluster = new PointCluster(true, "node2", nodes, 16);
+
+        // then
+        assertThat(cluster.nodes()).extracting(ClusterNode::id).containsExactly("node1", "node2");
+        assertThat(cluster.nodes().get(0).baseUri()).isEqualTo(URI.create("http://localhost:8081"));
+        assertThat(cluster.self().id()).isEqualTo("node2");
+        assertThatThrownBy(() -> new PointCluster(true, "node3", nodes, 16))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(PointCluster.standalone().isLocal(1L)).isTrue();
+    }
+
+    private static List<ClusterNode> nodes(int count) {
+        List<ClusterNode> nodes = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            nodes.add(ClusterNode.parse("node" + i + "=http://localhost:" + (8080 + i)));
+        }
+        return nodes;
+    }
+}
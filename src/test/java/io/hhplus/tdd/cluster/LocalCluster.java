@@ -0,0 +1,101 @@
+package io.hhplus.tdd.cluster;
+
+import io.hhplus.tdd.TddApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 한 JVM 에 Spring Boot 노드 여러 개를 localhost 의 서로 다른 포트로 띄우는 테스트용 클러스터
+ * - 노드마다 별도 컨텍스트이므로 PointService / 테이블이 노드별로 따로 있습니다.
+ */
+final class LocalCluster implements AutoCloseable {
+
+    private static final int VIRTUAL_NODES = 160;
+
+    private final List<ClusterNode> nodes;
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+    private final ConsistentHashRing ring;
+
+    private LocalCluster(List<ClusterNode> nodes) {
+        this.nodes = nodes;
+        this.ring = new ConsistentHashRing(nodes, VIRTUAL_NODES);
+    }
+
+    static LocalCluster start(int nodeCount, String... properties) {
+        List<ClusterNode> nodes = new ArrayList<>();
+        for (int i = 0; i < nodeCount; i++) {
+            nodes.add(ClusterNode.parse("node" + i + "=http://localhost:" + freePort()));
+        }
+        String membership = nodes.stream()
+                .map(node -> node.id() + "=" + node.baseUri())
+                .collect(Collectors.joining(","));
+
+        LocalCluster cluster = new LocalCluster(nodes);
+        try {
+            for (ClusterNode node : nodes) {
+                List<String> nodeProperties = new ArrayList<>(List.of(
+                        "server.port=" + node.baseUri().getPort(),
+                        "spring.main.banner-mode=off",
+                        "point.cluster.enabled=true",
+                        "point.cluster.self=" + node.id(),
+                        "point.cluster.nodes=" + membership,
+                        "point.cluster.virtual-nodes=" + VIRTUAL_NODES));
+                nodeProperties.addAll(List.of(properties));
+                cluster.contexts.add(new SpringApplicationBuilder(TddApplication.class)
+                        .properties(nodeProperties.toArray(String[]::new))
+                        .run());
+            }
+        } catch (RuntimeException e) {
+            cluster.close();
+            throw e;
+        }
+        return cluster;
+    }
+
+    List<ClusterNode> nodes() {
+        return nodes;
+    }
+
+    ClusterNode node(int index) {
+        return nodes.get(index);
+    }
+
+    ClusterNode ownerOf(long userId) {
+        return ring.ownerOf(userId);
+    }
+
+    /**
+     * index 번 노드가 맡은 유저 id 를 from 부터 찾습니다.
+     */
+    long userOwnedBy(int index, long from) {
+        long userId = from;
+        while (!ring.ownerOf(userId).equals(nodes.get(index))) {
+            userId++;
+        }
+        return userId;
+    }
+
+    <T> T bean(int index, Class<T> type) {
+        return contexts.get(index).getBean(type);
+    }
+
+    @Override
+    public void close() {
+        contexts.forEach(ConfigurableApplicationContext::close);
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
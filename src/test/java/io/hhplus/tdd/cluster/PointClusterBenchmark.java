@@ -0,0 +1,104 @@
+package io.hhplus.tdd.cluster;
+
+import io.hhplus.tdd.point.PointService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 노드 수(1, 2, 4)에 따른 클러스터 전체 충전 처리량 벤치마크
+ * - 실행 : ./gradlew benchmark --tests "*PointClusterBenchmark"
+ * - 노드마다 Tomcat 스레드를 16개로 제한해 노드 한 대의 처리 한도를 두고, 클라이언트 64개가 매번 새 유저에게 충전
+ * - owner : 클라이언트가 같은 해시 링으로 주인 노드를 계산해 바로 보냄 (user-affinity 라우팅)
+ * - random : 아무 노드로 보내고 주인이 아니면 노드가 넘김 (넘기는 동안 받은 노드의 스레드도 묶임)
+ * - 모든 충전이 주인 노드의 잔액에 반영되었는지 함께 확인
+ */
+@Tag("benchmark")
+@DisplayName("클러스터 노드 수 확장 벤치마크")
+class PointClusterBenchmark {
+
+    private static final int[] NODE_COUNTS = {1, 2, 4};
+    private static final int CLIENT_COUNT = 64;
+    private static final long DURATION_MILLIS = 5_000;
+    private static final long AMOUNT = 100L;
+
+    private static final AtomicLong userIdGenerator = new AtomicLong(1);
+
+    @Test
+    @DisplayName("주인 노드로 바로 보내는 충전은 노드 수에 비례해 처리량이 늘고, 모든 충전이 주인 노드에 반영된다")
+    void charge_ScalesWithNodeCount() throws Exception {
+        System.out.printf("%5s | %14s | %15s%n", "nodes", "owner (req/s)", "random (req/s)");
+        List<Double> owner = new ArrayList<>();
+        for (int nodeCount : NODE_COUNTS) {
+            try (LocalCluster cluster = LocalCluster.start(nodeCount,
+                    "point.rate-limit.enabled=false",
+                    "server.tomcat.threads.max=16",
+                    "logging.level.root=WARN")) {
+                owner.add(measure(cluster, true));
+                double random = measure(cluster, false);
+                System.out.printf("%5d | %14.0f | %15.0f%n", nodeCount, owner.get(owner.size() - 1), random);
+            }
+        }
+
+        // 노드 한 대의 스레드 수가 처리량을 정하므로 4 노드는 1 노드의 2.5배 이상이어야 함 (이상적으로 4배)
+        assertThat(owner.get(2)).isGreaterThanOrEqualTo(owner.get(0) * 2.5);
+    }
+
+    private static double measure(LocalCluster cluster, boolean ownerRouting) throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        AtomicBoolean running = new AtomicBoolean(true);
+        Queue<Long> charged = new ConcurrentLinkedQueue<>();
+        ExecutorService executorService = Executors.newFixedThreadPool(CLIENT_COUNT);
+        for (int t = 0; t < CLIENT_COUNT; t++) {
+            executorService.submit(() -> {
+                while (running.get()) {
+                    long userId = userIdGenerator.getAndIncrement();
+                    ClusterNode node = ownerRouting
+                            ? cluster.ownerOf(userId)
+                            : cluster.node(ThreadLocalRandom.current().nextInt(cluster.nodes().size()));
+                    HttpRequest request = HttpRequest.newBuilder(node.resolve("/point/" + userId + "/charge"))
+                            .header("Content-Type", "application/json")
+                            .method("PATCH", HttpRequest.BodyPublishers.ofString(String.valueOf(AMOUNT)))
+                            .timeout(Duration.ofMinutes(1))
+                            .build();
+                    if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        charged.add(userId);
+                    }
+                }
+                return null;
+            });
+        }
+
+        long start = System.nanoTime();
+        TimeUnit.MILLISECONDS.sleep(DURATION_MILLIS);
+        running.set(false);
+        executorService.shutdown();
+        assertThat(executorService.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        for (long userId : charged) {
+            int owner = cluster.nodes().indexOf(cluster.ownerOf(userId));
+            assertThat(cluster.bean(owner, PointService.class).getUserPoint(userId).point()).isEqualTo(AMOUNT);
+        }
+        return charged.size() / seconds;
+    }
+}
@@ -0,0 +1,160 @@
+package io.hhplus.tdd.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.exception.ErrorCode;
+import io.hhplus.tdd.point.BulkChargeResult;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.PointTransfer;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * localhost 에 노드 3개를 띄워, 유저를 맡지 않은 노드로 보낸 요청이 주인 노드에서 처리되는지 확인합니다.
+ */
+@DisplayName("Point 클러스터 통합 테스트")
+class PointClusterIntegrationTest {
+
+    private static final HttpClient httpClient = HttpClient.newHttpClient();
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final AtomicLong userIdGenerator = new AtomicLong(1);
+
+    private static LocalCluster cluster;
+
+    @BeforeAll
+    static void startCluster() {
+        cluster = LocalCluster.start(3, "point.rate-limit.enabled=false");
+    }
+
+    @AfterAll
+    static void stopCluster() {
+        cluster.close();
+    }
+
+    @Test
+    @DisplayName("주인이 아닌 노드로 보낸 충전/조회는 주인 노드가 처리하고, 잔액은 주인 노드에만 저장된다")
+    void charge_ForwardedToOwner() throws Exception {
+        // given
+        long userId = cluster.userOwnedBy(1, userIdGenerator.getAndAdd(1_000));
+
+        // when
+        HttpResponse<String> charged = send(0, "PATCH", "/point/" + userId + "/charge", "1000");
+        HttpResponse<String> read = send(2, "GET", "/point/" + userId, null);
+
+        // then
+        assertThat(charged.statusCode()).isEqualTo(200);
+        assertThat(objectMapper.readValue(charged.body(), UserPoint.class).point()).isEqualTo(1000L);
+        assertThat(objectMapper.readValue(read.body(), UserPoint.class).point()).isEqualTo(1000L);
+        assertThat(read.headers().firstValue("Point-Version")).isPresent();
+        assertThat(cluster.bean(1, PointService.class).getUserPoint(userId).point()).isEqualTo(1000L);
+        assertThat(cluster.bean(0, UserPointTable.class).selectById(userId).point()).isZero();
+    }
+
+    @Test
+    @DisplayName("노드가 다른 유저 간 이체는 보내는 유저의 노드에서 차감하고 받는 유저의 노드에 충전한다")
+    void transfer_AcrossNodes() throws Exception {
+        // given
+        long from = cluster.userOwnedBy(0, userIdGenerator.getAndAdd(1_000));
+        long to = cluster.userOwnedBy(1, userIdGenerator.getAndAdd(1_000));
+        send(2, "PATCH", "/point/" + from + "/charge", "5000");
+
+        // when - 두 유저 모두 맡지 않은 노드로 요청
+        HttpResponse<String> response = send(2, "POST", "/point/transfer", "{\"from\":" + from + ",\"to\":" + to + ",\"amount\":3000}");
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(200);
+        PointTransfer transfer = objectMapper.readValue(response.body(), PointTransfer.class);
+        assertThat(transfer.from().point()).isEqualTo(2000L);
+        assertThat(transfer.to().point()).isEqualTo(3000L);
+        assertThat(cluster.bean(0, PointService.class).getUserPoint(from).point()).isEqualTo(2000L);
+        assertThat(cluster.bean(1, PointService.class).getUserPoint(to).point()).isEqualTo(3000L);
+    }
+
+    @Test
+    @DisplayName("잔액이 부족한 노드 간 이체는 받는 유저의 노드에 충전하지 않는다")
+    void transfer_AcrossNodes_InsufficientPoint() throws Exception {
+        // given
+        long from = cluster.userOwnedBy(0, userIdGenerator.getAndAdd(1_000));
+        long to = cluster.userOwnedBy(1, userIdGenerator.getAndAdd(1_000));
+        send(0, "PATCH", "/point/" + from + "/charge", "1000");
+
+        // when
+        HttpResponse<String> response = send(1, "POST", "/point/transfer", "{\"from\":" + from + ",\"to\":" + to + ",\"amount\":3000}");
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(400);
+        assertThat(objectMapper.readValue(response.body(), ErrorResponse.class).code()).isEqualTo(ErrorCode.INSUFFICIENT_POINT.getCode());
+        assertThat(cluster.bean(0, PointService.class).getUserPoint(from).point()).isEqualTo(1000L);
+        assertThat(cluster.bean(1, PointService.class).getUserPoint(to).point()).isZero();
+    }
+
+    @Test
+    @DisplayName("일괄 충전 항목은 유저마다 주인 노드에서 충전된다")
+    void chargeBulk_RoutesEachItem() throws Exception {
+        // given
+        List<Long> userIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            userIds.add(cluster.userOwnedBy(i, userIdGenerator.getAndAdd(1_000)));
+        }
+        StringBuilder body = new StringBuilder();
+        for (long userId : userIds) {
+            body.append("{\"userId\":").append(userId).append(",\"amount\":700}\n");
+        }
+
+        // when
+        HttpResponse<String> response = send(0, "POST", "/point/charge/bulk", body.toString(), "application/x-ndjson");
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(200);
+        for (String line : response.body().split("\n")) {
+            assertThat(objectMapper.readValue(line, BulkChargeResult.class).success()).isTrue();
+        }
+        for (int i = 0; i < 3; i++) {
+            assertThat(cluster.bean(i, PointService.class).getUserPoint(userIds.get(i)).point()).isEqualTo(700L);
+        }
+    }
+
+    @Test
+    @DisplayName("다른 노드가 넘긴 요청인데 이 노드의 몫이 아니면 다시 넘기지 않고 409 로 거절한다")
+    void forwarded_ToWrongNode_Rejected() throws Exception {
+        // given
+        long userId = cluster.userOwnedBy(1, userIdGenerator.getAndAdd(1_000));
+        HttpRequest request = HttpRequest.newBuilder(cluster.node(0).resolve("/point/" + userId))
+                .header(PointCluster.FORWARDED_HEADER, cluster.node(2).id())
+                .GET()
+                .build();
+
+        // when
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(409);
+        assertThat(objectMapper.readValue(response.body(), ErrorResponse.class).code()).isEqualTo(ErrorCode.CLUSTER_MISROUTED.getCode());
+    }
+
+    private static HttpResponse<String> send(int node, String method, String path, String body) throws Exception {
+        return send(node, method, path, body, "application/json");
+    }
+
+    private static HttpResponse<String> send(int node, String method, String path, String body, String contentType) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(cluster.node(node).resolve(path))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        if (body != null) {
+            builder.header("Content-Type", contentType);
+        }
+        return httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,65 @@
+package io.hhplus.tdd.concurrent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CountMinSketch 단위 테스트")
+class CountMinSketchUnitTest {
+
+    @Test
+    @DisplayName("추정 횟수는 실제 횟수보다 작지 않고, 자주 나온 키는 거의 정확하게 추정된다")
+    void estimate_NeverUnderCounts() {
+        // given
+        CountMinSketch sketch = new CountMinSketch(4, 1024, 60_000);
+        Map<Long, Long> counts = new HashMap<>();
+        Random random = new Random(42);
+
+        // when - 키 0 은 1만 번, 나머지 1만 개 키는 한두 번씩
+        for (int i = 0; i < 10_000; i++) {
+            sketch.add(0L);
+            long key = 1 + random.nextInt(10_000);
+            sketch.add(key);
+            counts.merge(key, 1L, Long::sum);
+        }
+
+        // then
+        counts.forEach((key, count) -> assertThat(sketch.estimate(key)).isGreaterThanOrEqualTo(count));
+        assertThat(sketch.estimate(0L)).isBetween(10_000L, 10_000L + 100L);
+    }
+
+    @Test
+    @DisplayName("감쇠 주기가 지나면 모든 카운터가 절반으로 줄어든다")
+    void add_DecaysAfterPeriod() {
+        // given
+        AtomicLong now = new AtomicLong(0);
+        CountMinSketch sketch = new CountMinSketch(4, 64, 1_000, now::get);
+        for (int i = 0; i < 100; i++) {
+            sketch.add(7L);
+        }
+
+        // when - 주기가 지난 뒤 다음 add 에서 감쇠
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_000));
+        long estimate = sketch.add(7L);
+
+        // then
+        assertThat(estimate).isEqualTo(51L);
+        assertThat(sketch.estimate(7L)).isEqualTo(51L);
+    }
+
+    @Test
+    @DisplayName("depth, width, 감쇠 주기가 0 이하이면 생성할 수 없다")
+    void constructor_RejectsNonPositive() {
+        assertThatThrownBy(() -> new CountMinSketch(0, 64, 1_000)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CountMinSketch(4, 0, 1_000)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CountMinSketch(4, 64, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,107 @@
+package io.hhplus.tdd.concurrent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LongBalanceMap 단위 테스트")
+class LongBalanceMapUnitTest {
+
+    @Test
+    @DisplayName("넣은 잔액과 갱신 시각이 키별로 그대로 조회되고, 같은 키는 덮어쓴다")
+    void put_ThenGet() {
+        // given
+        LongBalanceMap map = new LongBalanceMap(Integer.MAX_VALUE);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        // when - 여러 번 늘어나도록 많은 키를 넣고 일부는 덮어씀
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextInt(30_000);
+            map.put(key, i, i * 10L);
+            expected.put(key, (long) i);
+        }
+
+        // then
+        assertThat(map.size()).isEqualTo(expected.size());
+        expected.forEach((key, point) -> {
+            assertThat(map.getPoint(key, -1L)).isEqualTo(point);
+            assertThat(map.get(key, (k, p, updateMillis) -> updateMillis)).isEqualTo(point * 10);
+        });
+        assertThat(map.get(30_001L, (k, p, updateMillis) -> p)).isNull();
+        assertThat(map.getPoint(30_001L, -1L)).isEqualTo(-1L);
+    }
+
+    @Test
+    @DisplayName("최대 크기를 넘으면 최근 읽히지 않은 키부터 제거하고, 남은 키는 그대로 조회된다")
+    void put_EvictsBeyondMaxSize() {
+        // given
+        LongBalanceMap map = new LongBalanceMap(256);
+        long hotKey = 0L;
+        map.put(hotKey, 1L, 1L);
+
+        // when
+        int evictions = 0;
+        for (long key = 1; key <= 10_000; key++) {
+            if (map.put(key, key, key)) {
+                evictions++;
+            }
+            map.getPoint(hotKey, -1L); // 계속 읽히는 키
+        }
+
+        // then
+        assertThat(map.size()).isLessThanOrEqualTo(256);
+        assertThat(evictions).isEqualTo(10_001 - map.size());
+        assertThat(map.getPoint(hotKey, -1L)).isEqualTo(1L);
+        map.forEach((key, point, updateMillis) -> assertThat(point).isEqualTo(key == hotKey ? 1L : key));
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 쓰고 읽어도 잔액과 갱신 시각이 섞여 보이지 않는다")
+    void concurrentPutAndGet() throws InterruptedException {
+        // given
+        LongBalanceMap map = new LongBalanceMap(Integer.MAX_VALUE);
+        int threadCount = 4;
+        Thread[] threads = new Thread[threadCount];
+        boolean[] torn = new boolean[threadCount];
+
+        // when - 스레드마다 자기 키를 쓰고, 다른 스레드의 키를 읽음
+        for (int t = 0; t < threadCount; t++) {
+            int index = t;
+            threads[t] = new Thread(() -> {
+                for (long i = 0; i < 200_000; i++) {
+                    long key = i * threadCount + index;
+                    map.put(key, key, key * 3);
+                    long other = (i / 2) * threadCount + (index + 1) % threadCount;
+                    Boolean consistent = map.get(other, (k, point, updateMillis) -> point == k && updateMillis == k * 3);
+                    if (Boolean.FALSE.equals(consistent)) {
+                        torn[index] = true;
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // then
+        assertThat(torn).containsOnly(false);
+        assertThat(map.size()).isEqualTo(threadCount * 200_000);
+    }
+
+    @Test
+    @DisplayName("음수 키는 넣을 수 없다")
+    void put_RejectsNegativeKey() {
+        LongBalanceMap map = new LongBalanceMap(10);
+
+        assertThatThrownBy(() -> map.put(-1L, 0L, 0L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,93 @@
+package io.hhplus.tdd.concurrent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("MpscInbox 단위 테스트")
+class MpscInboxUnitTest {
+
+    @Test
+    @DisplayName("넣은 순서대로 꺼내고, 비어 있으면 null 을 반환한다")
+    void poll_InOfferOrder() {
+        // given
+        MpscInbox<Integer> inbox = new MpscInbox<>();
+
+        // when
+        inbox.offer(1);
+        inbox.offer(2);
+
+        // then
+        assertThat(inbox.poll()).isEqualTo(1);
+        assertThat(inbox.poll()).isEqualTo(2);
+        assertThat(inbox.poll()).isNull();
+        assertThat(inbox.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 넣어도 유실 없이 꺼내지고, 스레드별로는 넣은 순서가 유지된다")
+    void offer_FromManyProducers() throws Exception {
+        // given
+        int producerCount = 8;
+        int perProducer = 100_000;
+        MpscInbox<long[]> inbox = new MpscInbox<>();
+        ExecutorService executorService = Executors.newFixedThreadPool(producerCount);
+
+        // when
+        for (int p = 0; p < producerCount; p++) {
+            int producer = p;
+            executorService.submit(() -> {
+                for (long i = 0; i < perProducer; i++) {
+                    inbox.offer(new long[]{producer, i});
+                }
+            });
+        }
+        long[] lastSeen = new long[producerCount];
+        Arrays.fill(lastSeen, -1);
+        int received = 0;
+        boolean ordered = true;
+        while (received < producerCount * perProducer) {
+            long[] value = inbox.poll();
+            if (value == null) {
+                inbox.await(TimeUnit.MILLISECONDS.toNanos(10));
+                continue;
+            }
+            ordered &= value[1] == lastSeen[(int) value[0]] + 1;
+            lastSeen[(int) value[0]] = value[1];
+            received++;
+        }
+        executorService.shutdown();
+
+        // then
+        assertThat(ordered).isTrue();
+        assertThat(inbox.poll()).isNull();
+    }
+
+    @Test
+    @DisplayName("잠든 소비 스레드는 값이 들어오면 바로 깨어난다")
+    void await_WakesUpOnOffer() throws Exception {
+        // given
+        MpscInbox<String> inbox = new MpscInbox<>();
+        CompletableFuture<String> consumed = CompletableFuture.supplyAsync(() -> {
+            String value;
+            while ((value = inbox.poll()) == null) {
+                inbox.await(TimeUnit.SECONDS.toNanos(30));
+            }
+            return value;
+        });
+        Thread.sleep(50);
+
+        // when
+        inbox.offer("charge");
+
+        // then - 30초 대기 시간보다 훨씬 먼저 깨어남
+        assertThat(consumed.get(1, TimeUnit.SECONDS)).isEqualTo("charge");
+    }
+}
@@ -0,0 +1,118 @@
+package io.hhplus.tdd.concurrent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ShardedExecutor 단위 테스트")
+class ShardedExecutorUnitTest {
+
+    @Test
+    @DisplayName("같은 키의 작업은 항상 같은 스레드에서 넣은 순서대로 실행된다")
+    void execute_SameKeyOnSameThreadInOrder() throws Exception {
+        // given
+        ShardedExecutor executor = new ShardedExecutor(4);
+        List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+        Set<String> threadNames = Collections.synchronizedSet(new HashSet<>());
+
+        // when
+        for (int i = 0; i < 1000; i++) {
+            int order = i;
+            executor.execute(7L, () -> {
+                executed.add(order);
+                threadNames.add(Thread.currentThread().getName());
+            });
+        }
+        executor.submit(7L, () -> null).get(1, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // then
+        assertThat(executed).hasSize(1000).isSorted();
+        assertThat(threadNames).containsExactly("point-shard-" + executor.shardOf(7L));
+    }
+
+    @Test
+    @DisplayName("연속된 키도 여러 shard 에 나뉘고, 작업의 결과와 예외는 future 로 전달된다")
+    void submit_SpreadsKeysAndCompletesFuture() {
+        // given
+        ShardedExecutor executor = new ShardedExecutor(8);
+
+        // when
+        Set<Integer> usedShards = new HashSet<>();
+        for (long key = 1; key <= 64; key++) {
+            usedShards.add(executor.shardOf(key));
+        }
+        CompletableFuture<Long> result = executor.submit(1L, () -> 1000L);
+        CompletableFuture<Long> failed = executor.submit(2L, () -> {
+            throw new IllegalStateException("shard 작업 실패");
+        });
+
+        // then
+        assertThat(usedShards).hasSize(8);
+        assertThat(result.join()).isEqualTo(1000L);
+        assertThatThrownBy(failed::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("종료하면 이미 받은 작업은 마저 실행하고, 새 작업은 거절한다")
+    void shutdown_DrainsAndRejects() throws Exception {
+        // given
+        ShardedExecutor executor = new ShardedExecutor(2);
+        CompletableFuture<String> accepted = executor.submit(1L, () -> "done");
+
+        // when
+        executor.shutdown();
+
+        // then
+        assertThat(accepted.get(1, TimeUnit.SECONDS)).isEqualTo("done");
+        assertThatThrownBy(() -> executor.execute(1L, () -> {
+        })).isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    @DisplayName("종료와 겹쳐 넣은 작업은 실행되거나 거절되며, 결과를 받지 못하고 남는 future 가 없다")
+    void shutdown_RacingSubmitsNeverHang() throws Exception {
+        for (int round = 0; round < 200; round++) {
+            // given
+            ShardedExecutor executor = new ShardedExecutor(2);
+            executor.submit(1L, () -> null).get(1, TimeUnit.SECONDS); // shard 스레드 시작
+            List<CompletableFuture<CompletableFuture<Long>>> submitters = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                submitters.add(CompletableFuture.supplyAsync(() -> {
+                    CompletableFuture<Long> last = CompletableFuture.completedFuture(0L);
+                    try {
+                        for (long n = 1; ; n++) {
+                            long value = n;
+                            last = executor.submit(1L, () -> value);
+                        }
+                    } catch (RejectedExecutionException e) {
+                        return last; // 거절되기 전 마지막으로 받아들여진 작업
+                    }
+                }));
+            }
+
+            // when
+            executor.shutdown();
+
+            // then - 받아들여진 작업은 모두 실행됨
+            for (CompletableFuture<CompletableFuture<Long>> submitter : submitters) {
+                assertThat(submitter.get(1, TimeUnit.SECONDS).get(1, TimeUnit.SECONDS)).isNotNegative();
+            }
+        }
+    }
+}
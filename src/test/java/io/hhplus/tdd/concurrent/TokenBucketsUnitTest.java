@@ -0,0 +1,114 @@
+package io.hhplus.tdd.concurrent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TokenBuckets 단위 테스트")
+class TokenBucketsUnitTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    @DisplayName("버킷 크기만큼은 한 번에 허용하고, 이후에는 채워지는 속도만큼만 허용한다")
+    void tryAcquire_BurstThenRate() {
+        // given - 초당 10개, 버킷 크기 5
+        TokenBuckets buckets = new TokenBuckets(16, 10, 5, clock::get);
+
+        // when & then
+        for (int i = 0; i < 5; i++) {
+            assertThat(buckets.tryAcquire(1L)).isTrue();
+        }
+        assertThat(buckets.tryAcquire(1L)).isFalse();
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100)); // 토큰 1개 충전
+        assertThat(buckets.tryAcquire(1L)).isTrue();
+        assertThat(buckets.tryAcquire(1L)).isFalse();
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10)); // 오래 쉬어도 버킷 크기 이상 쌓이지 않음
+        int acquired = 0;
+        while (buckets.tryAcquire(1L)) {
+            acquired++;
+        }
+        assertThat(acquired).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("되돌린 토큰은 다시 꺼낼 수 있고, 가득 찬 버킷에는 더 채우지 않는다")
+    void release_RestoresToken() {
+        // given - 초당 10개, 버킷 크기 2
+        TokenBuckets buckets = new TokenBuckets(16, 10, 2, clock::get);
+        assertThat(buckets.tryAcquire(1L)).isTrue();
+        assertThat(buckets.tryAcquire(1L)).isTrue();
+        assertThat(buckets.tryAcquire(1L)).isFalse();
+
+        // when
+        buckets.release(1L);
+
+        // then
+        assertThat(buckets.tryAcquire(1L)).isTrue();
+        assertThat(buckets.tryAcquire(1L)).isFalse();
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1)); // 가득 참
+        buckets.release(1L);
+        int acquired = 0;
+        while (buckets.tryAcquire(1L)) {
+            acquired++;
+        }
+        assertThat(acquired).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("다른 슬롯의 키는 서로의 한도에 영향을 주지 않는다")
+    void tryAcquire_IndependentKeys() {
+        // given
+        TokenBuckets buckets = new TokenBuckets(1 << 16, 1, 1, clock::get);
+
+        // when
+        assertThat(buckets.tryAcquire(1L)).isTrue();
+        assertThat(buckets.tryAcquire(1L)).isFalse();
+
+        // then
+        assertThat(buckets.tryAcquire(2L)).isTrue();
+        assertThat(buckets.slotCount()).isEqualTo(1 << 16);
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 꺼내도 버킷 크기보다 많이 허용하지 않는다")
+    void tryAcquire_Concurrently() throws Exception {
+        // given - 시계를 멈춰 충전 없이 버킷 크기만큼만 허용되게 함
+        TokenBuckets buckets = new TokenBuckets(1, 1, 1_000, clock::get);
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+        // when
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executorService.submit(() -> {
+                int acquired = 0;
+                for (int i = 0; i < 1_000; i++) {
+                    if (buckets.tryAcquire(0L)) {
+                        acquired++;
+                    }
+                }
+                return acquired;
+            }));
+        }
+        int total = 0;
+        for (Future<Integer> future : futures) {
+            total += future.get();
+        }
+        executorService.shutdown();
+
+        // then
+        assertThat(total).isEqualTo(1_000);
+    }
+}
@@ -0,0 +1,188 @@
+package io.hhplus.tdd.journal;
+
+import io.hhplus.tdd.concurrent.AsyncThreadFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("MappedPointJournal 단위 테스트")
+class MappedPointJournalUnitTest {
+
+    private static final long SEGMENT_SIZE = JournalSegment.RECORD_SIZE * 4L; // 4건마다 세그먼트 교체
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("기록한 잔액과 내역은 재시작 후 스냅샷과 이후 기록으로 복구된다")
+    void recover_FromSnapshotAndTail() throws IOException {
+        // given - 5건 기록 후 스냅샷, 이후 3건 더 기록하고 종료 없이 중단
+        MappedPointJournal journal = open();
+        for (long i = 1; i <= 5; i++) {
+            journal.awaitDurable(journal.append(record(i, 1L, i * 100)));
+        }
+        journal.snapshot();
+        for (long i = 6; i <= 8; i++) {
+            journal.awaitDurable(journal.append(record(i, i % 2, i * 100)));
+        }
+
+        // when
+        MappedPointJournal recovered = open();
+
+        // then
+        assertThat(recovered.balanceOf(1L).point()).isEqualTo(700L);
+        assertThat(recovered.balanceOf(0L).point()).isEqualTo(800L);
+        assertThat(recovered.maxHistoryId()).isEqualTo(8L);
+        assertThat(replay(recovered)).extracting(JournalRecord::historyId).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L);
+        recovered.shutdown();
+    }
+
+    @Test
+    @DisplayName("재시작 후의 기록은 이전 기록 뒤에 이어서 쌓인다")
+    void append_ContinuesAfterRecovery() throws IOException {
+        // given
+        MappedPointJournal journal = open();
+        journal.awaitDurable(journal.append(record(1L, 1L, 100L)));
+        journal.shutdown();
+
+        // when
+        MappedPointJournal reopened = open();
+        reopened.awaitDurable(reopened.append(record(2L, 1L, 300L)));
+        reopened.shutdown();
+
+        // then
+        MappedPointJournal recovered = open();
+        assertThat(recovered.balanceOf(1L).point()).isEqualTo(300L);
+        assertThat(replay(recovered)).extracting(JournalRecord::historyId).containsExactly(1L, 2L);
+        recovered.shutdown();
+    }
+
+    @Test
+    @DisplayName("쓰다 만 마지막 기록은 복구 시 무시된다")
+    void recover_IgnoresTornRecord() throws IOException {
+        // given - 3건 기록 후 마지막 기록의 일부를 손상시키고, 스냅샷 없이 재시작
+        MappedPointJournal journal = open();
+        for (long i = 1; i <= 3; i++) {
+            journal.awaitDurable(journal.append(record(i, 1L, i * 100)));
+        }
+        Path segment = JournalSegment.list(directory).get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3}), JournalSegment.RECORD_SIZE * 2L + 20);
+        }
+
+        // when
+        MappedPointJournal recovered = open();
+
+        // then
+        assertThat(recovered.balanceOf(1L).point()).isEqualTo(200L);
+        assertThat(recovered.maxHistoryId()).isEqualTo(2L);
+        recovered.shutdown();
+    }
+
+    @Test
+    @DisplayName("손상된 스냅샷은 버리고 저널 전체를 재생한다")
+    void recover_IgnoresCorruptedSnapshot() throws IOException {
+        // given
+        MappedPointJournal journal = open();
+        journal.awaitDurable(journal.append(record(1L, 1L, 100L)));
+        journal.awaitDurable(journal.append(record(2L, 2L, 200L)));
+        journal.snapshot();
+        Path snapshot = directory.resolve(BalanceSnapshot.FILE_NAME);
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[30] ^= 0x7F;
+        Files.write(snapshot, bytes);
+
+        // when
+        MappedPointJournal recovered = open();
+
+        // then
+        assertThat(recovered.balanceOf(1L).point()).isEqualTo(100L);
+        assertThat(recovered.balanceOf(2L).point()).isEqualTo(200L);
+        recovered.shutdown();
+    }
+
+    @Test
+    @DisplayName("스냅샷 뒤에는 스냅샷에 반영되고 놓아도 되는 세그먼트를 지우고, 재시작 시 남은 기록만 재생한다")
+    void snapshot_CompactsReleasedSegments() throws IOException {
+        // given - 9건 기록 (세그먼트 1~4 / 5~8 / 9)
+        MappedPointJournal journal = open();
+        journal.releaseWhen(record -> true);
+        for (long i = 1; i <= 9; i++) {
+            journal.awaitDurable(journal.append(record(i, i % 2, i * 100)));
+        }
+
+        // when
+        journal.snapshot();
+
+        // then - 기록 중인 마지막 세그먼트만 남음
+        assertThat(JournalSegment.list(directory)).hasSize(1);
+        MappedPointJournal recovered = open();
+        assertThat(recovered.balanceOf(1L).point()).isEqualTo(900L);
+        assertThat(recovered.balanceOf(0L).point()).isEqualTo(800L);
+        assertThat(recovered.maxHistoryId()).isEqualTo(9L);
+        assertThat(replay(recovered)).extracting(JournalRecord::historyId).containsExactly(9L);
+        recovered.shutdown();
+    }
+
+    @Test
+    @DisplayName("놓을 수 없는 기록이 있는 세그먼트부터는 스냅샷 뒤에도 지우지 않는다")
+    void snapshot_KeepsUnreleasedSegments() throws IOException {
+        // given - 내역 id 2 까지만 놓아도 됨
+        MappedPointJournal journal = open();
+        journal.releaseWhen(record -> record.historyId() <= 2);
+        for (long i = 1; i <= 9; i++) {
+            journal.awaitDurable(journal.append(record(i, 1L, i * 100)));
+        }
+
+        // when
+        journal.snapshot();
+
+        // then
+        assertThat(JournalSegment.list(directory)).hasSize(3);
+        assertThat(replay(journal)).hasSize(9);
+        journal.shutdown();
+    }
+
+    @Test
+    @DisplayName("세그먼트를 지운 뒤 스냅샷이 없으면 잔액을 맞출 수 없으므로 시작에 실패한다")
+    void recover_FailsWithoutSnapshotAfterCompaction() throws IOException {
+        // given
+        MappedPointJournal journal = open();
+        journal.releaseWhen(record -> true);
+        for (long i = 1; i <= 5; i++) {
+            journal.awaitDurable(journal.append(record(i, 1L, i * 100)));
+        }
+        journal.snapshot();
+        journal.shutdown();
+        Files.delete(directory.resolve(BalanceSnapshot.FILE_NAME));
+
+        // when & then
+        assertThatThrownBy(this::open).isInstanceOf(IllegalStateException.class);
+    }
+
+    private MappedPointJournal open() throws IOException {
+        return new MappedPointJournal(new AsyncThreadFactory(false), directory.toString(), SEGMENT_SIZE, true, 0);
+    }
+
+    private static JournalRecord record(long historyId, long userId, long balance) {
+        return new JournalRecord(historyId, userId, (byte) 1, 100L, balance, System.currentTimeMillis());
+    }
+
+    private static List<JournalRecord> replay(PointJournal journal) {
+        List<JournalRecord> records = new ArrayList<>();
+        journal.replay(records::add);
+        return records;
+    }
+}
@@ -0,0 +1,88 @@
+package io.hhplus.tdd.journal;
+
+import io.hhplus.tdd.concurrent.AsyncThreadFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 저널 처리량 / 복구 시간 벤치마크
+ * - 실행 : ./gradlew benchmark --tests "*PointJournalBenchmark"
+ * - 목표 : 로컬 SSD 에서 fsync 포함 초당 100,000건 이상, 1,000만 유저 잔액 복구 10초 이내
+ */
+@Tag("benchmark")
+@DisplayName("PointJournal 벤치마크")
+class PointJournalBenchmark {
+
+    private static final long SEGMENT_SIZE = 64L << 20;
+    private static final int THREAD_COUNT = 256;
+    private static final int OPS_PER_THREAD = 4_000;
+    private static final int RECOVERY_USERS = 10_000_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("요청마다 디스크 기록을 기다려도 group commit 으로 초당 100,000건 이상 처리한다")
+    void durableThroughput() throws Exception {
+        MappedPointJournal journal = new MappedPointJournal(new AsyncThreadFactory(false), directory.toString(), SEGMENT_SIZE, true, 0);
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREAD_COUNT; t++) {
+            long userId = t;
+            futures.add(executorService.submit(() -> {
+                for (int i = 1; i <= OPS_PER_THREAD; i++) {
+                    long sequence = journal.append(new JournalRecord(userId * OPS_PER_THREAD + i, userId, (byte) 1, 100L, i * 100L, i));
+                    journal.awaitDurable(sequence);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        double opsPerSecond = (double) THREAD_COUNT * OPS_PER_THREAD / ((System.nanoTime() - start) / 1e9);
+        executorService.shutdown();
+        journal.shutdown();
+
+        System.out.printf("durable ops/s : %.0f (threads: %d)%n", opsPerSecond, THREAD_COUNT);
+        assertThat(opsPerSecond).isGreaterThanOrEqualTo(100_000);
+    }
+
+    @Test
+    @DisplayName("1,000만 유저의 잔액이 스냅샷에서 10초 이내에 복구된다")
+    void recoveryOfTenMillionUsers() throws IOException {
+        // given - 유저별 1건씩 기록 후 종료 (종료 시 스냅샷)
+        MappedPointJournal journal = new MappedPointJournal(new AsyncThreadFactory(false), directory.toString(), SEGMENT_SIZE, false, 0);
+        for (long userId = 1; userId <= RECOVERY_USERS; userId++) {
+            journal.append(new JournalRecord(userId, userId, (byte) 1, 100L, 100L, userId));
+        }
+        journal.shutdown();
+        journal = null;
+        System.gc();
+
+        // when
+        long start = System.nanoTime();
+        MappedPointJournal recovered = new MappedPointJournal(new AsyncThreadFactory(false), directory.toString(), SEGMENT_SIZE, false, 0);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // then
+        System.out.printf("recovery of %,d users : %d ms%n", RECOVERY_USERS, elapsedMillis);
+        assertThat(recovered.balanceOf(RECOVERY_USERS).point()).isEqualTo(100L);
+        assertThat(recovered.maxHistoryId()).isEqualTo(RECOVERY_USERS);
+        assertThat(elapsedMillis).isLessThan(10_000);
+        recovered.shutdown();
+    }
+}
@@ -0,0 +1,198 @@
+package io.hhplus.tdd.lock;
+
+import io.hhplus.tdd.exception.ErrorCode;
+import io.hhplus.tdd.exception.HanghaeException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("UserLockProvider 단위 테스트")
+class UserLockProviderUnitTest {
+
+    @Test
+    @DisplayName("참조 카운트 락은 보유/대기 스레드가 없으면 제거된다")
+    void refCounted_EvictsUnusedLock() {
+        // given
+        RefCountedUserLockProvider provider = new RefCountedUserLockProvider();
+
+        // when
+        try (UserLock ignored = provider.lock(1L)) {
+            assertThat(provider.stats().liveLocks()).isEqualTo(1);
+        }
+
+        // then
+        assertThat(provider.stats().liveLocks()).isZero();
+        assertThat(provider.stats().acquisitions()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("참조 카운트 락은 대기 중인 스레드가 있으면 제거되지 않고, 대기했던 횟수가 집계된다")
+    void refCounted_KeepsLockWhileWaiting() throws InterruptedException {
+        // given
+        RefCountedUserLockProvider provider = new RefCountedUserLockProvider();
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        CountDownLatch acquired = new CountDownLatch(1);
+
+        // when - 락을 잡은 상태에서 다른 스레드가 같은 유저 락을 요청
+        UserLock held = provider.lock(1L);
+        executorService.submit(() -> {
+            try (UserLock ignored = provider.lock(1L)) {
+                acquired.countDown();
+            }
+        });
+        Thread.sleep(100);
+        held.close();
+
+        // then
+        assertThat(acquired.await(1, TimeUnit.SECONDS)).isTrue();
+        executorService.shutdown();
+        assertThat(executorService.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(provider.stats().contendedAcquisitions()).isEqualTo(1);
+        assertThat(provider.stats().liveLocks()).isZero();
+    }
+
+    @Test
+    @DisplayName("stripe 락은 stripe 수를 2의 거듭제곱으로 올리고, 같은 유저는 항상 같은 stripe 를 쓴다")
+    void striped_FixedStripeCount() {
+        // given
+        StripedUserLockProvider provider = new StripedUserLockProvider(1000);
+
+        // when
+        for (long userId = 0; userId < 10_000; userId++) {
+            try (UserLock ignored = provider.lock(userId)) {
+                assertThat(provider.stripeOf(userId)).isBetween(0, provider.stripeCount() - 1);
+            }
+        }
+
+        // then
+        assertThat(provider.stripeCount()).isEqualTo(1024);
+        assertThat(provider.stripeOf(42L)).isEqualTo(provider.stripeOf(42L));
+        assertThat(provider.stats().liveLocks()).isEqualTo(1024);
+        assertThat(provider.stats().acquisitions()).isEqualTo(10_000);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ref-counted", "striped"})
+    @DisplayName("두 유저 락을 서로 반대 방향으로 동시에 요청해도 교착 상태 없이 모두 획득한다")
+    void lockBoth_NoDeadlockInOppositeOrder(String provider) throws InterruptedException {
+        // given - stripe 4개에 유저 8명이라 서로 다른 유저 쌍이 같은 stripe 를 공유함
+        UserLockProvider userLockProvider = "striped".equals(provider) ? new StripedUserLockProvider(4) : new RefCountedUserLockProvider();
+        int threadCount = 8;
+        int pairsPerThread = 2_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch done = new CountDownLatch(threadCount);
+
+        // when - 스레드마다 (i, i+1), (i+1, i) 처럼 순환하는 쌍을 번갈아 잡음
+        for (int t = 0; t < threadCount; t++) {
+            long userId = t;
+            executorService.submit(() -> {
+                for (int i = 0; i < pairsPerThread; i++) {
+                    long other = (userId + 1 + i % 3) % threadCount;
+                    try (UserLock ignored = i % 2 == 0 ? userLockProvider.lockBoth(userId, other) : userLockProvider.lockBoth(other, userId)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        // then
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        executorService.shutdown();
+        assertThat(userLockProvider.stats().waitingThreads()).isZero();
+    }
+
+    @Test
+    @DisplayName("같은 stripe 를 쓰는 두 유저의 락은 한 번만 잡는다")
+    void striped_LockBothOnSameStripe() {
+        // given
+        StripedUserLockProvider provider = new StripedUserLockProvider(1);
+
+        // when
+        try (UserLock ignored = provider.lockBoth(1L, 2L)) {
+            assertThat(provider.stats().acquisitions()).isEqualTo(1);
+        }
+
+        // then - 해제 후 다른 스레드가 바로 잡을 수 있음
+        assertThat(CompletableFuture.supplyAsync(() -> {
+            try (UserLock ignored = provider.lock(3L)) {
+                return true;
+            }
+        }).orTimeout(1, TimeUnit.SECONDS).join()).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ref-counted", "striped"})
+    @DisplayName("락을 기다리는 스레드가 최대 대기 수만큼 있으면 더 기다리지 않고 바로 거절한다")
+    void lock_RejectsWhenTooManyWaiters(String provider) throws InterruptedException {
+        // given - 최대 대기 1
+        UserLockProvider userLockProvider = "striped".equals(provider) ? new StripedUserLockProvider(16, 1) : new RefCountedUserLockProvider(1);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        CountDownLatch acquired = new CountDownLatch(1);
+        UserLock held = userLockProvider.lock(1L);
+        executorService.submit(() -> {
+            try (UserLock ignored = userLockProvider.lock(1L)) {
+                acquired.countDown();
+            }
+        });
+        while (userLockProvider.stats().waitingThreads() == 0) {
+            Thread.onSpinWait();
+        }
+
+        // when & then
+        assertThatThrownBy(() -> userLockProvider.lock(1L))
+                .isInstanceOf(HanghaeException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.USER_LOCK_BUSY);
+        held.close();
+        assertThat(acquired.await(1, TimeUnit.SECONDS)).isTrue();
+        executorService.shutdown();
+        assertThat(userLockProvider.stats().rejectedAcquisitions()).isEqualTo(1);
+
+        try (UserLock ignored = userLockProvider.lock(1L)) { // 대기가 풀리면 다시 받음
+            assertThat(userLockProvider.stats().acquisitions()).isEqualTo(3);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ref-counted", "striped"})
+    @DisplayName("대기 시간 안에 락을 얻지 못하면 LOCK_TIMEOUT 예외가 발생하고, 0 이면 기다리지 않고 바로 실패한다")
+    void lock_ThrowsLockTimeout_WhenWaitExceeded(String provider) {
+        // given
+        UserLockProvider userLockProvider = "striped".equals(provider) ? new StripedUserLockProvider(16) : new RefCountedUserLockProvider();
+        UserLock held = userLockProvider.lock(1L);
+
+        // when
+        Throwable timedOut = CompletableFuture.runAsync(() -> userLockProvider.lock(1L, TimeUnit.MILLISECONDS.toNanos(50)))
+                .handle((ignored, e) -> e.getCause()).join();
+        Throwable failFast = CompletableFuture.runAsync(() -> userLockProvider.lock(1L, 0))
+                .handle((ignored, e) -> e.getCause()).join();
+
+        // then
+        assertThat(timedOut).isInstanceOf(HanghaeException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.LOCK_TIMEOUT);
+        assertThat(failFast).isInstanceOf(HanghaeException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.LOCK_TIMEOUT);
+        assertThat(userLockProvider.stats().timedOutAcquisitions()).isEqualTo(2);
+        assertThat(userLockProvider.stats().waitingThreads()).isZero();
+
+        held.close();
+        assertThat(CompletableFuture.supplyAsync(() -> { // 실패한 요청이 락을 남기지 않음
+            try (UserLock ignored = userLockProvider.lock(1L, 0)) {
+                return true;
+            }
+        }).join()).isTrue();
+        if ("ref-counted".equals(provider)) {
+            assertThat(userLockProvider.stats().liveLocks()).isZero();
+        }
+    }
+}
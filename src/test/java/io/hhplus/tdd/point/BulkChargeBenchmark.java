@@ -0,0 +1,88 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrent.AsyncThreadFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 100만 건 일괄 충전 처리량 벤치마크
+ * - 실행 : ./gradlew benchmark --tests "*BulkChargeBenchmark"
+ * - 테이블 throttle(최대 200~300ms)을 제거한 테이블로 서비스 자체의 처리량을 측정
+ * - 목표 : 코어 수만큼 파티션을 쓸 때 초당 100,000건 이상 (100만 건 10초 이내)
+ *   (실제 테이블에서는 처리량 ≈ 파티션 수 / 테이블 지연 이므로 point.bulk.parallelism 을 늘려 맞춤)
+ */
+@Tag("benchmark")
+@DisplayName("일괄 충전 벤치마크")
+class BulkChargeBenchmark {
+
+    private static final int ENTRY_COUNT = 1_000_000;
+    private static final int USER_COUNT = 100_000;
+    private static final long AMOUNT = 100L;
+    private static final double TARGET_ENTRIES_PER_SECOND = 100_000;
+
+    @Test
+    @DisplayName("100만 건 일괄 충전이 목표 처리량 이상으로 처리되고, 유저별 잔액이 모두 반영된다")
+    void chargeAll_OneMillionEntries() throws InterruptedException {
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("%12s | %12s | %14s%n", "parallelism", "elapsed (ms)", "entries/s");
+        run(1);
+        Result parallel = run(cores);
+
+        assertThat(parallel.summary().succeeded()).isEqualTo(ENTRY_COUNT);
+        assertThat(parallel.emitted()).isEqualTo(ENTRY_COUNT);
+        assertThat(parallel.pointService().getUserPoint(1L).point()).isEqualTo(AMOUNT * (ENTRY_COUNT / USER_COUNT));
+        assertThat(parallel.entriesPerSecond()).isGreaterThanOrEqualTo(TARGET_ENTRIES_PER_SECOND);
+    }
+
+    private static Result run(int parallelism) throws InterruptedException {
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        PointHistoryOutbox outbox = new PointHistoryOutbox(new StubPointHistoryTable(), new AsyncThreadFactory(false), pointMetrics);
+        PointService pointService = PointServiceFixture.builder()
+                .userPointTable(new StubUserPointTable())
+                .userPointCache(new UserPointCache(USER_COUNT))
+                .pointHistoryOutbox(outbox)
+                .pointMetrics(pointMetrics)
+                .build();
+        BulkChargeService bulkChargeService = new BulkChargeService(pointService, new AsyncThreadFactory(false), parallelism, 1024, 1);
+
+        LongAdder emitted = new LongAdder();
+        BulkChargeSummary summary = bulkChargeService.chargeAll(items(), result -> emitted.increment());
+        double entriesPerSecond = ENTRY_COUNT * 1000.0 / Math.max(1, summary.elapsedMillis());
+        System.out.printf("%12d | %12d | %14.0f%n", parallelism, summary.elapsedMillis(), entriesPerSecond);
+
+        outbox.awaitDrained(1, TimeUnit.MINUTES);
+        outbox.shutdown();
+        return new Result(pointService, summary, emitted.sum(), entriesPerSecond);
+    }
+
+    /**
+     * 항목을 미리 만들어 두지 않고 요청 본문처럼 하나씩 생성합니다.
+     */
+    private static Iterator<BulkChargeItem> items() {
+        return new Iterator<>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < ENTRY_COUNT;
+            }
+
+            @Override
+            public BulkChargeItem next() {
+                return new BulkChargeItem(1 + index++ % USER_COUNT, AMOUNT);
+            }
+        };
+    }
+
+    private record Result(PointService pointService, BulkChargeSummary summary, long emitted, double entriesPerSecond) {
+    }
+}
@@ -0,0 +1,60 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrent.AsyncThreadFactory;
+import io.hhplus.tdd.exception.ErrorCode;
+import io.hhplus.tdd.exception.HanghaeException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("BulkChargeService 단위 테스트")
+class BulkChargeServiceUnitTest {
+
+    @Test
+    @DisplayName("동시 실행 수만큼 일괄 충전이 실행 중이면 다음 요청은 기다리지 않고 거절되고, 끝난 뒤에는 다시 실행된다")
+    void chargeAll_RejectsWhenTooManyRuns() throws Exception {
+        // given - 항목을 읽다 멈춰 있는 일괄 충전 하나
+        BulkChargeService bulkChargeService = new BulkChargeService((PointService) null, new AsyncThreadFactory(false), 2, 16, 1);
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Iterator<BulkChargeItem> blocked = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                reading.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return false;
+            }
+
+            @Override
+            public BulkChargeItem next() {
+                throw new IllegalStateException();
+            }
+        };
+        CompletableFuture<BulkChargeSummary> first = CompletableFuture.supplyAsync(() -> bulkChargeService.chargeAll(blocked, result -> {
+        }));
+        assertThat(reading.await(1, TimeUnit.SECONDS)).isTrue();
+
+        // when & then
+        assertThatThrownBy(() -> bulkChargeService.chargeAll(Collections.emptyIterator(), result -> {
+        }))
+                .isInstanceOf(HanghaeException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.BULK_CHARGE_BUSY);
+
+        release.countDown();
+        assertThat(first.get(1, TimeUnit.SECONDS).total()).isZero();
+        assertThat(bulkChargeService.chargeAll(Collections.emptyIterator(), result -> {
+        }).total()).isZero();
+    }
+}
@@ -0,0 +1,70 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrent.CountMinSketch;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DisplayName("HotKeyDetector 단위 테스트")
+class HotKeyDetectorUnitTest {
+
+    @Test
+    @DisplayName("추정 요청 수가 threshold 에 닿은 요청부터 hot 으로 판정한다")
+    void record_HotFromThreshold() {
+        // given
+        HotKeyDetector detector = new HotKeyDetector(true, 5, 4, new CountMinSketch(4, 1024, 60_000));
+
+        // when
+        List<Boolean> results = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            results.add(detector.record(1L));
+        }
+
+        // then
+        assertThat(results).containsExactly(false, false, false, false, true, true);
+        assertThat(detector.coldCount()).isEqualTo(4L);
+        assertThat(detector.hotCount()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("후보가 가득 차면 추정 요청 수가 가장 작은 후보를 더 많은 유저로 바꾸고, 큰 순서로 반환한다")
+    void topK_ReplacesSmallestCandidate() {
+        // given
+        HotKeyDetector detector = new HotKeyDetector(true, 2, 2, new CountMinSketch(4, 1024, 60_000));
+        recordTimes(detector, 1L, 10);
+        recordTimes(detector, 2L, 3);
+
+        // when - 후보 2자리가 찬 뒤 유저 2보다 많은 유저 3
+        recordTimes(detector, 3L, 5);
+
+        // then
+        assertThat(detector.topK())
+                .extracting(HotKeyDetector.Candidate::userId, HotKeyDetector.Candidate::estimatedRequests)
+                .containsExactly(
+                        tuple(1L, 10L),
+                        tuple(3L, 5L));
+    }
+
+    @Test
+    @DisplayName("감지를 끄면 모든 요청을 hot 으로 보고 후보를 남기지 않는다")
+    void disabled_AlwaysHot() {
+        // given
+        HotKeyDetector detector = HotKeyDetector.disabled();
+
+        // when & then
+        assertThat(detector.record(1L)).isTrue();
+        assertThat(detector.record(2L)).isTrue();
+        assertThat(detector.isEnabled()).isFalse();
+    }
+
+    private static void recordTimes(HotKeyDetector detector, long userId, int times) {
+        for (int i = 0; i < times; i++) {
+            detector.record(userId);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.exception.ErrorCode;
+import io.hhplus.tdd.exception.HanghaeException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("IdempotencyCache 단위 테스트")
+class IdempotencyCacheUnitTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    @DisplayName("같은 키로 다시 요청하면 다시 실행하지 않고 처음 결과를 반환한다")
+    void execute_ReplaysFirstResult() {
+        // given
+        IdempotencyCache cache = new IdempotencyCache(100, 60, clock::get);
+        AtomicInteger executions = new AtomicInteger();
+        UserPoint first = cache.execute("key-1", 1L, TransactionType.CHARGE, 1000L, () -> charged(executions, 1000L));
+
+        // when
+        UserPoint replayed = cache.execute("key-1", 1L, TransactionType.CHARGE, 1000L, () -> charged(executions, 2000L));
+
+        // then
+        assertThat(replayed).isSameAs(first);
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(cache.stats().replayCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("처음 요청이 처리 중일 때 들어온 재요청은 다시 실행하지 않고 그 결과를 기다린다")
+    void execute_WaitsForInFlightRequest() throws Exception {
+        // given
+        IdempotencyCache cache = new IdempotencyCache(100, 60, clock::get);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+        Future<UserPoint> first = executorService.submit(() -> cache.execute("key-1", 1L, TransactionType.CHARGE, 1000L, () -> {
+            started.countDown();
+            await(release);
+            return charged(executions, 1000L);
+        }));
+        started.await();
+
+        // when
+        Future<UserPoint> retry = executorService.submit(() -> cache.execute("key-1", 1L, TransactionType.CHARGE, 1000L, () -> charged(executions, 2000L)));
+        Thread.sleep(50);
+        release.countDown();
+
+        // then
+        assertThat(retry.get(1, TimeUnit.SECONDS)).isSameAs(first.get());
+        assertThat(executions.get()).isEqualTo(1);
+        executorService.shutdown();
+    }
+
+    @Test
+    @DisplayName("같은 키로 다른 요청을 보내면 실패한다")
+    void execute_ThrowsException_WhenKeyIsReused() {
+        // given
+        IdempotencyCache cache = new IdempotencyCache(100, 60, clock::get);
+        cache.execute("key-1", 1L, TransactionType.CHARGE, 1000L, () -> new UserPoint(1L, 1000L, 0L));
+
+        // when & then
+        assertThatThrownBy(() -> cache.execute("key-1", 1L, TransactionType.USE, 1000L, () -> new UserPoint(1L, 0L, 0L)))
+                .isInstanceOf(HanghaeException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+        assertThatThrownBy(() -> cache.execute("key-1", 2L, TransactionType.CHARGE, 1000L, () -> new UserPoint(2L, 1000L, 0L)))
+                .isInstanceOf(HanghaeException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+    }
+
+    @Test
+    @DisplayName("실패한 요청은 남기지 않아 같은 키로 다시 실행할 수 있다")
+    void execute_DoesNotKeepFailure() {
+        // given
+        IdempotencyCache cache = new IdempotencyCache(100, 60, clock::get);
+        assertThatThrownBy(() -> cache.execute("key-1", 1L, TransactionType.USE, 1000L, () -> {
+            throw new HanghaeException(ErrorCode.INSUFFICIENT_POINT);
+        })).isInstanceOf(HanghaeException.class);
+
+        // when
+        UserPoint result = cache.execute("key-1", 1L, TransactionType.USE, 1000L, () -> new UserPoint(1L, 0L, 0L));
+
+        // then
+        assertThat(result.point()).isZero();
+        assertThat(cache.stats().replayCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("반영되었지만 저장을 확인하지 못한 요청은 남겨 두어 같은 키로 다시 실행하지 않는다")
+    void execute_KeepsJournalFailure() {
+        // given
+        IdempotencyCache cache = new IdempotencyCache(100, 60, clock::get);
+        AtomicInteger executions = new AtomicInteger();
+        assertThatThrownBy(() -> cache.execute("key-1", 1L, TransactionType.CHARGE, 1000L, () -> {
+            executions.incrementAndGet();
+            throw new HanghaeException(ErrorCode.JOURNAL_UNAVAILABLE);
+        })).isInstanceOf(HanghaeException.class);
+
+        // when & then
+        assertThatThrownBy(() -> cache.execute("key-1", 1L, TransactionType.CHARGE, 1000L, () -> {
+            executions.incrementAndGet();
+            return new UserPoint(1L, 1000L, 0L);
+        })).isInstanceOf(HanghaeException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.JOURNAL_UNAVAILABLE);
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(cache.stats().replayCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("만료 시간이 지난 키와 최대 크기를 넘는 오래된 키는 제거된다")
+    void execute_ExpiresAndEvicts() {
+        // given
+        IdempotencyCache cache = new IdempotencyCache(16, 60, clock::get);
+        AtomicInteger executions = new AtomicInteger();
+        cache.execute("key-1", 1L, TransactionType.CHARGE, 1000L, () -> charged(executions, 1000L));
+
+        // when - 만료 후 같은 키 → 다시 실행
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        cache.execute("key-1", 1L, TransactionType.CHARGE, 1000L, () -> charged(executions, 1000L));
+        for (int i = 0; i < 1_000; i++) {
+            cache.execute("bulk-" + i, 1L, TransactionType.CHARGE, 100L, () -> new UserPoint(1L, 100L, 0L));
+        }
+
+        // then
+        assertThat(executions.get()).isEqualTo(2);
+        assertThat(cache.stats().size()).isLessThanOrEqualTo(16);
+        assertThat(cache.stats().evictionCount()).isGreaterThan(0);
+    }
+
+    @Test
+    @DisplayName("비어 있거나 255자를 넘는 키는 사용할 수 없다")
+    void execute_ThrowsException_WhenKeyIsInvalid() {
+        IdempotencyCache cache = new IdempotencyCache(100, 60, clock::get);
+
+        assertThatThrownBy(() -> cache.execute(" ", 1L, TransactionType.CHARGE, 1000L, () -> new UserPoint(1L, 1000L, 0L)))
+                .isInstanceOf(HanghaeException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.INVALID_IDEMPOTENCY_KEY);
+        assertThatThrownBy(() -> cache.execute("k".repeat(256), 1L, TransactionType.CHARGE, 1000L, () -> new UserPoint(1L, 1000L, 0L)))
+                .isInstanceOf(HanghaeException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.INVALID_IDEMPOTENCY_KEY);
+    }
+
+    private static UserPoint charged(AtomicInteger executions, long point) {
+        executions.incrementAndGet();
+        return new UserPoint(1L, point, System.currentTimeMillis());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"server.tomcat.max-connections=20000", "server.tomcat.accept-count=10000"}
+)
+@DisplayName("플랫폼 스레드 부하 테스트")
+class PlatformThreadLoadBenchmark extends PointApiLoadBenchmark {
+
+    @Override
+    protected String mode() {
+        return "platform threads";
+    }
+}
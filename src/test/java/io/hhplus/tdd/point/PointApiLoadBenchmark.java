@@ -0,0 +1,87 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 동시 클라이언트 10,000개가 각자 다른 유저의 포인트를 충전하는 부하 테스트
+ * - 테이블 throttle(sleep) 동안 요청 스레드가 묶이므로, 플랫폼 스레드에서는 Tomcat 스레드 풀 크기가 동시 처리량의 상한
+ * - 실행 : ./gradlew benchmark -Pjava21 --tests "*LoadBenchmark"
+ */
+@Tag("benchmark")
+abstract class PointApiLoadBenchmark {
+
+    private static final int CLIENT_COUNT = 10_000;
+
+    @LocalServerPort
+    private int port;
+
+    protected abstract String mode();
+
+    protected String pathPrefix() {
+        return "/point";
+    }
+
+    @Test
+    @DisplayName("동시 클라이언트 10,000개의 충전 요청 처리 시간")
+    void concurrentClients_Charge() {
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        long[] latencies = new long[CLIENT_COUNT];
+        AtomicInteger successCount = new AtomicInteger();
+        List<CompletableFuture<Void>> futures = new ArrayList<>(CLIENT_COUNT);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < CLIENT_COUNT; i++) {
+            int index = i;
+            long userId = 1_000_000L + i;
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + pathPrefix() + "/" + userId + "/charge"))
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString("1000"))
+                    .timeout(Duration.ofMinutes(2))
+                    .build();
+            long sent = System.nanoTime();
+            futures.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenAccept(response -> {
+                        latencies[index] = System.nanoTime() - sent;
+                        if (response.statusCode() == 200) {
+                            successCount.incrementAndGet();
+                        }
+                    })
+                    .exceptionally(e -> null));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        long[] sorted = Arrays.stream(latencies).filter(latency -> latency > 0).sorted().toArray();
+        System.out.printf("[%s] clients: %d, success: %d, elapsed: %d ms, throughput: %.0f req/s, p50: %d ms, p99: %d ms%n",
+                mode(), CLIENT_COUNT, successCount.get(), elapsedMillis,
+                successCount.get() * 1000.0 / elapsedMillis,
+                percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99));
+
+        assertThat(successCount.get()).isEqualTo(CLIENT_COUNT);
+    }
+
+    private static long percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1_000_000;
+    }
+}
@@ -0,0 +1,67 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 전체 내역 수가 늘어나도 유저별 내역 조회 시간이 일정한지 확인하는 벤치마크
+ * - 실행 : ./gradlew benchmark --tests "*PointHistoryIndexBenchmark"
+ * - 비교 대상(table scan)은 PointHistoryTable.selectAllByUserId 와 같은 stream-filter 방식
+ */
+@Tag("benchmark")
+@DisplayName("PointHistoryIndex 벤치마크")
+class PointHistoryIndexBenchmark {
+
+    private static final long TARGET_USER_ID = 0L;
+    private static final int TARGET_USER_HISTORIES = 100;
+    private static final int OTHER_USERS = 100_000;
+
+    @Test
+    @DisplayName("전체 내역이 10k → 10M 으로 늘어나도 유저별 조회 시간은 일정하다")
+    void lookupLatency_StaysFlatAsTotalRowsGrow() {
+        int[] totals = {10_000, 100_000, 1_000_000, 10_000_000};
+        double[] indexNanos = new double[totals.length];
+
+        System.out.printf("%12s | %16s | %16s%n", "total rows", "index (ns/op)", "table scan (ns/op)");
+        for (int i = 0; i < totals.length; i++) {
+            List<PointHistory> table = new ArrayList<>(totals[i]);
+            PointHistoryIndex index = new PointHistoryIndex();
+            fill(totals[i], table, index);
+
+            indexNanos[i] = measure(() -> index.get(TARGET_USER_ID), 20_000);
+            double scanNanos = measure(() -> table.stream().filter(h -> h.userId() == TARGET_USER_ID).toList(), 5);
+            System.out.printf("%12d | %16.0f | %16.0f%n", totals[i], indexNanos[i], scanNanos);
+        }
+
+        // 내역이 1000배 늘어나도 인덱스 조회 시간은 같은 수준이어야 함 (측정 잡음을 감안해 5배 이내)
+        assertThat(indexNanos[totals.length - 1]).isLessThan(indexNanos[0] * 5);
+    }
+
+    private static void fill(int total, List<PointHistory> table, PointHistoryIndex index) {
+        long now = System.currentTimeMillis();
+        index.load(TARGET_USER_ID, List.of());
+        for (long id = 1; id <= total; id++) {
+            long userId = id <= TARGET_USER_HISTORIES ? TARGET_USER_ID : 1 + id % OTHER_USERS;
+            PointHistory history = new PointHistory(id, userId, 100L, TransactionType.CHARGE, now);
+            table.add(history);
+            index.append(history);
+        }
+    }
+
+    private static double measure(Runnable lookup, int iterations) {
+        for (int i = 0; i < Math.min(iterations, 1_000); i++) { // warm-up
+            lookup.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            lookup.run();
+        }
+        return (System.nanoTime() - start) / (double) iterations;
+    }
+}
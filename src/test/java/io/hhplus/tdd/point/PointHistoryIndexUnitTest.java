@@ -0,0 +1,142 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DisplayName("PointHistoryIndex 단위 테스트")
+class PointHistoryIndexUnitTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"object", "columnar"})
+    @DisplayName("적재한 내역과 덧붙인 내역이 id 순으로 같은 값으로 조회된다")
+    void get_ReturnsLoadedAndAppendedHistories(String store) {
+        // given
+        PointHistoryIndex index = new PointHistoryIndex(store);
+        List<PointHistory> loaded = List.of(
+                new PointHistory(1L, 1L, 1000L, TransactionType.CHARGE, 10L),
+                new PointHistory(2L, 1L, 300L, TransactionType.USE, 20L));
+        index.load(1L, loaded);
+
+        // when - 초기 용량(8)을 넘도록 덧붙임
+        List<PointHistory> appended = new ArrayList<>();
+        for (long id = 3; id <= 20; id++) {
+            PointHistory history = new PointHistory(id, 1L, id * 10, id % 2 == 0 ? TransactionType.USE : TransactionType.CHARGE, id * 10);
+            appended.add(history);
+            index.append(history);
+        }
+
+        // then
+        List<PointHistory> expected = new ArrayList<>(loaded);
+        expected.addAll(appended);
+        assertThat(index.get(1L)).containsExactlyElementsOf(expected);
+        assertThat(index.get(2L)).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"object", "columnar"})
+    @DisplayName("cursor 이후의 내역을 visitor 가 멈출 때까지 순회한다")
+    void scan_StartsAfterCursorAndStopsOnFalse(String store) {
+        // given
+        PointHistoryIndex index = new PointHistoryIndex(store);
+        for (long id = 1; id <= 10; id++) {
+            index.append(new PointHistory(id, 1L, 100L, TransactionType.CHARGE, id));
+        }
+
+        // when
+        List<Long> visited = new ArrayList<>();
+        boolean loaded = index.scan(1L, 4L, history -> {
+            visited.add(history.id());
+            return visited.size() < 3;
+        });
+
+        // then
+        assertThat(loaded).isTrue();
+        assertThat(visited).containsExactly(5L, 6L, 7L);
+        assertThat(index.scan(2L, 0L, history -> true)).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"object", "columnar"})
+    @DisplayName("특정 시각의 잔액은 그 시각까지의 내역을 모두 더한 값과 같다 (분 중간, 시계가 뒤로 간 내역 포함)")
+    void balanceAt_MatchesFullScan(String store) {
+        // given - 간격이 수 ms ~ 수 분이고, 가끔 시각이 뒤로 가는 내역
+        PointHistoryIndex index = new PointHistoryIndex(store);
+        Random random = new Random(42);
+        List<PointHistory> histories = new ArrayList<>();
+        long millis = 1_700_000_000_000L;
+        for (long id = 1; id <= 2_000; id++) {
+            millis += random.nextInt(10) == 0 ? -random.nextInt(1_000) : random.nextInt(120_000);
+            PointHistory history = new PointHistory(id, 1L, 1 + random.nextInt(1_000),
+                    random.nextBoolean() ? TransactionType.CHARGE : TransactionType.USE, millis);
+            histories.add(history);
+            if (id <= 100) {
+                continue;
+            }
+            if (id == 101) {
+                index.load(1L, histories.subList(0, 100)); // 적재 + 덧붙임
+            }
+            index.append(history);
+        }
+
+        // when & then - 뒤로 간 시각은 직전 내역의 시각으로 봄
+        for (int i = 0; i < 500; i++) {
+            long at = histories.get(0).updateMillis() - 60_000 + (long) (random.nextDouble() * (millis - histories.get(0).updateMillis() + 120_000));
+            long expected = 0;
+            long effectiveMillis = Long.MIN_VALUE;
+            for (PointHistory history : histories) {
+                effectiveMillis = Math.max(effectiveMillis, history.updateMillis());
+                if (effectiveMillis <= at) {
+                    expected += history.type() == TransactionType.CHARGE ? history.amount() : -history.amount();
+                }
+            }
+            assertThat(index.balanceAt(1L, at)).isEqualTo(expected);
+        }
+        assertThat(index.balanceAt(2L, millis)).isNull();
+    }
+
+    @Test
+    @DisplayName("기간 합계는 from 이 속한 구간부터 to 전에 시작하는 구간까지, 내역이 있는 구간만 시간대 기준으로 나눈다")
+    void sums_GroupsByUnitInOffset() {
+        // given - +09:00 기준 2024-01-01 00:00 = 2023-12-31T15:00Z
+        PointHistoryIndex index = new PointHistoryIndex("object", "+09:00");
+        long midnight = 1_704_034_800_000L;
+        long hour = RollupUnit.HOUR.millis();
+        index.append(new PointHistory(1L, 1L, 1000L, TransactionType.CHARGE, midnight - 1)); // 전날
+        index.append(new PointHistory(2L, 1L, 500L, TransactionType.CHARGE, midnight + 10));
+        index.append(new PointHistory(3L, 1L, 200L, TransactionType.USE, midnight + hour - 1));
+        index.append(new PointHistory(4L, 1L, 300L, TransactionType.CHARGE, midnight + 3 * hour + 5));
+        index.append(new PointHistory(5L, 1L, 100L, TransactionType.USE, midnight + RollupUnit.DAY.millis()));
+
+        // when
+        PointSums hourly = index.sums(1L, RollupUnit.HOUR, midnight + 30, midnight + 4 * hour);
+        PointSums daily = index.sums(1L, RollupUnit.DAY, midnight - 1, midnight + 1);
+
+        // then
+        assertThat(hourly.charged()).isEqualTo(800L);
+        assertThat(hourly.used()).isEqualTo(200L);
+        assertThat(hourly.buckets())
+                .extracting(PointSums.Bucket::startMillis, PointSums.Bucket::charged, PointSums.Bucket::used)
+                .containsExactly(tuple(midnight, 500L, 200L), tuple(midnight + 3 * hour, 300L, 0L));
+        assertThat(daily.buckets())
+                .extracting(PointSums.Bucket::startMillis, PointSums.Bucket::charged, PointSums.Bucket::used)
+                .containsExactly(tuple(midnight - RollupUnit.DAY.millis(), 1000L, 0L), tuple(midnight, 800L, 200L));
+        assertThat(index.sums(2L, RollupUnit.DAY, 0L, 1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("알 수 없는 저장 방식이면 생성에 실패한다")
+    void constructor_RejectsUnknownStore() {
+        assertThatThrownBy(() -> new PointHistoryIndex("off-heap"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
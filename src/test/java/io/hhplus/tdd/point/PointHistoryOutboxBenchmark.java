@@ -0,0 +1,99 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrent.AsyncThreadFactory;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 단일 hot 유저에 대해 내역 기록을 락 안에서 할 때와 outbox 로 뺄 때의 락 점유 시간/처리량 비교
+ * - 실행 : ./gradlew benchmark --tests "*PointHistoryOutboxBenchmark"
+ * - 실제 테이블(throttle 포함)을 사용하므로 수십 초 걸림
+ */
+@Tag("benchmark")
+@DisplayName("PointHistoryOutbox 벤치마크")
+class PointHistoryOutboxBenchmark {
+
+    private static final long HOT_USER_ID = 1L;
+    private static final int THREAD_COUNT = 8;
+    private static final int OPS_PER_THREAD = 10;
+
+    @Test
+    @DisplayName("내역 기록을 outbox 로 빼면 락 점유 시간이 줄고 처리량이 늘어난다")
+    void lockHoldTime_SyncHistoryVsOutbox() throws InterruptedException {
+        // 기존 방식 : 잔액 저장 + 내역 기록 모두 락 안에서
+        UserPointTable syncUserPointTable = new UserPointTable();
+        PointHistoryTable syncHistoryTable = new PointHistoryTable();
+        Result sync = run("sync history", () -> {
+            syncUserPointTable.insertOrUpdate(HOT_USER_ID, 1000L);
+            syncHistoryTable.insert(HOT_USER_ID, 100L, TransactionType.CHARGE, System.currentTimeMillis());
+        });
+
+        // outbox 방식 : 락 안에서는 잔액 저장 + 대기열 적재만
+        UserPointTable asyncUserPointTable = new UserPointTable();
+        PointHistoryOutbox outbox = new PointHistoryOutbox(new PointHistoryTable(), new AsyncThreadFactory(false), new PointMetrics(new SimpleMeterRegistry()));
+        Result async = run("outbox", () -> {
+            asyncUserPointTable.insertOrUpdate(HOT_USER_ID, 1000L);
+            outbox.enqueue(HOT_USER_ID, 100L, TransactionType.CHARGE, System.currentTimeMillis());
+        });
+        outbox.shutdown();
+
+        System.out.printf("%-14s | %16s | %12s%n", "mode", "lock hold (ms/op)", "ops/sec");
+        sync.print();
+        async.print();
+
+        assertThat(async.avgHoldMillis()).isLessThan(sync.avgHoldMillis());
+        assertThat(async.opsPerSecond()).isGreaterThan(sync.opsPerSecond());
+    }
+
+    private static Result run(String name, Runnable criticalSection) throws InterruptedException {
+        ReentrantLock lock = new ReentrantLock();
+        LongAdder holdNanos = new LongAdder();
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch latch = new CountDownLatch(THREAD_COUNT);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            executorService.submit(() -> {
+                try {
+                    for (int op = 0; op < OPS_PER_THREAD; op++) {
+                        lock.lock();
+                        long acquired = System.nanoTime();
+                        try {
+                            criticalSection.run();
+                        } finally {
+                            holdNanos.add(System.nanoTime() - acquired);
+                            lock.unlock();
+                        }
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        long elapsed = System.nanoTime() - start;
+        executorService.shutdown();
+
+        int ops = THREAD_COUNT * OPS_PER_THREAD;
+        return new Result(name, holdNanos.sum() / (double) ops / 1_000_000, ops / (elapsed / (double) TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    private record Result(String name, double avgHoldMillis, double opsPerSecond) {
+        void print() {
+            System.out.printf("%-14s | %16.1f | %12.2f%n", name, avgHoldMillis, opsPerSecond);
+        }
+    }
+}
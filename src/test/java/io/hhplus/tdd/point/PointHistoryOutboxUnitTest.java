@@ -0,0 +1,78 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrent.AsyncThreadFactory;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PointHistoryOutbox 단위 테스트")
+class PointHistoryOutboxUnitTest {
+
+    @Mock
+    private PointHistoryTable pointHistoryTable;
+
+    private PointHistoryOutbox pointHistoryOutbox;
+
+    @BeforeEach
+    void setUp() {
+        pointHistoryOutbox = new PointHistoryOutbox(pointHistoryTable, new AsyncThreadFactory(false), new PointMetrics(new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointHistoryOutbox.shutdown();
+    }
+
+    @Test
+    @DisplayName("기록에 실패한 내역은 버리지 않고 다시 시도하며, 뒤의 내역이 앞지르지 않는다")
+    void write_RetriesFailedInsertInOrder() throws InterruptedException {
+        // given - 첫 insert 만 실패
+        given(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong()))
+                .willThrow(new IllegalStateException("테이블 장애"))
+                .willReturn(new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, 0L))
+                .willReturn(new PointHistory(2L, 2L, 200L, TransactionType.CHARGE, 0L));
+
+        // when
+        pointHistoryOutbox.enqueue(1L, 100L, TransactionType.CHARGE, 0L);
+        pointHistoryOutbox.enqueue(2L, 200L, TransactionType.CHARGE, 0L);
+
+        // then
+        assertThat(pointHistoryOutbox.awaitDrained(5, TimeUnit.SECONDS)).isTrue();
+        InOrder inOrder = inOrder(pointHistoryTable);
+        inOrder.verify(pointHistoryTable, times(2)).insert(eq(1L), eq(100L), eq(TransactionType.CHARGE), anyLong());
+        inOrder.verify(pointHistoryTable).insert(eq(2L), eq(200L), eq(TransactionType.CHARGE), anyLong());
+    }
+
+    @Test
+    @DisplayName("테이블이 다른 id 를 부여하면 이후 테이블에서 읽은 내역도 부여한 id 로 맞춘다")
+    void write_ResyncsIdOffsetOnMismatch() throws InterruptedException {
+        // given - 다른 writer 가 먼저 4건을 기록해 테이블 id 가 5 부터 시작
+        PointHistory persisted = new PointHistory(5L, 1L, 100L, TransactionType.CHARGE, 0L);
+        given(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong())).willReturn(persisted);
+        given(pointHistoryTable.selectAllByUserId(1L)).willReturn(List.of(persisted));
+        PointHistory enqueued = pointHistoryOutbox.enqueue(1L, 100L, TransactionType.CHARGE, 0L);
+        assertThat(pointHistoryOutbox.awaitDrained(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        List<PointHistory> histories = pointHistoryOutbox.selectAllByUserId(1L);
+
+        // then
+        assertThat(histories).extracting(PointHistory::id).containsExactly(enqueued.id());
+        assertThat(pointHistoryOutbox.enqueue(1L, 100L, TransactionType.CHARGE, 0L).id()).isEqualTo(enqueued.id() + 1);
+    }
+}
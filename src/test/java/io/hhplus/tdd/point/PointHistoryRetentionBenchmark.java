@@ -0,0 +1,89 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.archive.PointHistoryArchive;
+import io.hhplus.tdd.concurrent.AsyncThreadFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 보관 기간 적용 여부에 따른 내역 인덱스 힙 사용량 벤치마크
+ * - 실행 : ./gradlew benchmark --tests "*PointHistoryRetentionBenchmark"
+ * - 유저 1,024명에게 시뮬레이션 시각으로 하루 10만 건씩 28일 동안 덧붙이고, 하루마다 보관(7일 유지)을 실행
+ * - 7일마다 GC 뒤 힙 사용량과 보관 1회 시간을 출력
+ * - 측정값 (-Xmx1g, 1 vCPU) : 보관 안 함 80.2 → 171.0 → 280.6 → 343.7MB
+ *                           보관 7일 유지 80.8 → 70.7 → 81.6 → 75.1MB, 보관 1회 약 0.3 ~ 0.5초
+ */
+@Tag("benchmark")
+@DisplayName("내역 보관 기간 벤치마크")
+class PointHistoryRetentionBenchmark {
+
+    private static final int USER_COUNT = 1_024;
+    private static final int ROWS_PER_DAY = 100_000;
+    private static final int DAYS = 28;
+    private static final long DAY = RollupUnit.DAY.millis();
+    private static final long START = 1_704_034_800_000L; // +09:00 기준 2024-01-01 00:00
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("보관 기간을 적용하면 내역이 쌓여도 힙 사용량이 보관 기간 안의 내역 수에서 멈춘다")
+    void heapStaysFlatWithRetention() throws IOException {
+        System.out.printf("%4s | %20s | %20s | %16s%n", "day", "no retention (MB)", "retention (MB)", "compact (ms)");
+        long[] plain = run(PointHistoryArchive.disabled());
+        long[] retained = run(new PointHistoryArchive(true, directory.toString(), true));
+        for (int week = 1; week <= DAYS / 7; week++) {
+            System.out.printf("%4d | %20.1f | %20.1f | %16d%n", week * 7,
+                    plain[week * 2] / 1e6, retained[week * 2] / 1e6, retained[week * 2 + 1]);
+        }
+
+        // 보관 기간(7일)이 지난 뒤에는 2주차와 4주차의 힙 사용량이 거의 같아야 함 (보관하지 않으면 약 2배)
+        assertThat(retained[8]).isLessThan((long) (retained[4] * 1.2));
+        assertThat(plain[8]).isGreaterThan((long) (plain[4] * 1.5));
+    }
+
+    /**
+     * 7일마다 [GC 뒤 힙 증가량, 그날 보관 시간(ms)] 을 반환합니다.
+     */
+    private static long[] run(PointHistoryArchive archive) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long baseline = usedAfterGc(memory);
+        PointHistoryIndex index = new PointHistoryIndex("object", "+09:00", archive);
+        PointHistoryRetention retention = new PointHistoryRetention(new AsyncThreadFactory(false), index, archive, null, 7, 0);
+
+        long[] result = new long[(DAYS / 7 + 1) * 2];
+        long id = 0;
+        long step = DAY / ROWS_PER_DAY;
+        for (int day = 1; day <= DAYS; day++) {
+            long dayStart = START + (day - 1) * DAY;
+            for (int i = 0; i < ROWS_PER_DAY; i++) {
+                id++;
+                TransactionType type = id % 4 == 0 ? TransactionType.USE : TransactionType.CHARGE;
+                index.append(new PointHistory(id, id % USER_COUNT, 100L, type, dayStart + i * step));
+            }
+            long start = System.nanoTime();
+            retention.compact(dayStart + DAY);
+            long compactMillis = (System.nanoTime() - start) / 1_000_000;
+            if (day % 7 == 0) {
+                result[day / 7 * 2] = usedAfterGc(memory) - baseline;
+                result[day / 7 * 2 + 1] = compactMillis;
+            }
+        }
+        assertThat(index.balanceAt(1L, Long.MAX_VALUE)).isPositive(); // 측정이 끝날 때까지 index 를 살려 둠
+        return result;
+    }
+
+    private static long usedAfterGc(MemoryMXBean memory) {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,139 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.archive.PointHistoryArchive;
+import io.hhplus.tdd.concurrent.AsyncThreadFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PointHistoryRetention 단위 테스트")
+class PointHistoryRetentionUnitTest {
+
+    private static final long MIDNIGHT = 1_704_034_800_000L; // +09:00 기준 2024-01-01 00:00
+    private static final long HOUR = RollupUnit.HOUR.millis();
+    private static final long DAY = RollupUnit.DAY.millis();
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"object", "columnar"})
+    @DisplayName("보관 기간이 지난 내역을 보관소로 옮겨도 내역/잔액/기간 합계 조회 결과는 같다")
+    void compact_KeepsQueryResults(String store) throws IOException {
+        // given - 10일 동안 1시간마다 1건 (가끔 시계가 뒤로 감)
+        PointHistoryArchive archive = new PointHistoryArchive(true, directory.toString(), true);
+        PointHistoryIndex index = new PointHistoryIndex(store, "+09:00", archive);
+        List<PointHistory> histories = appendHourly(index, 10);
+        long now = MIDNIGHT + 10 * DAY;
+        List<PointHistory> cursorPage = page(index, 100L);
+        long[] balances = balances(index);
+        PointSums daily = index.sums(1L, RollupUnit.DAY, MIDNIGHT, now);
+        PointSums hourly = index.sums(1L, RollupUnit.HOUR, MIDNIGHT + 6 * DAY + 12 * HOUR, MIDNIGHT + 7 * DAY + 12 * HOUR);
+
+        // when - 3일만 남김
+        long archived = retention(index, archive).compact(now);
+
+        // then
+        assertThat(archived).isEqualTo(7 * 24);
+        assertThat(archive.segmentCount()).isEqualTo(1);
+        assertThat(index.archivable(1L, Long.MAX_VALUE)).hasSize(3 * 24);
+        assertThat(index.get(1L)).containsExactlyElementsOf(histories);
+        assertThat(page(index, 100L)).containsExactlyElementsOf(cursorPage);
+        assertThat(balances(index)).containsExactly(balances);
+        assertThat(index.sums(1L, RollupUnit.DAY, MIDNIGHT, now)).isEqualTo(daily);
+        assertThat(index.sums(1L, RollupUnit.HOUR, MIDNIGHT + 6 * DAY + 12 * HOUR, MIDNIGHT + 7 * DAY + 12 * HOUR)).isEqualTo(hourly);
+    }
+
+    @Test
+    @DisplayName("재시작 후 테이블에서 적재하면 보관된 내역은 빼고 적재하고, 조회는 보관소와 합쳐 같은 결과를 낸다")
+    void load_SkipsArchivedHistoriesAfterRestart() throws IOException {
+        // given
+        PointHistoryArchive archive = new PointHistoryArchive(true, directory.toString(), true);
+        PointHistoryIndex index = new PointHistoryIndex("object", "+09:00", archive);
+        List<PointHistory> histories = appendHourly(index, 10);
+        long[] balances = balances(index);
+        retention(index, archive).compact(MIDNIGHT + 10 * DAY);
+        archive.close();
+
+        // when
+        PointHistoryArchive reopened = new PointHistoryArchive(true, directory.toString(), true);
+        PointHistoryIndex restarted = new PointHistoryIndex("object", "+09:00", reopened);
+        restarted.load(1L, histories);
+
+        // then
+        assertThat(reopened.checkpointOf(1L).count()).isEqualTo(7 * 24);
+        assertThat(restarted.archivable(1L, Long.MAX_VALUE)).hasSize(3 * 24);
+        assertThat(restarted.get(1L)).containsExactlyElementsOf(histories);
+        assertThat(balances(restarted)).containsExactly(balances);
+    }
+
+    @Test
+    @DisplayName("복구한 마지막 내역 id 이후의 보관 내역이 있으면 보관소를 지우지 않고 시작에 실패한다")
+    void verifyRecoveredThrough_FailsWithoutDeleting() throws IOException {
+        // given
+        PointHistoryArchive archive = new PointHistoryArchive(true, directory.toString(), true);
+        PointHistoryIndex index = new PointHistoryIndex("object", "+09:00", archive);
+        appendHourly(index, 10);
+        retention(index, archive).compact(MIDNIGHT + 10 * DAY);
+        archive.close();
+        PointHistoryArchive reopened = new PointHistoryArchive(true, directory.toString(), true);
+
+        // when & then - 저널이 내역을 잃은 채 재시작
+        assertThatThrownBy(() -> reopened.verifyRecoveredThrough(0L))
+                .isInstanceOf(IllegalStateException.class);
+        reopened.verifyRecoveredThrough(7 * 24L);
+        assertThat(reopened.checkpointOf(1L).count()).isEqualTo(7 * 24);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).hasSize(1);
+        }
+    }
+
+    @Test
+    @DisplayName("저널 없이 보관을 켜면 생성에 실패한다")
+    void constructor_RequiresJournal() {
+        assertThatThrownBy(() -> new PointHistoryArchive(true, directory.toString(), false))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static PointHistoryRetention retention(PointHistoryIndex index, PointHistoryArchive archive) {
+        return new PointHistoryRetention(new AsyncThreadFactory(false), index, archive, null, 3, 0);
+    }
+
+    private static List<PointHistory> appendHourly(PointHistoryIndex index, int days) {
+        List<PointHistory> histories = new ArrayList<>();
+        for (long id = 1; id <= days * 24L; id++) {
+            long millis = MIDNIGHT + (id - 1) * HOUR + (id % 7 == 0 ? -2 * HOUR : 30_000);
+            TransactionType type = id % 3 == 0 ? TransactionType.USE : TransactionType.CHARGE;
+            PointHistory history = new PointHistory(id, 1L, id * 10, type, millis);
+            histories.add(history);
+            index.append(history);
+        }
+        return histories;
+    }
+
+    private static List<PointHistory> page(PointHistoryIndex index, long cursor) {
+        List<PointHistory> page = new ArrayList<>();
+        index.scan(1L, cursor, history -> page.add(history) && page.size() < 100);
+        return page;
+    }
+
+    private static long[] balances(PointHistoryIndex index) {
+        long[] balances = new long[10 * 24 + 2];
+        for (int i = 0; i < balances.length; i++) {
+            balances[i] = index.balanceAt(1L, MIDNIGHT - HOUR + i * HOUR + 12 * 60_000);
+        }
+        return balances;
+    }
+}
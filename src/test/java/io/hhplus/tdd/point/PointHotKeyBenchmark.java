@@ -0,0 +1,122 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrent.AsyncThreadFactory;
+import io.hhplus.tdd.concurrent.CountMinSketch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * hot key 감지에 따른 lock 방식 충전 처리량 벤치마크
+ * - 실행 : ./gradlew benchmark --tests "*PointHotKeyBenchmark"
+ * - 요청 스레드 64개, 요청의 절반은 유저 한 명(hot)에게, 나머지는 유저 65,536명에게 고르게 충전, 테이블 저장마다 1ms 대기
+ * - all-combining : 감지 끔, 모든 유저가 대기열 일괄 처리 (기존 동작)
+ * - adaptive : 감지 켬, hot 유저만 일괄 처리하고 cold 유저는 대기열 없이 락을 잡고 처리
+ * - all-plain : threshold 를 넘는 유저가 없어 모든 유저가 대기열 없이 처리 (hot 유저의 저장이 요청마다 1번)
+ * - 모든 충전이 잔액에 반영되었는지(테이블 잔액 합 = 성공한 충전 합) 함께 확인
+ */
+@Tag("benchmark")
+@DisplayName("hot key 감지 벤치마크")
+class PointHotKeyBenchmark {
+
+    private static final int USER_COUNT = 65_536;
+    private static final long HOT_USER_ID = 0L;
+    private static final double HOT_SHARE = 0.5;
+    private static final int CLIENT_COUNT = 64;
+    private static final long DURATION_MILLIS = 3_000;
+    private static final long AMOUNT = 100L;
+
+    @Test
+    @DisplayName("hot 유저만 일괄 처리해도 모두 일괄 처리할 때만큼 처리량이 나오고, 모두 바로 처리할 때보다 높다")
+    void charge_SkewedTraffic() throws Exception {
+        measure(HotKeyDetector.disabled(), 500); // JIT 워밍업
+        System.out.printf("%-13s | %9s | %9s | %9s | %12s%n", "mode", "total/s", "hot/s", "cold/s", "cold p99 ms");
+        double allCombining = measure("all-combining", HotKeyDetector.disabled());
+        double adaptive = measure("adaptive", new HotKeyDetector(true, 64, 16, new CountMinSketch(4, 4096, 1_000)));
+        double allPlain = measure("all-plain", new HotKeyDetector(true, Long.MAX_VALUE, 16, new CountMinSketch(4, 4096, 1_000)));
+
+        // hot 유저는 저장 1회에 여러 요청을 반영해야 하므로 adaptive 는 all-plain 의 1.5배 이상, all-combining 과 비슷해야 함
+        assertThat(adaptive).isGreaterThanOrEqualTo(allPlain * 1.5);
+        assertThat(adaptive).isGreaterThanOrEqualTo(allCombining * 0.8);
+    }
+
+    private static double measure(String mode, HotKeyDetector hotKeyDetector) throws Exception {
+        Result result = measure(hotKeyDetector, DURATION_MILLIS);
+        System.out.printf("%-13s | %9.0f | %9.0f | %9.0f | %12.3f%n", mode,
+                result.total(), result.hot(), result.cold(), result.coldP99Millis());
+        return result.total();
+    }
+
+    private static Result measure(HotKeyDetector hotKeyDetector, long durationMillis) throws Exception {
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        PointHistoryOutbox outbox = new PointHistoryOutbox(new StubPointHistoryTable(), new AsyncThreadFactory(false), pointMetrics);
+        StubUserPointTable table = StubUserPointTable.fixedWriteLatency(1);
+        PointService pointService = PointServiceFixture.builder()
+                .userPointTable(table)
+                .userPointCache(new UserPointCache(USER_COUNT + 1))
+                .pointHistoryOutbox(outbox)
+                .pointMetrics(pointMetrics)
+                .pointSnapshots(new PointSnapshots(USER_COUNT + 1))
+                .hotKeyDetector(hotKeyDetector)
+                .build();
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder hotCharged = new LongAdder();
+        LongAdder coldCharged = new LongAdder();
+        Queue<long[]> coldLatencies = new ConcurrentLinkedQueue<>();
+        ExecutorService executorService = Executors.newFixedThreadPool(CLIENT_COUNT);
+        for (int t = 0; t < CLIENT_COUNT; t++) {
+            executorService.submit(() -> {
+                long[] latencies = new long[1 << 16];
+                int count = 0;
+                while (running.get()) {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    boolean hot = random.nextDouble() < HOT_SHARE;
+                    long start = System.nanoTime();
+                    pointService.chargePoint(hot ? HOT_USER_ID : 1 + random.nextLong(USER_COUNT), AMOUNT);
+                    if (hot) {
+                        hotCharged.increment();
+                    } else {
+                        coldCharged.increment();
+                        if (count < latencies.length) {
+                            latencies[count++] = System.nanoTime() - start;
+                        }
+                    }
+                }
+                coldLatencies.add(Arrays.copyOf(latencies, count));
+            });
+        }
+        Thread.sleep(durationMillis);
+        running.set(false);
+        executorService.shutdown();
+        assertThat(executorService.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        outbox.shutdown();
+        assertThat(table.totalPoint()).isEqualTo((hotCharged.sum() + coldCharged.sum()) * AMOUNT);
+        long[] sorted = coldLatencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        double coldP99Millis = sorted.length == 0 ? 0 : sorted[(int) (sorted.length * 0.99)] / 1e6;
+        double seconds = durationMillis / 1000.0;
+        return new Result((hotCharged.sum() + coldCharged.sum()) / seconds, hotCharged.sum() / seconds, coldCharged.sum() / seconds, coldP99Millis);
+    }
+
+    private record Result(
+            double total,
+            double hot,
+            double cold,
+            double coldP99Millis
+    ) {
+    }
+}
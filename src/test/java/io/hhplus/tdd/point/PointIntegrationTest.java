@@ -1,5 +1,6 @@
 package io.hhplus.tdd.point;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.exception.ErrorCode;
 import io.hhplus.tdd.exception.HanghaeException;
@@ -10,9 +11,12 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -20,9 +24,13 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -39,6 +47,12 @@ class PointIntegrationTest {
     @Autowired
     private UserPointTable userPointTable;
 
+    @Autowired
+    private ReactivePointService reactivePointService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /** userId 랜덤 생성 함수 **/
     private static AtomicLong userIdGenerator = new AtomicLong(1);
     private long generateUserId() {
@@ -130,6 +144,97 @@ class PointIntegrationTest {
                 .andExpect(jsonPath("$.point").value(amount));
     }
 
+    @Test
+    @DisplayName("포인트 이체 요청이 성공한다")
+    void api_transferPoint() throws Exception {
+        // given
+        long fromUserId = generateUserId();
+        long toUserId = generateUserId();
+        pointService.chargePoint(fromUserId, 1000L);
+
+        // when & then
+        mockMvc.perform(post("/point/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new PointTransferRequest(fromUserId, toUserId, 300L)))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.from.id").value(fromUserId))
+                .andExpect(jsonPath("$.from.point").value(700L))
+                .andExpect(jsonPath("$.to.id").value(toUserId))
+                .andExpect(jsonPath("$.to.point").value(300L));
+        assertThat(pointService.getPointHistories(toUserId))
+                .extracting(PointHistory::amount, PointHistory::type)
+                .containsExactly(tuple(300L, TransactionType.CHARGE));
+    }
+
+    @Test
+    @DisplayName("포인트 이체 요청이 실패한다 (보내는 유저의 잔액이 부족한 경우)")
+    void api_transferPoint_failWithInsufficientBalance() throws Exception {
+        // given
+        long fromUserId = generateUserId();
+        long toUserId = generateUserId();
+        pointService.chargePoint(fromUserId, 100L);
+
+        // when & then
+        mockMvc.perform(post("/point/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new PointTransferRequest(fromUserId, toUserId, 300L)))
+                )
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(ErrorCode.INSUFFICIENT_POINT.getCode()));
+        assertThat(pointService.getUserPoint(fromUserId).point()).isEqualTo(100L);
+        assertThat(pointService.getUserPoint(toUserId).point()).isZero();
+    }
+
+    @Test
+    @DisplayName("같은 Idempotency-Key 로 충전을 재요청하면 한 번만 충전되고 같은 응답을 받는다")
+    void api_chargePoint_withIdempotencyKey() throws Exception {
+        // given
+        long userId = generateUserId();
+        long amount = 1000L;
+        String idempotencyKey = "charge-" + userId;
+
+        // when
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(patch("/point/" + userId + "/charge")
+                            .header(IdempotencyCache.HEADER, idempotencyKey)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(String.valueOf(amount))
+                    )
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value(userId))
+                    .andExpect(jsonPath("$.point").value(amount));
+        }
+
+        // then
+        assertThat(pointService.getUserPoint(userId).point()).isEqualTo(amount);
+        assertThat(pointService.getPointHistories(userId)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("충전 응답의 Point-Version 이상으로 조회하면 충전이 반영된 잔액을 받고, 아직 없는 버전은 실패한다")
+    void api_getPoint_withMinVersion() throws Exception {
+        // given
+        long userId = generateUserId();
+        String version = mockMvc.perform(patch("/point/" + userId + "/charge")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("1000")
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().exists(PointSnapshots.VERSION_HEADER))
+                .andReturn().getResponse().getHeader(PointSnapshots.VERSION_HEADER);
+
+        // when & then
+        mockMvc.perform(get("/point/" + userId).header(PointSnapshots.MIN_VERSION_HEADER, version))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.point").value(1000L))
+                .andExpect(header().exists(PointSnapshots.VERSION_HEADER));
+
+        mockMvc.perform(get("/point/" + userId).header(PointSnapshots.MIN_VERSION_HEADER, Long.MAX_VALUE))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(ErrorCode.UNKNOWN_POINT_VERSION.getCode()));
+    }
+
     @Test
     @DisplayName("포인트 사용 요청이 실패한다 (충전 금액보다 사용 금액이 많은 경우)")
     void api_usePoint_failWithInsufficientBalance() throws Exception {
@@ -458,4 +563,260 @@ class PointIntegrationTest {
             assertThat(point.point()).isGreaterThanOrEqualTo(1200L);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("논블로킹 포인트 충전 요청이 비동기로 정상 응답된다")
+    void reactiveApi_chargePoint() throws Exception {
+        // given
+        long userId = generateUserId();
+
+        // when
+        MvcResult result = mockMvc.perform(patch("/reactive/point/" + userId + "/charge")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("1000")
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(userId))
+                .andExpect(jsonPath("$.point").value(1000));
+    }
+
+    @Test
+    @DisplayName("논블로킹 경로에서도 같은 Idempotency-Key 로 충전을 재요청하면 한 번만 충전되고 같은 응답을 받는다")
+    void reactiveApi_chargePoint_withIdempotencyKey() throws Exception {
+        // given
+        long userId = generateUserId();
+        long amount = 1000L;
+        String idempotencyKey = "reactive-charge-" + userId;
+
+        // when
+        for (int i = 0; i < 2; i++) {
+            MvcResult result = mockMvc.perform(patch("/reactive/point/" + userId + "/charge")
+                            .header(IdempotencyCache.HEADER, idempotencyKey)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(String.valueOf(amount))
+                    )
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.point").value(amount));
+        }
+
+        // then
+        assertThat(pointService.getUserPoint(userId).point()).isEqualTo(amount);
+        assertThat(pointService.getPointHistories(userId)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("논블로킹 포인트 사용 요청이 실패한다 (충전 금액보다 사용 금액이 많은 경우)")
+    void reactiveApi_usePoint_failWithInsufficientBalance() throws Exception {
+        // given
+        long userId = generateUserId();
+        pointService.chargePoint(userId, 1000L);
+
+        // when
+        MvcResult result = mockMvc.perform(patch("/reactive/point/" + userId + "/use")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("5000")
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(ErrorCode.INSUFFICIENT_POINT.getCode()));
+    }
+
+    @Test
+    @DisplayName("논블로킹 경로에서 동일 사용자에 대한 동시 충전이 순서대로 모두 반영된다")
+    void reactiveConcurrentCharges_SameUser() {
+        // given
+        long userId = generateUserId();
+        int requestCount = 10;
+
+        // when - 결과를 기다리지 않고 10건을 동시에 요청
+        List<CompletableFuture<UserPoint>> futures = new ArrayList<>();
+        for (int i = 0; i < requestCount; i++) {
+            futures.add(reactivePointService.chargePoint(userId, 100L).toFuture());
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        // then - 파이프라인이 요청 순서대로 실행하므로 각 응답의 잔액은 100씩 증가
+        assertThat(futures).extracting(future -> future.join().point())
+                .containsExactly(100L, 200L, 300L, 400L, 500L, 600L, 700L, 800L, 900L, 1000L);
+        assertThat(pointService.getPointHistories(userId)).hasSize(requestCount);
+    }
+
+    @Test
+    @DisplayName("일괄 충전 요청의 항목별 결과가 NDJSON 으로 응답되고, 같은 유저의 항목은 요청 순서대로 반영된다")
+    void api_chargeBulk() throws Exception {
+        // given
+        long userId = generateUserId();
+        long otherUserId = generateUserId();
+        String body = String.join("\n",
+                "{\"userId\":" + userId + ",\"amount\":100}",
+                "{\"userId\":" + otherUserId + ",\"amount\":500}",
+                "{\"userId\":" + userId + ",\"amount\":50}",
+                "{\"userId\":" + userId + ",\"amount\":200}");
+
+        // when
+        String content = mockMvc.perform(post("/point/charge/bulk")
+                        .contentType("application/x-ndjson")
+                        .content(body)
+                )
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // then
+        List<BulkChargeResult> results = new ArrayList<>();
+        for (String line : content.split("\n")) {
+            results.add(objectMapper.readValue(line, BulkChargeResult.class));
+        }
+        results.sort((a, b) -> Long.compare(a.index(), b.index()));
+
+        assertThat(results).extracting(BulkChargeResult::index, BulkChargeResult::success, BulkChargeResult::point, BulkChargeResult::code)
+                .containsExactly(
+                        tuple(0L, true, 100L, null),
+                        tuple(1L, true, 500L, null),
+                        tuple(2L, false, null, ErrorCode.INVALID_CHARGE_AMOUNT.getCode()),
+                        tuple(3L, true, 300L, null));
+        assertThat(pointService.getUserPoint(userId).point()).isEqualTo(300L);
+    }
+
+    @Test
+    @DisplayName("일괄 충전 요청의 형식이 잘못된 항목부터는 처리하지 않고 실패 결과를 남긴다")
+    void api_chargeBulk_stopsAtMalformedItem() throws Exception {
+        // given
+        long userId = generateUserId();
+        String body = "[{\"userId\":" + userId + ",\"amount\":100}, {\"userId\":\"abc\"}]";
+
+        // when
+        String content = mockMvc.perform(post("/point/charge/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body)
+                )
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // then
+        assertThat(content.split("\n")).hasSize(2)
+                .anySatisfy(line -> assertThat(line).contains(ErrorCode.INVALID_BULK_CHARGE_ITEM.getCode()));
+        assertThat(pointService.getUserPoint(userId).point()).isEqualTo(100L);
+    }
+
+    @Test
+    @DisplayName("포인트 내역을 cursor 페이지와 NDJSON 스트림으로 조회할 수 있다")
+    void api_historyPageAndStream() throws Exception {
+        // given
+        long userId = generateUserId();
+        pointService.chargePoint(userId, 1000L);
+        pointService.usePoint(userId, 300L);
+        pointService.chargePoint(userId, 200L);
+
+        // when & then - 페이지
+        mockMvc.perform(get("/point/" + userId + "/histories/page").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.histories.length()").value(2))
+                .andExpect(jsonPath("$.histories[0].amount").value(1000))
+                .andExpect(jsonPath("$.nextCursor").isNumber());
+
+        // when & then - 스트림 (CHARGE 만)
+        String content = mockMvc.perform(get("/point/" + userId + "/histories/stream").param("type", "CHARGE"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<PointHistory> streamed = new ArrayList<>();
+        for (String line : content.split("\n")) {
+            streamed.add(objectMapper.readValue(line, PointHistory.class));
+        }
+        assertThat(streamed).extracting(PointHistory::amount).containsExactly(1000L, 200L);
+    }
+
+    @Test
+    @DisplayName("포인트 내역 페이지 조회 크기가 범위를 벗어나면 실패한다")
+    void api_historyPage_failWithInvalidSize() throws Exception {
+        mockMvc.perform(get("/point/" + generateUserId() + "/histories/page").param("size", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(ErrorCode.INVALID_PAGE_SIZE.getCode()));
+    }
+
+    @Test
+    @DisplayName("요청이 몰린 유저가 hot key 조회 결과에 나온다")
+    void api_hotKeys() throws Exception {
+        // given - 기본 threshold(64) 를 넘는 충전 요청을 감쇠 주기(1초) 안에 동시에 보냄
+        long userId = generateUserId();
+        int requestCount = 300;
+        ExecutorService executorService = Executors.newFixedThreadPool(requestCount);
+        List<CompletableFuture<UserPoint>> futures = new ArrayList<>();
+        for (int i = 0; i < requestCount; i++) {
+            futures.add(CompletableFuture.supplyAsync(() -> pointService.chargePoint(userId, 100L), executorService));
+        }
+
+        // when - 요청이 처리되는 동안 조회 (추정 요청 수는 감쇠로 줄어들므로 몰리는 중에 확인)
+        HotKey found = null;
+        long deadline = System.nanoTime() + 2_000_000_000L;
+        while (found == null && System.nanoTime() < deadline) {
+            String content = mockMvc.perform(get("/admin/point/hot-keys"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            for (HotKey hotKey : objectMapper.readValue(content, HotKey[].class)) {
+                if (hotKey.userId() == userId) {
+                    found = hotKey;
+                }
+            }
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        executorService.shutdown();
+
+        // then
+        assertThat(found).isNotNull();
+        assertThat(found.estimatedRequests()).isGreaterThanOrEqualTo(64L);
+        assertThat(pointService.getUserPoint(userId).point()).isEqualTo(100L * requestCount);
+    }
+
+    @Test
+    @DisplayName("특정 시각의 잔액과 기간별 충전/사용 합계를 조회할 수 있다")
+    void api_balanceAtAndSums() throws Exception {
+        // given
+        long userId = generateUserId();
+        pointService.chargePoint(userId, 1000L);
+        pointService.usePoint(userId, 300L);
+        long afterUse = pointService.getPointHistories(userId).get(1).updateMillis();
+        Thread.sleep(2);
+        pointService.chargePoint(userId, 200L);
+
+        // when & then - 잔액
+        mockMvc.perform(get("/point/" + userId + "/balance").param("at", String.valueOf(afterUse)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.point").value(700));
+        mockMvc.perform(get("/point/" + userId + "/balance").param("at", String.valueOf(System.currentTimeMillis())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.point").value(900));
+
+        // when & then - 오늘 합계
+        long now = System.currentTimeMillis();
+        mockMvc.perform(get("/point/" + userId + "/sums")
+                        .param("unit", "DAY")
+                        .param("from", String.valueOf(now - 1))
+                        .param("to", String.valueOf(now)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.charged").value(1200))
+                .andExpect(jsonPath("$.used").value(300));
+    }
+
+    @Test
+    @DisplayName("기간 합계의 구간 수가 1440 을 넘으면 실패한다")
+    void api_sums_failWithTooManyBuckets() throws Exception {
+        mockMvc.perform(get("/point/" + generateUserId() + "/sums")
+                        .param("unit", "MINUTE")
+                        .param("from", "0")
+                        .param("to", String.valueOf(RollupUnit.DAY.millis() + 1)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(ErrorCode.INVALID_ROLLUP_RANGE.getCode()));
+    }
+}
@@ -0,0 +1,85 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.exception.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 유저별 버킷 크기를 2로 줄여 처리율 제한 응답(429)을 확인합니다.
+ * 금액 검증에서 실패하는 요청(50)을 보내 테이블 throttle 없이 빠르게 확인합니다.
+ */
+@SpringBootTest(properties = {
+        "point.rate-limit.enabled=true",
+        "point.rate-limit.user-permits-per-second=1",
+        "point.rate-limit.user-burst=2"
+})
+@AutoConfigureMockMvc
+@DisplayName("Point 처리율 제한 통합 테스트")
+class PointRateLimitIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("한 유저에게 버킷 크기보다 많은 요청이 몰리면 429 로 거절되고, 다른 유저는 영향을 받지 않는다")
+    void api_usePoint_RejectedWithTooManyRequests() throws Exception {
+        // given
+        long userId = 900_001L;
+        long otherUserId = 900_002L;
+
+        // when & then - 버킷 크기(2)까지는 서비스까지 전달되어 금액 검증(400)에서 실패
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(patch("/point/" + userId + "/use")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("50"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.code").value(ErrorCode.INVALID_USE_AMOUNT.getCode()));
+        }
+        mockMvc.perform(patch("/point/" + userId + "/use")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("50"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.code").value(ErrorCode.TOO_MANY_REQUESTS.getCode()));
+
+        mockMvc.perform(patch("/point/" + otherUserId + "/use")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("50"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("논블로킹 경로도 같은 유저별 한도로 429 거절된다")
+    void reactiveApi_chargePoint_RejectedWithTooManyRequests() throws Exception {
+        // given
+        long userId = 900_003L;
+
+        // when & then - 버킷 크기(2)까지는 파이프라인까지 전달되어 금액 검증(400)에서 실패
+        for (int i = 0; i < 2; i++) {
+            MvcResult result = mockMvc.perform(patch("/reactive/point/" + userId + "/charge")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("50"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.code").value(ErrorCode.INVALID_CHARGE_AMOUNT.getCode()));
+        }
+        mockMvc.perform(patch("/reactive/point/" + userId + "/charge")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("50"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.code").value(ErrorCode.TOO_MANY_REQUESTS.getCode()));
+    }
+}
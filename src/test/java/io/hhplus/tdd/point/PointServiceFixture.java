@@ -0,0 +1,115 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrent.ShardedExecutor;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.journal.NoOpPointJournal;
+import io.hhplus.tdd.journal.PointJournal;
+import io.hhplus.tdd.lock.RefCountedUserLockProvider;
+import io.hhplus.tdd.lock.UserLockProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.Objects;
+
+/**
+ * 스프링 없이 PointService 를 만드는 테스트/벤치마크용 빌더
+ * - 바꿀 협력 객체만 지정하고, 나머지는 애플리케이션 기본값(lock 방식, 대기 시간 제한 없음, hot key 감지 끔, 저널 끔)으로 채웁니다.
+ * - 유저 포인트 테이블과 내역 outbox 는 테스트마다 다르므로 반드시 지정합니다.
+ */
+final class PointServiceFixture {
+
+    private UserLockProvider userLockProvider;
+    private UserPointTable userPointTable;
+    private UserPointCache userPointCache;
+    private PointHistoryIndex pointHistoryIndex;
+    private PointHistoryOutbox pointHistoryOutbox;
+    private PointMetrics pointMetrics;
+    private PointJournal pointJournal;
+    private LockTimeouts lockTimeouts;
+    private PointSnapshots pointSnapshots;
+    private ShardedExecutor shardedExecutor;
+    private HotKeyDetector hotKeyDetector;
+    private String engine = "lock";
+
+    private PointServiceFixture() {
+    }
+
+    static PointServiceFixture builder() {
+        return new PointServiceFixture();
+    }
+
+    PointServiceFixture userLockProvider(UserLockProvider userLockProvider) {
+        this.userLockProvider = userLockProvider;
+        return this;
+    }
+
+    PointServiceFixture userPointTable(UserPointTable userPointTable) {
+        this.userPointTable = userPointTable;
+        return this;
+    }
+
+    PointServiceFixture userPointCache(UserPointCache userPointCache) {
+        this.userPointCache = userPointCache;
+        return this;
+    }
+
+    PointServiceFixture pointHistoryIndex(PointHistoryIndex pointHistoryIndex) {
+        this.pointHistoryIndex = pointHistoryIndex;
+        return this;
+    }
+
+    PointServiceFixture pointHistoryOutbox(PointHistoryOutbox pointHistoryOutbox) {
+        this.pointHistoryOutbox = pointHistoryOutbox;
+        return this;
+    }
+
+    PointServiceFixture pointMetrics(PointMetrics pointMetrics) {
+        this.pointMetrics = pointMetrics;
+        return this;
+    }
+
+    PointServiceFixture pointJournal(PointJournal pointJournal) {
+        this.pointJournal = pointJournal;
+        return this;
+    }
+
+    PointServiceFixture lockTimeouts(LockTimeouts lockTimeouts) {
+        this.lockTimeouts = lockTimeouts;
+        return this;
+    }
+
+    PointServiceFixture pointSnapshots(PointSnapshots pointSnapshots) {
+        this.pointSnapshots = pointSnapshots;
+        return this;
+    }
+
+    PointServiceFixture shardedExecutor(ShardedExecutor shardedExecutor) {
+        this.shardedExecutor = shardedExecutor;
+        return this;
+    }
+
+    PointServiceFixture hotKeyDetector(HotKeyDetector hotKeyDetector) {
+        this.hotKeyDetector = hotKeyDetector;
+        return this;
+    }
+
+    PointServiceFixture engine(String engine) {
+        this.engine = engine;
+        return this;
+    }
+
+    PointService build() {
+        return new PointService(
+                userLockProvider != null ? userLockProvider : new RefCountedUserLockProvider(),
+                Objects.requireNonNull(userPointTable, "userPointTable"),
+                userPointCache != null ? userPointCache : new UserPointCache(1024),
+                pointHistoryIndex != null ? pointHistoryIndex : new PointHistoryIndex(),
+                Objects.requireNonNull(pointHistoryOutbox, "pointHistoryOutbox"),
+                pointMetrics != null ? pointMetrics : new PointMetrics(new SimpleMeterRegistry()),
+                pointJournal != null ? pointJournal : new NoOpPointJournal(),
+                lockTimeouts != null ? lockTimeouts : LockTimeouts.waitForever(),
+                pointSnapshots != null ? pointSnapshots : new PointSnapshots(),
+                shardedExecutor != null ? shardedExecutor : new ShardedExecutor(0),
+                hotKeyDetector != null ? hotKeyDetector : HotKeyDetector.disabled(),
+                engine);
+    }
+}
@@ -1,17 +1,39 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.concurrent.AsyncThreadFactory;
+import io.hhplus.tdd.concurrent.CountMinSketch;
+import io.hhplus.tdd.concurrent.ShardedExecutor;
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.exception.ErrorCode;
 import io.hhplus.tdd.exception.HanghaeException;
+import io.hhplus.tdd.journal.PointJournal;
+import io.hhplus.tdd.lock.RefCountedUserLockProvider;
+import io.hhplus.tdd.lock.UserLock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -27,9 +49,43 @@ class PointServiceUnitTest {
     @Mock
     private PointHistoryTable pointHistoryTable;
 
-    @InjectMocks
+    @Spy
+    private UserPointCache userPointCache = new UserPointCache(100);
+
+    @Spy
+    private PointHistoryIndex pointHistoryIndex = new PointHistoryIndex();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PointHistoryOutbox pointHistoryOutbox;
+
     private PointService pointService;
 
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        PointMetrics pointMetrics = new PointMetrics(meterRegistry);
+        pointHistoryOutbox = new PointHistoryOutbox(pointHistoryTable, new AsyncThreadFactory(false), pointMetrics); // 내역은 outbox writer 스레드가 비동기로 기록
+        pointService = pointServiceFixture().pointMetrics(pointMetrics).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointHistoryOutbox.shutdown();
+    }
+
+    /**
+     * mock 테이블과 공유 캐시/인덱스/outbox 를 채운 빌더 (테스트마다 필요한 협력 객체만 바꿈)
+     */
+    private PointServiceFixture pointServiceFixture() {
+        return PointServiceFixture.builder()
+                .userPointTable(userPointTable)
+                .userPointCache(userPointCache)
+                .pointHistoryIndex(pointHistoryIndex)
+                .pointHistoryOutbox(pointHistoryOutbox)
+                .pointMetrics(new PointMetrics(meterRegistry));
+    }
+
     @Test
     @DisplayName("특정 유저의 포인트를 조회할 수 있다")
     void getUserPoint_Success() {
@@ -48,6 +104,50 @@ class PointServiceUnitTest {
         verify(userPointTable, times(1)).selectById(userId);
     }
 
+    @Test
+    @DisplayName("커밋된 잔액은 같은 유저의 락을 다른 스레드가 잡고 있어도 기다리지 않고 조회된다")
+    void getUserPoint_DoesNotWaitForWriter() {
+        // given
+        long userId = 1L;
+        RefCountedUserLockProvider userLockProvider = new RefCountedUserLockProvider();
+        PointService snapshotPointService = pointServiceFixture().userLockProvider(userLockProvider).build();
+        given(userPointTable.selectById(userId)).willReturn(new UserPoint(userId, 0L, System.currentTimeMillis()));
+        given(userPointTable.insertOrUpdate(userId, 1000L)).willReturn(new UserPoint(userId, 1000L, System.currentTimeMillis()));
+        snapshotPointService.chargePoint(userId, 1000L);
+        UserLock held = userLockProvider.lock(userId);
+
+        // when
+        UserPoint result = CompletableFuture.supplyAsync(() -> snapshotPointService.getUserPoint(userId))
+                .orTimeout(1, TimeUnit.SECONDS).join();
+        held.close();
+
+        // then
+        assertThat(result.point()).isEqualTo(1000L);
+        verify(userPointTable, times(1)).selectById(userId);
+    }
+
+    @Test
+    @DisplayName("쓰기 후의 버전 이상을 요청하면 그 쓰기가 반영된 잔액을 받고, 아직 없는 버전은 예외가 발생한다")
+    void getPointSnapshot_ReturnsAtLeastMinVersion() {
+        // given
+        long userId = 1L;
+        given(userPointTable.selectById(userId)).willReturn(new UserPoint(userId, 0L, System.currentTimeMillis()));
+        PointSnapshot before = pointService.getPointSnapshot(userId, 0L);
+        given(userPointTable.insertOrUpdate(userId, 1000L)).willReturn(new UserPoint(userId, 1000L, System.currentTimeMillis()));
+        pointService.chargePoint(userId, 1000L);
+
+        // when
+        PointSnapshot after = pointService.getPointSnapshot(userId, before.version() + 1);
+
+        // then
+        assertThat(before.userPoint().point()).isZero();
+        assertThat(after.userPoint().point()).isEqualTo(1000L);
+        assertThat(after.version()).isGreaterThan(before.version());
+        assertThatThrownBy(() -> pointService.getPointSnapshot(userId, after.version() + 100))
+                .isInstanceOf(HanghaeException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.UNKNOWN_POINT_VERSION);
+    }
+
     @Test
     @DisplayName("특정 유저의 포인트 내역을 조회할 수 있다")
     void getPointHistories_Success() {
@@ -69,6 +169,82 @@ class PointServiceUnitTest {
         verify(pointHistoryTable, times(1)).selectAllByUserId(userId);
     }
 
+    @Test
+    @DisplayName("충전 내역은 인덱스에 덧붙여지고, 이후 내역 조회는 테이블을 다시 읽지 않는다")
+    void getPointHistories_ServedFromIndexAfterColdStart() {
+        // given
+        long userId = 1L;
+        PointHistory existing = new PointHistory(1L, userId, 1000L, TransactionType.CHARGE, System.currentTimeMillis());
+        PointHistory charged = new PointHistory(2L, userId, 500L, TransactionType.CHARGE, System.currentTimeMillis());
+
+        given(userPointTable.selectById(userId)).willReturn(new UserPoint(userId, 1000L, System.currentTimeMillis()));
+        given(userPointTable.insertOrUpdate(userId, 1500L)).willReturn(new UserPoint(userId, 1500L, System.currentTimeMillis()));
+        given(pointHistoryTable.selectAllByUserId(userId)).willReturn(List.of(existing));
+        given(pointHistoryTable.insert(eq(userId), eq(500L), eq(TransactionType.CHARGE), anyLong())).willReturn(charged);
+
+        // when
+        pointService.chargePoint(userId, 500L);
+        List<PointHistory> first = pointService.getPointHistories(userId);
+        List<PointHistory> second = pointService.getPointHistories(userId);
+
+        // then - 충전 내역은 테이블 기록 전에도 조회되며, 테이블에 기록될 id 를 가짐
+        assertThat(first).extracting(PointHistory::id, PointHistory::amount, PointHistory::type)
+                .containsExactly(tuple(1L, 1000L, TransactionType.CHARGE), tuple(2L, 500L, TransactionType.CHARGE));
+        assertThat(second).isEqualTo(first);
+        verify(pointHistoryTable, times(1)).selectAllByUserId(userId); // cold start 1회만 테이블 조회
+        verify(pointHistoryTable, timeout(1000).times(1)).insert(eq(userId), eq(500L), eq(TransactionType.CHARGE), anyLong());
+    }
+
+    @Test
+    @DisplayName("포인트 내역을 cursor 로 나눠 조회하고, 마지막 페이지의 nextCursor 는 null 이다")
+    void getPointHistoryPage_PagesByCursor() {
+        // given
+        long userId = 1L;
+        given(pointHistoryTable.selectAllByUserId(userId)).willReturn(histories(userId, 5));
+
+        // when
+        PointHistoryPage first = pointService.getPointHistoryPage(userId, PointHistoryQuery.all(), 2);
+        PointHistoryPage second = pointService.getPointHistoryPage(userId, new PointHistoryQuery(first.nextCursor(), null, null, null), 2);
+        PointHistoryPage last = pointService.getPointHistoryPage(userId, new PointHistoryQuery(second.nextCursor(), null, null, null), 2);
+
+        // then
+        assertThat(first.histories()).extracting(PointHistory::id).containsExactly(1L, 2L);
+        assertThat(first.nextCursor()).isEqualTo(2L);
+        assertThat(second.histories()).extracting(PointHistory::id).containsExactly(3L, 4L);
+        assertThat(last.histories()).extracting(PointHistory::id).containsExactly(5L);
+        assertThat(last.nextCursor()).isNull();
+        verify(pointHistoryTable, times(1)).selectAllByUserId(userId); // cold start 1회만 테이블 조회
+    }
+
+    @Test
+    @DisplayName("포인트 내역을 시간 범위와 거래 타입으로 걸러 스트리밍할 수 있다")
+    void streamPointHistories_FiltersByTimeAndType() {
+        // given
+        long userId = 1L;
+        given(pointHistoryTable.selectAllByUserId(userId)).willReturn(histories(userId, 6));
+        List<PointHistory> streamed = new ArrayList<>();
+
+        // when - updateMillis [2000, 6000) 중 CHARGE 만
+        pointService.streamPointHistories(userId, new PointHistoryQuery(0, 2000L, 6000L, TransactionType.CHARGE), streamed::add);
+
+        // then
+        assertThat(streamed).extracting(PointHistory::id).containsExactly(3L, 5L);
+    }
+
+    @Test
+    @DisplayName("조회 크기가 범위를 벗어나거나 시간 범위가 잘못되면 예외가 발생한다")
+    void getPointHistoryPage_ThrowsException_WhenQueryIsInvalid() {
+        assertThatThrownBy(() -> pointService.getPointHistoryPage(1L, PointHistoryQuery.all(), 0))
+                .isInstanceOf(HanghaeException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.INVALID_PAGE_SIZE);
+        assertThatThrownBy(() -> pointService.getPointHistoryPage(1L, PointHistoryQuery.all(), PointService.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(HanghaeException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.INVALID_PAGE_SIZE);
+        assertThatThrownBy(() -> new PointHistoryQuery(0, 2000L, 1000L, null))
+                .isInstanceOf(HanghaeException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.INVALID_TIME_RANGE);
+    }
+
     @Test
     @DisplayName("포인트를 충전할 수 있다")
     void chargePoint_Success() {
@@ -93,7 +269,7 @@ class PointServiceUnitTest {
         assertThat(result.point()).isEqualTo(expectedAmount);
         verify(userPointTable, times(1)).selectById(userId);
         verify(userPointTable, times(1)).insertOrUpdate(userId, expectedAmount);
-        verify(pointHistoryTable, times(1)).insert(eq(userId), eq(chargeAmount), eq(TransactionType.CHARGE), anyLong());
+        verify(pointHistoryTable, timeout(1000).times(1)).insert(eq(userId), eq(chargeAmount), eq(TransactionType.CHARGE), anyLong());
     }
 
     @Test
@@ -141,7 +317,7 @@ class PointServiceUnitTest {
         assertThat(result.point()).isEqualTo(expectedAmount);
         verify(userPointTable, times(1)).selectById(userId);
         verify(userPointTable, times(1)).insertOrUpdate(userId, expectedAmount);
-        verify(pointHistoryTable, times(1)).insert(eq(userId), eq(useAmount), eq(TransactionType.USE), anyLong());
+        verify(pointHistoryTable, timeout(1000).times(1)).insert(eq(userId), eq(useAmount), eq(TransactionType.USE), anyLong());
     }
 
     @Test
@@ -186,4 +362,475 @@ class PointServiceUnitTest {
         verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong()); // never() 실행 안되었는지 검증
         verify(pointHistoryTable, never()).insert(anyLong(), anyLong(), any(), anyLong()); // never() 실행 안되었는지 검증
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("저널 기록을 확인하지 못하면 반영된 잔액은 되돌리지 않고 저장을 확인하지 못했다는 예외가 발생한다")
+    void chargePoint_ThrowsException_WhenJournalUnavailable() {
+        // given
+        long userId = 1L;
+        PointJournal pointJournal = mock(PointJournal.class);
+        given(pointJournal.isWritable()).willReturn(true); // 반영 전 확인은 통과하고 기록 중에 실패
+        willThrow(new IllegalStateException("포인트 저널을 쓸 수 없습니다.")).given(pointJournal).awaitDurable(anyLong());
+        PointService journaledPointService = pointServiceFixture().pointJournal(pointJournal).build();
+        given(userPointTable.selectById(userId)).willReturn(new UserPoint(userId, 1000L, System.currentTimeMillis()));
+        given(userPointTable.insertOrUpdate(userId, 1500L)).willReturn(new UserPoint(userId, 1500L, System.currentTimeMillis()));
+
+        // when & then
+        assertThatThrownBy(() -> journaledPointService.chargePoint(userId, 500L))
+                .isInstanceOf(HanghaeException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.JOURNAL_UNAVAILABLE);
+        assertThat(journaledPointService.getUserPoint(userId).point()).isEqualTo(1500L); // 이미 반영됨
+        verify(userPointTable, times(1)).insertOrUpdate(userId, 1500L);
+    }
+
+    @Test
+    @DisplayName("저널을 쓸 수 없는 상태면 잔액을 반영하기 전에 거절하므로, 잔액/내역이 바뀌지 않는다")
+    void chargePoint_RejectsBeforePersist_WhenJournalNotWritable() {
+        // given
+        long userId = 1L;
+        PointJournal pointJournal = mock(PointJournal.class);
+        given(pointJournal.isWritable()).willReturn(false);
+        PointService journaledPointService = pointServiceFixture().pointJournal(pointJournal).build();
+        given(userPointTable.selectById(userId)).willReturn(new UserPoint(userId, 1000L, System.currentTimeMillis()));
+
+        // when & then
+        assertThatThrownBy(() -> journaledPointService.chargePoint(userId, 500L))
+                .isInstanceOf(HanghaeException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.JOURNAL_NOT_WRITABLE);
+        assertThat(journaledPointService.getUserPoint(userId).point()).isEqualTo(1000L);
+        verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+        verify(pointJournal, never()).append(any());
+        verify(pointHistoryTable, never()).insert(anyLong(), anyLong(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("연산별 처리 시간, 테이블 호출 시간, 락 대기/보유 시간이 기록된다")
+    void metrics_RecordedPerOperation() {
+        // given
+        long userId = 1L;
+        given(userPointTable.selectById(userId)).willReturn(new UserPoint(userId, 500L, System.currentTimeMillis()));
+        given(userPointTable.insertOrUpdate(userId, 1000L)).willReturn(new UserPoint(userId, 1000L, System.currentTimeMillis()));
+
+        // when
+        pointService.chargePoint(userId, 500L);
+        assertThatThrownBy(() -> pointService.usePoint(userId, 5000L)).isInstanceOf(HanghaeException.class);
+
+        // then
+        assertThat(meterRegistry.get("point.operation").tags("operation", "chargePoint", "outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("point.operation").tags("operation", "usePoint", "outcome", "error").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("point.table.call").tags("table", "user_point", "method", "selectById").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("point.table.call").tags("table", "user_point", "method", "insertOrUpdate").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("point.lock.wait").tag("operation", "chargePoint").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("point.lock.hold").tag("operation", "usePoint").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("처리 중에 쌓인 동일 유저의 요청은 한 번에 반영되고, 잔액이 부족한 사용 요청만 실패한다")
+    void pendingCommands_DrainedInOneBatch() throws Exception {
+        // given
+        long userId = 1L;
+        AtomicLong storedPoint = new AtomicLong(0);
+        AtomicInteger selectCount = new AtomicInteger(0);
+        CountDownLatch firstSelectStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstSelect = new CountDownLatch(1);
+
+        given(userPointTable.selectById(userId)).willAnswer(invocation -> {
+            if (selectCount.getAndIncrement() == 0) { // 첫 조회를 붙잡아 두어 뒤따르는 요청이 대기열에 쌓이게 함
+                firstSelectStarted.countDown();
+                releaseFirstSelect.await();
+            }
+            return new UserPoint(userId, storedPoint.get(), System.currentTimeMillis());
+        });
+        given(userPointTable.insertOrUpdate(eq(userId), anyLong())).willAnswer(invocation -> {
+            long point = invocation.getArgument(1);
+            storedPoint.set(point);
+            return new UserPoint(userId, point, System.currentTimeMillis());
+        });
+        AtomicLong historyId = new AtomicLong(1);
+        given(pointHistoryTable.insert(eq(userId), anyLong(), any(), anyLong())).willAnswer(invocation ->
+                new PointHistory(historyId.getAndIncrement(), userId, invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3)));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        Future<UserPoint> firstCharge = executorService.submit(() -> pointService.chargePoint(userId, 1000L));
+        firstSelectStarted.await();
+
+        // when - 첫 요청 처리 중에 사용 300 → 사용 1000 → 충전 500 순서로 도착
+        Future<UserPoint> use = executorService.submit(() -> pointService.usePoint(userId, 300L));
+        Thread.sleep(50);
+        Future<UserPoint> overUse = executorService.submit(() -> pointService.usePoint(userId, 1000L));
+        Thread.sleep(50);
+        Future<UserPoint> charge = executorService.submit(() -> pointService.chargePoint(userId, 500L));
+        Thread.sleep(50);
+        releaseFirstSelect.countDown();
+
+        // then - 각 요청은 자신의 결과를 받음
+        assertThat(firstCharge.get().point()).isEqualTo(1000L);
+        assertThat(use.get().point()).isEqualTo(700L);
+        assertThatThrownBy(overUse::get)
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOf(HanghaeException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.INSUFFICIENT_POINT);
+        assertThat(charge.get().point()).isEqualTo(1200L);
+        executorService.shutdown();
+
+        // 대기하던 3건은 캐시된 잔액으로 저장 1회에 처리됨
+        verify(userPointTable, times(1)).selectById(userId);
+        verify(userPointTable, times(2)).insertOrUpdate(eq(userId), anyLong());
+        verify(userPointTable, times(1)).insertOrUpdate(userId, 1200L);
+        assertThat(pointHistoryOutbox.awaitDrained(1, TimeUnit.SECONDS)).isTrue();
+        verify(pointHistoryTable, times(1)).insert(eq(userId), eq(300L), eq(TransactionType.USE), anyLong());
+        verify(pointHistoryTable, times(1)).insert(eq(userId), eq(500L), eq(TransactionType.CHARGE), anyLong());
+        verify(pointHistoryTable, never()).insert(eq(userId), eq(1000L), eq(TransactionType.USE), anyLong());
+    }
+
+    @Test
+    @DisplayName("cas 방식에서는 앞선 요청이 테이블에 기록되는 동안에도 잔액 부족 요청이 바로 실패하고, 내역은 잔액이 바뀐 순서대로 기록된다")
+    void optimisticEngine_FailsFastAndKeepsOrder() throws Exception {
+        // given
+        long userId = 1L;
+        PointService casPointService = pointServiceFixture().engine("cas").build();
+        AtomicInteger writeCount = new AtomicInteger(0);
+        CountDownLatch firstWriteStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstWrite = new CountDownLatch(1);
+
+        given(userPointTable.selectById(userId)).willReturn(new UserPoint(userId, 0L, System.currentTimeMillis()));
+        given(userPointTable.insertOrUpdate(eq(userId), anyLong())).willAnswer(invocation -> {
+            if (writeCount.getAndIncrement() == 0) { // 첫 기록을 붙잡아 두어 뒤따르는 요청이 CAS 만 하고 기록을 기다리게 함
+                firstWriteStarted.countDown();
+                releaseFirstWrite.await();
+            }
+            return new UserPoint(userId, invocation.getArgument(1), System.currentTimeMillis());
+        });
+        AtomicLong historyId = new AtomicLong(1);
+        given(pointHistoryTable.insert(eq(userId), anyLong(), any(), anyLong())).willAnswer(invocation ->
+                new PointHistory(historyId.getAndIncrement(), userId, invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3)));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        Future<UserPoint> firstCharge = executorService.submit(() -> casPointService.chargePoint(userId, 1000L));
+        firstWriteStarted.await();
+
+        // when - 첫 기록 중에 충전 500 → 사용 2000(잔액 부족) → 사용 300 순서로 도착
+        Future<UserPoint> charge = executorService.submit(() -> casPointService.chargePoint(userId, 500L));
+        Thread.sleep(50);
+        assertThatThrownBy(() -> casPointService.usePoint(userId, 2000L)) // 첫 기록이 끝나지 않았어도 바로 실패
+                .isInstanceOf(HanghaeException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.INSUFFICIENT_POINT);
+        Future<UserPoint> use = executorService.submit(() -> casPointService.usePoint(userId, 300L));
+        Thread.sleep(50);
+        releaseFirstWrite.countDown();
+
+        // then
+        assertThat(firstCharge.get().point()).isEqualTo(1000L);
+        assertThat(charge.get().point()).isEqualTo(1500L);
+        assertThat(use.get().point()).isEqualTo(1200L);
+        executorService.shutdown();
+
+        // 첫 기록 중에 쌓인 2건은 저장 1회에 처리되고, 내역은 CAS 순서대로 남음
+        verify(userPointTable, times(2)).insertOrUpdate(eq(userId), anyLong());
+        verify(userPointTable, times(1)).insertOrUpdate(userId, 1200L);
+        assertThat(casPointService.getPointHistories(userId))
+                .extracting(PointHistory::amount, PointHistory::type)
+                .containsExactly(
+                        tuple(1000L, TransactionType.CHARGE),
+                        tuple(500L, TransactionType.CHARGE),
+                        tuple(300L, TransactionType.USE));
+        assertThat(casPointService.getUserPoint(userId).point()).isEqualTo(1200L);
+    }
+
+    @Test
+    @DisplayName("cas 방식에서 오래된 스냅샷의 버전 확인은 CAS 에 성공한 쓰기가 기록될 때까지 기다린 뒤 그 잔액을 반환한다")
+    void optimisticEngine_ConfirmsSnapshotAfterPendingWrites() throws Exception {
+        // given
+        long userId = 1L;
+        long otherUserId = 2L;
+        PointService casPointService = pointServiceFixture().engine("cas").build();
+        CountDownLatch writeStarted = new CountDownLatch(1);
+        CountDownLatch releaseWrite = new CountDownLatch(1);
+
+        given(userPointTable.selectById(anyLong())).willAnswer(invocation ->
+                new UserPoint(invocation.getArgument(0), 0L, System.currentTimeMillis()));
+        given(userPointTable.insertOrUpdate(anyLong(), anyLong())).willAnswer(invocation -> {
+            long id = invocation.getArgument(0);
+            if (id == userId) { // 유저 1의 기록을 붙잡아 두어 CAS 만 반영된 상태로 둠
+                writeStarted.countDown();
+                releaseWrite.await();
+            }
+            return new UserPoint(id, invocation.getArgument(1), System.currentTimeMillis());
+        });
+        PointSnapshot before = casPointService.getPointSnapshot(userId, 0L);
+        casPointService.chargePoint(otherUserId, 1000L);
+        long minVersion = casPointService.getPointSnapshot(otherUserId, 0L).version(); // 유저 1의 스냅샷보다 큰 버전
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        Future<UserPoint> charge = executorService.submit(() -> casPointService.chargePoint(userId, 500L));
+        writeStarted.await();
+
+        // when
+        Future<PointSnapshot> confirmed = executorService.submit(() -> casPointService.getPointSnapshot(userId, minVersion));
+        Thread.sleep(50);
+        boolean confirmedDuringWrite = confirmed.isDone();
+        releaseWrite.countDown();
+
+        // then
+        assertThat(confirmedDuringWrite).isFalse();
+        assertThat(charge.get().point()).isEqualTo(500L);
+        assertThat(confirmed.get().userPoint().point()).isEqualTo(500L);
+        assertThat(confirmed.get().version()).isGreaterThanOrEqualTo(minVersion).isGreaterThan(before.version());
+        executorService.shutdown();
+    }
+
+    @Test
+    @DisplayName("sharded 방식에서는 유저의 shard 스레드가 락 없이 요청을 반영하고, 잔액 부족인 이체는 받는 유저를 바꾸지 않는다")
+    void shardedEngine_AppliesOnShardThread() throws Exception {
+        // given
+        long fromUserId = 1L;
+        long toUserId = 2L;
+        RefCountedUserLockProvider userLockProvider = new RefCountedUserLockProvider();
+        ShardedExecutor shardedExecutor = new ShardedExecutor(4);
+        PointService shardedPointService = pointServiceFixture()
+                .userLockProvider(userLockProvider).shardedExecutor(shardedExecutor).engine("sharded").build();
+        given(userPointTable.selectById(anyLong())).willAnswer(invocation ->
+                new UserPoint(invocation.getArgument(0), 0L, System.currentTimeMillis()));
+        Set<String> writerThreads = ConcurrentHashMap.newKeySet();
+        given(userPointTable.insertOrUpdate(anyLong(), anyLong())).willAnswer(invocation -> {
+            writerThreads.add(Thread.currentThread().getName());
+            return new UserPoint(invocation.getArgument(0), invocation.getArgument(1), System.currentTimeMillis());
+        });
+
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        List<Future<UserPoint>> charges = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            charges.add(executorService.submit(() -> shardedPointService.chargePoint(fromUserId, 100L)));
+        }
+        for (Future<UserPoint> charge : charges) {
+            charge.get(5, TimeUnit.SECONDS);
+        }
+        executorService.shutdown();
+
+        // when
+        PointTransfer transfer = shardedPointService.transferPoint(fromUserId, toUserId, 3000L);
+
+        // then
+        assertThat(transfer.from().point()).isEqualTo(7000L);
+        assertThat(transfer.to().point()).isEqualTo(3000L);
+        assertThatThrownBy(() -> shardedPointService.transferPoint(fromUserId, toUserId, 8000L))
+                .isInstanceOf(HanghaeException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.INSUFFICIENT_POINT);
+        assertThat(shardedPointService.getUserPoint(fromUserId).point()).isEqualTo(7000L);
+        assertThat(shardedPointService.getUserPoint(toUserId).point()).isEqualTo(3000L);
+        assertThat(writerThreads).allMatch(name -> name.startsWith("point-shard-"));
+        assertThat(userLockProvider.stats().acquisitions()).isZero();
+        shardedExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("hot key 감지를 켜면 요청이 몰린 유저만 hot 으로 보고되고, cold 유저의 요청도 같은 결과로 반영된다")
+    void hotKeyDetection_ReportsOnlyHotUser() {
+        // given
+        long hotUserId = 1L;
+        long coldUserId = 2L;
+        HotKeyDetector hotKeyDetector = new HotKeyDetector(true, 3, 4, new CountMinSketch(4, 1024, 60_000));
+        PointService detectingPointService = pointServiceFixture().hotKeyDetector(hotKeyDetector).build();
+        given(userPointTable.selectById(anyLong())).willAnswer(invocation ->
+                new UserPoint(invocation.getArgument(0), 0L, System.currentTimeMillis()));
+        given(userPointTable.insertOrUpdate(anyLong(), anyLong())).willAnswer(invocation ->
+                new UserPoint(invocation.getArgument(0), invocation.getArgument(1), System.currentTimeMillis()));
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            detectingPointService.chargePoint(hotUserId, 100L);
+        }
+        UserPoint coldCharge = detectingPointService.chargePoint(coldUserId, 300L);
+
+        // then
+        assertThat(detectingPointService.getUserPoint(hotUserId).point()).isEqualTo(500L);
+        assertThat(coldCharge.point()).isEqualTo(300L);
+        assertThatThrownBy(() -> detectingPointService.usePoint(coldUserId, 1000L))
+                .isInstanceOf(HanghaeException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.INSUFFICIENT_POINT);
+        verify(userPointTable, times(1)).insertOrUpdate(eq(coldUserId), anyLong());
+        assertThat(detectingPointService.getHotKeys())
+                .extracting(HotKey::userId, HotKey::estimatedRequests, HotKey::lockQueueLength)
+                .containsExactly(tuple(hotUserId, 5L, 0));
+        assertThat(hotKeyDetector.coldCount()).isEqualTo(2L + 2L); // 유저 1의 처음 2건 + 유저 2의 2건
+    }
+
+    @Test
+    @DisplayName("대기열을 쓰지 않는 cas 방식의 요청은 hot key 통계에 기록하지 않는다")
+    void hotKeyDetection_IgnoresOptimisticEngine() {
+        // given
+        long userId = 1L;
+        HotKeyDetector hotKeyDetector = new HotKeyDetector(true, 3, 4, new CountMinSketch(4, 1024, 60_000));
+        PointService optimisticPointService = pointServiceFixture().hotKeyDetector(hotKeyDetector).engine("cas").build();
+        given(userPointTable.selectById(anyLong())).willAnswer(invocation ->
+                new UserPoint(invocation.getArgument(0), 0L, System.currentTimeMillis()));
+        given(userPointTable.insertOrUpdate(anyLong(), anyLong())).willAnswer(invocation ->
+                new UserPoint(invocation.getArgument(0), invocation.getArgument(1), System.currentTimeMillis()));
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            optimisticPointService.chargePoint(userId, 100L);
+        }
+
+        // then
+        assertThat(optimisticPointService.getUserPoint(userId).point()).isEqualTo(500L);
+        assertThat(optimisticPointService.getHotKeys()).isEmpty();
+        assertThat(hotKeyDetector.coldCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("포인트를 이체하면 보내는 유저의 사용 내역과 받는 유저의 충전 내역이 함께 남는다")
+    void transferPoint_Success() {
+        // given
+        long fromUserId = 1L;
+        long toUserId = 2L;
+        given(userPointTable.selectById(fromUserId)).willReturn(new UserPoint(fromUserId, 1000L, System.currentTimeMillis()));
+        given(userPointTable.selectById(toUserId)).willReturn(new UserPoint(toUserId, 200L, System.currentTimeMillis()));
+        given(userPointTable.insertOrUpdate(anyLong(), anyLong())).willAnswer(invocation ->
+                new UserPoint(invocation.getArgument(0), invocation.getArgument(1), System.currentTimeMillis()));
+
+        // when
+        PointTransfer result = pointService.transferPoint(fromUserId, toUserId, 300L);
+
+        // then
+        assertThat(result.from().point()).isEqualTo(700L);
+        assertThat(result.to().point()).isEqualTo(500L);
+        verify(userPointTable).insertOrUpdate(fromUserId, 700L);
+        verify(userPointTable).insertOrUpdate(toUserId, 500L);
+        assertThat(pointService.getPointHistories(fromUserId))
+                .extracting(PointHistory::amount, PointHistory::type)
+                .containsExactly(tuple(300L, TransactionType.USE));
+        assertThat(pointService.getPointHistories(toUserId))
+                .extracting(PointHistory::amount, PointHistory::type)
+                .containsExactly(tuple(300L, TransactionType.CHARGE));
+    }
+
+    @Test
+    @DisplayName("보내는 유저의 잔액이 부족하면 두 유저 모두 잔액과 내역이 바뀌지 않는다")
+    void transferPoint_ThrowsException_WhenInsufficientPoint() {
+        // given
+        long fromUserId = 1L;
+        long toUserId = 2L;
+        given(userPointTable.selectById(fromUserId)).willReturn(new UserPoint(fromUserId, 100L, System.currentTimeMillis()));
+
+        // when & then
+        assertThatThrownBy(() -> pointService.transferPoint(fromUserId, toUserId, 300L))
+                .isInstanceOf(HanghaeException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.INSUFFICIENT_POINT);
+        verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+        assertThat(pointService.getPointHistories(fromUserId)).isEmpty();
+        assertThat(pointService.getPointHistories(toUserId)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("이체 금액이 100 미만이거나 자기 자신에게 이체하면 예외가 발생한다")
+    void transferPoint_ThrowsException_WhenRequestIsInvalid() {
+        assertThatThrownBy(() -> pointService.transferPoint(1L, 2L, 99L))
+                .isInstanceOf(HanghaeException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.INVALID_TRANSFER_AMOUNT);
+        assertThatThrownBy(() -> pointService.transferPoint(1L, 1L, 100L))
+                .isInstanceOf(HanghaeException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.SELF_TRANSFER);
+        verifyNoInteractions(userPointTable);
+    }
+
+    @Test
+    @DisplayName("유저 락 대기 수 제한으로 거절된 요청은 잔액에 반영되지 않는다")
+    void chargePoint_ThrowsException_WhenTooManyWaiters() throws Exception {
+        // given - 최대 대기 1, 락을 잡아 둔 상태에서 충전 1건이 대기 중
+        long userId = 1L;
+        RefCountedUserLockProvider userLockProvider = new RefCountedUserLockProvider(1);
+        PointService limitedPointService = pointServiceFixture().userLockProvider(userLockProvider).build();
+        given(userPointTable.selectById(userId)).willReturn(new UserPoint(userId, 0L, System.currentTimeMillis()));
+        given(userPointTable.insertOrUpdate(eq(userId), anyLong())).willAnswer(invocation ->
+                new UserPoint(userId, invocation.getArgument(1), System.currentTimeMillis()));
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        UserLock held = userLockProvider.lock(userId);
+        Future<UserPoint> waiting = executorService.submit(() -> limitedPointService.chargePoint(userId, 1000L));
+        while (userLockProvider.stats().waitingThreads() == 0) {
+            Thread.onSpinWait();
+        }
+
+        // when & then - 두 번째 대기 요청은 바로 거절되고, 대기열에서도 빠짐
+        assertThatThrownBy(() -> limitedPointService.chargePoint(userId, 500L))
+                .isInstanceOf(HanghaeException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.USER_LOCK_BUSY);
+        held.close();
+
+        assertThat(waiting.get(1, TimeUnit.SECONDS).point()).isEqualTo(1000L);
+        executorService.shutdown();
+        verify(userPointTable, never()).insertOrUpdate(userId, 1500L);
+        assertThat(limitedPointService.getUserPoint(userId).point()).isEqualTo(1000L);
+    }
+
+    @Test
+    @DisplayName("되돌림은 유저 락 대기 수 제한에 걸리지 않고 기다렸다가 REFUND 내역으로 기록된다")
+    void refundPoint_BypassesWaiterCap() throws Exception {
+        // given - 최대 대기 1, 락을 잡아 둔 상태에서 충전 1건이 대기 중
+        long userId = 1L;
+        RefCountedUserLockProvider userLockProvider = new RefCountedUserLockProvider(1);
+        PointService limitedPointService = pointServiceFixture().userLockProvider(userLockProvider).build();
+        given(userPointTable.selectById(userId)).willReturn(new UserPoint(userId, 0L, System.currentTimeMillis()));
+        given(userPointTable.insertOrUpdate(eq(userId), anyLong())).willAnswer(invocation ->
+                new UserPoint(userId, invocation.getArgument(1), System.currentTimeMillis()));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        UserLock held = userLockProvider.lock(userId);
+        Future<UserPoint> charging = executorService.submit(() -> limitedPointService.chargePoint(userId, 1000L));
+        while (userLockProvider.stats().waitingThreads() == 0) {
+            Thread.onSpinWait();
+        }
+
+        // when - 대기 수가 찼어도 되돌림은 거절되지 않고 대기
+        Future<UserPoint> refunding = executorService.submit(() -> limitedPointService.refundPoint(userId, 500L));
+        while (userLockProvider.stats().waitingThreads() < 2) {
+            Thread.onSpinWait();
+        }
+        held.close();
+
+        // then
+        charging.get(1, TimeUnit.SECONDS);
+        refunding.get(1, TimeUnit.SECONDS);
+        executorService.shutdown();
+        assertThat(userLockProvider.stats().rejectedAcquisitions()).isZero();
+        assertThat(limitedPointService.getUserPoint(userId).point()).isEqualTo(1500L);
+        assertThat(limitedPointService.getPointHistories(userId))
+                .extracting(PointHistory::type)
+                .containsExactlyInAnyOrder(TransactionType.CHARGE, TransactionType.REFUND);
+    }
+
+    @Test
+    @DisplayName("연산별 락 대기 시간을 넘긴 요청은 LOCK_TIMEOUT 예외로 실패하고, 초과 횟수가 기록된다")
+    void chargePoint_ThrowsException_WhenLockTimedOut() {
+        // given - 충전은 50ms 까지만 대기
+        long userId = 1L;
+        RefCountedUserLockProvider userLockProvider = new RefCountedUserLockProvider();
+        PointService timeoutPointService = pointServiceFixture()
+                .userLockProvider(userLockProvider).lockTimeouts(new LockTimeouts(-1, Map.of("chargePoint", 50L))).build();
+        UserLock held = userLockProvider.lock(userId);
+
+        // when
+        Throwable thrown = CompletableFuture.supplyAsync(() -> timeoutPointService.chargePoint(userId, 1000L))
+                .handle((ignored, e) -> e.getCause()).join();
+        held.close();
+
+        // then
+        assertThat(thrown).isInstanceOf(HanghaeException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.LOCK_TIMEOUT);
+        assertThat(meterRegistry.get("point.lock.timeouts").tag("operation", "chargePoint").counter().count()).isEqualTo(1);
+        verify(userPointTable, never()).insertOrUpdate(eq(userId), anyLong());
+    }
+
+    /**
+     * id 1 ~ count, updateMillis id * 1000, 홀수 id 는 CHARGE / 짝수 id 는 USE 인 내역
+     */
+    private static List<PointHistory> histories(long userId, int count) {
+        List<PointHistory> histories = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            histories.add(new PointHistory(id, userId, 100L, id % 2 == 1 ? TransactionType.CHARGE : TransactionType.USE, id * 1000));
+        }
+        return histories;
+    }
+}
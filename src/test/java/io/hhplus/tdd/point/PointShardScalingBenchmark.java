@@ -0,0 +1,98 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrent.AsyncThreadFactory;
+import io.hhplus.tdd.concurrent.ShardedExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * sharded 방식의 shard 수(1 ~ 32)에 따른 충전 처리량 벤치마크
+ * - 실행 : ./gradlew benchmark --tests "*PointShardScalingBenchmark"
+ * - 유저 65,536명에게 고르게 충전(hot key 없음), 요청 스레드 64개, shard 수마다 1초씩 측정
+ * - cpu : 테이블 지연 없음 → 사용 가능한 코어 수까지 늘어남
+ * - io : 테이블 저장마다 1ms 대기 → shard 스레드가 저장을 기다리는 동안 다른 shard 가 진행하므로 코어 수와 관계없이 shard 수만큼 늘어남
+ * - 모든 충전이 잔액에 반영되었는지(테이블 잔액 합 = 성공한 충전 합) 함께 확인
+ */
+@Tag("benchmark")
+@DisplayName("sharded 방식 shard 수 확장 벤치마크")
+class PointShardScalingBenchmark {
+
+    private static final int[] SHARD_COUNTS = {1, 2, 4, 8, 16, 32};
+    private static final int USER_COUNT = 65_536;
+    private static final int CLIENT_COUNT = 64;
+    private static final long DURATION_MILLIS = 1_000;
+    private static final long AMOUNT = 100L;
+
+    @Test
+    @DisplayName("hot key 가 없는 충전은 shard 수에 비례해 처리량이 늘고, 모든 충전이 반영된다")
+    void charge_ScalesWithShardCount() throws Exception {
+        measure(SHARD_COUNTS[SHARD_COUNTS.length - 1], 0); // JIT 워밍업
+        System.out.printf("cores = %d%n", Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-4s | %6s | %12s | %8s%n", "mode", "shards", "charges/s", "speedup");
+        run("cpu", 0);
+        List<Double> io = run("io", 1);
+
+        // 1ms 저장 지연이 처리량을 정하므로 8 shard 는 1 shard 의 4배 이상이어야 함 (이상적으로 8배)
+        assertThat(io.get(3)).isGreaterThanOrEqualTo(io.get(0) * 4);
+    }
+
+    private static List<Double> run(String mode, long writeLatencyMillis) throws Exception {
+        List<Double> throughputs = new ArrayList<>();
+        for (int shards : SHARD_COUNTS) {
+            double chargesPerSecond = measure(shards, writeLatencyMillis);
+            throughputs.add(chargesPerSecond);
+            System.out.printf("%-4s | %6d | %12.0f | %7.1fx%n", mode, shards, chargesPerSecond, chargesPerSecond / throughputs.get(0));
+        }
+        return throughputs;
+    }
+
+    private static double measure(int shards, long writeLatencyMillis) throws Exception {
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        PointHistoryOutbox outbox = new PointHistoryOutbox(new StubPointHistoryTable(), new AsyncThreadFactory(false), pointMetrics);
+        StubUserPointTable table = StubUserPointTable.fixedWriteLatency(writeLatencyMillis);
+        ShardedExecutor shardedExecutor = new ShardedExecutor(shards);
+        PointService pointService = PointServiceFixture.builder()
+                .userPointTable(table)
+                .userPointCache(new UserPointCache(USER_COUNT))
+                .pointHistoryOutbox(outbox)
+                .pointMetrics(pointMetrics)
+                .pointSnapshots(new PointSnapshots(USER_COUNT))
+                .shardedExecutor(shardedExecutor)
+                .engine("sharded")
+                .build();
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder charged = new LongAdder();
+        ExecutorService executorService = Executors.newFixedThreadPool(CLIENT_COUNT);
+        for (int t = 0; t < CLIENT_COUNT; t++) {
+            executorService.submit(() -> {
+                while (running.get()) {
+                    pointService.chargePoint(ThreadLocalRandom.current().nextLong(USER_COUNT), AMOUNT);
+                    charged.increment();
+                }
+            });
+        }
+        Thread.sleep(DURATION_MILLIS);
+        running.set(false);
+        executorService.shutdown();
+        assertThat(executorService.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        shardedExecutor.shutdown();
+        outbox.shutdown();
+        assertThat(table.totalPoint()).isEqualTo(charged.sum() * AMOUNT);
+        return charged.sum() * 1000.0 / DURATION_MILLIS;
+    }
+}
@@ -0,0 +1,118 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrent.AsyncThreadFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 유저에게 쓰기가 계속 들어오는 중의 잔액 조회 지연 벤치마크
+ * - 실행 : ./gradlew benchmark --tests "*PointSnapshotReadBenchmark"
+ * - hot 유저 4명에게 쓰기 스레드가 계속 충전하고(테이블 저장 2ms), 조회 스레드가 같은 유저를 읽으며 조회마다 지연을 기록
+ * - snapshot : 커밋마다 발행된 스냅샷을 락 없이 조회 (getUserPoint)
+ * - latest : 매번 현재까지 발행된 버전 이상을 요청해, 오래된 스냅샷이면 락을 잡고 진행 중인 쓰기를 기다림
+ */
+@Tag("benchmark")
+@DisplayName("PointSnapshot 조회 벤치마크")
+class PointSnapshotReadBenchmark {
+
+    private static final int USER_COUNT = 4;
+    private static final int WRITER_COUNT = 4;
+    private static final int READER_COUNT = 4;
+    private static final long WRITE_LATENCY_MILLIS = 2;
+    private static final long DURATION_MILLIS = 3_000;
+
+    @Test
+    @DisplayName("쓰기가 몰리는 유저도 스냅샷 조회는 쓰기를 기다리지 않아 p99 가 테이블 저장 시간보다 짧다")
+    void read_UnderConcurrentWrites() throws Exception {
+        System.out.printf("%-10s | %10s | %12s | %12s | %12s%n", "mode", "reads", "p50 (us)", "p99 (us)", "max (us)");
+        Result snapshot = run("snapshot", (pointService, pointSnapshots, userId) -> pointService.getUserPoint(userId).point());
+        Result latest = run("latest", (pointService, pointSnapshots, userId) ->
+                pointService.getPointSnapshot(userId, pointSnapshots.currentVersion()).userPoint().point());
+
+        assertThat(snapshot.p99Micros()).isLessThan(TimeUnit.MILLISECONDS.toMicros(WRITE_LATENCY_MILLIS));
+        assertThat(snapshot.p99Micros()).isLessThan(latest.p99Micros());
+    }
+
+    private static Result run(String mode, Reader reader) throws Exception {
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        PointHistoryOutbox outbox = new PointHistoryOutbox(new StubPointHistoryTable(), new AsyncThreadFactory(false), pointMetrics);
+        PointSnapshots pointSnapshots = new PointSnapshots();
+        PointService pointService = PointServiceFixture.builder()
+                .userPointTable(StubUserPointTable.fixedWriteLatency(WRITE_LATENCY_MILLIS))
+                .pointHistoryOutbox(outbox)
+                .pointMetrics(pointMetrics)
+                .pointSnapshots(pointSnapshots)
+                .build();
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            pointService.chargePoint(userId, 1000L);
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executorService = Executors.newFixedThreadPool(WRITER_COUNT + READER_COUNT);
+        List<Future<long[]>> reads = new ArrayList<>();
+        for (int t = 0; t < WRITER_COUNT; t++) {
+            long userId = 1 + t % USER_COUNT;
+            executorService.submit(() -> {
+                while (running.get()) {
+                    pointService.chargePoint(userId, 100L);
+                }
+            });
+        }
+        for (int t = 0; t < READER_COUNT; t++) {
+            int thread = t;
+            reads.add(executorService.submit(() -> {
+                long[] latencies = new long[1 << 20];
+                int count = 0;
+                while (running.get() && count < latencies.length) {
+                    long userId = 1 + (thread + count) % USER_COUNT;
+                    long start = System.nanoTime();
+                    reader.read(pointService, pointSnapshots, userId);
+                    latencies[count++] = System.nanoTime() - start;
+                }
+                return Arrays.copyOf(latencies, count);
+            }));
+        }
+        Thread.sleep(DURATION_MILLIS);
+        running.set(false);
+        executorService.shutdown();
+        assertThat(executorService.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        long[] latencies = reads.stream().map(PointSnapshotReadBenchmark::join).flatMapToLong(Arrays::stream).sorted().toArray();
+        outbox.shutdown();
+        Result result = new Result(latencies.length, percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[latencies.length - 1] / 1_000);
+        System.out.printf("%-10s | %10d | %12d | %12d | %12d%n", mode, result.reads(), result.p50Micros(), result.p99Micros(), result.maxMicros());
+        return result;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(sorted.length * percentile) - 1)] / 1_000;
+    }
+
+    private static long[] join(Future<long[]> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private interface Reader {
+        long read(PointService pointService, PointSnapshots pointSnapshots, long userId);
+    }
+
+    private record Result(int reads, long p50Micros, long p99Micros, long maxMicros) {
+    }
+}
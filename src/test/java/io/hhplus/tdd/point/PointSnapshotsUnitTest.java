@@ -0,0 +1,84 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PointSnapshots 단위 테스트")
+class PointSnapshotsUnitTest {
+
+    @Test
+    @DisplayName("발행할 때마다 유저와 관계없이 더 큰 버전을 받고, 조회는 최신 스냅샷을 반환한다")
+    void publish_AssignsIncreasingVersion() {
+        // given
+        PointSnapshots snapshots = new PointSnapshots(100);
+
+        // when
+        PointSnapshot first = snapshots.publish(new UserPoint(1L, 1000L, 1L));
+        PointSnapshot other = snapshots.publish(new UserPoint(2L, 500L, 2L));
+        PointSnapshot second = snapshots.publish(new UserPoint(1L, 1500L, 3L));
+
+        // then
+        assertThat(first.version()).isLessThan(other.version());
+        assertThat(other.version()).isLessThan(second.version());
+        assertThat(snapshots.get(1L)).isSameAs(second);
+        assertThat(snapshots.versionOf(1L)).isEqualTo(second.version());
+        assertThat(snapshots.currentVersion()).isEqualTo(second.version());
+    }
+
+    @Test
+    @DisplayName("읽어 온 잔액은 이미 발행된 스냅샷이 있으면 덮어쓰지 않는다")
+    void publishIfAbsent_KeepsPublishedSnapshot() {
+        // given
+        PointSnapshots snapshots = new PointSnapshots(100);
+        PointSnapshot committed = snapshots.publish(new UserPoint(1L, 1500L, 2L));
+
+        // when
+        PointSnapshot loaded = snapshots.publishIfAbsent(new UserPoint(1L, 1000L, 1L));
+
+        // then
+        assertThat(loaded).isSameAs(committed);
+        assertThat(snapshots.get(1L).userPoint().point()).isEqualTo(1500L);
+    }
+
+    @Test
+    @DisplayName("요청한 버전보다 오래된 스냅샷은 같은 잔액의 새 버전으로 다시 발행한다")
+    void confirm_RestampsOlderSnapshot() {
+        // given
+        PointSnapshots snapshots = new PointSnapshots(100);
+        PointSnapshot old = snapshots.publish(new UserPoint(1L, 1000L, 1L));
+        PointSnapshot other = snapshots.publish(new UserPoint(2L, 500L, 2L));
+
+        // when
+        PointSnapshot current = snapshots.confirm(1L, old.version());
+        PointSnapshot confirmed = snapshots.confirm(1L, other.version());
+
+        // then
+        assertThat(current).isSameAs(old);
+        assertThat(confirmed.version()).isGreaterThanOrEqualTo(other.version());
+        assertThat(confirmed.userPoint()).isEqualTo(old.userPoint());
+        assertThat(snapshots.confirm(3L, 1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("최대 크기를 넘으면 방금 발행한 유저를 제외한 스냅샷을 제거하고, 제거된 유저의 버전은 현재 버전으로 본다")
+    void publish_EvictsWhenFull() {
+        // given
+        PointSnapshots snapshots = new PointSnapshots(2);
+
+        // when
+        for (long userId = 1; userId <= 5; userId++) {
+            snapshots.publish(new UserPoint(userId, 100L, userId));
+        }
+
+        // then
+        assertThat(snapshots.size()).isEqualTo(2);
+        assertThat(snapshots.evictionCount()).isEqualTo(3);
+        assertThat(snapshots.get(5L)).isNotNull();
+        long evicted = LongStream.rangeClosed(1, 4).filter(userId -> snapshots.get(userId) == null).findFirst().orElseThrow();
+        assertThat(snapshots.versionOf(evicted)).isEqualTo(snapshots.currentVersion());
+    }
+}
@@ -0,0 +1,113 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrent.AsyncThreadFactory;
+import io.hhplus.tdd.lock.RefCountedUserLockProvider;
+import io.hhplus.tdd.lock.StripedUserLockProvider;
+import io.hhplus.tdd.lock.UserLockProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 소수의 hot 계좌 사이에서 순환하는 이체의 처리량 / 교착 상태 여부 벤치마크
+ * - 실행 : ./gradlew benchmark --tests "*PointTransferBenchmark"
+ * - 계좌 8개, 스레드마다 (a → b), (b → a) 처럼 서로 반대 방향의 이체와 a → b → c → a 순환을 섞어 보냄
+ * - 락 제공자 ref-counted / striped(stripe 4개, 다른 계좌 쌍끼리 stripe 공유) 와 cas 방식을 비교
+ * - 테이블 throttle 을 제거해 락 경합만 측정하고, 제한 시간 안에 모두 끝나지 않으면 교착 상태로 간주
+ */
+@Tag("benchmark")
+@DisplayName("PointTransfer 벤치마크")
+class PointTransferBenchmark {
+
+    private static final int ACCOUNT_COUNT = 8;
+    private static final int THREAD_COUNT = 32;
+    private static final int TRANSFERS_PER_THREAD = 10_000;
+    private static final long SEEDED_POINT = 1_000_000_000L;
+    private static final long AMOUNT = 100L;
+    private static final long TIMEOUT_SECONDS = 60;
+    private static final double MIN_TRANSFERS_PER_SECOND = 10_000;
+
+    @Test
+    @DisplayName("hot 계좌 사이의 순환 이체가 교착 상태 없이 끝나고, 전체 잔액과 내역 수가 맞는다")
+    void cyclicTransfers_AmongHotAccounts() throws Exception {
+        System.out.printf("%-22s | %12s | %14s%n", "mode", "elapsed (ms)", "transfers/s");
+        List<Result> results = List.of(
+                run("lock / ref-counted", RefCountedUserLockProvider::new, "lock"),
+                run("lock / striped(4)", () -> new StripedUserLockProvider(4), "lock"),
+                run("cas", RefCountedUserLockProvider::new, "cas")
+        );
+
+        for (Result result : results) {
+            assertThat(result.totalPoint()).as(result.mode()).isEqualTo(SEEDED_POINT * ACCOUNT_COUNT);
+            assertThat(result.historyCount()).as(result.mode()).isEqualTo(ACCOUNT_COUNT + 2L * THREAD_COUNT * TRANSFERS_PER_THREAD);
+            assertThat(result.transfersPerSecond()).as(result.mode()).isGreaterThanOrEqualTo(MIN_TRANSFERS_PER_SECOND);
+        }
+    }
+
+    private static Result run(String mode, Supplier<UserLockProvider> userLockProvider, String engine) throws Exception {
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        PointHistoryOutbox outbox = new PointHistoryOutbox(new StubPointHistoryTable(), new AsyncThreadFactory(false), pointMetrics);
+        PointService pointService = PointServiceFixture.builder()
+                .userLockProvider(userLockProvider.get())
+                .userPointTable(new StubUserPointTable())
+                .pointHistoryOutbox(outbox)
+                .pointMetrics(pointMetrics)
+                .engine(engine)
+                .build();
+        for (long account = 1; account <= ACCOUNT_COUNT; account++) {
+            pointService.chargePoint(account, SEEDED_POINT);
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREAD_COUNT; t++) {
+            int thread = t;
+            futures.add(executorService.submit(() -> {
+                for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                    long from = 1 + (thread + i) % ACCOUNT_COUNT;
+                    long next = 1 + (thread + i + 1 + thread % 3) % ACCOUNT_COUNT;
+                    // 짝수 스레드는 정방향, 홀수 스레드는 역방향으로 보내 같은 계좌 쌍을 반대 순서로 잡게 함
+                    if (thread % 2 == 0) {
+                        pointService.transferPoint(from, next, AMOUNT);
+                    } else {
+                        pointService.transferPoint(next, from, AMOUNT);
+                    }
+                }
+            }));
+        }
+        executorService.shutdown();
+        boolean finished = executorService.awaitTermination(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertThat(finished).as(mode + " : 제한 시간 안에 끝나지 않음 (교착 상태 의심)").isTrue();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        double transfersPerSecond = (double) THREAD_COUNT * TRANSFERS_PER_THREAD * 1000 / Math.max(1, elapsedMillis);
+        System.out.printf("%-22s | %12d | %14.0f%n", mode, elapsedMillis, transfersPerSecond);
+
+        long totalPoint = 0;
+        long historyCount = 0;
+        for (long account = 1; account <= ACCOUNT_COUNT; account++) {
+            totalPoint += pointService.getUserPoint(account).point();
+            historyCount += pointService.getPointHistories(account).size();
+        }
+        outbox.shutdown();
+        return new Result(mode, totalPoint, historyCount, transfersPerSecond);
+    }
+
+    private record Result(String mode, long totalPoint, long historyCount, double transfersPerSecond) {
+    }
+}
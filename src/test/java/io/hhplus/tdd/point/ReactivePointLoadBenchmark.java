@@ -0,0 +1,32 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * 논블로킹 엔드포인트 부하 테스트
+ * - Tomcat 스레드는 바로 반환되고, 테이블 호출은 Tomcat 기본 최대 스레드 수(200)와 같은 크기의 scheduler 에서 실행
+ * - PlatformThreadLoadBenchmark 결과와 처리량/지연 시간 비교
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "server.tomcat.max-connections=20000",
+                "server.tomcat.accept-count=10000",
+                "spring.mvc.async.request-timeout=120s",
+                "point.reactive.thread-cap=200"
+        }
+)
+@DisplayName("논블로킹 엔드포인트 부하 테스트")
+class ReactivePointLoadBenchmark extends PointApiLoadBenchmark {
+
+    @Override
+    protected String mode() {
+        return "reactive";
+    }
+
+    @Override
+    protected String pathPrefix() {
+        return "/reactive/point";
+    }
+}
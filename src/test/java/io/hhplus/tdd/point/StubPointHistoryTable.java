@@ -0,0 +1,28 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * throttle 을 지정한 지연 시간으로 바꾼 PointHistoryTable (테스트/벤치마크용, 내역은 보관하지 않음)
+ */
+final class StubPointHistoryTable extends PointHistoryTable {
+
+    private final AtomicLong cursor = new AtomicLong(1);
+    private final long maxWriteNanos;
+
+    StubPointHistoryTable() {
+        this(0);
+    }
+
+    StubPointHistoryTable(long maxWriteNanos) {
+        this.maxWriteNanos = maxWriteNanos;
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        StubUserPointTable.pause(maxWriteNanos);
+        return new PointHistory(cursor.getAndIncrement(), userId, amount, type, updateMillis);
+    }
+}
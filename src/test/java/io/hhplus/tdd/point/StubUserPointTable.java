@@ -0,0 +1,71 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointTable;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * throttle 을 지정한 지연 시간으로 바꾼 UserPointTable (테스트/벤치마크용)
+ * - 기본은 지연 없음, randomLatency 는 최대값 안에서 무작위, fixedWriteLatency 는 저장마다 고정 시간만큼 기다립니다.
+ */
+final class StubUserPointTable extends UserPointTable {
+
+    private final ConcurrentHashMap<Long, UserPoint> table = new ConcurrentHashMap<>();
+    private final long maxReadNanos;
+    private final long maxWriteNanos;
+    private final long fixedWriteMillis;
+
+    StubUserPointTable() {
+        this(0, 0, 0);
+    }
+
+    private StubUserPointTable(long maxReadNanos, long maxWriteNanos, long fixedWriteMillis) {
+        this.maxReadNanos = maxReadNanos;
+        this.maxWriteNanos = maxWriteNanos;
+        this.fixedWriteMillis = fixedWriteMillis;
+    }
+
+    static StubUserPointTable randomLatency(long maxReadNanos, long maxWriteNanos) {
+        return new StubUserPointTable(maxReadNanos, maxWriteNanos, 0);
+    }
+
+    static StubUserPointTable fixedWriteLatency(long writeMillis) {
+        return new StubUserPointTable(0, 0, writeMillis);
+    }
+
+    @Override
+    public UserPoint selectById(Long id) {
+        pause(maxReadNanos);
+        return table.getOrDefault(id, UserPoint.empty(id));
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        pause(maxWriteNanos);
+        if (fixedWriteMillis > 0) {
+            try {
+                Thread.sleep(fixedWriteMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        table.put(id, userPoint);
+        return userPoint;
+    }
+
+    /**
+     * 저장된 모든 유저의 잔액 합계 (벤치마크 종료 후 검증용)
+     */
+    long totalPoint() {
+        return table.values().stream().mapToLong(UserPoint::point).sum();
+    }
+
+    static void pause(long maxNanos) {
+        if (maxNanos > 0) {
+            LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(maxNanos));
+        }
+    }
+}
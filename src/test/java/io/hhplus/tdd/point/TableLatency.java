@@ -0,0 +1,33 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+
+/**
+ * 벤치마크에서 사용할 테이블 지연 시간
+ * - NONE : throttle 을 제거한 테이블 (순수 서비스 오버헤드 측정)
+ * - SCALED : 실제 throttle 의 1/1000 (selectById 최대 200µs, insert 최대 300µs)
+ * - TABLE : 실제 UserPointTable/PointHistoryTable (최대 200~300ms)
+ */
+public enum TableLatency {
+
+    NONE(0, 0),
+    SCALED(200_000, 300_000),
+    TABLE(-1, -1);
+
+    private final long maxReadNanos;
+    private final long maxWriteNanos;
+
+    TableLatency(long maxReadNanos, long maxWriteNanos) {
+        this.maxReadNanos = maxReadNanos;
+        this.maxWriteNanos = maxWriteNanos;
+    }
+
+    UserPointTable newUserPointTable() {
+        return this == TABLE ? new UserPointTable() : StubUserPointTable.randomLatency(maxReadNanos, maxWriteNanos);
+    }
+
+    PointHistoryTable newPointHistoryTable() {
+        return this == TABLE ? new PointHistoryTable() : new StubPointHistoryTable(maxWriteNanos);
+    }
+}
@@ -0,0 +1,86 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("UserPointCache 단위 테스트")
+class UserPointCacheUnitTest {
+
+    @Test
+    @DisplayName("캐시된 잔액은 hit, 없는 잔액은 miss 로 집계된다")
+    void get_countsHitAndMiss() {
+        // given
+        UserPointCache cache = new UserPointCache(10);
+        cache.put(new UserPoint(1L, 1000L, System.currentTimeMillis()));
+
+        // when
+        UserPoint hit = cache.get(1L);
+        UserPoint miss = cache.get(2L);
+
+        // then
+        assertThat(hit.point()).isEqualTo(1000L);
+        assertThat(miss).isNull();
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("최대 크기를 넘으면 가장 오래 사용되지 않은 유저부터 제거된다")
+    void put_evictsLeastRecentlyUsed() {
+        // given
+        UserPointCache cache = new UserPointCache(2);
+        cache.put(new UserPoint(1L, 100L, System.currentTimeMillis()));
+        cache.put(new UserPoint(2L, 200L, System.currentTimeMillis()));
+        cache.get(1L); // 1번 유저를 최근 사용으로 갱신
+
+        // when
+        cache.put(new UserPoint(3L, 300L, System.currentTimeMillis()));
+
+        // then
+        assertThat(cache.peek(1L)).isNotNull();
+        assertThat(cache.peek(2L)).isNull();
+        assertThat(cache.peek(3L)).isNotNull();
+        assertThat(cache.stats().evictionCount()).isEqualTo(1);
+        assertThat(cache.stats().size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("같은 유저를 다시 저장하면 최신 잔액으로 덮어쓴다")
+    void put_overwritesLatestPoint() {
+        // given
+        UserPointCache cache = new UserPointCache(10);
+        cache.put(new UserPoint(1L, 100L, System.currentTimeMillis()));
+
+        // when
+        cache.put(new UserPoint(1L, 700L, System.currentTimeMillis()));
+
+        // then
+        assertThat(cache.peek(1L).point()).isEqualTo(700L);
+        assertThat(cache.stats().evictionCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("primitive 방식도 잔액 조회, 덮어쓰기, 최대 크기 제한이 같게 동작한다")
+    void primitive_storesAndEvicts() {
+        // given
+        UserPointCache cache = new UserPointCache(64, "primitive");
+        cache.put(new UserPoint(1L, 100L, 10L));
+
+        // when
+        cache.put(new UserPoint(1L, 700L, 20L));
+        for (long userId = 2; userId <= 1_000; userId++) {
+            cache.put(new UserPoint(userId, userId, userId));
+        }
+
+        // then
+        assertThat(cache.stats().size()).isLessThanOrEqualTo(64);
+        assertThat(cache.stats().evictionCount()).isEqualTo(1_000 - cache.stats().size());
+        assertThat(cache.peek(1_000L)).isEqualTo(new UserPoint(1_000L, 1_000L, 1_000L));
+        assertThat(cache.pointOf(1_000L)).isEqualTo(1_000L);
+        assertThat(cache.pointOf(-5L)).isEqualTo(-1L);
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+    }
+}
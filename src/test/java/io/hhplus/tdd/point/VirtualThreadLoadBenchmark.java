@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("virtual")
+@EnabledIf("isJava21OrLater") // 가상 스레드는 Java 21 이상 (-Pjava21)
+@DisplayName("가상 스레드 부하 테스트")
+class VirtualThreadLoadBenchmark extends PointApiLoadBenchmark {
+
+    static boolean isJava21OrLater() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    @Override
+    protected String mode() {
+        return "virtual threads";
+    }
+}